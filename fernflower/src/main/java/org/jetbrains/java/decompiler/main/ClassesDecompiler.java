@@ -0,0 +1,255 @@
+package org.jetbrains.java.decompiler.main;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+import org.jetbrains.java.decompiler.main.extern.IFernflowerLogger;
+import org.jetbrains.java.decompiler.main.extern.IFernflowerPreferences;
+import org.jetbrains.java.decompiler.struct.IDecompiledData;
+import org.jetbrains.java.decompiler.struct.StructClass;
+
+/**
+ * Decompiles the root classes of a context unit, either one after another on the calling thread
+ * or concurrently on a bounded pool when {@link IFernflowerPreferences#THREADS} is above one.
+ * <p>
+ * Results are always handed out in submission order, and messages logged while a class is being
+ * decompiled on a worker are replayed when its result is handed out, so the saved output and the
+ * log are the same in both modes. Only a few classes are decompiled ahead of the one being saved,
+ * so finished sources do not pile up in memory.
+ */
+public class ClassesDecompiler {
+
+  private final IDecompiledData decompiledData;
+  private final DecompilerContext parentContext;
+  private final IFernflowerLogger parentLogger;
+  private final ExecutorService executor;
+  private final int window;
+  private final List<Task> tasks = new ArrayList<>();
+
+  public ClassesDecompiler(IDecompiledData decompiledData) {
+    this.decompiledData = decompiledData;
+    this.parentContext = DecompilerContext.getCurrentContext();
+    this.parentLogger = DecompilerContext.getLogger();
+
+    int threads = Integer.parseInt(
+        DecompilerContext.getProperty(IFernflowerPreferences.THREADS).toString());
+    if (threads > 1 && !DecompilerContext.getOption(IFernflowerPreferences.UNIT_TEST_MODE)) {
+      AtomicInteger threadId = new AtomicInteger();
+      executor = Executors.newFixedThreadPool(threads, r -> {
+        Thread thread = new Thread(r, "Class decompiler " + threadId.incrementAndGet());
+        thread.setDaemon(true);
+        return thread;
+      });
+      window = threads * 2;
+    } else {
+      executor = null;
+      window = 0;
+    }
+  }
+
+  public void submit(StructClass cl, String entryName) {
+    tasks.add(new Task(cl, entryName));
+  }
+
+  private void start(Task task) {
+    task.future = executor.submit(() -> {
+      DecompilerContext.setCurrentContext(parentContext.fork(task.logger));
+      try {
+        return task.decompile();
+      } finally {
+        DecompilerContext.setCurrentContext(null);
+      }
+    });
+  }
+
+  /**
+   * Hand out the results in submission order, waiting for classes still being decompiled.
+   * Classes which are not written as separate files are skipped.
+   */
+  public void forEachResult(Consumer<DecompiledClass> consumer) {
+    long start = System.nanoTime();
+    int decompiled = 0;
+    long slowestTime = -1;
+    String slowestClass = null;
+
+    try {
+      int started = 0;
+      for (int i = 0; i < tasks.size(); i++) {
+        if (executor != null) {
+          for (; started < tasks.size() && started <= i + window; started++) {
+            start(tasks.get(started));
+          }
+        }
+
+        Task task = tasks.set(i, null);
+        DecompiledClass result;
+        if (task.future != null) {
+          try {
+            result = task.future.get();
+          } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException(ex);
+          } catch (ExecutionException ex) {
+            throw new RuntimeException(ex.getCause());
+          }
+          task.logger.replay(parentLogger);
+        } else {
+          result = task.decompile();
+        }
+
+        if (result.entryName == null) {
+          continue;
+        }
+
+        ++decompiled;
+        parentLogger.writeMessage(
+            "Decompiled " + result.qualifiedName + " in " + result.time + " ms",
+            IFernflowerLogger.Severity.TRACE);
+        if (result.time > slowestTime) {
+          slowestTime = result.time;
+          slowestClass = result.qualifiedName;
+        }
+
+        consumer.accept(result);
+      }
+    } finally {
+      if (executor != null) {
+        executor.shutdownNow();
+      }
+    }
+
+    if (slowestClass != null) {
+      parentLogger.writeMessage("Decompiled " + decompiled + " classes in "
+              + (System.nanoTime() - start) / 1_000_000 + " ms, slowest " + slowestClass + " ("
+              + slowestTime + " ms)",
+          IFernflowerLogger.Severity.INFO);
+    }
+  }
+
+  public static class DecompiledClass {
+
+    public final String qualifiedName;
+    public final String entryName;
+    public final String content;
+    public final int[] mapping;
+    public final long time;
+
+    private DecompiledClass(String qualifiedName, String entryName, String content, int[] mapping,
+        long time) {
+      this.qualifiedName = qualifiedName;
+      this.entryName = entryName;
+      this.content = content;
+      this.mapping = mapping;
+      this.time = time;
+    }
+  }
+
+  private class Task {
+
+    private final StructClass cl;
+    private final String entryName;
+    private final BufferedLogger logger = new BufferedLogger();
+    private Future<DecompiledClass> future;
+
+    private Task(StructClass cl, String entryName) {
+      this.cl = cl;
+      this.entryName = entryName;
+    }
+
+    private DecompiledClass decompile() {
+      long start = System.nanoTime();
+
+      String name = decompiledData.getClassEntryName(cl, entryName);
+      if (name == null) {
+        return new DecompiledClass(cl.qualifiedName, null, null, null, 0);
+      }
+
+      String content = decompiledData.getClassContent(cl);
+      int[] mapping = null;
+      if (content != null
+          && DecompilerContext.getOption(IFernflowerPreferences.BYTECODE_SOURCE_MAPPING)) {
+        mapping = DecompilerContext.getBytecodeSourceMapper().getOriginalLinesMapping();
+      }
+
+      return new DecompiledClass(cl.qualifiedName, name, content, mapping,
+          (System.nanoTime() - start) / 1_000_000);
+    }
+
+    /**
+     * Records the messages of one class so they can be written out in order once it is done.
+     */
+    private class BufferedLogger extends IFernflowerLogger {
+
+      private final List<Consumer<IFernflowerLogger>> messages = Collections
+          .synchronizedList(new ArrayList<>());
+
+      @Override
+      public boolean accepts(Severity severity) {
+        return parentLogger.accepts(severity);
+      }
+
+      @Override
+      public void writeMessage(String message, Severity severity) {
+        messages.add(l -> l.writeMessage(message, severity));
+      }
+
+      @Override
+      public void writeMessage(String message, Severity severity, Throwable t) {
+        messages.add(l -> l.writeMessage(message, severity, t));
+      }
+
+      @Override
+      public void startReadingClass(String className) {
+        messages.add(l -> l.startReadingClass(className));
+      }
+
+      @Override
+      public void endReadingClass() {
+        messages.add(IFernflowerLogger::endReadingClass);
+      }
+
+      @Override
+      public void startClass(String className) {
+        messages.add(l -> l.startClass(className));
+      }
+
+      @Override
+      public void endClass() {
+        messages.add(IFernflowerLogger::endClass);
+      }
+
+      @Override
+      public void startMethod(String methodName) {
+        messages.add(l -> l.startMethod(methodName));
+      }
+
+      @Override
+      public void endMethod() {
+        messages.add(IFernflowerLogger::endMethod);
+      }
+
+      @Override
+      public void startWriteClass(String className) {
+        messages.add(l -> l.startWriteClass(className));
+      }
+
+      @Override
+      public void endWriteClass() {
+        messages.add(IFernflowerLogger::endWriteClass);
+      }
+
+      private void replay(IFernflowerLogger target) {
+        synchronized (messages) {
+          messages.forEach(m -> m.accept(target));
+          messages.clear();
+        }
+      }
+    }
+  }
+}
@@ -17,6 +17,7 @@ package org.jetbrains.java.decompiler.main;
 
 import java.io.IOException;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.LinkedList;
@@ -48,7 +49,9 @@ public class ClassesProcessor {
 
   public static final int AVERAGE_CLASS_SIZE = 16 * 1024;
 
-  private final Map<String, ClassNode> mapRootClasses = new HashMap<>();
+  // lambda nodes are added while root classes are being decompiled, possibly concurrently
+  private final Map<String, ClassNode> mapRootClasses = Collections
+      .synchronizedMap(new HashMap<>());
 
   public ClassesProcessor(StructContext context) {
     Map<String, Inner> mapInnerClasses = new HashMap<>();
@@ -231,7 +234,7 @@ public class ClassesProcessor {
     }
   }
 
-  private static void initWrappers(ClassNode node) throws IOException {
+  private static void initWrappers(ClassNode root, ClassNode node) throws IOException {
     if (node.type == ClassNode.CLASS_LAMBDA) {
       return;
     }
@@ -240,9 +243,10 @@ public class ClassesProcessor {
     wrapper.init();
 
     node.wrapper = wrapper;
+    node.wrapperRoot = root;
 
     for (ClassNode nd : node.nested) {
-      initWrappers(nd);
+      initWrappers(root, nd);
     }
   }
 
@@ -274,6 +278,7 @@ public class ClassesProcessor {
     }
 
     DecompilerContext.getLogger().startReadingClass(cl.qualifiedName);
+    DecompilerContext.setProperty(DecompilerContext.CURRENT_ROOT_NODE, root);
     try {
       ImportCollector importCollector = new ImportCollector(root);
       DecompilerContext.setImportCollector(importCollector);
@@ -286,7 +291,7 @@ public class ClassesProcessor {
       addClassnameToImport(root, importCollector);
 
       // build wrappers for all nested classes (that's where actual processing takes place)
-      initWrappers(root);
+      initWrappers(root, root);
 
       new NestedClassProcessor().processClass(root, root);
 
@@ -328,6 +333,7 @@ public class ClassesProcessor {
       }
     } finally {
       destroyWrappers(root);
+      DecompilerContext.setProperty(DecompilerContext.CURRENT_ROOT_NODE, null);
       DecompilerContext.getLogger().endReadingClass();
     }
   }
@@ -369,6 +375,8 @@ public class ClassesProcessor {
     public LambdaInformation lambdaInformation;
     public boolean namelessConstructorStub = false;
     private ClassWrapper wrapper;
+    // the root class the wrapper was built for
+    private ClassNode wrapperRoot;
 
     public ClassNode(String content_class_name,
         String content_method_name,
@@ -427,11 +435,21 @@ public class ClassesProcessor {
       return null;
     }
 
+    /**
+     * Wrappers only exist while the root class they belong to is being written, so this is null
+     * for classes of any other root. With several root classes being written at once, the
+     * wrappers of the others are not looked at even when they exist, so the output does not
+     * depend on how far the other threads got.
+     */
     public ClassWrapper getWrapper() {
       ClassNode node = this;
       while (node.type == CLASS_LAMBDA) {
         node = node.parent;
       }
+
+      if (node.wrapperRoot != DecompilerContext.getProperty(DecompilerContext.CURRENT_ROOT_NODE)) {
+        return null;
+      }
       return node.wrapper;
     }
 
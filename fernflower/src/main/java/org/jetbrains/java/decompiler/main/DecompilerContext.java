@@ -32,6 +32,7 @@ public class DecompilerContext {
   public static final String CURRENT_CLASS = "CURRENT_CLASS";
   public static final String CURRENT_CLASS_WRAPPER = "CURRENT_CLASS_WRAPPER";
   public static final String CURRENT_CLASS_NODE = "CURRENT_CLASS_NODE";
+  public static final String CURRENT_ROOT_NODE = "CURRENT_ROOT_NODE";
   public static final String CURRENT_METHOD_WRAPPER = "CURRENT_METHOD_WRAPPER";
   public static final String CURRENT_VAR_PROCESSOR = "CURRENT_VAR_PROCESSOR";
 
@@ -51,6 +52,20 @@ public class DecompilerContext {
     this.properties = properties;
   }
 
+  /**
+   * Create a context for decompiling a class on another thread. Properties are copied, shared
+   * structures are reused and per class collectors start out empty.
+   */
+  public DecompilerContext fork(IFernflowerLogger logger) {
+    DecompilerContext context = new DecompilerContext(new HashMap<>(properties));
+    context.structContext = structContext;
+    context.classProcessor = classProcessor;
+    context.poolInterceptor = poolInterceptor;
+    context.counterContainer = new CounterContainer();
+    context.logger = logger;
+    return context;
+  }
+
   public static void initContext(Map<String, Object> propertiesCustom) {
     Map<String, Object> properties = new HashMap<>(IFernflowerPreferences.DEFAULTS);
     if (propertiesCustom != null) {
@@ -51,7 +51,7 @@ public class ImportCollector {
       currentPackagePoint = "";
     }
 
-    Map<String, StructClass> classes = DecompilerContext.getStructContext().getClasses();
+    StructContext context = DecompilerContext.getStructContext();
     StructClass currentClass = root.classStruct;
     while (currentClass != null) {
       // all field names for the current class ..
@@ -60,8 +60,8 @@ public class ImportCollector {
       }
 
       // .. and traverse through parent.
-      currentClass =
-          currentClass.superClass != null ? classes.get(currentClass.superClass.getString()) : null;
+      currentClass = currentClass.superClass != null
+          ? context.getClass(currentClass.superClass.getString()) : null;
     }
   }
 
@@ -52,6 +52,8 @@ public interface IFernflowerPreferences {
   String NEW_LINE_SEPARATOR = "nls";
   String INDENT_STRING = "ind";
   String BANNER = "ban";
+  String THREADS = "thr";
+  String LAZY_LIBRARIES = "llb";
 
   String DUMP_ORIGINAL_LINES = "__dump_original_lines__";
   String UNIT_TEST_MODE = "__unit_test_mode__";
@@ -93,6 +95,8 @@ public interface IFernflowerPreferences {
     defaults.put(NEW_LINE_SEPARATOR, (InterpreterUtil.IS_WINDOWS ? "0" : "1"));
     defaults.put(INDENT_STRING, "   ");
     defaults.put(BANNER, "");
+    defaults.put(THREADS, "1");
+    defaults.put(LAZY_LIBRARIES, "0");
     defaults.put(UNIT_TEST_MODE, "0");
     defaults.put(DUMP_ORIGINAL_LINES, "0");
 
@@ -19,6 +19,9 @@ import java.io.IOException;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import org.jetbrains.java.decompiler.code.CodeConstants;
 import org.jetbrains.java.decompiler.main.DecompilerContext;
 import org.jetbrains.java.decompiler.main.collectors.CounterContainer;
@@ -39,6 +42,17 @@ import org.jetbrains.java.decompiler.util.VBStyleCollection;
 
 public class ClassWrapper {
 
+  // method processing threads are reused between methods and classes, timed out methods are
+  // interrupted and stop at the next cancellation point in MethodProcessorRunnable. A method stuck
+  // between two cancellation points keeps its thread until it gets to the next one, if ever; the
+  // pool is unbounded so it starts another thread for the next method, and the threads are daemons
+  // so a stuck one does not keep the decompiler from exiting.
+  private static final ExecutorService METHOD_EXECUTOR = Executors.newCachedThreadPool(r -> {
+    Thread thread = new Thread(r, "Java decompiler");
+    thread.setDaemon(true);
+    return thread;
+  });
+
   private final StructClass classStruct;
   private final Set<String> hiddenMembers = new HashSet<>();
   private final VBStyleCollection<Exprent, String> staticFieldInitializers = new VBStyleCollection<>();
@@ -49,11 +63,6 @@ public class ClassWrapper {
     this.classStruct = classStruct;
   }
 
-  @SuppressWarnings("deprecation")
-  private static void killThread(Thread thread) {
-    thread.stop();
-  }
-
   public void init() throws IOException {
     DecompilerContext.setProperty(DecompilerContext.CURRENT_CLASS, classStruct);
     DecompilerContext.setProperty(DecompilerContext.CURRENT_CLASS_WRAPPER, this);
@@ -88,10 +97,9 @@ public class ClassWrapper {
             MethodProcessorRunnable mtProc = new MethodProcessorRunnable(mt, md, varProc,
                 DecompilerContext.getCurrentContext());
 
-            Thread mtThread = new Thread(mtProc, "Java decompiler");
             long stopAt = System.currentTimeMillis() + maxSec * 1000;
 
-            mtThread.start();
+            Future<?> mtFuture = METHOD_EXECUTOR.submit(mtProc);
 
             while (!mtProc.isFinished()) {
               try {
@@ -99,7 +107,7 @@ public class ClassWrapper {
                   mtProc.lock.wait(200);
                 }
               } catch (InterruptedException e) {
-                killThread(mtThread);
+                mtFuture.cancel(true);
                 throw e;
               }
 
@@ -108,7 +116,7 @@ public class ClassWrapper {
                     + ", execution interrupted.";
                 DecompilerContext.getLogger()
                     .writeMessage(message, IFernflowerLogger.Severity.ERROR);
-                killThread(mtThread);
+                mtFuture.cancel(true);
                 isError = true;
                 break;
               }
@@ -16,6 +16,7 @@
 package org.jetbrains.java.decompiler.main.rels;
 
 import java.io.IOException;
+import java.util.concurrent.CancellationException;
 import org.jetbrains.java.decompiler.code.CodeConstants;
 import org.jetbrains.java.decompiler.code.InstructionSequence;
 import org.jetbrains.java.decompiler.code.cfg.ControlFlowGraph;
@@ -112,10 +113,13 @@ public class MethodProcessorRunnable implements Runnable {
           IFernflowerLogger.Severity.WARN);
     }
 
+    checkCancelled(mt);
+
     RootStatement root = DomHelper.parseGraph(graph);
 
     FinallyProcessor fProc = new FinallyProcessor(md, varProc);
     while (fProc.iterateGraph(mt, root, graph)) {
+      checkCancelled(mt);
       root = DomHelper.parseGraph(graph);
     }
 
@@ -135,6 +139,8 @@ public class MethodProcessorRunnable implements Runnable {
     SequenceHelper.condenseSequences(root);
 
     while (true) {
+      checkCancelled(mt);
+
       StackVarsProcessor stackProc = new StackVarsProcessor();
       stackProc.simplifyStackVars(root, mt, cl);
 
@@ -149,6 +155,8 @@ public class MethodProcessorRunnable implements Runnable {
       LabelHelper.cleanUpEdges(root);
 
       while (true) {
+        checkCancelled(mt);
+
         MergeHelper.enhanceLoops(root);
 
         if (LoopExtractHelper.extractLoops(root)) {
@@ -203,6 +211,16 @@ public class MethodProcessorRunnable implements Runnable {
     return root;
   }
 
+  /**
+   * Cancellation point for methods running on the method executor. A method exceeding its time
+   * limit gets interrupted and unwinds from here instead of being stopped.
+   */
+  private static void checkCancelled(StructMethod mt) {
+    if (Thread.currentThread().isInterrupted()) {
+      throw new CancellationException("Processing of method " + mt.getName() + " was cancelled");
+    }
+  }
+
   @Override
   public void run() {
     DecompilerContext.setCurrentContext(parentContext);
@@ -212,8 +230,6 @@ public class MethodProcessorRunnable implements Runnable {
 
     try {
       root = codeToJava(method, methodDescriptor, varProc);
-    } catch (ThreadDeath ex) {
-      throw ex;
     } catch (Throwable ex) {
       error = ex;
     } finally {
@@ -912,8 +912,9 @@ public class NestedClassProcessor {
     if (node.type == ClassNode.CLASS_LAMBDA && !node.lambdaInformation.is_method_reference) {
       ClassNode node_content = DecompilerContext.getClassProcessor().getMapRootClasses()
           .get(node.classStruct.qualifiedName);
-      if (node_content != null && node_content.getWrapper() != null) {
-        node_content.getWrapper().getHiddenMembers().add(node.lambdaInformation.content_method_key);
+      ClassWrapper wrapper = node_content == null ? null : node_content.getWrapper();
+      if (wrapper != null) {
+        wrapper.getHiddenMembers().add(node.lambdaInformation.content_method_key);
       }
     }
 
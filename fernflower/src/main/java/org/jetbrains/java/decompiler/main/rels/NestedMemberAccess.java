@@ -365,10 +365,10 @@ public class NestedMemberAccess {
     ClassNode node = DecompilerContext.getClassProcessor().getMapRootClasses()
         .get(invexpr.getClassname());
 
+    ClassWrapper wrapper = node == null ? null : node.getWrapper();
     MethodWrapper methsource = null;
-    if (node != null && node.getWrapper() != null) {
-      methsource = node.getWrapper()
-          .getMethodWrapper(invexpr.getName(), invexpr.getStringDescriptor());
+    if (wrapper != null) {
+      methsource = wrapper.getMethodWrapper(invexpr.getName(), invexpr.getStringDescriptor());
     }
 
     if (methsource == null || !mapMethodType.containsKey(methsource)) {
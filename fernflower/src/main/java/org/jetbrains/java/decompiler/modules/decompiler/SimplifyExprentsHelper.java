@@ -50,10 +50,10 @@ import org.jetbrains.java.decompiler.util.InterpreterUtil;
 
 public class SimplifyExprentsHelper {
 
-  static final MatchEngine class14Builder = new MatchEngine();
-
-  static {
-    class14Builder.parse(
+  // match engines keep the variables of the last match, so every decompiler thread needs its own
+  static final ThreadLocal<MatchEngine> class14Builder = ThreadLocal.withInitial(() -> {
+    MatchEngine engine = new MatchEngine();
+    engine.parse(
         "statement type:if iftype:if exprsize:-1\n" +
             " exprent position:head type:if\n" +
             "  exprent type:function functype:eq\n" +
@@ -78,7 +78,8 @@ public class SimplifyExprentsHelper {
             "    exprent type:field name:$fieldname$ ret:$field$\n" +
             "    exprent type:var index:$var$"
     );
-  }
+    return engine;
+  });
 
   private final boolean firstInvocation;
 
@@ -767,13 +768,15 @@ public class SimplifyExprentsHelper {
 
   private static boolean collapseInlinedClass14(Statement stat) {
 
-    boolean ret = class14Builder.match(stat);
+    MatchEngine engine = class14Builder.get();
+
+    boolean ret = engine.match(stat);
     if (ret) {
 
-      String class_name = (String) class14Builder.getVariableValue("$classname$");
-      AssignmentExprent assfirst = (AssignmentExprent) class14Builder
+      String class_name = (String) engine.getVariableValue("$classname$");
+      AssignmentExprent assfirst = (AssignmentExprent) engine
           .getVariableValue("$assignfield$");
-      FieldExprent fieldexpr = (FieldExprent) class14Builder.getVariableValue("$field$");
+      FieldExprent fieldexpr = (FieldExprent) engine.getVariableValue("$field$");
 
       assfirst.replaceExprent(assfirst.getRight(),
           new ConstExprent(VarType.VARTYPE_CLASS, class_name, null));
@@ -30,6 +30,7 @@ import org.jetbrains.java.decompiler.main.DecompilerContext;
 import org.jetbrains.java.decompiler.main.TextBuffer;
 import org.jetbrains.java.decompiler.main.collectors.BytecodeMappingTracer;
 import org.jetbrains.java.decompiler.main.extern.IFernflowerPreferences;
+import org.jetbrains.java.decompiler.main.rels.ClassWrapper;
 import org.jetbrains.java.decompiler.main.rels.MethodWrapper;
 import org.jetbrains.java.decompiler.modules.decompiler.ClasspathHelper;
 import org.jetbrains.java.decompiler.modules.decompiler.ExprProcessor;
@@ -386,8 +387,9 @@ public class InvocationExprent extends Exprent {
       ClassNode newNode = DecompilerContext.getClassProcessor().getMapRootClasses().get(classname);
 
       if (newNode != null) {  // own class
-        if (newNode.getWrapper() != null) {
-          sigFields = newNode.getWrapper()
+        ClassWrapper newWrapper = newNode.getWrapper();
+        if (newWrapper != null) {
+          sigFields = newWrapper
               .getMethodWrapper(CodeConstants.INIT_NAME, stringDescriptor).signatureFields;
         } else {
           if (newNode.type == ClassNode.CLASS_MEMBER
@@ -27,6 +27,7 @@ import org.jetbrains.java.decompiler.main.TextBuffer;
 import org.jetbrains.java.decompiler.main.collectors.BytecodeMappingTracer;
 import org.jetbrains.java.decompiler.main.extern.IFernflowerLogger;
 import org.jetbrains.java.decompiler.main.extern.IFernflowerPreferences;
+import org.jetbrains.java.decompiler.main.rels.ClassWrapper;
 import org.jetbrains.java.decompiler.modules.decompiler.ExprProcessor;
 import org.jetbrains.java.decompiler.modules.decompiler.vars.CheckTypesResult;
 import org.jetbrains.java.decompiler.modules.decompiler.vars.VarVersionPair;
@@ -254,9 +255,10 @@ public class NewExprent extends Exprent {
         List<VarVersionPair> sigFields = child.getWrapper()
             .getMethodWrapper(CodeConstants.INIT_NAME,
                 constructor.getStringDescriptor()).signatureFields;
+        ClassWrapper newWrapper = newNode == null ? null : newNode.getWrapper();
         if (sigFields == null && newNode != null) { // own class
-          if (newNode.getWrapper() != null) {
-            sigFields = newNode.getWrapper().getMethodWrapper(CodeConstants.INIT_NAME,
+          if (newWrapper != null) {
+            sigFields = newWrapper.getMethodWrapper(CodeConstants.INIT_NAME,
                 invSuper.getStringDescriptor()).signatureFields;
           } else {
             if (newNode.type == ClassNode.CLASS_MEMBER
@@ -357,8 +359,9 @@ public class NewExprent extends Exprent {
 
         List<VarVersionPair> sigFields = null;
         if (newNode != null) { // own class
-          if (newNode.getWrapper() != null) {
-            sigFields = newNode.getWrapper().getMethodWrapper(CodeConstants.INIT_NAME,
+          ClassWrapper newWrapper = newNode.getWrapper();
+          if (newWrapper != null) {
+            sigFields = newWrapper.getMethodWrapper(CodeConstants.INIT_NAME,
                 constructor.getStringDescriptor()).signatureFields;
           } else if (newNode.type == ClassNode.CLASS_MEMBER
               && (newNode.access & CodeConstants.ACC_STATIC) == 0 && !constructor.getLstParameters()
@@ -20,8 +20,7 @@ import java.util.ArrayList;
 import java.util.List;
 import java.util.jar.JarFile;
 import java.util.jar.Manifest;
-import org.jetbrains.java.decompiler.main.DecompilerContext;
-import org.jetbrains.java.decompiler.main.extern.IFernflowerPreferences;
+import org.jetbrains.java.decompiler.main.ClassesDecompiler;
 import org.jetbrains.java.decompiler.main.extern.IResultSaver;
 import org.jetbrains.java.decompiler.struct.lazy.LazyLoader;
 import org.jetbrains.java.decompiler.struct.lazy.LazyLoader.Link;
@@ -104,20 +103,12 @@ public class ContextUnit {
         }
 
         // classes
-        for (int i = 0; i < classes.size(); i++) {
-          StructClass cl = classes.get(i);
-          String entryName = decompiledData.getClassEntryName(cl, classEntries.get(i));
-          if (entryName != null) {
-            String content = decompiledData.getClassContent(cl);
-            if (content != null) {
-              int[] mapping = null;
-              if (DecompilerContext.getOption(IFernflowerPreferences.BYTECODE_SOURCE_MAPPING)) {
-                mapping = DecompilerContext.getBytecodeSourceMapper().getOriginalLinesMapping();
-              }
-              resultSaver.saveClassFile(filename, cl.qualifiedName, entryName, content, mapping);
-            }
+        decompileClasses().forEachResult(result -> {
+          if (result.content != null) {
+            resultSaver.saveClassFile(filename, result.qualifiedName, result.entryName,
+                result.content, result.mapping);
           }
-        }
+        });
 
         break;
 
@@ -140,19 +131,22 @@ public class ContextUnit {
         }
 
         // classes
-        for (int i = 0; i < classes.size(); i++) {
-          StructClass cl = classes.get(i);
-          String entryName = decompiledData.getClassEntryName(cl, classEntries.get(i));
-          if (entryName != null) {
-            String content = decompiledData.getClassContent(cl);
-            resultSaver.saveClassEntry(archivePath, filename, cl.qualifiedName, entryName, content);
-          }
-        }
+        decompileClasses().forEachResult(result ->
+            resultSaver.saveClassEntry(archivePath, filename, result.qualifiedName,
+                result.entryName, result.content));
 
         resultSaver.closeArchive(archivePath, filename);
     }
   }
 
+  private ClassesDecompiler decompileClasses() {
+    ClassesDecompiler decompiler = new ClassesDecompiler(decompiledData);
+    for (int i = 0; i < classes.size(); i++) {
+      decompiler.submit(classes.get(i), classEntries.get(i));
+    }
+    return decompiler;
+  }
+
   public void setManifest(Manifest manifest) {
     this.manifest = manifest;
   }
@@ -58,7 +58,7 @@ public class StructClass extends StructMember {
   private final VBStyleCollection<StructField, String> fields;
   private final VBStyleCollection<StructMethod, String> methods;
 
-  private ConstantPool pool;
+  private volatile ConstantPool pool;
 
   public StructClass(byte[] bytes, boolean own, LazyLoader loader) throws IOException {
     this(new DataInputFullStream(bytes), own, loader);
@@ -141,8 +141,11 @@ public class StructClass extends StructMember {
   }
 
   public ConstantPool getPool() {
+    // read once, the resources of a class can be released while another thread is reading it
+    ConstantPool pool = this.pool;
     if (pool == null && loader != null) {
       pool = loader.loadPool(qualifiedName);
+      this.pool = pool;
     }
     return pool;
   }
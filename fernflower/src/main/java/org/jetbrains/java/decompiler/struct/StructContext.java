@@ -17,14 +17,18 @@ package org.jetbrains.java.decompiler.struct;
 
 import java.io.File;
 import java.io.IOException;
+import java.lang.ref.SoftReference;
 import java.util.Enumeration;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.jar.JarFile;
 import java.util.zip.ZipEntry;
 import java.util.zip.ZipFile;
 import org.jetbrains.java.decompiler.main.DecompilerContext;
+import org.jetbrains.java.decompiler.main.extern.IFernflowerPreferences;
 import org.jetbrains.java.decompiler.main.extern.IResultSaver;
+import org.jetbrains.java.decompiler.struct.consts.ConstantPool;
 import org.jetbrains.java.decompiler.struct.lazy.LazyLoader;
 import org.jetbrains.java.decompiler.util.DataInputFullStream;
 import org.jetbrains.java.decompiler.util.InterpreterUtil;
@@ -36,6 +40,9 @@ public class StructContext {
   private final LazyLoader loader;
   private final Map<String, ContextUnit> units = new HashMap<>();
   private final Map<String, StructClass> classes = new HashMap<>();
+  // library classes added with LAZY_LIBRARIES set, only their names are known up front. The
+  // structures are loaded on first use and dropped again when memory runs low.
+  private final Map<String, SoftReference<StructClass>> libraryClasses = new ConcurrentHashMap<>();
 
   public StructContext(IResultSaver saver, IDecompiledData decompiledData, LazyLoader loader) {
     this.saver = saver;
@@ -48,10 +55,56 @@ public class StructContext {
   }
 
   public StructClass getClass(String name) {
-    return classes.get(name);
+    StructClass cl = classes.get(name);
+    if (cl == null) {
+      SoftReference<StructClass> ref = libraryClasses.get(name);
+      if (ref != null) {
+        cl = ref.get();
+        if (cl == null) {
+          cl = loadLibraryClass(name);
+        }
+      }
+    }
+    return cl;
+  }
+
+  public boolean hasClass(String name) {
+    return classes.containsKey(name) || libraryClasses.containsKey(name);
+  }
+
+  private StructClass loadLibraryClass(String name) {
+    try (DataInputFullStream in = loader.getClassStream(name)) {
+      if (in == null) {
+        return null;
+      }
+
+      StructClass cl = new StructClass(in, false, loader);
+      libraryClasses.put(name, new SoftReference<>(cl));
+      return cl;
+    } catch (IOException ex) {
+      String message = "Corrupted class file: " + name;
+      DecompilerContext.getLogger().writeMessage(message, ex);
+      return null;
+    }
+  }
+
+  private static String readClassName(DataInputFullStream in) throws IOException {
+    in.discard(8);
+    ConstantPool pool = new ConstantPool(in);
+    in.discard(2);
+    return pool.getPrimitiveConstant(in.readUnsignedShort()).getString();
+  }
+
+  private static boolean isLazyLibrary(boolean isOwn) {
+    return !isOwn && DecompilerContext.getOption(IFernflowerPreferences.LAZY_LIBRARIES);
   }
 
   public void reloadContext() throws IOException {
+    // only own classes are renamed, so lazily loaded library classes keep their names and keys.
+    // They are dropped to be read again on next use, through the pool interceptor, so their
+    // references to renamed classes use the new names.
+    libraryClasses.replaceAll((name, ref) -> new SoftReference<>(null));
+
     for (ContextUnit unit : units.values()) {
       for (StructClass cl : unit.getClasses()) {
         classes.remove(cl.qualifiedName);
@@ -120,10 +173,17 @@ public class StructContext {
 
       if (filename.endsWith(".class")) {
         try (DataInputFullStream in = loader.getClassStream(file.getAbsolutePath(), null)) {
-          StructClass cl = new StructClass(in, isOwn, loader);
-          classes.put(cl.qualifiedName, cl);
-          unit.addClass(cl, filename);
-          loader.addClassLink(cl.qualifiedName,
+          String qualifiedName;
+          if (isLazyLibrary(isOwn)) {
+            qualifiedName = readClassName(in);
+            libraryClasses.put(qualifiedName, new SoftReference<>(null));
+          } else {
+            StructClass cl = new StructClass(in, isOwn, loader);
+            qualifiedName = cl.qualifiedName;
+            classes.put(qualifiedName, cl);
+            unit.addClass(cl, filename);
+          }
+          loader.addClassLink(qualifiedName,
               new LazyLoader.Link(LazyLoader.Link.CLASS, file.getAbsolutePath(), null));
         } catch (IOException ex) {
           String message = "Corrupted class file: " + file;
@@ -155,10 +215,17 @@ public class StructContext {
         if (!entry.isDirectory()) {
           if (name.endsWith(".class")) {
             byte[] bytes = InterpreterUtil.getBytes(archive, entry);
-            StructClass cl = new StructClass(bytes, isOwn, loader);
-            classes.put(cl.qualifiedName, cl);
-            unit.addClass(cl, name);
-            loader.addClassLink(cl.qualifiedName,
+            String qualifiedName;
+            if (isLazyLibrary(isOwn)) {
+              qualifiedName = readClassName(new DataInputFullStream(bytes));
+              libraryClasses.put(qualifiedName, new SoftReference<>(null));
+            } else {
+              StructClass cl = new StructClass(bytes, isOwn, loader);
+              qualifiedName = cl.qualifiedName;
+              classes.put(qualifiedName, cl);
+              unit.addClass(cl, name);
+            }
+            loader.addClassLink(qualifiedName,
                 new LazyLoader.Link(LazyLoader.Link.ENTRY, file.getAbsolutePath(), name));
           } else {
             unit.addOtherEntry(file.getAbsolutePath(), name);
@@ -170,6 +237,10 @@ public class StructContext {
     }
   }
 
+  /**
+   * All eagerly loaded classes, lazily loaded library classes are only reachable through
+   * {@link #getClass(String)}.
+   */
   public Map<String, StructClass> getClasses() {
     return classes;
   }
@@ -34,9 +34,7 @@ import okhttp3.HttpUrl;
 import okhttp3.OkHttpClient;
 import okhttp3.Request;
 import okhttp3.Response;
-import org.apache.commons.csv.CSVFormat;
-import org.apache.commons.csv.CSVParser;
-import org.apache.commons.csv.CSVRecord;
+import okio.BufferedSource;
 import org.sponge.util.Logger;
 
 @RequiredArgsConstructor
@@ -149,42 +147,92 @@ public class HiscoreClient
 			throw new IOException("Error retrieving data from Jagex Hiscores: " + response);
 		}
 
-		String responseStr = response.body().string();
-		return parseResponse(username, responseStr);
+		return parseResponse(username, response.body().source());
 	}
 
-	private static HiscoreResult parseResponse(String username, String responseStr) throws IOException
+	/**
+	 * Parses the hiscore CSV straight out of the response buffer. Each line is a rank, a level or score,
+	 * and for skills an experience, with -1 for unranked entries.
+	 */
+	static HiscoreResult parseResponse(String username, BufferedSource source) throws IOException
 	{
-		CSVParser parser = CSVParser.parse(responseStr, CSVFormat.DEFAULT);
-
 		HiscoreResultBuilder hiscoreBuilder = new HiscoreResultBuilder();
 		hiscoreBuilder.setPlayer(username);
 
 		int count = 0;
 
-		for (CSVRecord record : parser.getRecords())
+		try
 		{
-			if (count++ >= HiscoreSkill.values().length)
+			while (!source.exhausted())
 			{
-				log.warn("Jagex Hiscore API returned unexpected data");
-				break; // rest is other things?
-			}
+				if (skipLineEnd(source))
+				{
+					continue;
+				}
 
-			// rank, level, experience
-			int rank = Integer.parseInt(record.get(0));
-			int level = Integer.parseInt(record.get(1));
+				if (count++ >= HiscoreSkill.values().length)
+				{
+					log.warn("Jagex Hiscore API returned unexpected data");
+					break; // rest is other things?
+				}
 
-			// items that are not skills do not have an experience parameter
-			long experience = -1;
-			if (record.size() == 3)
-			{
-				experience = Long.parseLong(record.get(2));
+				// rank, level, experience
+				int rank = (int) source.readDecimalLong();
+				expect(source, (byte) ',');
+				int level = (int) source.readDecimalLong();
+
+				// items that are not skills do not have an experience parameter
+				long experience = -1;
+				if (!source.exhausted() && source.buffer().getByte(0) == ',')
+				{
+					source.skip(1);
+					experience = source.readDecimalLong();
+				}
+
+				if (!source.exhausted() && !skipLineEnd(source))
+				{
+					throw new IOException("Malformed hiscore line " + count);
+				}
+
+				hiscoreBuilder.setNextSkill(new Skill(rank, level, experience));
 			}
+		}
+		catch (NumberFormatException ex)
+		{
+			throw new IOException("Malformed hiscore line " + count, ex);
+		}
 
-			Skill skill = new Skill(rank, level, experience);
-			hiscoreBuilder.setNextSkill(skill);
+		// seasonal hiscores stop before the bosses, any other short response is missing entries
+		if (count < HiscoreSkill.values().length && count != HiscoreSkill.ABYSSAL_SIRE.ordinal())
+		{
+			throw new IOException("Jagex Hiscore API returned " + count + " entries");
 		}
 
 		return hiscoreBuilder.build();
 	}
+
+	private static boolean skipLineEnd(BufferedSource source) throws IOException
+	{
+		byte b = source.buffer().getByte(0);
+		if (b == '\r')
+		{
+			source.skip(1);
+			expect(source, (byte) '\n');
+			return true;
+		}
+		if (b == '\n')
+		{
+			source.skip(1);
+			return true;
+		}
+		return false;
+	}
+
+	private static void expect(BufferedSource source, byte expected) throws IOException
+	{
+		if (source.readByte() != expected)
+		{
+			throw new IOException("Malformed hiscore data, expected '" + (char) expected + "'");
+		}
+	}
 }
@@ -49,58 +49,88 @@ public class ItemClient {
   }
 
   public ItemPrice[] getPrices() {
+    try {
+      return getPrices(null, null).getData();
+    } catch (IOException ex) {
+      log.warn("Error looking up prices: " + ex.getMessage());
+    }
+    return null;
+  }
+
+  /**
+   * Look up prices, unless they did not change since the given validators were issued
+   *
+   * @param etag         the ETag of the prices held, or null
+   * @param lastModified the Last-Modified date of the prices held, or null
+   */
+  public ItemDataResponse<ItemPrice[]> getPrices(String etag, String lastModified)
+      throws IOException {
     HttpUrl.Builder urlBuilder = RuneLiteAPI.getApiBase().newBuilder()
         .addPathSegment("item")
         .addPathSegment("prices.js");
 
-    HttpUrl url = urlBuilder.build();
-
-    log.debug("Requesting URI: " + url);
-
-    Request request = new Request.Builder()
-        .url(url)
-        .build();
-
-    try (Response response = client.newCall(request).execute()) {
-      if (!response.isSuccessful()) {
-        log.warn("Error looking up prices: " + response);
-        return null;
-      }
+    return get(urlBuilder.build(), etag, lastModified, ItemPrice[].class);
+  }
 
-      InputStream in = response.body().byteStream();
-      return RuneLiteAPI.GSON
-          .fromJson(new InputStreamReader(in, StandardCharsets.UTF_8), ItemPrice[].class);
-    } catch (JsonParseException | IOException ex) {
-      ex.printStackTrace();
+  /**
+   * @return the item stats, or null if they could not be looked up
+   */
+  public Map<Integer, ItemStats> getStats() throws IOException {
+    try {
+      return getStats(null, null).getData();
+    } catch (IOException ex) {
+      log.warn("Error looking up item stats: " + ex.getMessage());
     }
     return null;
   }
 
-  public Map<Integer, ItemStats> getStats() throws IOException {
+  /**
+   * Look up item stats, unless they did not change since the given validators were issued
+   *
+   * @param etag         the ETag of the stats held, or null
+   * @param lastModified the Last-Modified date of the stats held, or null
+   */
+  public ItemDataResponse<Map<Integer, ItemStats>> getStats(String etag, String lastModified)
+      throws IOException {
     HttpUrl.Builder urlBuilder = RuneLiteAPI.getStaticBase().newBuilder()
         .addPathSegment("item")
         // TODO: Change this to stats.min.json later after release is undeployed
         .addPathSegment("stats.ids.min.json");
 
-    HttpUrl url = urlBuilder.build();
+    final Type typeToken = new TypeToken<Map<Integer, ItemStats>>() {
+    }.getType();
+    return get(urlBuilder.build(), etag, lastModified, typeToken);
+  }
 
+  private <T> ItemDataResponse<T> get(HttpUrl url, String etag, String lastModified, Type type)
+      throws IOException {
     log.debug("Requesting URI: " + url);
 
-    Request request = new Request.Builder()
-        .url(url)
-        .build();
+    Request.Builder request = new Request.Builder()
+        .url(url);
+    if (etag != null) {
+      request.header("If-None-Match", etag);
+    }
+    if (lastModified != null) {
+      request.header("If-Modified-Since", lastModified);
+    }
+
+    try (Response response = client.newCall(request.build()).execute()) {
+      if (response.code() == 304) {
+        return new ItemDataResponse<>(null, etag, lastModified);
+      }
 
-    try (Response response = client.newCall(request).execute()) {
       if (!response.isSuccessful()) {
-        log.warn("Error looking up item stats: " + response);
-        return null;
+        throw new IOException("Unsuccessful response looking up " + url + ": " + response);
       }
 
       InputStream in = response.body().byteStream();
-      final Type typeToken = new TypeToken<Map<Integer, ItemStats>>() {
-      }.getType();
-      return RuneLiteAPI.GSON
-          .fromJson(new InputStreamReader(in, StandardCharsets.UTF_8), typeToken);
+      T data = RuneLiteAPI.GSON
+          .fromJson(new InputStreamReader(in, StandardCharsets.UTF_8), type);
+      if (data == null) {
+        throw new IOException("Empty response looking up " + url);
+      }
+      return new ItemDataResponse<>(data, response.header("ETag"), response.header("Last-Modified"));
     } catch (JsonParseException ex) {
       throw new IOException(ex);
     }
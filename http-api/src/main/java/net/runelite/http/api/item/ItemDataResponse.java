@@ -0,0 +1,22 @@
+package net.runelite.http.api.item;
+
+import lombok.Value;
+
+/**
+ * The response to a conditional request for item data, with the validators to revalidate it
+ * next time.
+ */
+@Value
+public class ItemDataResponse<T> {
+
+  /**
+   * The data, or null if it did not change since the validators of the request were issued.
+   */
+  T data;
+  String etag;
+  String lastModified;
+
+  public boolean isModified() {
+    return data != null;
+  }
+}
@@ -0,0 +1,107 @@
+package net.runelite.http.api.hiscore;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.io.IOException;
+import okio.Buffer;
+import org.junit.jupiter.api.Test;
+
+public class HiscoreClientTest
+{
+	private static final int SKILLS = HiscoreSkill.LEAGUE_POINTS.ordinal();
+	private static final int NON_BOSSES = HiscoreSkill.ABYSSAL_SIRE.ordinal();
+
+	/**
+	 * Build a response with the first {@code entries} rows, each holding its own index
+	 */
+	private static String response(int entries, String lineEnd)
+	{
+		StringBuilder sb = new StringBuilder();
+		for (int i = 0; i < entries; ++i)
+		{
+			if (i < SKILLS)
+			{
+				sb.append(i + 1).append(',').append(i).append(',').append(i * 1000L);
+			}
+			else
+			{
+				sb.append(i == SKILLS ? -1 : i + 1).append(',').append(i == SKILLS ? -1 : i);
+			}
+			sb.append(lineEnd);
+		}
+		return sb.toString();
+	}
+
+	private static HiscoreResult parse(String response) throws IOException
+	{
+		return HiscoreClient.parseResponse("zezima", new Buffer().writeUtf8(response));
+	}
+
+	@Test
+	public void parsesFullResponse() throws IOException
+	{
+		HiscoreResult result = parse(response(HiscoreSkill.values().length, "\n"));
+
+		assertEquals("zezima", result.getPlayer());
+		for (HiscoreSkill skill : HiscoreSkill.values())
+		{
+			int i = skill.ordinal();
+			Skill parsed = result.getSkill(skill);
+			if (i < SKILLS)
+			{
+				assertEquals(new Skill(i + 1, i, i * 1000L), parsed, skill.getName());
+			}
+			else if (i == SKILLS)
+			{
+				assertEquals(new Skill(-1, -1, -1), parsed, skill.getName());
+			}
+			else
+			{
+				assertEquals(new Skill(i + 1, i, -1), parsed, skill.getName());
+			}
+		}
+	}
+
+	@Test
+	public void parsesWindowsLineEndsAndTrailingData() throws IOException
+	{
+		HiscoreResult result = parse(response(HiscoreSkill.values().length + 2, "\r\n"));
+
+		assertEquals(new Skill(1, 0, 0), result.getOverall());
+		assertEquals(new Skill(HiscoreSkill.ZULRAH.ordinal() + 1, HiscoreSkill.ZULRAH.ordinal(), -1),
+			result.getZulrah());
+	}
+
+	@Test
+	public void seasonalResponseHasNoBosses() throws IOException
+	{
+		HiscoreResult result = parse(response(NON_BOSSES, "\n"));
+
+		assertEquals(new Skill(SKILLS, SKILLS - 1, (SKILLS - 1) * 1000L), result.getConstruction());
+		assertNull(result.getAbyssalSire());
+		assertNull(result.getZulrah());
+	}
+
+	@Test
+	public void missingSkillIsRejected()
+	{
+		assertThrows(IOException.class, () -> parse(response(SKILLS - 1, "\n")));
+		assertThrows(IOException.class, () -> parse(response(NON_BOSSES + 1, "\n")));
+		assertThrows(IOException.class, () -> parse(""));
+	}
+
+	@Test
+	public void malformedRowIsRejected()
+	{
+		String valid = response(HiscoreSkill.values().length, "\n");
+		int secondLine = valid.indexOf('\n') + 1;
+		String rest = valid.substring(valid.indexOf('\n', secondLine));
+
+		assertThrows(IOException.class, () -> parse(valid.substring(0, secondLine) + "2,x,1000" + rest));
+		assertThrows(IOException.class, () -> parse(valid.substring(0, secondLine) + "2;1;1000" + rest));
+		assertThrows(IOException.class, () -> parse(valid.substring(0, secondLine) + "2,1,1000,5" + rest));
+		assertThrows(IOException.class, () -> parse(valid.substring(0, secondLine) + "2,1,1000\r\r" + rest));
+	}
+}
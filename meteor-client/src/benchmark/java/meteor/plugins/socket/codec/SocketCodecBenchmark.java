@@ -0,0 +1,131 @@
+package meteor.plugins.socket.codec;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.Supplier;
+import meteor.plugins.socket.hash.AES256;
+import meteor.plugins.socket.org.json.JSONArray;
+import meteor.plugins.socket.org.json.JSONObject;
+import meteor.plugins.socketDPS.DpsHitMessage;
+import meteor.plugins.socketdefence.DefenceHitMessage;
+import meteor.plugins.sockethealing.HealthMessage;
+import org.sponge.util.Logger;
+
+/**
+ * Compares the binary socket format against the JSON payloads it replaces, for the packets the
+ * raid plugins send most: a DPS hit, a health update and a defence special attack, alone and as the
+ * broadcasts of one tick in a five man party.
+ * <p>
+ * Encoding includes serialization, decoding goes as far as the typed message. Bytes are counted
+ * both as plain text or binary and as the base64 encoded ciphertext which goes on the wire.
+ * SocketCodecTest checks that both formats decode to the messages they were encoded from.
+ */
+public class SocketCodecBenchmark
+{
+    private static final Logger logger = new Logger("SocketCodecBenchmark");
+
+    private static final String SECRET = "benchmark";
+    private static final int ITERATIONS = 100000;
+
+    public static void main(String[] args)
+    {
+        int rounds = args.length > 0 ? Integer.parseInt(args[0]) : 5;
+        int warmup = args.length > 1 ? Integer.parseInt(args[1]) : 3;
+
+        SocketCodec codec = new SocketCodec();
+        codec.register(DpsHitMessage.TYPE);
+        codec.register(HealthMessage.TYPE);
+        codec.register(DefenceHitMessage.TYPE);
+
+        List<Object> tick = new ArrayList<>();
+        for (int i = 0; i < 5; i++)
+        {
+            tick.add(new HealthMessage("Party member " + i, 99 - i * 7));
+            tick.add(new DpsHitMessage("Party member " + i, 8360, 40 + i, 416));
+        }
+
+        run(codec, "DPS hit", Collections.singletonList(new DpsHitMessage("Party member", 8360, 47, 416)), rounds, warmup);
+        run(codec, "Health", Collections.singletonList(new HealthMessage("Party member", 87)), rounds, warmup);
+        run(codec, "Defence", Collections.singletonList(new DefenceHitMessage("Xarpus", "dwh", 53)), rounds, warmup);
+        run(codec, "Party tick", tick, rounds, warmup);
+    }
+
+    private static void run(SocketCodec codec, String name, List<Object> messages, int rounds, int warmup)
+    {
+        String json = json(messages);
+        byte[] binary = codec.encode(messages, Integer.MAX_VALUE).get(0);
+
+        long jsonEncode = best(() -> json(messages), rounds, warmup);
+        long jsonDecode = best(() -> fromJson(codec, json), rounds, warmup);
+        long binaryEncode = best(() -> codec.encode(messages, Integer.MAX_VALUE), rounds, warmup);
+        long binaryDecode = best(() -> codec.decode(binary), rounds, warmup);
+
+        logger.info(String.format("%-10s encode %6d ns / %6d ns, decode %6d ns / %6d ns (json / binary)",
+            name, jsonEncode, binaryEncode, jsonDecode, binaryDecode));
+        logger.info(String.format("%-10s %4d / %4d bytes, %4d / %4d bytes encrypted", name,
+            json.length(), binary.length,
+            AES256.encrypt(SECRET, json).length(), AES256.encrypt(SECRET, binary).length()));
+    }
+
+    // the JSON payloads as the socket plugin sends them, a single object or an array of them
+    private static String json(List<Object> messages)
+    {
+        if (messages.size() == 1)
+        {
+            return ((SocketMessage) messages.get(0)).toJSON().toString();
+        }
+
+        StringBuilder batch = new StringBuilder("[");
+        for (Object message : messages)
+        {
+            batch.append(batch.length() > 1 ? "," : "").append(((SocketMessage) message).toJSON());
+        }
+        return batch.append(']').toString();
+    }
+
+    private static List<Object> fromJson(SocketCodec codec, String json)
+    {
+        List<Object> messages = new ArrayList<>();
+        if (json.startsWith("["))
+        {
+            JSONArray batch = new JSONArray(json);
+            for (int i = 0; i < batch.length(); i++)
+            {
+                messages.add(codec.decode(batch.getJSONObject(i)));
+            }
+        }
+        else
+        {
+            messages.add(codec.decode(new JSONObject(json)));
+        }
+        return messages;
+    }
+
+    // best time of the measured rounds, in nanoseconds per operation
+    private static long best(Supplier<?> operation, int rounds, int warmup)
+    {
+        long best = Long.MAX_VALUE;
+        Object sink = null;
+        for (int round = 0; round < warmup + rounds; round++)
+        {
+            long start = System.nanoTime();
+            for (int i = 0; i < ITERATIONS; i++)
+            {
+                sink = operation.get();
+            }
+            long time = (System.nanoTime() - start) / ITERATIONS;
+
+            if (round >= warmup)
+            {
+                best = Math.min(best, time);
+            }
+        }
+
+        if (sink == null)
+        {
+            throw new IllegalStateException();
+        }
+        return best;
+    }
+}
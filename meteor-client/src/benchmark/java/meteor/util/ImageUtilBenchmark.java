@@ -0,0 +1,77 @@
+package meteor.util;
+
+import java.awt.Color;
+import java.awt.image.BufferedImage;
+import java.util.Random;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import org.sponge.util.Logger;
+
+/**
+ * Times the {@link ImageUtil} kernels against the per-pixel getRGB and setRGB implementations
+ * they replaced, on item icon and sprite sized images. ImageUtilTest checks that both give the
+ * same pixels.
+ * <p>
+ * Each operation runs for a number of warmup rounds, which are not counted, and measured rounds.
+ */
+public class ImageUtilBenchmark {
+
+  private static final Logger logger = new Logger("ImageUtilBenchmark");
+
+  private static final Color OUTLINE = new Color(0xFF00FFFF, true);
+  private static final Predicate<Color> DARK = c -> c.getRed() + c.getGreen() + c.getBlue() < 200;
+
+  public static void main(String[] args) {
+    int rounds = args.length > 0 ? Integer.parseInt(args[0]) : 5;
+    int warmup = args.length > 1 ? Integer.parseInt(args[1]) : 3;
+
+    Random random = new Random(42);
+    BufferedImage[] images = {
+        ImageUtilReference.sprite(random, 36, 32, false), // item icon
+        ImageUtilReference.sprite(random, 256, 256, false),
+        ImageUtilReference.sprite(random, 765, 503, false), // login screen
+    };
+
+    for (BufferedImage image : images) {
+      String size = image.getWidth() + "x" + image.getHeight();
+      run("fillImage " + size, image, rounds, warmup,
+          i -> ImageUtilReference.fillImage(i, OUTLINE), i -> ImageUtil.fillImage(i, OUTLINE));
+      run("outlineImage " + size, image, rounds, warmup,
+          i -> ImageUtilReference.outlineImage(i, OUTLINE, true),
+          i -> ImageUtil.outlineImage(i, OUTLINE, true));
+      run("recolorImage " + size, image, rounds, warmup,
+          i -> ImageUtilReference.recolorImage(i, OUTLINE, DARK),
+          i -> ImageUtil.recolorImage(i, OUTLINE, DARK));
+      run("recolorImage in place " + size, image, rounds, warmup,
+          i -> ImageUtilReference.recolorImage(ImageUtilReference.copy(i), OUTLINE),
+          i -> ImageUtil.recolorImage(ImageUtilReference.copy(i), OUTLINE));
+    }
+  }
+
+  private static void run(String name, BufferedImage image, int rounds, int warmup,
+      Function<BufferedImage, BufferedImage> reference, Function<BufferedImage, BufferedImage> kernel) {
+    int iterations = Math.max(10, 4_000_000 / (image.getWidth() * image.getHeight()));
+    long referenceTime = Long.MAX_VALUE, kernelTime = Long.MAX_VALUE;
+    for (int round = 0; round < warmup + rounds; ++round) {
+      long r = time(reference, image, iterations);
+      long k = time(kernel, image, iterations);
+      if (round >= warmup) {
+        referenceTime = Math.min(referenceTime, r);
+        kernelTime = Math.min(kernelTime, k);
+      }
+    }
+
+    logger.info(String.format("%-32s %10.1f us %10.1f us %6.1fx", name,
+        referenceTime / 1000.0 / iterations, kernelTime / 1000.0 / iterations,
+        (double) referenceTime / kernelTime));
+  }
+
+  private static long time(Function<BufferedImage, BufferedImage> op, BufferedImage image,
+      int iterations) {
+    long start = System.nanoTime();
+    for (int i = 0; i < iterations; ++i) {
+      op.apply(image);
+    }
+    return System.nanoTime() - start;
+  }
+}
@@ -25,9 +25,7 @@
  */
 package com.questhelper;
 
-import com.google.common.collect.ImmutableSet;
 import com.google.common.primitives.Ints;
-import com.google.common.reflect.ClassPath;
 import com.google.inject.Binder;
 import com.google.inject.CreationException;
 import com.google.inject.Injector;
@@ -41,17 +39,11 @@ import com.questhelper.overlays.QuestHelperWidgetOverlay;
 import com.questhelper.overlays.QuestHelperWorldArrowOverlay;
 import com.questhelper.overlays.QuestHelperWorldLineOverlay;
 import com.questhelper.overlays.QuestHelperWorldOverlay;
-import com.questhelper.questhelpers.Quest;
 import com.questhelper.questhelpers.QuestHelper;
+import com.questhelper.requirements.RequirementCache;
 import com.questhelper.steps.QuestStep;
 import java.awt.image.BufferedImage;
-import java.io.IOException;
 import java.util.Arrays;
-import java.util.Collection;
-import java.util.HashMap;
-import java.util.List;
-import java.util.Map;
-import java.util.stream.Collectors;
 import javax.inject.Inject;
 import javax.inject.Named;
 
@@ -59,7 +51,6 @@ import lombok.Getter;
 import lombok.Setter;
 import meteor.MeteorLiteClientModule;
 import meteor.eventbus.events.ClientShutdown;
-import meteor.eventbus.events.ConfigChanged;
 import net.runelite.api.ChatMessageType;
 import net.runelite.api.Client;
 import net.runelite.api.GameState;
@@ -67,7 +58,6 @@ import net.runelite.api.InventoryID;
 import net.runelite.api.MenuAction;
 import net.runelite.api.MenuEntry;
 import net.runelite.api.Player;
-import net.runelite.api.QuestState;
 import net.runelite.api.coords.WorldPoint;
 import net.runelite.api.events.ChatMessage;
 import net.runelite.api.events.CommandExecuted;
@@ -117,9 +107,6 @@ public class QuestHelperPlugin extends Plugin
 			QUESTTAB_GROUP_ID
 		};
 
-	private static final String QUEST_PACKAGE = "com.questhelper.quests";
-	private static final String ACHIEVEMENT_PACKAGE = "com.questhelper.achievementdiaries";
-
 	private static final String MENUOP_STARTHELPER = "Start Quest Helper";
 	private static final String MENUOP_STOPHELPER = "Stop Quest Helper";
 
@@ -144,6 +131,9 @@ public class QuestHelperPlugin extends Plugin
 	@Inject
 	private QuestBank questBank;
 
+	@Inject
+	private RequirementCache requirementCache;
+
 	@Getter
 	private QuestHelperBankTagService bankTagService;
 
@@ -210,7 +200,7 @@ public class QuestHelperPlugin extends Plugin
 
 	private QuestStep lastStep = null;
 
-	private Map<String, QuestHelper> quests;
+	private QuestRegistry quests;
 
 	@Inject
 	SpriteManager spriteManager;
@@ -219,8 +209,6 @@ public class QuestHelperPlugin extends Plugin
 	@Inject
 	ConfigManager configManager;
 
-	private boolean loadQuestList;
-
 	private boolean displayNameKnown;
 
 	@Provides
@@ -238,12 +226,9 @@ public class QuestHelperPlugin extends Plugin
 
 		injector.injectMembers(bankTagsMain);
 		eventBus.register(bankTagsMain);
+		eventBus.register(requirementCache);
 
-		try {
-			quests = scanAndInstantiate(getClass().getClassLoader());
-		} catch (IOException e) {
-			e.printStackTrace();
-		}
+		quests = new QuestRegistry(this::instantiate);
 		overlayManager.add(questHelperOverlay);
 		overlayManager.add(questHelperWorldOverlay);
 		overlayManager.add(questHelperWorldArrowOverlay);
@@ -251,17 +236,13 @@ public class QuestHelperPlugin extends Plugin
 		overlayManager.add(questHelperWidgetOverlay);
 
 		final BufferedImage icon = Icon.QUEST_ICON.getImage();
-
-		if (client.getGameState() == GameState.LOGGED_IN)
-		{
-			loadQuestList = true;
-		}
 	}
 
 	@Override
 	public void shutdown()
 	{
 		eventBus.unregister(bankTagsMain);
+		eventBus.unregister(requirementCache);
 		overlayManager.remove(questHelperOverlay);
 		overlayManager.remove(questHelperWorldOverlay);
 		overlayManager.remove(questHelperWorldArrowOverlay);
@@ -269,7 +250,7 @@ public class QuestHelperPlugin extends Plugin
 		overlayManager.remove(questHelperWidgetOverlay);
 		overlayManager.remove(questHelperDebugOverlay);
 
-		shutDownQuest(false);
+		shutDownQuest();
 		bankTagService = null;
 		bankTagsMain = null;
 		quests = null;
@@ -284,6 +265,7 @@ public class QuestHelperPlugin extends Plugin
 			if (localPlayer != null && localPlayer.getName() != null) {
 				displayNameKnown = true;
 				questBank.loadState();
+				requirementCache.invalidate();
 			}
 		}
 		if (sidebarSelectedQuest != null)
@@ -302,11 +284,6 @@ public class QuestHelperPlugin extends Plugin
 				}
 			}
 		}
-		if (loadQuestList)
-		{
-			loadQuestList = false;
-			updateQuestList();
-		}
 	}
 
 	@Subscribe
@@ -329,13 +306,12 @@ public class QuestHelperPlugin extends Plugin
 			questBank.emptyState();
 			if (selectedQuest != null && selectedQuest.getCurrentStep() != null)
 			{
-				shutDownQuest(true);
+				shutDownQuest();
 			}
 		}
 
 		if (state == GameState.LOGGED_IN)
 		{
-			loadQuestList = true;
 			displayNameKnown = false;
 		}
 	}
@@ -355,28 +331,17 @@ public class QuestHelperPlugin extends Plugin
 
 		if (selectedQuest.updateQuest() && selectedQuest.getCurrentStep() == null)
 		{
-			shutDownQuest(true);
+			shutDownQuest();
 		}
 
 		clientThread.invokeLater(() -> {
 			if ((selectedQuest != null) && selectedQuest.isCompleted())
 			{
-				shutDownQuest(true);
+				shutDownQuest();
 			}
 		});
 	}
 
-	private final Collection<String> configEvents = Arrays.asList("orderListBy", "filterListBy", "questDifficulty", "showCompletedQuests");
-
-	@Subscribe
-	public void onConfigChanged(ConfigChanged event)
-	{
-		if (event.getGroup().equals("questhelper") && configEvents.contains(event.getKey()))
-		{
-			clientThread.invokeLater(this::updateQuestList);
-		}
-	}
-
 	@Subscribe
 	public void onCommandExecuted(CommandExecuted commandExecuted)
 	{
@@ -398,23 +363,6 @@ public class QuestHelperPlugin extends Plugin
 		questBank.saveBankToConfig();
 	}
 
-	public void updateQuestList()
-	{
-		if (client.getGameState() == GameState.LOGGED_IN)
-		{
-			List<QuestHelper> filteredQuests = quests.values()
-				.stream()
-				.filter(config.filterListBy())
-				.filter(config.difficulty())
-				.filter(Quest::showCompletedQuests)
-				.sorted(config.orderListBy())
-				.collect(Collectors.toList());
-			Map<QuestHelperQuest, QuestState> completedQuests = quests.values()
-				.stream()
-				.collect(Collectors.toMap(QuestHelper::getQuest, q -> q.getState(client)));
-		}
-	}
-
 	@Subscribe
 	private void onMenuOptionClicked(MenuOptionClicked event)
 	{
@@ -429,7 +377,7 @@ public class QuestHelperPlugin extends Plugin
 					break;
 				case MENUOP_STOPHELPER:
 					event.consume();
-					shutDownQuest(true);
+					shutDownQuest();
 					break;
 				case MENUOP_PHOENIXGANG:
 					event.consume();
@@ -672,7 +620,7 @@ public class QuestHelperPlugin extends Plugin
 			return;
 		}
 
-		shutDownQuest(true);
+		shutDownQuest();
 
 		if (!questHelper.isCompleted())
 		{
@@ -689,7 +637,7 @@ public class QuestHelperPlugin extends Plugin
 			selectedQuest.startUp(config);
 			if (selectedQuest.getCurrentStep() == null)
 			{
-				shutDownQuest(false);
+				shutDownQuest();
 				return;
 			}
 			bankTagsMain.startUp();
@@ -709,96 +657,44 @@ public class QuestHelperPlugin extends Plugin
 			bankTagsMain.shutDown();
 			eventBus.unregister(selectedQuest);
 			selectedQuest = null;
+			requirementCache.clear();
 		}
 	}
 
-	private void shutDownQuest(boolean shouldUpdateList)
+	private void shutDownQuest()
 	{
 		if (selectedQuest != null)
 		{
 			selectedQuest.shutDown();
-			if (shouldUpdateList)
-			{
-				updateQuestList();
-			}
 			if (bankTagsMain != null)
 			{
 				bankTagsMain.shutDown();
 			}
 			eventBus.unregister(selectedQuest);
 			selectedQuest = null;
+			requirementCache.clear();
 		}
 	}
 
-	private Map<String, QuestHelper> scanAndInstantiate(ClassLoader classLoader) throws IOException
+	private QuestHelper instantiate(QuestHelperQuest quest)
 	{
-
-		Map<String, QuestHelper> scannedQuests = new HashMap<>();
-		ClassPath classPath = ClassPath.from(classLoader);
-
-		scannedQuests.putAll(instantiate(classPath, QuestHelperPlugin.QUEST_PACKAGE));
-		scannedQuests.putAll(instantiate(classPath, QuestHelperPlugin.ACHIEVEMENT_PACKAGE));
-
-		return scannedQuests;
-	}
-
-	private Map<String, QuestHelper> instantiate(ClassPath classPath, String packageName)
-	{
-		Map<String, QuestHelper> scannedQuests = new HashMap<>();
-		Map<QuestHelperQuest, Class<? extends QuestHelper>> tmpQuests = new HashMap<>();
-
-		ImmutableSet<ClassPath.ClassInfo> classes = classPath.getTopLevelClassesRecursive(packageName);
-		for (ClassPath.ClassInfo classInfo : classes)
+		try
 		{
-			Class<?> clazz = classInfo.load();
-			QuestDescriptor questDescriptor = clazz.getAnnotation(QuestDescriptor.class);
-
-			if (questDescriptor == null)
-			{
-				if (clazz.getSuperclass() == QuestHelper.class)
-				{
-					log.warn("Class {} is a quest helper, but has no quest descriptor",
-						clazz);
-				}
-				continue;
-			}
-
-			if (clazz.isAssignableFrom(QuestHelper.class))
-			{
-				log.warn("Class {} has quest descriptor, but is not a quest helper",
-					clazz);
-				continue;
-			}
-
-			Class<QuestHelper> questClass = (Class<QuestHelper>) clazz;
-			tmpQuests.put(questDescriptor.quest(), questClass);
+			return instantiate(QuestRegistryIndex.create(quest), quest);
 		}
-
-		for (Map.Entry<QuestHelperQuest, Class<? extends QuestHelper>> questClazz : tmpQuests.entrySet())
+		catch (QuestInstantiationException ex)
 		{
-			QuestHelper questHelper;
-			try
-			{
-				questHelper = instantiate((Class<QuestHelper>) questClazz.getValue(), questClazz.getKey());
-			}
-			catch (QuestInstantiationException ex)
-			{
-				log.warn("Error instantiating quest helper!", ex);
-				continue;
-			}
-
-			scannedQuests.put(questClazz.getKey().getName(), questHelper);
+			log.warn("Error instantiating quest helper!", ex);
+			return null;
 		}
-
-		return scannedQuests;
 	}
 
-	private QuestHelper instantiate(Class<QuestHelper> clazz, QuestHelperQuest quest) throws QuestInstantiationException
+	@SuppressWarnings("unchecked")
+	private QuestHelper instantiate(QuestHelper questHelper, QuestHelperQuest quest) throws QuestInstantiationException
 	{
-		QuestHelper questHelper;
 		try
 		{
-			questHelper = clazz.newInstance();
+			Class<QuestHelper> clazz = (Class<QuestHelper>) questHelper.getClass();
 			Module questModule = (Binder binder) ->
 			{
 				binder.bind(clazz).toInstance(questHelper);
@@ -810,7 +706,7 @@ public class QuestHelperPlugin extends Plugin
 			questHelper.setQuest(quest);
 			questHelper.setConfig(config);
 		}
-		catch (InstantiationException | IllegalAccessException | CreationException ex)
+		catch (CreationException ex)
 		{
 			throw new QuestInstantiationException(ex);
 		}
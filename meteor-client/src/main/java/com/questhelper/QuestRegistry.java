@@ -0,0 +1,49 @@
+package com.questhelper;
+
+import com.questhelper.questhelpers.QuestHelper;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * The quest helpers listed in the {@link QuestRegistryIndex} generated at build time from
+ * {@link QuestDescriptor}. A quest helper is only created the first time it is asked for.
+ */
+class QuestRegistry
+{
+	private final Map<String, QuestHelperQuest> byName = new HashMap<>();
+	private final Map<QuestHelperQuest, QuestHelper> helpers = new EnumMap<>(QuestHelperQuest.class);
+	private final Function<QuestHelperQuest, QuestHelper> factory;
+
+	/**
+	 * @param factory creates the helper of a quest, or returns null if it can not be created
+	 */
+	QuestRegistry(Function<QuestHelperQuest, QuestHelper> factory)
+	{
+		this.factory = factory;
+		for (QuestHelperQuest quest : QuestRegistryIndex.QUESTS)
+		{
+			byName.put(quest.getName(), quest);
+		}
+	}
+
+	/**
+	 * @return the helper of the quest with this name, or null if there is none
+	 */
+	QuestHelper get(String name)
+	{
+		QuestHelperQuest quest = byName.get(name);
+		if (quest == null)
+		{
+			return null;
+		}
+
+		// failures are remembered too, so a broken helper is only attempted once
+		if (!helpers.containsKey(quest))
+		{
+			helpers.put(quest, factory.apply(quest));
+		}
+		return helpers.get(quest);
+	}
+}
@@ -27,14 +27,15 @@
 package com.questhelper.requirements;
 
 import com.questhelper.requirements.conditional.ConditionForStep;
+import com.questhelper.requirements.util.RequirementInput;
 import java.util.Arrays;
+import java.util.EnumSet;
 import java.util.List;
-import lombok.Setter;
+import java.util.Set;
 import net.runelite.api.Client;
 
 public class ChatMessageRequirement extends ConditionForStep
 {
-	@Setter
 	private boolean hasReceivedChatMessage = false;
 
 	private Requirement condition;
@@ -52,12 +53,24 @@ public class ChatMessageRequirement extends ConditionForStep
 		this.messages = Arrays.asList(message);
 	}
 
+	@Override
+	public Set<RequirementInput> getInputs()
+	{
+		return EnumSet.of(RequirementInput.CHAT, RequirementInput.STATE);
+	}
+
 	@Override
 	public boolean check(Client client)
 	{
 		return hasReceivedChatMessage;
 	}
 
+	public void setHasReceivedChatMessage(boolean hasReceivedChatMessage)
+	{
+		this.hasReceivedChatMessage = hasReceivedChatMessage;
+		RequirementCache.stateChanged();
+	}
+
 	public void validateCondition(Client client, String chatMessage) {
 		if (!hasReceivedChatMessage)
 		{
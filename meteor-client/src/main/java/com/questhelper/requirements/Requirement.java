@@ -28,9 +28,11 @@
 package com.questhelper.requirements;
 
 import com.questhelper.QuestHelperConfig;
+import com.questhelper.requirements.util.RequirementInput;
 import java.awt.Color;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Set;
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
 import net.runelite.api.Client;
@@ -50,6 +52,17 @@ public interface Requirement
 	 */
 	boolean check(Client client);
 
+	/**
+	 * The game state {@link #check(Client)} reads, so its result can be reused until one of them
+	 * changes. Requirements which do not declare their inputs are checked again every tick.
+	 *
+	 * @return the inputs of this requirement
+	 */
+	default Set<RequirementInput> getInputs()
+	{
+		return RequirementInput.ALWAYS;
+	}
+
 	/**
 	 * @return display text to be used for rendering either on overlays or panels. Cannot be null.
 	 */
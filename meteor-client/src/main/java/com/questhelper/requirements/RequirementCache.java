@@ -0,0 +1,186 @@
+package com.questhelper.requirements;
+
+import com.google.inject.Singleton;
+import com.questhelper.requirements.util.RequirementInput;
+import java.util.IdentityHashMap;
+import java.util.Map;
+import java.util.Set;
+import meteor.eventbus.Subscribe;
+import net.runelite.api.Client;
+import net.runelite.api.Player;
+import net.runelite.api.coords.WorldPoint;
+import net.runelite.api.events.ChatMessage;
+import net.runelite.api.events.GameStateChanged;
+import net.runelite.api.events.ItemContainerChanged;
+import net.runelite.api.events.NpcChanged;
+import net.runelite.api.events.NpcDespawned;
+import net.runelite.api.events.NpcSpawned;
+import net.runelite.api.events.StatChanged;
+import net.runelite.api.events.VarbitChanged;
+
+/**
+ * Results of {@link Requirement#check(Client)}, shared between all steps of the active quest.
+ * <p>
+ * Every {@link RequirementInput} has a version which is bumped when the game state it stands for
+ * changes. A result is reused for as long as the versions of the inputs the requirement declared
+ * in {@link Requirement#getInputs()} stay the same, so a quest whose varbits, items and location
+ * do not change costs next to nothing per tick. Must only be used from the client thread.
+ */
+@Singleton
+public class RequirementCache
+{
+	private static final RequirementInput[] INPUTS = RequirementInput.values();
+
+	private static long stateVersion;
+
+	private final long[] versions = new long[INPUTS.length];
+	private final Map<Requirement, Entry> entries = new IdentityHashMap<>();
+
+	private int lastTick = -1;
+	private WorldPoint lastLocation;
+
+	/**
+	 * Note that the remembered state of a requirement was changed from outside of its check
+	 */
+	public static void stateChanged()
+	{
+		++stateVersion;
+	}
+
+	public boolean check(Requirement requirement, Client client)
+	{
+		refresh(client);
+		versions[RequirementInput.STATE.ordinal()] = stateVersion;
+
+		Entry entry = entries.get(requirement);
+		if (entry == null)
+		{
+			entry = new Entry(requirement.getInputs());
+			entries.put(requirement, entry);
+		}
+
+		long stamp = stamp(entry.inputs);
+		if (!entry.checked || entry.stamp != stamp)
+		{
+			entry.result = requirement.check(client);
+			entry.stamp = stamp;
+			entry.checked = true;
+		}
+
+		return entry.result;
+	}
+
+	/**
+	 * Forget all results, for when requirements change state outside of the tracked events
+	 */
+	public void invalidate()
+	{
+		for (RequirementInput input : INPUTS)
+		{
+			bump(input);
+		}
+		stateChanged();
+	}
+
+	public void clear()
+	{
+		entries.clear();
+		lastLocation = null;
+	}
+
+	// versions only ever grow, so their sum changes whenever any of them does
+	private long stamp(int[] inputs)
+	{
+		long stamp = 0;
+		for (int input : inputs)
+		{
+			stamp += versions[input];
+		}
+		return stamp;
+	}
+
+	private void bump(RequirementInput input)
+	{
+		++versions[input.ordinal()];
+	}
+
+	private void refresh(Client client)
+	{
+		int tick = client.getTickCount();
+		if (tick == lastTick)
+		{
+			return;
+		}
+		lastTick = tick;
+		bump(RequirementInput.TICK);
+
+		Player player = client.getLocalPlayer();
+		WorldPoint location = player != null ? player.getWorldLocation() : null;
+		if (location == null || !location.equals(lastLocation))
+		{
+			lastLocation = location;
+			bump(RequirementInput.LOCATION);
+		}
+	}
+
+	@Subscribe(priority = 100) // before any step checks its requirements
+	public void onVarbitChanged(VarbitChanged event)
+	{
+		bump(RequirementInput.VARS);
+	}
+
+	@Subscribe(priority = 100)
+	public void onItemContainerChanged(ItemContainerChanged event)
+	{
+		bump(RequirementInput.ITEMS);
+	}
+
+	@Subscribe(priority = 100)
+	public void onStatChanged(StatChanged event)
+	{
+		bump(RequirementInput.SKILLS);
+	}
+
+	@Subscribe(priority = 100)
+	public void onChatMessage(ChatMessage event)
+	{
+		bump(RequirementInput.CHAT);
+	}
+
+	@Subscribe(priority = 100)
+	public void onNpcSpawned(NpcSpawned event)
+	{
+		bump(RequirementInput.NPCS);
+	}
+
+	@Subscribe(priority = 100)
+	public void onNpcDespawned(NpcDespawned event)
+	{
+		bump(RequirementInput.NPCS);
+	}
+
+	@Subscribe(priority = 100)
+	public void onNpcChanged(NpcChanged event)
+	{
+		bump(RequirementInput.NPCS);
+	}
+
+	@Subscribe(priority = 100)
+	public void onGameStateChanged(GameStateChanged event)
+	{
+		invalidate();
+	}
+
+	private static class Entry
+	{
+		private final int[] inputs;
+		private long stamp;
+		private boolean result;
+		private boolean checked;
+
+		private Entry(Set<RequirementInput> inputs)
+		{
+			this.inputs = inputs.stream().mapToInt(Enum::ordinal).toArray();
+		}
+	}
+}
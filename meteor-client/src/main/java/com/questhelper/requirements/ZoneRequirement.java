@@ -29,8 +29,10 @@ package com.questhelper.requirements;
 
 import com.questhelper.Zone;
 import com.questhelper.questhelpers.QuestUtil;
+import com.questhelper.requirements.util.RequirementInput;
 import java.util.Collections;
 import java.util.List;
+import java.util.Set;
 import java.util.stream.Stream;
 import javax.annotation.Nonnull;
 import net.runelite.api.Client;
@@ -92,6 +94,12 @@ public class ZoneRequirement extends AbstractRequirement
 		this.checkInZone = checkInZone;
 	}
 
+	@Override
+	public Set<RequirementInput> getInputs()
+	{
+		return RequirementInput.of(RequirementInput.LOCATION);
+	}
+
 	@Override
 	public boolean check(Client client)
 	{
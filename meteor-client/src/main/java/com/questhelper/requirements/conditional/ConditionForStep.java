@@ -25,16 +25,15 @@
 package com.questhelper.requirements.conditional;
 
 import com.questhelper.requirements.Requirement;
+import com.questhelper.requirements.RequirementCache;
 import com.questhelper.requirements.util.LogicType;
 import java.util.ArrayList;
 import java.util.List;
 import lombok.Getter;
-import lombok.Setter;
 import net.runelite.api.Client;
 
 public abstract class ConditionForStep implements InitializableRequirement
 {
-	@Setter
 	@Getter
 	protected boolean hasPassed;
 	protected boolean onlyNeedToPassOnce;
@@ -43,6 +42,12 @@ public abstract class ConditionForStep implements InitializableRequirement
 	@Getter
 	protected List<Requirement> conditions = new ArrayList<>();
 
+	public void setHasPassed(boolean hasPassed)
+	{
+		this.hasPassed = hasPassed;
+		RequirementCache.stateChanged();
+	}
+
 	@Override
 	abstract public boolean check(Client client);
 
@@ -27,9 +27,13 @@ package com.questhelper.requirements.conditional;
 import com.questhelper.requirements.Requirement;
 import com.questhelper.requirements.util.LogicType;
 import com.questhelper.requirements.util.Operation;
+import com.questhelper.requirements.util.RequirementInput;
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.EnumSet;
 import java.util.List;
+import java.util.Objects;
+import java.util.Set;
 import javax.annotation.Nonnull;
 import lombok.Setter;
 import net.runelite.api.Client;
@@ -110,6 +114,20 @@ public class Conditions extends ConditionForStep
 		return text;
 	}
 
+	@Override
+	public Set<RequirementInput> getInputs()
+	{
+		Set<RequirementInput> inputs = EnumSet.noneOf(RequirementInput.class);
+		conditions.stream()
+			.filter(Objects::nonNull)
+			.forEach(c -> inputs.addAll(c.getInputs()));
+		if (onlyNeedToPassOnce)
+		{
+			inputs.add(RequirementInput.STATE);
+		}
+		return inputs;
+	}
+
 	@Override
 	public boolean check(Client client)
 	{
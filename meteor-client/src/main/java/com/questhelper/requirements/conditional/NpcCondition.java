@@ -25,7 +25,9 @@
 package com.questhelper.requirements.conditional;
 
 import com.questhelper.Zone;
+import com.questhelper.requirements.util.RequirementInput;
 import java.util.ArrayList;
+import java.util.Set;
 import net.runelite.api.Client;
 import net.runelite.api.NPC;
 import net.runelite.api.coords.WorldPoint;
@@ -69,6 +71,13 @@ public class NpcCondition extends ConditionForStep
 		}
 	}
 
+	@Override
+	public Set<RequirementInput> getInputs()
+	{
+		// npcs in a zone are tracked by location, which changes as they walk
+		return zone == null ? RequirementInput.of(RequirementInput.NPCS) : RequirementInput.ALWAYS;
+	}
+
 	public boolean check(Client client)
 	{
 		if (zone != null)
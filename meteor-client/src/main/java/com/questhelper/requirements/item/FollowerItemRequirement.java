@@ -27,7 +27,9 @@
 package com.questhelper.requirements.item;
 
 import com.questhelper.requirements.item.ItemRequirement;
+import com.questhelper.requirements.util.RequirementInput;
 import java.util.List;
+import java.util.Set;
 import net.runelite.api.Client;
 import net.runelite.api.Item;
 
@@ -41,6 +43,13 @@ public class FollowerItemRequirement extends ItemRequirement
 		this.followerIDs = followerIDs;
 	}
 
+	@Override
+	public Set<RequirementInput> getInputs()
+	{
+		// followers move around, so this can change on any tick
+		return RequirementInput.ALWAYS;
+	}
+
 	@Override
 	public boolean check(Client client, boolean checkConsideringSlotRestrictions, List<Item> items)
 	{
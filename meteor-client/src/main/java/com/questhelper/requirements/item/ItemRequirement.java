@@ -34,12 +34,14 @@ import com.questhelper.requirements.Requirement;
 import com.questhelper.requirements.conditional.Conditions;
 import com.questhelper.requirements.util.InventorySlots;
 import com.questhelper.requirements.util.LogicType;
+import com.questhelper.requirements.util.RequirementInput;
 import java.awt.Color;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
 import java.util.Objects;
+import java.util.Set;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 import lombok.Getter;
@@ -465,6 +467,12 @@ public class ItemRequirement extends AbstractRequirement
 			.sum();
 	}
 
+	@Override
+	public Set<RequirementInput> getInputs()
+	{
+		return RequirementInput.of(RequirementInput.ITEMS);
+	}
+
 	public boolean check(Client client)
 	{
 		return check(client, false);
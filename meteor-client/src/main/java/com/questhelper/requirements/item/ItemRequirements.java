@@ -29,11 +29,14 @@ package com.questhelper.requirements.item;
 import com.questhelper.QuestHelperConfig;
 import com.questhelper.questhelpers.QuestUtil;
 import com.questhelper.requirements.util.LogicType;
+import com.questhelper.requirements.util.RequirementInput;
 import java.awt.Color;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
+import java.util.EnumSet;
 import java.util.List;
+import java.util.Set;
 import java.util.function.Predicate;
 import lombok.Getter;
 import lombok.Setter;
@@ -85,6 +88,14 @@ public class ItemRequirements extends ItemRequirement
 		return LogicType.OR.test(getItemRequirements().stream(), item -> !item.getAllIds().contains(-1) && item.getQuantity() >= 0);
 	}
 
+	@Override
+	public Set<RequirementInput> getInputs()
+	{
+		Set<RequirementInput> inputs = EnumSet.noneOf(RequirementInput.class);
+		itemRequirements.forEach(r -> inputs.addAll(r.getInputs()));
+		return inputs;
+	}
+
 	@Override
 	public boolean check(Client client)
 	{
@@ -29,7 +29,9 @@ package com.questhelper.requirements.quest;
 
 import com.questhelper.QuestHelperQuest;
 import com.questhelper.requirements.AbstractRequirement;
+import com.questhelper.requirements.util.RequirementInput;
 import java.util.Locale;
+import java.util.Set;
 import lombok.Getter;
 import net.runelite.api.Client;
 import net.runelite.api.QuestState;
@@ -70,6 +72,12 @@ public class QuestRequirement extends AbstractRequirement
 		this.displayText = displayText;
 	}
 
+	@Override
+	public Set<RequirementInput> getInputs()
+	{
+		return RequirementInput.of(RequirementInput.VARS);
+	}
+
 	@Override
 	public boolean check(Client client)
 	{
@@ -0,0 +1,57 @@
+package com.questhelper.requirements.util;
+
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.Set;
+
+/**
+ * Game state a {@link com.questhelper.requirements.Requirement} can depend on. The result of a
+ * requirement is reused by {@link com.questhelper.requirements.RequirementCache} until one of
+ * its inputs changes.
+ */
+public enum RequirementInput
+{
+	/**
+	 * Varbits and varps, changed on VarbitChanged
+	 */
+	VARS,
+	/**
+	 * Inventory, equipment and bank, changed on ItemContainerChanged
+	 */
+	ITEMS,
+	/**
+	 * The local player's location, changed when it moves between ticks
+	 */
+	LOCATION,
+	/**
+	 * Real and boosted skill levels, changed on StatChanged
+	 */
+	SKILLS,
+	/**
+	 * Chat messages, changed on ChatMessage
+	 */
+	CHAT,
+	/**
+	 * Npcs in the scene, changed on NpcSpawned, NpcDespawned and NpcChanged
+	 */
+	NPCS,
+	/**
+	 * Remembered state of requirements such as chat messages which were seen, changed when a
+	 * step resets it
+	 */
+	STATE,
+	/**
+	 * Changes every game tick, for requirements which read anything else
+	 */
+	TICK;
+
+	/**
+	 * Inputs of a requirement which has not declared any, re-checked every tick
+	 */
+	public static final Set<RequirementInput> ALWAYS = Collections.unmodifiableSet(EnumSet.of(TICK));
+
+	public static Set<RequirementInput> of(RequirementInput input)
+	{
+		return Collections.unmodifiableSet(EnumSet.of(input));
+	}
+}
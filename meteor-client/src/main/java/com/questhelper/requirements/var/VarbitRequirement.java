@@ -29,8 +29,10 @@ package com.questhelper.requirements.var;
 
 import com.questhelper.requirements.AbstractRequirement;
 import com.questhelper.requirements.util.Operation;
+import com.questhelper.requirements.util.RequirementInput;
 import java.math.BigInteger;
 import java.util.Locale;
+import java.util.Set;
 import lombok.Getter;
 import net.runelite.api.Client;
 import net.runelite.api.Varbits;
@@ -134,6 +136,12 @@ public class VarbitRequirement extends AbstractRequirement
 		this.displayText = varbitID + " must have the " + text + " bit set.";
 	}
 
+	@Override
+	public Set<RequirementInput> getInputs()
+	{
+		return RequirementInput.of(RequirementInput.VARS);
+	}
+
 	@Override
 	public boolean check(Client client)
 	{
@@ -28,8 +28,10 @@ package com.questhelper.requirements.var;
 
 import com.questhelper.requirements.conditional.ConditionForStep;
 import com.questhelper.requirements.util.Operation;
+import com.questhelper.requirements.util.RequirementInput;
 import java.math.BigInteger;
 import java.util.Locale;
+import java.util.Set;
 import net.runelite.api.Client;
 
 public class VarplayerRequirement extends ConditionForStep
@@ -110,6 +112,12 @@ public class VarplayerRequirement extends ConditionForStep
 	}
 
 
+	@Override
+	public Set<RequirementInput> getInputs()
+	{
+		return RequirementInput.of(RequirementInput.VARS);
+	}
+
 	@Override
 	public boolean check(Client client)
 	{
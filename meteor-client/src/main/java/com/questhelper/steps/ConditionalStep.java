@@ -163,6 +163,11 @@ public class ConditionalStep extends QuestStep implements OwnerStep
 		steps.keySet().stream()
 			.filter(InitializableRequirement.class::isInstance)
 			.forEach(req -> ((InitializableRequirement) req).initialize(client));
+		// initializing changes the state of npc and other conditions
+		if (requirementCache != null)
+		{
+			requirementCache.invalidate();
+		}
 		updateSteps();
 		started = true;
 	}
@@ -235,7 +240,7 @@ public class ConditionalStep extends QuestStep implements OwnerStep
 		for (Requirement conditions : steps.keySet())
 		{
 			boolean stepIsLocked = steps.get(conditions).isLocked();
-			if (conditions != null && conditions.check(client) && !stepIsLocked)
+			if (conditions != null && checkCached(conditions) && !stepIsLocked)
 			{
 				startUpStep(steps.get(conditions));
 				return;
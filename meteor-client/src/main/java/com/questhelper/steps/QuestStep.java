@@ -33,6 +33,7 @@ import com.questhelper.QuestVarbits;
 import com.questhelper.questhelpers.QuestHelper;
 import com.questhelper.questhelpers.QuestUtil;
 import com.questhelper.requirements.Requirement;
+import com.questhelper.requirements.RequirementCache;
 import com.questhelper.steps.choice.DialogChoiceChange;
 import com.questhelper.steps.choice.DialogChoiceStep;
 import com.questhelper.steps.choice.DialogChoiceSteps;
@@ -75,6 +76,9 @@ public abstract class QuestStep implements Module
 	@Inject
 	SpriteManager spriteManager;
 
+	@Inject
+	protected RequirementCache requirementCache;
+
 	@Getter
 	protected List<String> text;
 
@@ -390,7 +394,7 @@ public abstract class QuestStep implements Module
 
 	public boolean isLocked()
 	{
-		boolean autoLocked = lockingCondition != null && lockingCondition.check(client);
+		boolean autoLocked = lockingCondition != null && checkCached(lockingCondition);
 		unlockable = !autoLocked;
 		if (autoLocked)
 		{
@@ -399,6 +403,18 @@ public abstract class QuestStep implements Module
 		return locked;
 	}
 
+	/**
+	 * Check a requirement, reusing its last result if none of its inputs changed since
+	 */
+	protected boolean checkCached(Requirement requirement)
+	{
+		if (requirementCache == null)
+		{
+			return requirement.check(client);
+		}
+		return requirementCache.check(requirement, client);
+	}
+
 	public QuestStep getActiveStep()
 	{
 		return this;
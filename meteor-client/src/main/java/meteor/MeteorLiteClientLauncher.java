@@ -9,6 +9,7 @@ import java.io.IOException;
 import javafx.application.Application;
 import javafx.stage.Stage;
 import net.runelite.api.Client;
+import org.sponge.util.Logger;
 
 public class MeteorLiteClientLauncher extends Application implements Module {
   public static final File METEOR_DIR
@@ -28,6 +29,7 @@ public class MeteorLiteClientLauncher extends Application implements Module {
 
   @Override
   public void start(Stage primaryStage) throws IOException {
+    Logger.setLogDirectory(LOGS_DIR);
     mainInjectorInstance = Guice.createInjector(meteorLite());
     mainInjectorInstance.injectMembers(meteorLite());
     mainClientInstance = getNewOSRSInstance();
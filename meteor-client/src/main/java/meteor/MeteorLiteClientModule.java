@@ -1,6 +1,7 @@
 package meteor;
 
 import static meteor.MeteorLiteClientLauncher.DEFAULT_CONFIG_FILE;
+import static meteor.MeteorLiteClientLauncher.LOGS_DIR;
 import static org.sponge.util.Logger.ANSI_RESET;
 import static org.sponge.util.Logger.ANSI_YELLOW;
 
@@ -28,6 +29,7 @@ import java.io.InputStream;
 import java.io.InputStreamReader;
 import java.net.MalformedURLException;
 import java.net.URL;
+import java.net.URLConnection;
 import java.nio.charset.StandardCharsets;
 import java.security.InvalidParameterException;
 import java.util.Collection;
@@ -38,9 +40,9 @@ import java.util.Map;
 import java.util.Objects;
 import java.util.UUID;
 import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
 import java.util.concurrent.LinkedBlockingQueue;
 import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
 import java.util.concurrent.ThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
 import javafx.embed.swing.JFXPanel;
@@ -66,11 +68,21 @@ import meteor.eventbus.EventBus;
 import meteor.eventbus.Subscribe;
 import meteor.eventbus.events.ClientShutdown;
 import meteor.events.ExternalsReloaded;
+import meteor.executor.Compute;
+import meteor.executor.ExecutorMetrics;
+import meteor.executor.ExecutorTier;
+import meteor.executor.IO;
+import meteor.executor.MonitoredExecutorService;
+import meteor.executor.MonitoredScheduledExecutorService;
+import meteor.executor.Timer;
+import meteor.game.ItemManager;
+import meteor.game.NPCManager;
 import meteor.game.WorldService;
 import meteor.plugins.api.game.*;
 import meteor.plugins.api.movement.Movement;
 import meteor.plugins.itemstats.ItemStatChangesService;
 import meteor.plugins.itemstats.ItemStatChangesServiceImpl;
+import meteor.startup.Startup;
 import meteor.ui.controllers.ToolbarFXMLController;
 import meteor.ui.overlay.OverlayManager;
 import meteor.ui.overlay.WidgetOverlay;
@@ -101,6 +113,13 @@ public class MeteorLiteClientModule extends AbstractModule implements AppletStub
   private static final int CLIENT_HEIGHT = Constants.GAME_FIXED_HEIGHT + (Constants.GAME_FIXED_HEIGHT - 464) + TOOLBAR_HEIGHT;
   private static final Dimension CLIENT_SIZE = new Dimension(CLIENT_WIDTH, CLIENT_HEIGHT);
 
+  private static final String STARTUP_TRACE_FILE = "startup-trace.json";
+  private static final int JAV_CONFIG_TIMEOUT = 5000;
+
+  private static final int IO_THREADS = 16;
+  private static final int IO_QUEUE_SIZE = 1024;
+  private static final int COMPUTE_QUEUE_SIZE = 1024;
+
   @Inject
   private EventBus eventBus;
 
@@ -224,50 +243,65 @@ public class MeteorLiteClientModule extends AbstractModule implements AppletStub
   public void start() throws IOException {
     long startTime = System.currentTimeMillis();
 
-    loadJagexConfiguration();
-
-    instanceInjector = Guice.createInjector(this);
-    instanceInjectorStatic = instanceInjector;
-    instanceInjector.injectMembers(this);
-    instanceInjector.injectMembers(pluginManager);
-    instanceInjector.injectMembers(client);
-    eventBus.register(this);
-
-    discordService.init();
-
-    Collection<WidgetOverlay> overlays = WidgetOverlay.createOverlays(client);
-    overlays.forEach((overlay) -> {
-      instanceInjector.injectMembers(overlay);
-      overlayManager.add(overlay);
+    // Phases touching the applet and the window stay on the launcher thread, as they always have.
+    Startup startup = new Startup();
+    Startup.Phase jagexConfig = startup.phase("Jagex configuration",
+            MeteorLiteClientModule::loadJagexConfiguration);
+    Startup.Phase toolbar = startup.phase("Toolbar", () -> toolbarRoot = FXMLLoader.load(
+            Objects.requireNonNull(ClassLoader.getSystemClassLoader().getResource("toolbar.fxml"))));
+    Startup.Phase injector = startup.phase("Injector", () -> {
+      instanceInjector = Guice.createInjector(this);
+      instanceInjectorStatic = instanceInjector;
+      instanceInjector.injectMembers(this);
+      instanceInjector.injectMembers(pluginManager);
+      instanceInjector.injectMembers(client);
+      eventBus.register(this);
     });
+    startup.phase("Discord", () -> discordService.init(), injector);
+    startup.phase("NPC data", () -> instanceInjector.getInstance(NPCManager.class), injector);
+    startup.phase("Item data", () -> instanceInjector.getInstance(ItemManager.class), injector);
+    Startup.Phase config = startup.phase("Config", () -> configManager.load(), injector);
+    Startup.Phase overlays = startup.phase("Overlays", () -> {
+      Collection<WidgetOverlay> widgetOverlays = WidgetOverlay.createOverlays(client);
+      widgetOverlays.forEach((overlay) -> {
+        instanceInjector.injectMembers(overlay);
+        overlayManager.add(overlay);
+      });
+
+      overlayManager.add(worldMapOverlay.get());
+
+      overlayManager.add(tooltipOverlay.get());
+    }, config);
+    Startup.Phase gamePanel = startup.callerPhase("Game panel", () -> {
+      applet = (Applet) client;
+      applet.setMinimumSize(Constants.GAME_FIXED_SIZE);
+      setAppletConfiguration(applet);
+
+      //Early init game panel so gpu doesn't eat shit when enabling
+      JPanel panel = new JPanel();
+      rootPanel.setLayout(new BorderLayout());
+      panel.setMinimumSize(Constants.GAME_FIXED_SIZE);
+
+      panel.setLayout(new BorderLayout());
+      panel.add(applet, BorderLayout.CENTER);
+      rootPanel.add(panel, BorderLayout.CENTER);
+      rootPanel.setMinimumSize(Constants.GAME_FIXED_SIZE);
+    }, jagexConfig, injector);
+    Startup.Phase plugins = startup.callerPhase("Plugins",
+            () -> pluginManager.startInternalPlugins(), config, overlays, gamePanel);
+    startup.callerPhase("Window", () -> {
+      log.info(
+              ANSI_YELLOW + "OSRS instance started in " + (System.currentTimeMillis() - startTime) + " ms"
+                      + ANSI_RESET);
+
+      setupJavaFXComponents(applet);
+    }, toolbar, plugins);
 
-    overlayManager.add(worldMapOverlay.get());
-
-    overlayManager.add(tooltipOverlay.get());
-
-    applet = (Applet) client;
-    applet.setMinimumSize(Constants.GAME_FIXED_SIZE);
-    setAppletConfiguration(applet);
-
-    //Early init game panel so gpu doesn't eat shit when enabling
-    JPanel gamePanel = new JPanel();
-    rootPanel.setLayout(new BorderLayout());
-    gamePanel.setMinimumSize(Constants.GAME_FIXED_SIZE);
-    toolbarRoot = FXMLLoader.load(
-            Objects.requireNonNull(ClassLoader.getSystemClassLoader().getResource("toolbar.fxml")));
-
-    gamePanel.setLayout(new BorderLayout());
-    gamePanel.add(applet, BorderLayout.CENTER);
-    rootPanel.add(gamePanel, BorderLayout.CENTER);
-    rootPanel.setMinimumSize(Constants.GAME_FIXED_SIZE);
-
-    configManager.load();
-    pluginManager.startInternalPlugins();
-    log.info(
-            ANSI_YELLOW + "OSRS instance started in " + (System.currentTimeMillis() - startTime) + " ms"
-                    + ANSI_RESET);
-
-    setupJavaFXComponents(applet);
+    try {
+      startup.run();
+    } finally {
+      startup.writeTrace(new File(LOGS_DIR, STARTUP_TRACE_FILE));
+    }
   }
 
   public static void toggleRightPanel() throws IOException {
@@ -354,7 +388,11 @@ public class MeteorLiteClientModule extends AbstractModule implements AppletStub
     BufferedReader br;
     try
     {
-      br = new BufferedReader(new InputStreamReader(url.openStream(), StandardCharsets.ISO_8859_1));
+      // Fall back to the bundled configuration rather than hang startup on a slow connection
+      URLConnection connection = url.openConnection();
+      connection.setConnectTimeout(JAV_CONFIG_TIMEOUT);
+      connection.setReadTimeout(JAV_CONFIG_TIMEOUT);
+      br = new BufferedReader(new InputStreamReader(connection.getInputStream(), StandardCharsets.ISO_8859_1));
 
       String line;
       while ((line = br.readLine()) != null) {
@@ -513,8 +551,6 @@ public class MeteorLiteClientModule extends AbstractModule implements AppletStub
     bind(MeteorLiteClientModule.class).toInstance(this);
     bind(Callbacks.class).to(Hooks.class);
     bind(ChatMessageManager.class);
-    bind(ScheduledExecutorService.class).toInstance(
-            new ExecutorServiceExceptionLogger(Executors.newSingleThreadScheduledExecutor()));
 
     bind(EventBus.class)
             .toInstance(new EventBus());
@@ -566,18 +602,72 @@ public class MeteorLiteClientModule extends AbstractModule implements AppletStub
 
   @Provides
   @Singleton
-  ExecutorService provideExecutorService() {
-    int poolSize = 2 * Runtime.getRuntime().availableProcessors();
+  @Timer
+  ScheduledExecutorService provideTimerExecutorService(ExecutorMetrics metrics) {
+    ScheduledThreadPoolExecutor executor = new ScheduledThreadPoolExecutor(1,
+            new ThreadFactoryBuilder().setNameFormat("timer-%d").build());
+
+    return new MonitoredScheduledExecutorService(new ExecutorServiceExceptionLogger(executor),
+            ExecutorTier.TIMER, metrics);
+  }
+
+  @Provides
+  @Singleton
+  @IO
+  ExecutorService provideIOExecutorService(ExecutorMetrics metrics) {
+    // Threads mostly wait on the network or disk, so there are more of them than cores. Tasks queue
+    // once all of them are busy, and are rejected when even the queue is full.
+    ThreadPoolExecutor executor = new ThreadPoolExecutor(IO_THREADS, IO_THREADS,
+            60L, TimeUnit.SECONDS,
+            new LinkedBlockingQueue<>(IO_QUEUE_SIZE),
+            new ThreadFactoryBuilder().setNameFormat("io-%d").build());
+    executor.allowCoreThreadTimeOut(true);
+
+    return new MonitoredExecutorService(new NonScheduledExecutorServiceExceptionLogger(executor),
+            ExecutorTier.IO, metrics);
+  }
+
+  @Provides
+  @Singleton
+  @Compute
+  ExecutorService provideComputeExecutorService(ExecutorMetrics metrics) {
+    int poolSize = Runtime.getRuntime().availableProcessors();
 
     // Will start up to poolSize threads (because of allowCoreThreadTimeOut) as necessary, and times out
     // unused threads after 1 minute
     ThreadPoolExecutor executor = new ThreadPoolExecutor(poolSize, poolSize,
             60L, TimeUnit.SECONDS,
-            new LinkedBlockingQueue<>(),
-            new ThreadFactoryBuilder().setNameFormat("worker-%d").build());
+            new LinkedBlockingQueue<>(COMPUTE_QUEUE_SIZE),
+            new ThreadFactoryBuilder().setNameFormat("compute-%d").build());
     executor.allowCoreThreadTimeOut(true);
 
-    return new NonScheduledExecutorServiceExceptionLogger(executor);
+    return new MonitoredExecutorService(new NonScheduledExecutorServiceExceptionLogger(executor),
+            ExecutorTier.COMPUTE, metrics);
+  }
+
+  /**
+   * Unqualified scheduler of plugins which predate the {@link IO} and {@link Compute} executors,
+   * and of {@link meteor.task.Scheduler}. Their tasks may block or sleep, so they get a thread of
+   * their own and an unbounded queue, and never delay the client services or take I/O threads.
+   * It stays a single thread: these plugins rely on their tasks running one at a time.
+   */
+  @Provides
+  @Singleton
+  ScheduledExecutorService provideScheduledExecutorService(ExecutorMetrics metrics) {
+    ScheduledThreadPoolExecutor executor = new ScheduledThreadPoolExecutor(1,
+            new ThreadFactoryBuilder().setNameFormat("worker-%d").build());
+
+    return new MonitoredScheduledExecutorService(new ExecutorServiceExceptionLogger(executor),
+            ExecutorTier.GENERAL, metrics);
+  }
+
+  /**
+   * Unqualified executor of plugins, sharing the thread of the unqualified scheduler.
+   */
+  @Provides
+  @Singleton
+  ExecutorService provideExecutorService(ScheduledExecutorService executor) {
+    return executor;
   }
 
   @Provides
@@ -50,6 +50,7 @@ import meteor.eventbus.Subscribe;
 import meteor.input.KeyManager;
 import meteor.input.MouseManager;
 import meteor.task.Scheduler;
+import meteor.task.TimerService;
 import meteor.ui.overlay.OverlayLayer;
 import meteor.ui.overlay.OverlayRenderer;
 import meteor.ui.overlay.infobox.InfoBoxManager;
@@ -98,6 +99,7 @@ public class Hooks implements Callbacks {
   private final InfoBoxManager infoBoxManager;
   private final ChatMessageManager chatMessageManager;
   private final Scheduler scheduler;
+  private final TimerService timerService;
   private Dimension lastStretchedDimensions;
   private VolatileImage stretchedImage;
   private Graphics2D stretchedGraphics;
@@ -116,7 +118,8 @@ public class Hooks implements Callbacks {
       KeyManager keyManager,
       InfoBoxManager infoBoxManager,
       ChatMessageManager chatMessageManager,
-      Scheduler scheduler
+      Scheduler scheduler,
+      TimerService timerService
   ) {
     Hooks.client = client;
     this.clientThread = clientThread;
@@ -128,6 +131,7 @@ public class Hooks implements Callbacks {
     this.infoBoxManager = infoBoxManager;
     this.chatMessageManager = chatMessageManager;
     this.scheduler = scheduler;
+    this.timerService = timerService;
     eventBus.register(this);
   }
 
@@ -216,8 +220,12 @@ public class Hooks implements Callbacks {
 
       deferredEventBus.replay();
 
+      timerService.advanceTicks();
+
       eventBus.post(GAME_TICK);
 
+      timerService.runTicks();
+
       int tick = client.getTickCount();
       client.setTickCount(tick + 1);
     }
@@ -226,6 +234,8 @@ public class Hooks implements Callbacks {
 
     clientThread.invoke();
 
+    timerService.advanceTime();
+
     long now = System.nanoTime();
 
     if (now - lastCheck < CHECK) {
@@ -26,12 +26,13 @@ package meteor.chat;
 
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ExecutorService;
 import java.util.function.BiConsumer;
 import java.util.function.BiPredicate;
 import javax.inject.Inject;
 import javax.inject.Singleton;
 import meteor.eventbus.events.ChatInput;
+import meteor.executor.IO;
 import meteor.eventbus.events.ChatboxInput;
 import meteor.eventbus.events.PrivateMessageInput;
 import net.runelite.api.Client;
@@ -46,13 +47,13 @@ public class ChatCommandManager implements ChatboxInputListener
 	private final Map<String, ChatCommand> commands = new ConcurrentHashMap<>();
 
 	private final Client client;
-	private final ScheduledExecutorService scheduledExecutorService;
+	private final ExecutorService executorService;
 
 	@Inject
-	private ChatCommandManager(EventBus eventBus, CommandManager commandManager, Client client, ScheduledExecutorService scheduledExecutorService)
+	private ChatCommandManager(EventBus eventBus, CommandManager commandManager, Client client, @IO ExecutorService executorService)
 	{
 		this.client = client;
-		this.scheduledExecutorService = scheduledExecutorService;
+		this.executorService = executorService;
 		eventBus.register(this);
 		commandManager.register(this);
 	}
@@ -116,7 +117,7 @@ public class ChatCommandManager implements ChatboxInputListener
 
 		if (chatCommand.isAsync())
 		{
-			scheduledExecutorService.execute(() -> chatCommand.getExecute().accept(chatMessage, message));
+			executorService.execute(() -> chatCommand.getExecute().accept(chatMessage, message));
 		}
 		else
 		{
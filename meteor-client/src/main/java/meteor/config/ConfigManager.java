@@ -66,6 +66,7 @@ import java.util.Objects;
 import java.util.Properties;
 import java.util.Set;
 import java.util.Stack;
+import java.util.concurrent.ExecutorService;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicInteger;
@@ -84,6 +85,8 @@ import meteor.eventbus.EventBus;
 import meteor.eventbus.Subscribe;
 import meteor.eventbus.events.ClientShutdown;
 import meteor.eventbus.events.ConfigChanged;
+import meteor.executor.IO;
+import meteor.executor.Timer;
 import meteor.plugins.Plugin;
 import meteor.plugins.PluginDescriptor;
 import meteor.util.ColorUtil;
@@ -116,7 +119,8 @@ public class ConfigManager {
   @Inject
   public ConfigManager(
       @Named("config") File config,
-      ScheduledExecutorService scheduledExecutorService,
+      @Timer ScheduledExecutorService scheduledExecutorService,
+      @IO ExecutorService executorService,
       EventBus eventBus,
       Client client) {
     this.settingsFileInput = config;
@@ -124,7 +128,8 @@ public class ConfigManager {
     this.propertiesFile = getPropertiesFile();
     this.client = client;
 
-    scheduledExecutorService.scheduleWithFixedDelay(this::saveProperties, 30, 30, TimeUnit.SECONDS);
+    scheduledExecutorService.scheduleWithFixedDelay(() -> executorService.execute(this::saveProperties),
+        30, 30, TimeUnit.SECONDS);
     this.eventBus.register(this);
   }
 
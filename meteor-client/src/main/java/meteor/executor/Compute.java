@@ -0,0 +1,20 @@
+package meteor.executor;
+
+import static java.lang.annotation.ElementType.FIELD;
+import static java.lang.annotation.ElementType.METHOD;
+import static java.lang.annotation.ElementType.PARAMETER;
+import static java.lang.annotation.RetentionPolicy.RUNTIME;
+
+import java.lang.annotation.Retention;
+import java.lang.annotation.Target;
+import javax.inject.Qualifier;
+
+/**
+ * The executor for CPU bound work, with a thread per core. Tasks must not block.
+ */
+@Qualifier
+@Retention(RUNTIME)
+@Target({FIELD, PARAMETER, METHOD})
+public @interface Compute {
+
+}
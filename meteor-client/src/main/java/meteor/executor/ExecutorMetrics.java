@@ -0,0 +1,82 @@
+package meteor.executor;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import javax.inject.Singleton;
+
+/**
+ * Task counters of the client executors, per executor and per owner of the tasks.
+ * <p>
+ * The owner of a task is the class which submitted it, with plugins and services reported by
+ * their top level class. It is taken from the class of the task, which for lambdas and method
+ * references is the class they are declared in, and otherwise from the stack of the submitting
+ * thread.
+ */
+@Singleton
+public class ExecutorMetrics {
+
+  private static final String UNKNOWN = "Unknown";
+
+  // classes which only pass tasks on, and so never own them
+  private static final String[] INTERMEDIARIES = {
+      "java.", "jdk.", "sun.", "com.google.common.", "meteor.executor.",
+      "meteor.util.RunnableExceptionLogger", "meteor.util.CallableExceptionLogger",
+      "meteor.util.ExecutorServiceExceptionLogger",
+      "meteor.util.NonScheduledExecutorServiceExceptionLogger"
+  };
+
+  private static final ClassValue<String> OWNERS = new ClassValue<>() {
+    @Override
+    protected String computeValue(Class<?> type) {
+      return owner(type.getName());
+    }
+  };
+
+  private static final StackWalker STACK_WALKER =
+      StackWalker.getInstance(StackWalker.Option.RETAIN_CLASS_REFERENCE);
+
+  private final Map<ExecutorTier, Map<String, TaskStats>> stats = new ConcurrentHashMap<>();
+
+  TaskStats stats(ExecutorTier tier, Object task) {
+    String owner = OWNERS.get(task.getClass());
+    if (owner == null) {
+      owner = STACK_WALKER.walk(frames -> frames
+          .map(frame -> OWNERS.get(frame.getDeclaringClass()))
+          .filter(Objects::nonNull)
+          .findFirst()
+          .orElse(UNKNOWN));
+    }
+
+    return stats.computeIfAbsent(tier, t -> new ConcurrentHashMap<>())
+        .computeIfAbsent(owner, o -> new TaskStats(tier, o));
+  }
+
+  /**
+   * @return the counters of every owner which submitted a task, by executor and then by owner
+   */
+  public List<TaskStats> getStats() {
+    List<TaskStats> all = new ArrayList<>();
+    stats.values().forEach(owners -> all.addAll(owners.values()));
+    all.sort(Comparator.comparing(TaskStats::getTier).thenComparing(TaskStats::getOwner));
+    return all;
+  }
+
+  private static String owner(String className) {
+    for (String intermediary : INTERMEDIARIES) {
+      if (className.startsWith(intermediary)) {
+        return null;
+      }
+    }
+
+    // nested classes and lambdas belong to their top level class
+    int nested = className.indexOf('$');
+    if (nested >= 0) {
+      className = className.substring(0, nested);
+    }
+    return className.substring(className.lastIndexOf('.') + 1);
+  }
+}
@@ -0,0 +1,27 @@
+package meteor.executor;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * The executors of the client. Each has its own threads, so a slow task in one never delays the
+ * others.
+ */
+@Getter
+@RequiredArgsConstructor
+public enum ExecutorTier {
+  /**
+   * The {@link Timer} scheduler, which fires delayed and periodic tasks of the client services.
+   */
+  TIMER("Timer"),
+  IO("I/O"),
+  COMPUTE("Compute"),
+  /**
+   * The unqualified {@link java.util.concurrent.ScheduledExecutorService} and
+   * {@link java.util.concurrent.ExecutorService}, a single thread shared by plugins and scheduled
+   * plugin methods, whose tasks may block and run one at a time.
+   */
+  GENERAL("General");
+
+  private final String name;
+}
@@ -0,0 +1,218 @@
+package meteor.executor;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+
+/**
+ * Wrapper for {@link ExecutorService} that records queue depth, wait and run time and rejections
+ * of the tasks submitted to it in {@link ExecutorMetrics}, per owner of the tasks.
+ */
+public class MonitoredExecutorService implements ExecutorService {
+
+  private final ExecutorService service;
+  protected final ExecutorTier tier;
+  protected final ExecutorMetrics metrics;
+
+  public MonitoredExecutorService(ExecutorService service, ExecutorTier tier,
+      ExecutorMetrics metrics) {
+    this.service = service;
+    this.tier = tier;
+    this.metrics = metrics;
+  }
+
+  @Override
+  public void execute(Runnable command) {
+    TaskStats stats = metrics.stats(tier, command);
+    submit(stats, true, () -> {
+      service.execute(new MonitoredTask<>(stats, command, null, true, System.nanoTime(), 0));
+      return null;
+    });
+  }
+
+  @Override
+  public <T> Future<T> submit(Callable<T> task) {
+    TaskStats stats = metrics.stats(tier, task);
+    MonitoredTask<T> monitored = monitor(stats, task);
+    return new MonitoredFuture<>(submit(stats, true,
+        () -> service.submit((Callable<T>) monitored)), monitored);
+  }
+
+  @Override
+  public <T> Future<T> submit(Runnable task, T result) {
+    TaskStats stats = metrics.stats(tier, task);
+    MonitoredTask<?> monitored = monitor(stats, task);
+    return new MonitoredFuture<>(submit(stats, true,
+        () -> service.submit((Runnable) monitored, result)), monitored);
+  }
+
+  @Override
+  public Future<?> submit(Runnable task) {
+    TaskStats stats = metrics.stats(tier, task);
+    MonitoredTask<?> monitored = monitor(stats, task);
+    return new MonitoredFuture<>(submit(stats, true,
+        () -> service.submit((Runnable) monitored)), monitored);
+  }
+
+  // Tasks left over when these return were cancelled, or never started at all
+
+  @Override
+  public <T> List<Future<T>> invokeAll(Collection<? extends Callable<T>> tasks)
+      throws InterruptedException {
+    List<MonitoredTask<T>> monitored = monitor(tasks);
+    try {
+      return service.invokeAll(monitored);
+    } finally {
+      discard(monitored);
+    }
+  }
+
+  @Override
+  public <T> List<Future<T>> invokeAll(Collection<? extends Callable<T>> tasks, long timeout,
+      TimeUnit unit) throws InterruptedException {
+    List<MonitoredTask<T>> monitored = monitor(tasks);
+    try {
+      return service.invokeAll(monitored, timeout, unit);
+    } finally {
+      discard(monitored);
+    }
+  }
+
+  @Override
+  public <T> T invokeAny(Collection<? extends Callable<T>> tasks)
+      throws InterruptedException, ExecutionException {
+    List<MonitoredTask<T>> monitored = monitor(tasks);
+    try {
+      return service.invokeAny(monitored);
+    } finally {
+      discard(monitored);
+    }
+  }
+
+  @Override
+  public <T> T invokeAny(Collection<? extends Callable<T>> tasks, long timeout, TimeUnit unit)
+      throws InterruptedException, ExecutionException, TimeoutException {
+    List<MonitoredTask<T>> monitored = monitor(tasks);
+    try {
+      return service.invokeAny(monitored, timeout, unit);
+    } finally {
+      discard(monitored);
+    }
+  }
+
+  /**
+   * Count a task as submitted, and as rejected if the executor refuses it.
+   */
+  protected <T> T submit(TaskStats stats, boolean queued, Supplier<T> submit) {
+    stats.submitted(queued);
+    try {
+      return submit.get();
+    } catch (RejectedExecutionException e) {
+      stats.rejected(queued);
+      throw e;
+    }
+  }
+
+  private static <T> MonitoredTask<T> monitor(TaskStats stats, Callable<T> task) {
+    return new MonitoredTask<>(stats, null, task, true, System.nanoTime(), 0);
+  }
+
+  private static MonitoredTask<?> monitor(TaskStats stats, Runnable task) {
+    return new MonitoredTask<>(stats, task, null, true, System.nanoTime(), 0);
+  }
+
+  private <T> List<MonitoredTask<T>> monitor(Collection<? extends Callable<T>> tasks) {
+    List<MonitoredTask<T>> monitored = new ArrayList<>(tasks.size());
+    for (Callable<T> task : tasks) {
+      TaskStats stats = metrics.stats(tier, task);
+      stats.submitted(true);
+      monitored.add(monitor(stats, task));
+    }
+    return monitored;
+  }
+
+  private static void discard(List<? extends MonitoredTask<?>> tasks) {
+    for (MonitoredTask<?> task : tasks) {
+      task.discard();
+    }
+  }
+
+  /**
+   * Stops counting its task as queued when it is cancelled before it starts.
+   */
+  private static final class MonitoredFuture<T> implements Future<T> {
+
+    private final Future<T> future;
+    private final MonitoredTask<?> task;
+
+    private MonitoredFuture(Future<T> future, MonitoredTask<?> task) {
+      this.future = future;
+      this.task = task;
+    }
+
+    @Override
+    public boolean cancel(boolean mayInterruptIfRunning) {
+      boolean cancelled = future.cancel(mayInterruptIfRunning);
+      if (cancelled) {
+        task.discard();
+      }
+      return cancelled;
+    }
+
+    @Override
+    public boolean isCancelled() {
+      return future.isCancelled();
+    }
+
+    @Override
+    public boolean isDone() {
+      return future.isDone();
+    }
+
+    @Override
+    public T get() throws InterruptedException, ExecutionException {
+      return future.get();
+    }
+
+    @Override
+    public T get(long timeout, TimeUnit unit)
+        throws InterruptedException, ExecutionException, TimeoutException {
+      return future.get(timeout, unit);
+    }
+  }
+
+  // Everything below is direct proxy to provided executor service
+
+  @Override
+  public void shutdown() {
+    service.shutdown();
+  }
+
+  @Override
+  public List<Runnable> shutdownNow() {
+    return service.shutdownNow();
+  }
+
+  @Override
+  public boolean isShutdown() {
+    return service.isShutdown();
+  }
+
+  @Override
+  public boolean isTerminated() {
+    return service.isTerminated();
+  }
+
+  @Override
+  public boolean awaitTermination(long timeout, TimeUnit unit) throws InterruptedException {
+    return service.awaitTermination(timeout, unit);
+  }
+}
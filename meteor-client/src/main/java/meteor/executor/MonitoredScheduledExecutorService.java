@@ -0,0 +1,61 @@
+package meteor.executor;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link MonitoredExecutorService} for a {@link ScheduledExecutorService}. Delayed and periodic
+ * tasks are not counted as queued while they wait for their time, and their wait is how late they
+ * started.
+ */
+public class MonitoredScheduledExecutorService extends MonitoredExecutorService
+    implements ScheduledExecutorService {
+
+  private final ScheduledExecutorService service;
+
+  public MonitoredScheduledExecutorService(ScheduledExecutorService service, ExecutorTier tier,
+      ExecutorMetrics metrics) {
+    super(service, tier, metrics);
+    this.service = service;
+  }
+
+  @Override
+  public ScheduledFuture<?> schedule(Runnable command, long delay, TimeUnit unit) {
+    TaskStats stats = metrics.stats(tier, command);
+    MonitoredTask<?> task = new MonitoredTask<>(stats, command, null, false, due(delay, unit), 0);
+    return submit(stats, false, () -> service.schedule((Runnable) task, delay, unit));
+  }
+
+  @Override
+  public <V> ScheduledFuture<V> schedule(Callable<V> callable, long delay, TimeUnit unit) {
+    TaskStats stats = metrics.stats(tier, callable);
+    MonitoredTask<V> task = new MonitoredTask<>(stats, null, callable, false, due(delay, unit), 0);
+    return submit(stats, false, () -> service.schedule((Callable<V>) task, delay, unit));
+  }
+
+  @Override
+  public ScheduledFuture<?> scheduleAtFixedRate(Runnable command, long initialDelay, long period,
+      TimeUnit unit) {
+    TaskStats stats = metrics.stats(tier, command);
+    MonitoredTask<?> task = new MonitoredTask<>(stats, command, null, false,
+        due(initialDelay, unit), unit.toNanos(period));
+    return submit(stats, false,
+        () -> service.scheduleAtFixedRate(task, initialDelay, period, unit));
+  }
+
+  @Override
+  public ScheduledFuture<?> scheduleWithFixedDelay(Runnable command, long initialDelay, long delay,
+      TimeUnit unit) {
+    TaskStats stats = metrics.stats(tier, command);
+    MonitoredTask<?> task = new MonitoredTask<>(stats, command, null, false,
+        due(initialDelay, unit), -unit.toNanos(delay));
+    return submit(stats, false,
+        () -> service.scheduleWithFixedDelay(task, initialDelay, delay, unit));
+  }
+
+  private static long due(long delay, TimeUnit unit) {
+    return System.nanoTime() + unit.toNanos(delay);
+  }
+}
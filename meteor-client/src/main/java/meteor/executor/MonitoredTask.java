@@ -0,0 +1,76 @@
+package meteor.executor;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * A task which records its wait and run time, for periodic tasks on every run.
+ */
+final class MonitoredTask<V> implements Runnable, Callable<V> {
+
+  private final TaskStats stats;
+  private final Runnable runnable;
+  private final Callable<V> callable;
+  private final boolean queued;
+  // like ScheduledFutureTask: positive for a fixed rate, negative for a fixed delay
+  private final long period;
+  private long due;
+  // set once a queued task leaves the queue, by starting or by being discarded
+  private final AtomicBoolean dequeued = new AtomicBoolean();
+
+  MonitoredTask(TaskStats stats, Runnable runnable, Callable<V> callable, boolean queued,
+      long due, long period) {
+    this.stats = stats;
+    this.runnable = runnable;
+    this.callable = callable;
+    this.queued = queued;
+    this.due = due;
+    this.period = period;
+  }
+
+  @Override
+  public void run() {
+    long start = begin();
+    try {
+      runnable.run();
+    } finally {
+      end(start);
+    }
+  }
+
+  @Override
+  public V call() throws Exception {
+    long start = begin();
+    try {
+      return callable.call();
+    } finally {
+      end(start);
+    }
+  }
+
+  private long begin() {
+    long start = System.nanoTime();
+    stats.started(start - due, queued && dequeued.compareAndSet(false, true));
+    return start;
+  }
+
+  /**
+   * Stop counting a queued task which will never start as queued. Does nothing once it started.
+   */
+  void discard() {
+    if (queued && dequeued.compareAndSet(false, true)) {
+      stats.discarded();
+    }
+  }
+
+  private void end(long start) {
+    long end = System.nanoTime();
+    stats.finished(end - start);
+
+    if (period > 0) {
+      due += period;
+    } else if (period < 0) {
+      due = end - period;
+    }
+  }
+}
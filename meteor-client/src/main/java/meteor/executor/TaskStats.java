@@ -0,0 +1,109 @@
+package meteor.executor;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import lombok.Getter;
+
+/**
+ * Counters of the tasks one owner submitted to one executor.
+ */
+public class TaskStats {
+
+  @Getter
+  private final ExecutorTier tier;
+
+  @Getter
+  private final String owner;
+
+  private final LongAdder submitted = new LongAdder();
+  private final LongAdder started = new LongAdder();
+  private final LongAdder completed = new LongAdder();
+  private final LongAdder rejected = new LongAdder();
+  private final AtomicInteger queued = new AtomicInteger();
+  private final LongAdder waitNanos = new LongAdder();
+  private final AtomicLong maxWaitNanos = new AtomicLong();
+  private final LongAdder runNanos = new LongAdder();
+
+  TaskStats(ExecutorTier tier, String owner) {
+    this.tier = tier;
+    this.owner = owner;
+  }
+
+  void submitted(boolean queue) {
+    submitted.increment();
+    if (queue) {
+      queued.incrementAndGet();
+    }
+  }
+
+  void rejected(boolean queue) {
+    rejected.increment();
+    if (queue) {
+      queued.decrementAndGet();
+    }
+  }
+
+  void started(long wait, boolean queue) {
+    if (queue) {
+      queued.decrementAndGet();
+    }
+
+    wait = Math.max(0, wait);
+    started.increment();
+    waitNanos.add(wait);
+    maxWaitNanos.accumulateAndGet(wait, Math::max);
+  }
+
+  /**
+   * Count a queued task which was cancelled or discarded before it started as no longer queued.
+   */
+  void discarded() {
+    queued.decrementAndGet();
+  }
+
+  void finished(long run) {
+    runNanos.add(run);
+    completed.increment();
+  }
+
+  public long getSubmitted() {
+    return submitted.sum();
+  }
+
+  public long getCompleted() {
+    return completed.sum();
+  }
+
+  public long getRejected() {
+    return rejected.sum();
+  }
+
+  /**
+   * @return the number of tasks waiting for a thread
+   */
+  public int getQueued() {
+    return queued.get();
+  }
+
+  /**
+   * @return the average time from submission until a task started, or for scheduled tasks from
+   * when it was due, in milliseconds
+   */
+  public double getAverageWait() {
+    long count = started.sum();
+    return count == 0 ? 0 : waitNanos.sum() / 1e6 / count;
+  }
+
+  public double getMaxWait() {
+    return maxWaitNanos.get() / 1e6;
+  }
+
+  /**
+   * @return the average run time of a task, in milliseconds
+   */
+  public double getAverageRun() {
+    long count = completed.sum();
+    return count == 0 ? 0 : runNanos.sum() / 1e6 / count;
+  }
+}
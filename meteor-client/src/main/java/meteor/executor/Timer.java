@@ -0,0 +1,21 @@
+package meteor.executor;
+
+import static java.lang.annotation.ElementType.FIELD;
+import static java.lang.annotation.ElementType.METHOD;
+import static java.lang.annotation.ElementType.PARAMETER;
+import static java.lang.annotation.RetentionPolicy.RUNTIME;
+
+import java.lang.annotation.Retention;
+import java.lang.annotation.Target;
+import javax.inject.Qualifier;
+
+/**
+ * The single threaded scheduler of the client services, for firing delayed and periodic tasks.
+ * Tasks must hand anything slow over to {@link IO} or {@link Compute}.
+ */
+@Qualifier
+@Retention(RUNTIME)
+@Target({FIELD, PARAMETER, METHOD})
+public @interface Timer {
+
+}
@@ -24,24 +24,64 @@
  */
 package meteor.game;
 
+import com.google.common.base.Throwables;
+import com.google.common.cache.Cache;
 import com.google.common.cache.CacheBuilder;
-import com.google.common.cache.LoadingCache;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
 import lombok.AllArgsConstructor;
 import lombok.Data;
+import meteor.executor.Timer;
+import meteor.util.Text;
 import net.runelite.http.api.hiscore.HiscoreClient;
 import net.runelite.http.api.hiscore.HiscoreEndpoint;
 import net.runelite.http.api.hiscore.HiscoreResult;
 import okhttp3.OkHttpClient;
+import org.sponge.util.Logger;
 
 import javax.inject.Inject;
 import javax.inject.Singleton;
 import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
 import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 
+/**
+ * Hiscore lookups shared by every plugin.
+ * <p>
+ * Concurrent lookups of the same player on the same endpoint share one request. Requests are sent at
+ * most {@link #MAX_RUNNING} at a time and {@link #REQUEST_INTERVAL} apart, high priority ones first.
+ * Results are cached; once they are older than {@link #FRESH} they are still returned, but refreshed
+ * in the background.
+ * <p>
+ * Requests are sent from threads of their own rather than from the shared executors, since callers
+ * waiting in {@link #lookup} usually run on those, and would otherwise be able to use up every
+ * thread the requests could run on.
+ */
 @Singleton
 public class HiscoreManager
 {
+	public enum Priority
+	{
+		/**
+		 * Someone is waiting for the result, such as a chat command
+		 */
+		HIGH,
+		/**
+		 * Lookups made ahead of time or polled for, such as opponent info
+		 */
+		LOW
+	}
+
 	@AllArgsConstructor
 	@Data
 	static class HiscoreKey
@@ -50,67 +90,268 @@ public class HiscoreManager
 		HiscoreEndpoint type;
 	}
 
-	static final HiscoreResult EMPTY = new HiscoreResult();
 	static final HiscoreResult NONE = new HiscoreResult();
 
-	private final LoadingCache<HiscoreKey, HiscoreResult> hiscoreCache;
+	private static final Logger log = new Logger("HiscoreManager");
+
+	private static final long FRESH = TimeUnit.MINUTES.toMillis(10);
+	private static final long EXPIRY = TimeUnit.HOURS.toMillis(1);
+	private static final long RETRY = TimeUnit.MINUTES.toMillis(1);
+	private static final int MAX_RUNNING = 2;
+	private static final long REQUEST_INTERVAL = 250L;
+	private static final long LOOKUP_TIMEOUT = TimeUnit.SECONDS.toMillis(30);
+
+	private final Cache<HiscoreKey, Entry> hiscoreCache;
 	private final HiscoreClient hiscoreClient;
+	private final ExecutorService executor;
+	private final ScheduledExecutorService scheduler;
+
+	// guarded by this
+	private final Map<HiscoreKey, Request> requests = new HashMap<>();
+	private final PriorityQueue<Request> queue = new PriorityQueue<>();
+	private int running;
+	private long lastStart;
+	private long sequence;
+	private boolean dispatchScheduled;
 
 	@Inject
-	public HiscoreManager(ScheduledExecutorService executor, OkHttpClient okHttpClient)
+	public HiscoreManager(@Timer ScheduledExecutorService scheduler, OkHttpClient okHttpClient)
 	{
+		// dispatch never starts more than MAX_RUNNING requests, so the threads are never all busy
+		// when one is handed over
+		ThreadPoolExecutor executor = new ThreadPoolExecutor(MAX_RUNNING, MAX_RUNNING,
+			60L, TimeUnit.SECONDS,
+			new LinkedBlockingQueue<>(),
+			new ThreadFactoryBuilder().setNameFormat("hiscore-%d").setDaemon(true).build());
+		executor.allowCoreThreadTimeOut(true);
+
+		this.executor = executor;
+		this.scheduler = scheduler;
 		hiscoreClient = new HiscoreClient(okHttpClient);
 		hiscoreCache = CacheBuilder.newBuilder()
 			.maximumSize(128L)
-			.expireAfterWrite(1, TimeUnit.HOURS)
-			.build(new HiscoreLoader(executor, hiscoreClient));
+			.expireAfterWrite(EXPIRY, TimeUnit.MILLISECONDS)
+			.build();
 	}
 
 	/**
-	 * Synchronously look up a players hiscore from a specified endpoint
+	 * Synchronously look up a players hiscore from a specified endpoint, waiting at most
+	 * {@link #LOOKUP_TIMEOUT}. Must not be called from the client thread or the scheduler.
 	 *
 	 * @param username Players username
 	 * @param endpoint Hiscore endpoint
 	 * @return HiscoreResult or null
-	 * @throws IOException Upon error in fetching hiscore
+	 * @throws IOException Upon error in fetching hiscore, or if it took too long
 	 */
 	public HiscoreResult lookup(String username, HiscoreEndpoint endpoint) throws IOException
 	{
-		HiscoreKey hiscoreKey = new HiscoreKey(username, endpoint);
-		HiscoreResult hiscoreResult = hiscoreCache.getIfPresent(hiscoreKey);
-		if (hiscoreResult != null && hiscoreResult != EMPTY)
+		try
 		{
-			return hiscoreResult == NONE ? null : hiscoreResult;
+			return request(username, endpoint, Priority.HIGH).get(LOOKUP_TIMEOUT, TimeUnit.MILLISECONDS);
 		}
-
-		hiscoreResult = hiscoreClient.lookup(username, endpoint);
-		if (hiscoreResult == null)
+		catch (TimeoutException ex)
 		{
-			hiscoreCache.put(hiscoreKey, NONE);
-			return null;
+			// the request goes on, and its result is cached for the next lookup
+			throw new InterruptedIOException("Timed out looking up " + username);
+		}
+		catch (InterruptedException ex)
+		{
+			Thread.currentThread().interrupt();
+			throw new InterruptedIOException("Interrupted looking up " + username);
+		}
+		catch (ExecutionException ex)
+		{
+			Throwables.propagateIfPossible(ex.getCause(), IOException.class);
+			throw new IOException(ex.getCause());
 		}
-
-		hiscoreCache.put(hiscoreKey, hiscoreResult);
-		return hiscoreResult;
 	}
 
 	/**
-	 * Asynchronously look up a players hiscore from a specified endpoint
+	 * Look up a players hiscore from a specified endpoint without waiting, for callers which poll,
+	 * such as overlays. The first calls start a low priority lookup, later ones return its result.
 	 *
 	 * @param username Players username
 	 * @param endpoint Hiscore endpoint
-	 * @return HiscoreResult or null
+	 * @return HiscoreResult, or null if it is not known (yet)
 	 */
 	public HiscoreResult lookupAsync(String username, HiscoreEndpoint endpoint)
 	{
-		HiscoreKey hiscoreKey = new HiscoreKey(username, endpoint);
-		HiscoreResult hiscoreResult = hiscoreCache.getIfPresent(hiscoreKey);
-		if (hiscoreResult != null && hiscoreResult != EMPTY)
+		CompletableFuture<HiscoreResult> result = request(username, endpoint, Priority.LOW);
+		return result.isDone() && !result.isCompletedExceptionally() ? result.join() : null;
+	}
+
+	/**
+	 * Look up a players hiscore from a specified endpoint
+	 *
+	 * @param username Players username
+	 * @param endpoint Hiscore endpoint
+	 * @param priority Priority of the request, if one has to be made
+	 * @return a future of the HiscoreResult, or of null if the player is not on the hiscores
+	 */
+	public CompletableFuture<HiscoreResult> request(String username, HiscoreEndpoint endpoint, Priority priority)
+	{
+		HiscoreKey hiscoreKey = new HiscoreKey(Text.toJagexName(username).toLowerCase(), endpoint);
+		long now = System.currentTimeMillis();
+
+		Entry entry = hiscoreCache.getIfPresent(hiscoreKey);
+		if (entry != null && entry.result != null)
+		{
+			if (now - entry.fetched >= FRESH && now - entry.failed >= RETRY)
+			{
+				enqueue(hiscoreKey, username, Priority.LOW);
+			}
+			return CompletableFuture.completedFuture(entry.result == NONE ? null : entry.result);
+		}
+
+		// Pollers would otherwise retry a failing lookup as fast as requests are sent
+		if (entry != null && priority == Priority.LOW && now - entry.failed < RETRY)
+		{
+			return CompletableFuture.failedFuture(new IOException("Hiscore lookup failed recently"));
+		}
+
+		return enqueue(hiscoreKey, username, priority)
+			.thenApply(result -> result == NONE ? null : result);
+	}
+
+	private synchronized CompletableFuture<HiscoreResult> enqueue(HiscoreKey hiscoreKey, String username, Priority priority)
+	{
+		Request request = requests.get(hiscoreKey);
+		if (request == null)
+		{
+			request = new Request(hiscoreKey, username, priority, sequence++);
+			requests.put(hiscoreKey, request);
+			queue.add(request);
+		}
+		else if (priority.compareTo(request.priority) < 0 && queue.remove(request))
 		{
-			return hiscoreResult == NONE ? null : hiscoreResult;
+			request.priority = priority;
+			queue.add(request);
 		}
 
-		hiscoreCache.refresh(hiscoreKey);
-		return null;
+		dispatch();
+		return request.future;
+	}
+
+	// start as many queued requests as the limits allow, and come back for the rest when they do
+	private synchronized void dispatch()
+	{
+		while (running < MAX_RUNNING && !queue.isEmpty())
+		{
+			long wait = lastStart + REQUEST_INTERVAL - System.currentTimeMillis();
+			if (wait > 0)
+			{
+				if (!dispatchScheduled)
+				{
+					dispatchScheduled = true;
+					scheduler.schedule(this::scheduledDispatch, wait, TimeUnit.MILLISECONDS);
+				}
+				return;
+			}
+
+			Request request = queue.poll();
+			try
+			{
+				executor.execute(() -> fetch(request));
+			}
+			catch (RejectedExecutionException ex)
+			{
+				requests.remove(request.key);
+				request.future.completeExceptionally(ex);
+				continue;
+			}
+
+			running++;
+			lastStart = System.currentTimeMillis();
+		}
+	}
+
+	private synchronized void scheduledDispatch()
+	{
+		dispatchScheduled = false;
+		dispatch();
+	}
+
+	private void fetch(Request request)
+	{
+		HiscoreKey hiscoreKey = request.key;
+		HiscoreResult result = null;
+		Exception failure = null;
+		try
+		{
+			result = hiscoreClient.lookup(request.username, hiscoreKey.getType());
+			if (result == null)
+			{
+				result = NONE;
+			}
+		}
+		catch (IOException | RuntimeException ex)
+		{
+			failure = ex;
+		}
+
+		long now = System.currentTimeMillis();
+		if (failure == null)
+		{
+			hiscoreCache.put(hiscoreKey, new Entry(result, now, 0L));
+		}
+		else
+		{
+			log.debug("Unable to look up {}: {}", request.username, failure.getMessage());
+
+			// keep serving the previous result, if there was one
+			Entry previous = hiscoreCache.getIfPresent(hiscoreKey);
+			hiscoreCache.put(hiscoreKey, previous == null
+				? new Entry(null, 0L, now)
+				: new Entry(previous.result, previous.fetched, now));
+		}
+
+		synchronized (this)
+		{
+			requests.remove(hiscoreKey);
+			running--;
+			dispatch();
+		}
+
+		if (failure == null)
+		{
+			request.future.complete(result);
+		}
+		else
+		{
+			request.future.completeExceptionally(failure);
+		}
+	}
+
+	@AllArgsConstructor
+	private static class Entry
+	{
+		// null if it was never fetched, NONE if the player is not on the hiscores
+		private final HiscoreResult result;
+		private final long fetched;
+		private final long failed;
+	}
+
+	private static class Request implements Comparable<Request>
+	{
+		private final HiscoreKey key;
+		private final String username;
+		private final long sequence;
+		private final CompletableFuture<HiscoreResult> future = new CompletableFuture<>();
+		private Priority priority;
+
+		private Request(HiscoreKey key, String username, Priority priority, long sequence)
+		{
+			this.key = key;
+			this.username = username;
+			this.priority = priority;
+			this.sequence = sequence;
+		}
+
+		@Override
+		public int compareTo(Request other)
+		{
+			int byPriority = priority.compareTo(other.priority);
+			return byPriority != 0 ? byPriority : Long.compare(sequence, other.sequence);
+		}
 	}
 }
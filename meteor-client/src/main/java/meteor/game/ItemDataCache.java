@@ -0,0 +1,390 @@
+package meteor.game;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.IntBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Map;
+import meteor.MeteorLiteClientLauncher;
+import net.runelite.http.api.item.ItemClient;
+import net.runelite.http.api.item.ItemDataResponse;
+import net.runelite.http.api.item.ItemEquipmentStats;
+import net.runelite.http.api.item.ItemPrice;
+import net.runelite.http.api.item.ItemStats;
+import org.sponge.util.Logger;
+
+/**
+ * Keeps the item prices and stats of the last session on disk, so they are available right away
+ * at startup, and revalidates them with conditional requests so they are only downloaded again
+ * when they changed.
+ * <p>
+ * Snapshots are named after the time they were written and the newest one is used, so a new
+ * snapshot never replaces a file which may still be mapped. Older snapshots are removed once they
+ * can be.
+ */
+class ItemDataCache {
+
+  static final File CACHE_DIR = new File(MeteorLiteClientLauncher.CACHE_DIR, "item-data");
+
+  private static final Logger log = new Logger("ItemDataCache");
+
+  private static final String PRICES = "prices";
+  private static final String STATS = "stats";
+  private static final int PRICES_MAGIC = 0x49505243;
+  private static final int STATS_MAGIC = 0x49535441;
+  private static final int FORMAT = 1;
+
+  private static final int QUEST = 1;
+  private static final int EQUIPABLE = 2;
+  private static final int EQUIPMENT = 4;
+  private static final int TWO_HANDED = 8;
+
+  private final ItemClient itemClient;
+  private final Path directory;
+
+  ItemDataCache(ItemClient itemClient, File directory) {
+    this.itemClient = itemClient;
+    this.directory = directory.toPath();
+  }
+
+  /**
+   * @return the prices of the newest snapshot, or null if there is none
+   */
+  ItemPriceTable loadPrices() {
+    ByteBuffer buffer = map(PRICES, PRICES_MAGIC);
+    if (buffer == null) {
+      return null;
+    }
+
+    try {
+      return readPrices(buffer);
+    } catch (IOException | RuntimeException e) {
+      log.warn("Unable to read the price snapshot: {}", e.getMessage());
+      return null;
+    }
+  }
+
+  /**
+   * Download the prices if they changed since the given ones, and snapshot them.
+   *
+   * @return the new prices, or the given ones if they are still current
+   */
+  ItemPriceTable refreshPrices(ItemPriceTable current) throws IOException {
+    ItemDataResponse<ItemPrice[]> response = itemClient.getPrices(current.getEtag(),
+        current.getLastModified());
+    if (!response.isModified()) {
+      return current;
+    }
+
+    ItemPriceTable prices = ItemPriceTable.of(response.getData(), response.getEtag(),
+        response.getLastModified());
+    write(PRICES, PRICES_MAGIC, prices.getEtag(), prices.getLastModified(),
+        out -> writePrices(out, prices));
+    return prices;
+  }
+
+  /**
+   * @return the stats of the newest snapshot, or null if there is none
+   */
+  ItemStatsTable loadStats() {
+    ByteBuffer buffer = map(STATS, STATS_MAGIC);
+    if (buffer == null) {
+      return null;
+    }
+
+    try {
+      return readStats(buffer);
+    } catch (IOException | RuntimeException e) {
+      log.warn("Unable to read the item stats snapshot: {}", e.getMessage());
+      return null;
+    }
+  }
+
+  /**
+   * Download the item stats if they changed since the given ones, and snapshot them.
+   *
+   * @return the new stats, or the given ones if they are still current
+   */
+  ItemStatsTable refreshStats(ItemStatsTable current) throws IOException {
+    ItemDataResponse<Map<Integer, ItemStats>> response = itemClient.getStats(
+        current.getEtag(), current.getLastModified());
+    if (!response.isModified()) {
+      return current;
+    }
+
+    ItemStatsTable stats = ItemStatsTable.of(response.getData(), response.getEtag(),
+        response.getLastModified());
+    write(STATS, STATS_MAGIC, stats.getEtag(), stats.getLastModified(),
+        out -> writeStats(out, stats));
+    return stats;
+  }
+
+  /*
+   * A snapshot is a header followed by the data, all big endian:
+   *   int magic, int format
+   *   etag and last modified date, each a short length (-1 if absent) and UTF-8 bytes
+   *   padding to a multiple of 4 bytes
+   * Prices are then two int arrays indexed by item id, and the names of the items which have one:
+   *   int length, int count
+   *   length * int price, length * int wiki price
+   *   count * (int id, short name length, name)
+   * Stats are a record per item:
+   *   int length, int count
+   *   count * (int id, byte flags, double weight, int ge limit, [16 int equipment stats])
+   */
+
+  private static ItemPriceTable readPrices(ByteBuffer buffer) throws IOException {
+    String etag = readString(buffer);
+    String lastModified = readString(buffer);
+    buffer.position((buffer.position() + 3) & ~3);
+
+    int length = buffer.getInt();
+    int size = buffer.getInt();
+    if (length < 0 || buffer.remaining() < length * 8L) {
+      throw new IOException("truncated price snapshot");
+    }
+
+    IntBuffer prices = buffer.slice().asIntBuffer().limit(length).slice();
+    buffer.position(buffer.position() + length * 4);
+    IntBuffer wikiPrices = buffer.slice().asIntBuffer().limit(length).slice();
+    buffer.position(buffer.position() + length * 4);
+
+    String[] names = new String[length];
+    for (int i = 0; i < size; i++) {
+      int id = buffer.getInt();
+      names[id] = readString(buffer);
+    }
+
+    return new ItemPriceTable(prices, wikiPrices, names, size, etag, lastModified);
+  }
+
+  private static void writePrices(DataOutputStream out, ItemPriceTable prices) throws IOException {
+    int length = prices.length();
+    out.writeInt(length);
+    out.writeInt(prices.size());
+    for (int id = 0; id < length; id++) {
+      out.writeInt(prices.getPrice(id));
+    }
+    for (int id = 0; id < length; id++) {
+      out.writeInt(prices.getWikiPrice(id));
+    }
+    for (int id = 0; id < length; id++) {
+      String name = prices.getName(id);
+      if (name != null) {
+        out.writeInt(id);
+        writeString(out, name);
+      }
+    }
+  }
+
+  private static ItemStatsTable readStats(ByteBuffer buffer) throws IOException {
+    String etag = readString(buffer);
+    String lastModified = readString(buffer);
+    buffer.position((buffer.position() + 3) & ~3);
+
+    int length = buffer.getInt();
+    int size = buffer.getInt();
+    if (length < 0) {
+      throw new IOException("corrupt item stats snapshot");
+    }
+
+    ItemStats[] stats = new ItemStats[length];
+    for (int i = 0; i < size; i++) {
+      int id = buffer.getInt();
+      int flags = buffer.get();
+      double weight = buffer.getDouble();
+      int geLimit = buffer.getInt();
+
+      ItemEquipmentStats equipment = null;
+      if ((flags & EQUIPMENT) != 0) {
+        equipment = ItemEquipmentStats.builder()
+            .slot(buffer.getInt())
+            .isTwoHanded((flags & TWO_HANDED) != 0)
+            .astab(buffer.getInt())
+            .aslash(buffer.getInt())
+            .acrush(buffer.getInt())
+            .amagic(buffer.getInt())
+            .arange(buffer.getInt())
+            .dstab(buffer.getInt())
+            .dslash(buffer.getInt())
+            .dcrush(buffer.getInt())
+            .dmagic(buffer.getInt())
+            .drange(buffer.getInt())
+            .str(buffer.getInt())
+            .rstr(buffer.getInt())
+            .mdmg(buffer.getInt())
+            .prayer(buffer.getInt())
+            .aspeed(buffer.getInt())
+            .build();
+      }
+
+      stats[id] = new ItemStats((flags & QUEST) != 0, (flags & EQUIPABLE) != 0, weight, geLimit,
+          equipment);
+    }
+
+    return new ItemStatsTable(stats, size, etag, lastModified);
+  }
+
+  private static void writeStats(DataOutputStream out, ItemStatsTable stats) throws IOException {
+    int length = stats.length();
+    out.writeInt(length);
+    out.writeInt(stats.size());
+    for (int id = 0; id < length; id++) {
+      ItemStats itemStats = stats.get(id);
+      if (itemStats == null) {
+        continue;
+      }
+
+      ItemEquipmentStats equipment = itemStats.getEquipment();
+      int flags = (itemStats.isQuest() ? QUEST : 0)
+          | (itemStats.isEquipable() ? EQUIPABLE : 0)
+          | (equipment != null ? EQUIPMENT : 0)
+          | (equipment != null && equipment.isTwoHanded() ? TWO_HANDED : 0);
+
+      out.writeInt(id);
+      out.writeByte(flags);
+      out.writeDouble(itemStats.getWeight());
+      out.writeInt(itemStats.getGeLimit());
+      if (equipment != null) {
+        int[] values = {
+            equipment.getSlot(),
+            equipment.getAstab(), equipment.getAslash(), equipment.getAcrush(),
+            equipment.getAmagic(), equipment.getArange(),
+            equipment.getDstab(), equipment.getDslash(), equipment.getDcrush(),
+            equipment.getDmagic(), equipment.getDrange(),
+            equipment.getStr(), equipment.getRstr(), equipment.getMdmg(), equipment.getPrayer(),
+            equipment.getAspeed()
+        };
+        for (int value : values) {
+          out.writeInt(value);
+        }
+      }
+    }
+  }
+
+  private static String readString(ByteBuffer buffer) {
+    int length = buffer.getShort();
+    if (length < 0) {
+      return null;
+    }
+
+    byte[] bytes = new byte[length];
+    buffer.get(bytes);
+    return new String(bytes, StandardCharsets.UTF_8);
+  }
+
+  private static void writeString(DataOutputStream out, String string) throws IOException {
+    if (string == null) {
+      out.writeShort(-1);
+      return;
+    }
+
+    byte[] bytes = string.getBytes(StandardCharsets.UTF_8);
+    out.writeShort(bytes.length);
+    out.write(bytes);
+  }
+
+  // map the newest snapshot of a kind, positioned after its magic and format
+  private ByteBuffer map(String kind, int magic) {
+    Path file = newest(kind);
+    if (file == null) {
+      return null;
+    }
+
+    try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+      ByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+      if (buffer.remaining() < 8 || buffer.getInt() != magic || buffer.getInt() != FORMAT) {
+        log.debug("Ignoring {}, it is not a current snapshot", file);
+        return null;
+      }
+      return buffer;
+    } catch (IOException e) {
+      log.warn("Unable to map {}: {}", file, e.getMessage());
+      return null;
+    }
+  }
+
+  private Path newest(String kind) {
+    Path newest = null;
+    long newestTime = -1;
+    try (DirectoryStream<Path> files = Files.newDirectoryStream(directory, kind + "-*.bin")) {
+      for (Path file : files) {
+        long time = time(kind, file);
+        if (time > newestTime) {
+          newest = file;
+          newestTime = time;
+        }
+      }
+    } catch (IOException e) {
+      return null;
+    }
+    return newest;
+  }
+
+  private static long time(String kind, Path file) {
+    String name = file.getFileName().toString();
+    try {
+      return Long.parseLong(name.substring(kind.length() + 1, name.length() - ".bin".length()));
+    } catch (NumberFormatException e) {
+      return -1;
+    }
+  }
+
+  private interface Writer {
+
+    void write(DataOutputStream out) throws IOException;
+  }
+
+  private void write(String kind, int magic, String etag, String lastModified, Writer writer) {
+    try {
+      ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+      DataOutputStream out = new DataOutputStream(bytes);
+      out.writeInt(magic);
+      out.writeInt(FORMAT);
+      writeString(out, etag);
+      writeString(out, lastModified);
+      while (out.size() % 4 != 0) {
+        out.writeByte(0);
+      }
+      writer.write(out);
+      out.flush();
+
+      Files.createDirectories(directory);
+      Path file = directory.resolve(kind + "-" + System.currentTimeMillis() + ".bin");
+      Path temp = Files.createTempFile(directory, kind, ".tmp");
+      try {
+        Files.write(temp, bytes.toByteArray());
+        Files.move(temp, file, StandardCopyOption.ATOMIC_MOVE);
+      } finally {
+        Files.deleteIfExists(temp);
+      }
+
+      prune(kind, file);
+    } catch (IOException e) {
+      log.warn("Unable to write the {} snapshot: {}", kind, e.getMessage());
+    }
+  }
+
+  // older snapshots, which may still be mapped on some platforms and are then left for next time
+  private void prune(String kind, Path current) throws IOException {
+    try (DirectoryStream<Path> files = Files.newDirectoryStream(directory, kind + "-*.bin")) {
+      for (Path file : files) {
+        if (!file.equals(current)) {
+          try {
+            Files.delete(file);
+          } catch (IOException ignored) {
+          }
+        }
+      }
+    }
+  }
+}
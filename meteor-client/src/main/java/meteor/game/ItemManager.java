@@ -170,13 +170,10 @@ import com.google.common.cache.LoadingCache;
 import com.google.common.collect.ImmutableMap;
 import java.awt.Color;
 import java.awt.image.BufferedImage;
-import java.util.ArrayList;
 import java.util.Collection;
-import java.util.Collections;
 import java.util.List;
-import java.util.Map;
 import java.util.concurrent.ExecutionException;
-import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ExecutorService;
 import java.util.concurrent.TimeUnit;
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
@@ -187,6 +184,7 @@ import meteor.callback.ClientThread;
 import meteor.config.RuneLiteConfig;
 import meteor.eventbus.EventBus;
 import meteor.eventbus.Subscribe;
+import meteor.executor.IO;
 import meteor.util.AsyncBufferedImage;
 import net.runelite.api.Client;
 import net.runelite.api.Constants;
@@ -287,20 +285,22 @@ public class ItemManager {
   private final LoadingCache<Integer, ItemComposition> itemCompositions;
   private final LoadingCache<OutlineKey, BufferedImage> itemOutlines;
   Logger log = new Logger("ItemManager");
-  private Map<Integer, ItemPrice> itemPrices = Collections.emptyMap();
-  private Map<Integer, ItemStats> itemStats = Collections.emptyMap();
+  private final ItemDataCache itemDataCache;
+  private volatile ItemPriceTable itemPrices = ItemPriceTable.EMPTY;
+  private volatile ItemStatsTable itemStats = ItemStatsTable.EMPTY;
 
   @Inject
-  public ItemManager(Client client, ScheduledExecutorService scheduledExecutorService,
+  public ItemManager(Client client, @IO ExecutorService executorService,
       ClientThread clientThread,
       OkHttpClient okHttpClient, EventBus eventBus, RuneLiteConfig runeLiteConfig) {
     this.client = client;
     this.clientThread = clientThread;
     this.itemClient = new ItemClient(okHttpClient);
+    this.itemDataCache = new ItemDataCache(itemClient, ItemDataCache.CACHE_DIR);
     this.runeLiteConfig = runeLiteConfig;
 
-    loadPrices();
-    loadStats();
+    executorService.execute(this::loadPrices);
+    executorService.execute(this::loadStats);
 
     itemImages = CacheBuilder.newBuilder()
         .maximumSize(128L)
@@ -336,35 +336,38 @@ public class ItemManager {
   }
 
   private void loadPrices() {
+    ItemPriceTable cached = itemDataCache.loadPrices();
+    if (cached != null) {
+      itemPrices = cached;
+      log.debug("Loaded " + cached.size() + " cached prices");
+    }
+
     try {
-      ItemPrice[] prices = itemClient.getPrices();
-      if (prices != null) {
-        ImmutableMap.Builder<Integer, ItemPrice> map = ImmutableMap
-            .builder();
-        for (ItemPrice price : prices) {
-          map.put(price.getId(), price);
-        }
-        itemPrices = map.build();
+      ItemPriceTable prices = itemDataCache.refreshPrices(itemPrices);
+      if (prices != itemPrices) {
+        itemPrices = prices;
+        log.debug("Loaded " + prices.size() + " prices");
       }
-
-      log.debug("Loaded " + itemPrices.size() + " prices");
     } catch (Exception e) {
-      log.warn("error loading prices!");
-      e.printStackTrace();
+      log.warn("error loading prices: " + e.getMessage());
     }
   }
 
   private void loadStats() {
+    ItemStatsTable cached = itemDataCache.loadStats();
+    if (cached != null) {
+      itemStats = cached;
+      log.debug("Loaded " + cached.size() + " cached stats");
+    }
+
     try {
-      final Map<Integer, ItemStats> stats = itemClient.getStats();
-      if (stats != null) {
-        itemStats = ImmutableMap.copyOf(stats);
+      ItemStatsTable stats = itemDataCache.refreshStats(itemStats);
+      if (stats != itemStats) {
+        itemStats = stats;
+        log.debug("Loaded " + stats.size() + " stats");
       }
-
-      log.debug("Loaded " + itemStats.size() + " stats");
     } catch (Exception e) {
-      log.warn("error loading stats!");
-      e.printStackTrace();
+      log.warn("error loading stats: " + e.getMessage());
     }
   }
 
@@ -427,11 +430,9 @@ public class ItemManager {
     final Collection<ItemMapping> mappedItems = ItemMapping.map(itemID);
 
     if (mappedItems == null) {
-      final ItemPrice ip = itemPrices.get(itemID);
-
-      if (ip != null) {
-        price = useWikiPrice && ip.getWikiPrice() > 0 ? ip.getWikiPrice() : ip.getPrice();
-      }
+      final ItemPriceTable prices = itemPrices;
+      final int wikiPrice = prices.getWikiPrice(itemID);
+      price = useWikiPrice && wikiPrice > 0 ? wikiPrice : prices.getPrice(itemID);
     } else {
       for (final ItemMapping mappedItem : mappedItems) {
         price += getItemPriceWithSource(mappedItem.getTradeableItem(), useWikiPrice) * mappedItem
@@ -495,16 +496,7 @@ public class ItemManager {
    * @return
    */
   public List<ItemPrice> search(String itemName) {
-    itemName = itemName.toLowerCase();
-
-    List<ItemPrice> result = new ArrayList<>();
-    for (ItemPrice itemPrice : itemPrices.values()) {
-      final String name = itemPrice.getName();
-      if (name.toLowerCase().contains(itemName)) {
-        result.add(itemPrice);
-      }
-    }
-    return result;
+    return itemPrices.search(itemName.toLowerCase());
   }
 
   /**
@@ -0,0 +1,123 @@
+package meteor.game;
+
+import java.nio.IntBuffer;
+import java.util.ArrayList;
+import java.util.List;
+import net.runelite.http.api.item.ItemPrice;
+
+/**
+ * Item prices indexed by item id, so looking up a price neither boxes the id nor allocates. The
+ * prices are either arrays or views of a memory mapped snapshot.
+ */
+class ItemPriceTable {
+
+  static final ItemPriceTable EMPTY = new ItemPriceTable(IntBuffer.allocate(0),
+      IntBuffer.allocate(0), new String[0], 0, null, null);
+
+  private final IntBuffer prices;
+  private final IntBuffer wikiPrices;
+  // null for items without a price
+  private final String[] names;
+  private final int size;
+  private final String etag;
+  private final String lastModified;
+
+  ItemPriceTable(IntBuffer prices, IntBuffer wikiPrices, String[] names, int size, String etag,
+      String lastModified) {
+    this.prices = prices;
+    this.wikiPrices = wikiPrices;
+    this.names = names;
+    this.size = size;
+    this.etag = etag;
+    this.lastModified = lastModified;
+  }
+
+  static ItemPriceTable of(ItemPrice[] itemPrices, String etag, String lastModified) {
+    int length = 0;
+    for (ItemPrice itemPrice : itemPrices) {
+      length = Math.max(length, itemPrice.getId() + 1);
+    }
+
+    int[] prices = new int[length];
+    int[] wikiPrices = new int[length];
+    String[] names = new String[length];
+    int size = 0;
+    for (ItemPrice itemPrice : itemPrices) {
+      int id = itemPrice.getId();
+      if (id < 0) {
+        continue;
+      }
+
+      size += names[id] == null ? 1 : 0;
+      prices[id] = itemPrice.getPrice();
+      wikiPrices[id] = itemPrice.getWikiPrice();
+      names[id] = itemPrice.getName() == null ? "" : itemPrice.getName();
+    }
+
+    return new ItemPriceTable(IntBuffer.wrap(prices), IntBuffer.wrap(wikiPrices), names, size, etag,
+        lastModified);
+  }
+
+  /**
+   * @return the price of an item, or 0 if it has none
+   */
+  int getPrice(int itemId) {
+    return itemId >= 0 && itemId < names.length ? prices.get(itemId) : 0;
+  }
+
+  /**
+   * @return the actively traded price of an item, or 0 if it has none
+   */
+  int getWikiPrice(int itemId) {
+    return itemId >= 0 && itemId < names.length ? wikiPrices.get(itemId) : 0;
+  }
+
+  /**
+   * @return the prices of items whose name contains the given lower case text
+   */
+  List<ItemPrice> search(String itemName) {
+    List<ItemPrice> result = new ArrayList<>();
+    for (int id = 0; id < names.length; id++) {
+      String name = names[id];
+      if (name != null && name.toLowerCase().contains(itemName)) {
+        result.add(toItemPrice(id));
+      }
+    }
+    return result;
+  }
+
+  /**
+   * @return the name of an item with a price, or null for other items
+   */
+  String getName(int itemId) {
+    return itemId >= 0 && itemId < names.length ? names[itemId] : null;
+  }
+
+  private ItemPrice toItemPrice(int id) {
+    ItemPrice itemPrice = new ItemPrice();
+    itemPrice.setId(id);
+    itemPrice.setName(names[id]);
+    itemPrice.setPrice(prices.get(id));
+    itemPrice.setWikiPrice(wikiPrices.get(id));
+    return itemPrice;
+  }
+
+  int size() {
+    return size;
+  }
+
+  /**
+   * @return one past the highest item id with a price
+   */
+  int length() {
+    return names.length;
+  }
+
+  String getEtag() {
+    return etag;
+  }
+
+  String getLastModified() {
+    return lastModified;
+  }
+}
@@ -0,0 +1,66 @@
+package meteor.game;
+
+import java.util.Map;
+import net.runelite.http.api.item.ItemStats;
+
+/**
+ * Item stats indexed by item id, so looking them up does not box the id.
+ */
+class ItemStatsTable {
+
+  static final ItemStatsTable EMPTY = new ItemStatsTable(new ItemStats[0], 0, null, null);
+
+  // null for items without stats
+  private final ItemStats[] stats;
+  private final int size;
+  private final String etag;
+  private final String lastModified;
+
+  ItemStatsTable(ItemStats[] stats, int size, String etag, String lastModified) {
+    this.stats = stats;
+    this.size = size;
+    this.etag = etag;
+    this.lastModified = lastModified;
+  }
+
+  static ItemStatsTable of(Map<Integer, ItemStats> itemStats, String etag, String lastModified) {
+    int length = 0;
+    for (int id : itemStats.keySet()) {
+      length = Math.max(length, id + 1);
+    }
+
+    ItemStats[] stats = new ItemStats[length];
+    int size = 0;
+    for (Map.Entry<Integer, ItemStats> entry : itemStats.entrySet()) {
+      if (entry.getKey() >= 0 && entry.getValue() != null) {
+        stats[entry.getKey()] = entry.getValue();
+        size++;
+      }
+    }
+
+    return new ItemStatsTable(stats, size, etag, lastModified);
+  }
+
+  /**
+   * @return the stats of an item, or null if it has none
+   */
+  ItemStats get(int itemId) {
+    return itemId >= 0 && itemId < stats.length ? stats[itemId] : null;
+  }
+
+  int size() {
+    return size;
+  }
+
+  int length() {
+    return stats.length;
+  }
+
+  String getEtag() {
+    return etag;
+  }
+
+  String getLastModified() {
+    return lastModified;
+  }
+}
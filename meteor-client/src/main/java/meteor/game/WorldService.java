@@ -28,6 +28,7 @@ import java.io.IOException;
 import java.util.Comparator;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
@@ -35,6 +36,8 @@ import javax.annotation.Nullable;
 import javax.inject.Inject;
 import javax.inject.Singleton;
 import meteor.eventbus.events.WorldsFetch;
+import meteor.executor.IO;
+import meteor.executor.Timer;
 import net.runelite.api.Client;
 import net.runelite.api.GameState;
 import meteor.eventbus.EventBus;
@@ -51,7 +54,7 @@ public class WorldService
 	private static final int WORLD_FETCH_TIMER = 10; // minutes
 
 	private final Client client;
-	private final ScheduledExecutorService scheduledExecutorService;
+	private final ExecutorService executorService;
 	private final WorldClient worldClient;
 	private final EventBus eventBus;
 	private final CompletableFuture<WorldResult> firstRunFuture = new CompletableFuture<>();
@@ -60,15 +63,16 @@ public class WorldService
 	private Logger log = new Logger("WorldService");
 
 	@Inject
-	private WorldService(@Nullable Client client, ScheduledExecutorService scheduledExecutorService, OkHttpClient okHttpClient,
-		EventBus eventBus)
+	private WorldService(@Nullable Client client, @Timer ScheduledExecutorService scheduledExecutorService,
+		@IO ExecutorService executorService, OkHttpClient okHttpClient, EventBus eventBus)
 	{
 		this.client = client;
-		this.scheduledExecutorService = scheduledExecutorService;
+		this.executorService = executorService;
 		this.worldClient = new WorldClient(okHttpClient);
 		this.eventBus = eventBus;
 
-		scheduledExecutorService.scheduleWithFixedDelay(RunnableExceptionLogger.wrap(this::tick), 0, WORLD_FETCH_TIMER, TimeUnit.MINUTES);
+		scheduledExecutorService.scheduleWithFixedDelay(() -> executorService.execute(RunnableExceptionLogger.wrap(this::tick)),
+			0, WORLD_FETCH_TIMER, TimeUnit.MINUTES);
 	}
 
 	private void tick()
@@ -103,7 +107,7 @@ public class WorldService
 
 	public void refresh()
 	{
-		scheduledExecutorService.execute(this::fetch);
+		executorService.execute(this::fetch);
 	}
 
 	@Nullable
@@ -33,15 +33,19 @@ import java.util.HashMap;
 import java.util.Map;
 import javax.inject.Inject;
 import javax.inject.Singleton;
+import lombok.Getter;
 import meteor.eventbus.EventBus;
 import meteor.eventbus.Subscribe;
 import net.runelite.api.Client;
+import net.runelite.api.GameState;
 import net.runelite.api.MenuAction;
 import net.runelite.api.MenuEntry;
+import net.runelite.api.events.ClientTick;
 import net.runelite.api.events.MenuEntryAdded;
 import net.runelite.api.events.MenuOptionClicked;
 import net.runelite.api.events.PlayerMenuOptionsChanged;
 import net.runelite.api.events.WidgetMenuOptionClicked;
+import org.sponge.util.Logger;
 
 @Singleton
 public class MenuManager {
@@ -52,6 +56,8 @@ public class MenuManager {
   private static final int IDX_LOWER = 4;
   private static final int IDX_UPPER = 8;
 
+  private final Logger log = new Logger("MenuManager");
+
   private final Client client;
   private final EventBus eventBus;
 
@@ -61,6 +67,12 @@ public class MenuManager {
   private final Multimap<Integer, WidgetMenuOption> managedMenuOptions = LinkedHashMultimap
       .create();
 
+  // The menu pipeline: one view of the menu, passed through the transforms by priority
+  private final MenuView menu = new MenuView();
+  private volatile Transform[] transforms = new Transform[0];
+  @Getter
+  private final MenuStats stats = new MenuStats();
+
   @Inject
   private MenuManager(Client client, EventBus eventBus) {
     this.client = client;
@@ -68,9 +80,10 @@ public class MenuManager {
     eventBus.register(this);
   }
 
-  private static boolean menuContainsCustomMenu(MenuEntry[] menuEntries,
+  private static boolean menuContainsCustomMenu(MenuView menu,
       WidgetMenuOption customMenuOption) {
-    for (MenuEntry menuEntry : menuEntries) {
+    for (int i = 0; i < menu.size(); i++) {
+      MenuEntry menuEntry = menu.get(i);
       String option = menuEntry.getOption();
       String target = menuEntry.getTarget();
 
@@ -112,29 +125,83 @@ public class MenuManager {
       return;
     }
 
-    MenuEntry[] menuEntries = client.getMenuEntries();
+    int size = menu.load(client);
 
-    MenuEntry[] newMenuEntries = Arrays.copyOf(menuEntries, menuEntries.length + options.size());
-    // Menu entries are sorted with higher-index entries appearing toward the top of the minimenu, so insert older
-    // managed menu entries at higher indices and work backward for newer entries so newly-added entries appear at
-    // the bottom
-    int insertIdx = newMenuEntries.length - 1;
+    // Exit if we've inserted the managed menu entries already
     for (WidgetMenuOption currentMenu : options) {
-      // Exit if we've inserted the managed menu entries already
-      if (menuContainsCustomMenu(menuEntries, currentMenu)) {
+      if (menuContainsCustomMenu(menu, currentMenu)) {
         return;
       }
+    }
 
-      MenuEntry menuEntry = new MenuEntry();
+    // Menu entries are sorted with higher-index entries appearing toward the top of the minimenu, so insert older
+    // managed menu entries at higher indices and work backward for newer entries so newly-added entries appear at
+    // the bottom
+    for (WidgetMenuOption currentMenu : options) {
+      MenuEntry menuEntry = menu.insert(size);
       menuEntry.setOption(currentMenu.getMenuOption());
       menuEntry.setParam1(widgetId);
       menuEntry.setTarget(currentMenu.getMenuTarget());
       menuEntry.setType(MenuAction.RUNELITE.getId());
+    }
 
-      newMenuEntries[insertIdx--] = menuEntry;
+    menu.commit(client);
+    stats.pass(1, size, true, menu.takeAllocated());
+  }
+
+  /**
+   * Adds a transform to the menu pipeline, which runs the transforms in one pass every client tick
+   * and then sets the menu once.
+   *
+   * @param priority transforms of higher priority run first
+   */
+  public synchronized void addTransform(int priority, MenuTransform transform) {
+    Transform[] current = transforms;
+    int index = 0;
+    while (index < current.length && current[index].priority >= priority) {
+      index++;
     }
 
-    client.setMenuEntries(newMenuEntries);
+    Transform[] added = new Transform[current.length + 1];
+    System.arraycopy(current, 0, added, 0, index);
+    added[index] = new Transform(priority, transform);
+    System.arraycopy(current, index, added, index + 1, current.length - index);
+    transforms = added;
+  }
+
+  public synchronized void removeTransform(MenuTransform transform) {
+    transforms = Arrays.stream(transforms)
+        .filter(t -> t.transform != transform)
+        .toArray(Transform[]::new);
+  }
+
+  @Subscribe
+  public void onClientTick(ClientTick event) {
+    // The menu is not rebuilt when it is open, so the transforms would apply to their own result
+    Transform[] transforms = this.transforms;
+    if (transforms.length == 0 || client.getGameState() != GameState.LOGGED_IN
+        || client.isMenuOpen()) {
+      return;
+    }
+
+    int size = menu.load(client);
+    for (Transform transform : transforms) {
+      try {
+        transform.transform.transform(menu);
+      } catch (Exception ex) {
+        log.warn("Error in menu transform {}: {}", transform.transform.getClass().getName(),
+            ex.toString());
+        ex.printStackTrace();
+      }
+    }
+
+    boolean modified = menu.isModified();
+    if (modified) {
+      menu.commit(client);
+    }
+
+    stats.tick();
+    stats.pass(transforms.length, size, modified, menu.takeAllocated());
   }
 
   public void addPlayerMenuItem(String menuText) {
@@ -225,4 +292,15 @@ public class MenuManager {
 
     return index;
   }
+
+  private static final class Transform {
+
+    private final int priority;
+    private final MenuTransform transform;
+
+    private Transform(int priority, MenuTransform transform) {
+      this.priority = priority;
+      this.transform = transform;
+    }
+  }
 }
@@ -0,0 +1,79 @@
+package meteor.menus;
+
+/**
+ * Counters of the menu pipeline. The transform, copy and allocation counts are measured: an
+ * allocation is an array or entry the pooled view allocated to grow.
+ * <p>
+ * The removed copies and allocations are estimates, not measurements. They model each transform
+ * reading and writing the menu itself through {@link net.runelite.api.Client#getMenuEntries()} and
+ * {@link net.runelite.api.Client#setMenuEntries(net.runelite.api.MenuEntry[])}, as one read of a
+ * new array of new entries and one write per transform.
+ * <p>
+ * Only updated and read on the client thread.
+ */
+public class MenuStats {
+
+  private long ticks;
+  private long transforms;
+  private long reads;
+  private long commits;
+  private long allocations;
+  // modelled: what the transforms reading the menu themselves would have allocated
+  private long estimatedUnpooledAllocations;
+
+  void tick() {
+    ticks++;
+  }
+
+  void pass(int transformCount, int size, boolean committed, int allocated) {
+    transforms += transformCount;
+    reads++;
+    if (committed) {
+      commits++;
+    }
+    allocations += allocated;
+    estimatedUnpooledAllocations += (long) transformCount * (size + 1);
+  }
+
+  public long getTicks() {
+    return ticks;
+  }
+
+  public double getTransformsPerTick() {
+    return perTick(transforms);
+  }
+
+  /**
+   * @return the whole menu reads and writes per tick
+   */
+  public double getCopiesPerTick() {
+    return perTick(reads + commits);
+  }
+
+  /**
+   * @return the estimated reads and writes saved per tick, counting one of each per transform
+   *     otherwise
+   */
+  public double getEstimatedCopiesRemovedPerTick() {
+    return perTick(2 * transforms - reads - commits);
+  }
+
+  /**
+   * @return the arrays and entries allocated per tick to grow the pool
+   */
+  public double getAllocationsPerTick() {
+    return perTick(allocations);
+  }
+
+  /**
+   * @return the estimated allocations saved per tick, counting a new array and a new entry per
+   *     menu entry for each transform otherwise
+   */
+  public double getEstimatedAllocationsRemovedPerTick() {
+    return perTick(estimatedUnpooledAllocations - allocations);
+  }
+
+  private double perTick(long count) {
+    return ticks == 0 ? 0 : (double) count / ticks;
+  }
+}
@@ -0,0 +1,15 @@
+package meteor.menus;
+
+/**
+ * Changes the client menu once per client tick, as one step of the {@link MenuManager} menu
+ * pipeline.
+ */
+@FunctionalInterface
+public interface MenuTransform {
+
+  /**
+   * Called on the client thread while the menu is closed, with the menu as left by the transforms
+   * of higher priority.
+   */
+  void transform(MenuView menu);
+}
@@ -0,0 +1,135 @@
+package meteor.menus;
+
+import com.google.common.base.Preconditions;
+import net.runelite.api.Client;
+import net.runelite.api.MenuEntry;
+
+/**
+ * A mutable view of the client menu, read once per client tick into pooled entries and written
+ * back once after every transform has run. Entries are in client order: the last one is the
+ * left click option, at the top of the menu.
+ * <p>
+ * The entries belong to the view and are reused on the next tick, so transforms must not keep
+ * them. Swapping, removing and inserting entries mark the view as modified; changing the fields
+ * of an entry must be followed by {@link #setModified()}.
+ */
+public final class MenuView {
+
+  private MenuEntry[] entries = new MenuEntry[0];
+  private int size;
+  private boolean modified;
+
+  // objects allocated to grow the pool, for the menu statistics
+  private int allocated;
+
+  int load(Client client) {
+    reserve(client.getMenuOptionCount());
+    size = client.getMenuEntries(entries);
+    modified = false;
+    return size;
+  }
+
+  void commit(Client client) {
+    client.setMenuEntries(entries, size);
+  }
+
+  public int size() {
+    return size;
+  }
+
+  public MenuEntry get(int index) {
+    Preconditions.checkElementIndex(index, size);
+    return entries[index];
+  }
+
+  /**
+   * @return the left click entry, or null if the menu is empty
+   */
+  public MenuEntry getLeftClick() {
+    return size == 0 ? null : entries[size - 1];
+  }
+
+  public void swap(int index1, int index2) {
+    Preconditions.checkElementIndex(index1, size);
+    Preconditions.checkElementIndex(index2, size);
+
+    MenuEntry entry = entries[index1];
+    entries[index1] = entries[index2];
+    entries[index2] = entry;
+    modified = true;
+  }
+
+  public void remove(int index) {
+    Preconditions.checkElementIndex(index, size);
+
+    // the removed entry moves past the end, where it is reused
+    MenuEntry removed = entries[index];
+    System.arraycopy(entries, index + 1, entries, index, size - index - 1);
+    entries[--size] = removed;
+    modified = true;
+  }
+
+  /**
+   * Removes every entry but one.
+   */
+  public void retain(int index) {
+    Preconditions.checkElementIndex(index, size);
+
+    swap(index, 0);
+    size = 1;
+  }
+
+  /**
+   * Inserts a blank entry, moving the entries from the index on up by one.
+   *
+   * @return the entry, to be filled in
+   */
+  public MenuEntry insert(int index) {
+    Preconditions.checkPositionIndex(index, size);
+    reserve(size + 1);
+
+    MenuEntry entry = entries[size];
+    System.arraycopy(entries, index, entries, index + 1, size - index);
+    entries[index] = entry;
+    size++;
+
+    entry.setOption("");
+    entry.setTarget("");
+    entry.setIdentifier(0);
+    entry.setOpcode(0);
+    entry.setActionParam(0);
+    entry.setActionParam1(0);
+    entry.setForceLeftClick(false);
+    modified = true;
+    return entry;
+  }
+
+  public boolean isModified() {
+    return modified;
+  }
+
+  public void setModified() {
+    modified = true;
+  }
+
+  int takeAllocated() {
+    int count = allocated;
+    allocated = 0;
+    return count;
+  }
+
+  private void reserve(int capacity) {
+    if (entries.length >= capacity) {
+      return;
+    }
+
+    int length = entries.length;
+    MenuEntry[] grown = new MenuEntry[Math.max(capacity, length * 2)];
+    System.arraycopy(entries, 0, grown, 0, length);
+    for (int i = length; i < grown.length; i++) {
+      grown[i] = new MenuEntry();
+    }
+    allocated += grown.length - length + 1;
+    entries = grown;
+  }
+}
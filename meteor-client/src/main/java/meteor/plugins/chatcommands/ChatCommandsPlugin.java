@@ -45,7 +45,7 @@ import java.util.EnumSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
-import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ExecutorService;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 import java.util.stream.Collectors;
@@ -81,6 +81,8 @@ import meteor.config.ConfigManager;
 import meteor.config.RuneLiteConfig;
 import meteor.eventbus.Subscribe;
 import meteor.eventbus.events.ChatInput;
+import meteor.executor.IO;
+import meteor.game.HiscoreManager;
 import meteor.game.ItemManager;
 import meteor.input.KeyManager;
 import meteor.plugins.Plugin;
@@ -90,14 +92,11 @@ import meteor.util.QuantityFormatter;
 import meteor.util.Text;
 import net.runelite.http.api.chat.ChatClient;
 import net.runelite.http.api.chat.Duels;
-import net.runelite.http.api.hiscore.HiscoreClient;
 import net.runelite.http.api.hiscore.HiscoreEndpoint;
 import net.runelite.http.api.hiscore.HiscoreResult;
 import net.runelite.http.api.hiscore.HiscoreSkill;
-import net.runelite.http.api.hiscore.SingleHiscoreSkillResult;
 import net.runelite.http.api.hiscore.Skill;
 import net.runelite.http.api.item.ItemPrice;
-import okhttp3.OkHttpClient;
 import org.apache.commons.text.WordUtils;
 
 @PluginDescriptor(
@@ -184,7 +183,8 @@ public class ChatCommandsPlugin extends Plugin
 	private ChatCommandManager chatCommandManager;
 
 	@Inject
-	private ScheduledExecutorService executor;
+	@IO
+	private ExecutorService executor;
 
 	@Inject
 	private KeyManager keyManager;
@@ -193,7 +193,7 @@ public class ChatCommandsPlugin extends Plugin
 	private ChatKeyboardListener chatKeyboardListener;
 
 	@Inject
-	private HiscoreClient hiscoreClient;
+	private HiscoreManager hiscoreManager;
 
 	@Inject
 	private ChatClient chatClient;
@@ -261,12 +261,6 @@ public class ChatCommandsPlugin extends Plugin
 		return configManager.getConfig(ChatCommandsConfig.class);
 	}
 
-	@Provides
-	HiscoreClient provideHiscoreClient(OkHttpClient okHttpClient)
-	{
-		return new HiscoreClient(okHttpClient);
-	}
-
 	private void setKc(String boss, int killcount)
 	{
 		configManager.setConfiguration("killcount", boss.toLowerCase(), killcount);
@@ -1358,7 +1352,7 @@ public class ChatCommandsPlugin extends Plugin
 
 		try
 		{
-			final SingleHiscoreSkillResult result = hiscoreClient.lookup(lookup.getName(), skill, lookup.getEndpoint());
+			final HiscoreResult result = hiscoreManager.lookup(lookup.getName(), lookup.getEndpoint());
 
 			if (result == null)
 			{
@@ -1366,7 +1360,7 @@ public class ChatCommandsPlugin extends Plugin
 				return;
 			}
 
-			final Skill hiscoreSkill = result.getSkill();
+			final Skill hiscoreSkill = result.getSkill(skill);
 
 			ChatMessageBuilder chatMessageBuilder = new ChatMessageBuilder()
 				.append(ChatColorType.NORMAL)
@@ -1422,7 +1416,7 @@ public class ChatCommandsPlugin extends Plugin
 
 		try
 		{
-			HiscoreResult playerStats = hiscoreClient.lookup(player);
+			HiscoreResult playerStats = hiscoreManager.lookup(player, HiscoreEndpoint.NORMAL);
 
 			if (playerStats == null)
 			{
@@ -1548,7 +1542,7 @@ public class ChatCommandsPlugin extends Plugin
 				HiscoreEndpoint.LEAGUE :
 				lookup.getEndpoint();
 
-			final HiscoreResult result = hiscoreClient.lookup(lookup.getName(), endPoint);
+			final HiscoreResult result = hiscoreManager.lookup(lookup.getName(), endPoint);
 
 			if (result == null)
 			{
@@ -1636,7 +1630,7 @@ public class ChatCommandsPlugin extends Plugin
 		{
 			final Skill hiscoreSkill;
 			final HiscoreLookup lookup = getCorrectLookupFor(chatMessage);
-			final HiscoreResult result = hiscoreClient.lookup(lookup.getName(), lookup.getEndpoint());
+			final HiscoreResult result = hiscoreManager.lookup(lookup.getName(), lookup.getEndpoint());
 
 			if (result == null)
 			{
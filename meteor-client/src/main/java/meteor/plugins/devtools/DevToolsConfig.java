@@ -137,4 +137,24 @@ public interface DevToolsConfig extends Config {
     return false;
   }
 
+  @ConfigItem(
+      keyName = "executorsActive",
+      name = "Executors",
+      description = "Show the tasks of each plugin and service on the client executors"
+  )
+  default boolean executorsActive()
+  {
+    return false;
+  }
+
+  @ConfigItem(
+      keyName = "menuActive",
+      name = "Menu",
+      description = "Show the menu copies and allocations per client tick, and those saved by the menu pipeline"
+  )
+  default boolean menuActive()
+  {
+    return false;
+  }
+
 }
@@ -20,6 +20,12 @@ public class DevToolsPlugin extends Plugin {
   @Inject
   DevToolsOverlay overlay;
 
+  @Inject
+  ExecutorsOverlay executorsOverlay;
+
+  @Inject
+  MenuOverlay menuOverlay;
+
   @Inject
   OverlayManager overlayManager;
 
@@ -30,9 +36,13 @@ public class DevToolsPlugin extends Plugin {
 
   public void startup() {
     overlayManager.add(overlay);
+    overlayManager.add(executorsOverlay);
+    overlayManager.add(menuOverlay);
   }
 
   public void shutdown() {
     overlayManager.remove(overlay);
+    overlayManager.remove(executorsOverlay);
+    overlayManager.remove(menuOverlay);
   }
 }
@@ -0,0 +1,85 @@
+package meteor.plugins.devtools;
+
+import java.awt.Color;
+import java.awt.Dimension;
+import java.awt.Graphics2D;
+import java.util.Arrays;
+import javax.inject.Inject;
+import javax.inject.Singleton;
+import meteor.executor.ExecutorMetrics;
+import meteor.executor.ExecutorTier;
+import meteor.executor.TaskStats;
+import meteor.ui.overlay.OverlayPanel;
+import meteor.ui.overlay.OverlayPosition;
+import meteor.ui.overlay.components.TableAlignment;
+import meteor.ui.overlay.components.TableComponent;
+import meteor.ui.overlay.components.TableElement;
+import meteor.ui.overlay.components.TableRow;
+import meteor.ui.overlay.components.TitleComponent;
+
+/**
+ * Shows the tasks of every owner on each executor: how many wait for a thread, their average and
+ * longest wait, their average run time and how many were rejected.
+ */
+@Singleton
+class ExecutorsOverlay extends OverlayPanel
+{
+	private static final TableAlignment[] ALIGNMENTS = {
+		TableAlignment.LEFT, TableAlignment.RIGHT, TableAlignment.RIGHT, TableAlignment.RIGHT, TableAlignment.RIGHT
+	};
+
+	private final DevToolsConfig config;
+	private final ExecutorMetrics metrics;
+
+	@Inject
+	private ExecutorsOverlay(DevToolsConfig config, ExecutorMetrics metrics)
+	{
+		this.config = config;
+		this.metrics = metrics;
+		setPosition(OverlayPosition.TOP_LEFT);
+		panelComponent.setPreferredSize(new Dimension(320, 0));
+	}
+
+	@Override
+	public Dimension render(Graphics2D graphics)
+	{
+		if (!config.executorsActive())
+		{
+			return null;
+		}
+
+		ExecutorTier tier = null;
+		TableComponent table = null;
+		for (TaskStats stats : metrics.getStats())
+		{
+			if (stats.getTier() != tier)
+			{
+				tier = stats.getTier();
+				panelComponent.getChildren().add(TitleComponent.builder().text(tier.getName()).build());
+
+				table = new TableComponent();
+				table.setColumnAlignments(ALIGNMENTS);
+				table.addRow("Owner", "Queued", "Wait ms", "Run ms", "Rejected");
+				panelComponent.getChildren().add(table);
+			}
+
+			Color color = stats.getRejected() > 0 ? Color.RED : stats.getQueued() > 0 ? Color.YELLOW : Color.WHITE;
+			table.addRows(TableRow.builder()
+				.rowColor(color)
+				.elements(Arrays.asList(
+					cell(stats.getOwner()),
+					cell(String.valueOf(stats.getQueued())),
+					cell(String.format("%.1f/%.0f", stats.getAverageWait(), stats.getMaxWait())),
+					cell(String.format("%.1f", stats.getAverageRun())),
+					cell(String.valueOf(stats.getRejected()))))
+				.build());
+		}
+
+		return super.render(graphics);
+	}
+
+	private static TableElement cell(String content)
+	{
+		return TableElement.builder().content(content).build();
+	}
+}
@@ -0,0 +1,58 @@
+package meteor.plugins.devtools;
+
+import java.awt.Dimension;
+import java.awt.Graphics2D;
+import javax.inject.Inject;
+import javax.inject.Singleton;
+import meteor.menus.MenuManager;
+import meteor.menus.MenuStats;
+import meteor.ui.overlay.OverlayPanel;
+import meteor.ui.overlay.OverlayPosition;
+import meteor.ui.overlay.components.LineComponent;
+import meteor.ui.overlay.components.TitleComponent;
+
+/**
+ * Shows the work of the menu pipeline per client tick: the transforms run, the whole menu copies
+ * and the allocations, and an estimate of how many of each the transforms reading and writing the
+ * menu themselves would have added.
+ */
+@Singleton
+class MenuOverlay extends OverlayPanel
+{
+	private final DevToolsConfig config;
+	private final MenuManager menuManager;
+
+	@Inject
+	private MenuOverlay(DevToolsConfig config, MenuManager menuManager)
+	{
+		this.config = config;
+		this.menuManager = menuManager;
+		setPosition(OverlayPosition.TOP_LEFT);
+		panelComponent.setPreferredSize(new Dimension(200, 0));
+	}
+
+	@Override
+	public Dimension render(Graphics2D graphics)
+	{
+		if (!config.menuActive())
+		{
+			return null;
+		}
+
+		MenuStats stats = menuManager.getStats();
+		panelComponent.getChildren().add(TitleComponent.builder().text("Menu, per tick").build());
+		line("Ticks", String.valueOf(stats.getTicks()));
+		line("Transforms", String.format("%.2f", stats.getTransformsPerTick()));
+		line("Copies", String.format("%.2f (est. -%.2f)", stats.getCopiesPerTick(),
+			stats.getEstimatedCopiesRemovedPerTick()));
+		line("Allocations", String.format("%.2f (est. -%.1f)", stats.getAllocationsPerTick(),
+			stats.getEstimatedAllocationsRemovedPerTick()));
+
+		return super.render(graphics);
+	}
+
+	private void line(String left, String right)
+	{
+		panelComponent.getChildren().add(LineComponent.builder().left(left).right(right).build());
+	}
+}
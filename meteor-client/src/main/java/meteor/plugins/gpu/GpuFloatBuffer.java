@@ -25,17 +25,18 @@
 package meteor.plugins.gpu;
 
 import java.nio.ByteBuffer;
-import java.nio.ByteOrder;
 import java.nio.FloatBuffer;
 
 class GpuFloatBuffer {
 
-  private FloatBuffer buffer = allocateDirect(65536);
+  private final StagingBufferPool pool;
+  private ByteBuffer slab;
+  private FloatBuffer buffer;
 
-  static FloatBuffer allocateDirect(int size) {
-    return ByteBuffer.allocateDirect(size * Float.BYTES)
-        .order(ByteOrder.nativeOrder())
-        .asFloatBuffer();
+  GpuFloatBuffer(StagingBufferPool pool) {
+    this.pool = pool;
+    this.slab = pool.acquire(65536 * Float.BYTES);
+    this.buffer = slab.asFloatBuffer();
   }
 
   void put(float texture, float u, float v, float pad) {
@@ -54,18 +55,27 @@ class GpuFloatBuffer {
     int capacity = buffer.capacity();
     final int position = buffer.position();
     if ((capacity - position) < size) {
-      do {
-        capacity *= 2;
-      }
-      while ((capacity - position) < size);
-
-      FloatBuffer newB = allocateDirect(capacity);
+      ByteBuffer newSlab = pool.acquire(Math.toIntExact(((long) position + size) * Float.BYTES));
+      FloatBuffer newB = newSlab.asFloatBuffer();
       buffer.flip();
       newB.put(buffer);
+      pool.release(slab);
+      slab = newSlab;
       buffer = newB;
     }
   }
 
+  /**
+   * Return the backing slab to the pool. The buffer must not be used afterwards.
+   */
+  void release() {
+    if (slab != null) {
+      pool.release(slab);
+      slab = null;
+      buffer = null;
+    }
+  }
+
   FloatBuffer getBuffer() {
     return buffer;
   }
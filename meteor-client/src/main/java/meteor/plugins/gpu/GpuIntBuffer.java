@@ -25,17 +25,18 @@
 package meteor.plugins.gpu;
 
 import java.nio.ByteBuffer;
-import java.nio.ByteOrder;
 import java.nio.IntBuffer;
 
 class GpuIntBuffer {
 
-  private IntBuffer buffer = allocateDirect(65536);
+  private final StagingBufferPool pool;
+  private ByteBuffer slab;
+  private IntBuffer buffer;
 
-  static IntBuffer allocateDirect(int size) {
-    return ByteBuffer.allocateDirect(size * Integer.BYTES)
-        .order(ByteOrder.nativeOrder())
-        .asIntBuffer();
+  GpuIntBuffer(StagingBufferPool pool) {
+    this.pool = pool;
+    this.slab = pool.acquire(65536 * Integer.BYTES);
+    this.buffer = slab.asIntBuffer();
   }
 
   void put(int x, int y, int z) {
@@ -58,18 +59,27 @@ class GpuIntBuffer {
     int capacity = buffer.capacity();
     final int position = buffer.position();
     if ((capacity - position) < size) {
-      do {
-        capacity *= 2;
-      }
-      while ((capacity - position) < size);
-
-      IntBuffer newB = allocateDirect(capacity);
+      ByteBuffer newSlab = pool.acquire(Math.toIntExact(((long) position + size) * Integer.BYTES));
+      IntBuffer newB = newSlab.asIntBuffer();
       buffer.flip();
       newB.put(buffer);
+      pool.release(slab);
+      slab = newSlab;
       buffer = newB;
     }
   }
 
+  /**
+   * Return the backing slab to the pool. The buffer must not be used afterwards.
+   */
+  void release() {
+    if (slab != null) {
+      pool.release(slab);
+      slab = null;
+      buffer = null;
+    }
+  }
+
   IntBuffer getBuffer() {
     return buffer;
   }
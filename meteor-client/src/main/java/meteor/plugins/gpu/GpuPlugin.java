@@ -148,6 +148,8 @@ public class GpuPlugin extends Plugin implements DrawCallbacks {
   private final GLBuffer tmpOutBuffer = new GLBuffer(); // target vertex buffer for compute shaders
   private final GLBuffer tmpOutUvBuffer = new GLBuffer(); // target uv buffer for compute shaders
   private final GLBuffer uniformBuffer = new GLBuffer();
+  // staging memory for the buffers below, kept across restarts so grown slabs are reused
+  private final StagingBufferPool stagingBufferPool = new StagingBufferPool();
   private final float[] textureOffsets = new float[256];
   public Logger log = new Logger("GPU");
   @Inject
@@ -272,12 +274,12 @@ public class GpuPlugin extends Plugin implements DrawCallbacks {
 
         canvas.setIgnoreRepaint(true);
 
-        vertexBuffer = new GpuIntBuffer();
-        uvBuffer = new GpuFloatBuffer();
+        vertexBuffer = new GpuIntBuffer(stagingBufferPool);
+        uvBuffer = new GpuFloatBuffer(stagingBufferPool);
 
-        modelBufferUnordered = new GpuIntBuffer();
-        modelBufferSmall = new GpuIntBuffer();
-        modelBuffer = new GpuIntBuffer();
+        modelBufferUnordered = new GpuIntBuffer(stagingBufferPool);
+        modelBufferSmall = new GpuIntBuffer(stagingBufferPool);
+        modelBuffer = new GpuIntBuffer(stagingBufferPool);
 
         GLProfile.initSingleton();
 
@@ -407,12 +409,7 @@ public class GpuPlugin extends Plugin implements DrawCallbacks {
       glDrawable = null;
       glContext = null;
 
-      vertexBuffer = null;
-      uvBuffer = null;
-
-      modelBufferSmall = null;
-      modelBuffer = null;
-      modelBufferUnordered = null;
+      releaseStagingBuffers();
 
       lastAnisotropicFilteringLevel = -1;
 
@@ -421,6 +418,29 @@ public class GpuPlugin extends Plugin implements DrawCallbacks {
     });
   }
 
+  private void releaseStagingBuffers() {
+    if (vertexBuffer == null) {
+      return;
+    }
+
+    vertexBuffer.release();
+    uvBuffer.release();
+
+    modelBufferSmall.release();
+    modelBuffer.release();
+    modelBufferUnordered.release();
+
+    vertexBuffer = null;
+    uvBuffer = null;
+
+    modelBufferSmall = null;
+    modelBuffer = null;
+    modelBufferUnordered = null;
+
+    // the slabs stay on the pool's free lists and are handed back out when the plugin restarts
+    log.debug("Staging buffers released: {}", stagingBufferPool);
+  }
+
   @Provides
   @Override
   public GpuPluginConfig getConfig(ConfigManager configManager) {
@@ -506,7 +526,8 @@ public class GpuPlugin extends Plugin implements DrawCallbacks {
     vboUiHandle = glGenBuffers(gl);
     gl.glBindVertexArray(vaoUiHandle);
 
-    FloatBuffer vboUiBuf = GpuFloatBuffer.allocateDirect(5 * 4);
+    ByteBuffer vboUiSlab = stagingBufferPool.acquire(5 * 4 * Float.BYTES);
+    FloatBuffer vboUiBuf = vboUiSlab.asFloatBuffer();
     vboUiBuf.put(new float[]{
         // positions     // texture coords
         1f, 1f, 0.0f, 1.0f, 0f, // top right
@@ -514,10 +535,11 @@ public class GpuPlugin extends Plugin implements DrawCallbacks {
         -1f, -1f, 0.0f, 0.0f, 1f, // bottom left
         -1f, 1f, 0.0f, 0.0f, 0f  // top left
     });
-    vboUiBuf.rewind();
+    vboUiBuf.flip();
     gl.glBindBuffer(GL_ARRAY_BUFFER, vboUiHandle);
-    gl.glBufferData(GL_ARRAY_BUFFER, vboUiBuf.capacity() * Float.BYTES, vboUiBuf,
+    gl.glBufferData(GL_ARRAY_BUFFER, vboUiBuf.limit() * Float.BYTES, vboUiBuf,
         gl.GL_STATIC_DRAW);
+    stagingBufferPool.release(vboUiSlab);
 
     // position attribute
     gl.glVertexAttribPointer(0, 3, gl.GL_FLOAT, false, 5 * Float.BYTES, 0);
@@ -602,7 +624,8 @@ public class GpuPlugin extends Plugin implements DrawCallbacks {
   private void initUniformBuffer() {
     initGlBuffer(uniformBuffer);
 
-    IntBuffer uniformBuf = GpuIntBuffer.allocateDirect(8 + 2048 * 4);
+    ByteBuffer uniformSlab = stagingBufferPool.acquire((8 + 2048 * 4) * Integer.BYTES);
+    IntBuffer uniformBuf = uniformSlab.asIntBuffer();
     uniformBuf.put(new int[8]); // uniform block
     final int[] pad = new int[2];
     for (int i = 0; i < 2048; i++) {
@@ -615,6 +638,7 @@ public class GpuPlugin extends Plugin implements DrawCallbacks {
     updateBuffer(uniformBuffer, GL_UNIFORM_BUFFER, uniformBuf.limit() * Integer.BYTES, uniformBuf,
         GL_DYNAMIC_DRAW, CL_MEM_READ_ONLY);
     gl.glBindBuffer(GL_UNIFORM_BUFFER, 0);
+    stagingBufferPool.release(uniformSlab);
   }
 
   private void initAAFbo(int width, int height, int aaSamples) {
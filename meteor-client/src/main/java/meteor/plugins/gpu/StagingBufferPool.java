@@ -0,0 +1,132 @@
+package meteor.plugins.gpu;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.ArrayDeque;
+
+/**
+ * Allocator for the direct buffers used to stage vertex, uv and model data before it is uploaded
+ * to the GPU.
+ * <p>
+ * Buffers are handed out as power of two sized slabs. Released slabs are kept on a free list for
+ * their size class and are reused by the next acquire of that class, so a buffer which grows once
+ * does not cause another {@link ByteBuffer#allocateDirect(int)} the next time it reaches that size.
+ * Free slabs are never dropped, so the buffers of a restarted plugin start out on the slabs the
+ * previous run grew into.
+ * <p>
+ * This class is not thread safe. The GPU plugin only touches it from the client thread, or from the
+ * main thread while the client thread is blocked on it.
+ */
+class StagingBufferPool {
+
+  static final int MIN_SLAB_SHIFT = 16; // 64 KiB
+  static final int MAX_SLAB_SHIFT = 30; // 1 GiB
+
+  private final ArrayDeque<ByteBuffer>[] freeSlabs;
+
+  private int allocations;
+  private int reuses;
+  private int releases;
+  private long allocatedBytes;
+  private long inUseBytes;
+  private long highWaterMark;
+
+  @SuppressWarnings("unchecked")
+  StagingBufferPool() {
+    freeSlabs = new ArrayDeque[MAX_SLAB_SHIFT - MIN_SLAB_SHIFT + 1];
+    for (int i = 0; i < freeSlabs.length; ++i) {
+      freeSlabs[i] = new ArrayDeque<>();
+    }
+  }
+
+  /**
+   * Get the size class index of the smallest slab able to hold {@code bytes}
+   */
+  static int sizeClass(int bytes) {
+    if (bytes < 0 || bytes > 1 << MAX_SLAB_SHIFT) {
+      throw new IllegalArgumentException("unsupported staging buffer size: " + bytes);
+    }
+
+    int shift = bytes <= 1 << MIN_SLAB_SHIFT
+        ? MIN_SLAB_SHIFT
+        : 32 - Integer.numberOfLeadingZeros(bytes - 1);
+    return shift - MIN_SLAB_SHIFT;
+  }
+
+  static int slabSize(int sizeClass) {
+    return 1 << (sizeClass + MIN_SLAB_SHIFT);
+  }
+
+  /**
+   * Acquire a cleared, native ordered slab of at least {@code bytes} bytes
+   */
+  ByteBuffer acquire(int bytes) {
+    int sizeClass = sizeClass(bytes);
+    int size = slabSize(sizeClass);
+
+    ByteBuffer slab = freeSlabs[sizeClass].pollFirst();
+    if (slab != null) {
+      ++reuses;
+      slab.clear();
+    } else {
+      ++allocations;
+      allocatedBytes += size;
+      slab = ByteBuffer.allocateDirect(size)
+          .order(ByteOrder.nativeOrder());
+    }
+
+    inUseBytes += size;
+    highWaterMark = Math.max(highWaterMark, inUseBytes);
+    return slab;
+  }
+
+  /**
+   * Return a slab previously acquired from this pool
+   */
+  void release(ByteBuffer slab) {
+    int size = slab.capacity();
+    if (!slab.isDirect() || Integer.bitCount(size) != 1 || size < 1 << MIN_SLAB_SHIFT) {
+      throw new IllegalArgumentException("buffer was not allocated by this pool");
+    }
+
+    ++releases;
+    inUseBytes -= size;
+    freeSlabs[sizeClass(size)].addFirst(slab);
+  }
+
+  int getAllocations() {
+    return allocations;
+  }
+
+  int getReuses() {
+    return reuses;
+  }
+
+  int getReleases() {
+    return releases;
+  }
+
+  long getAllocatedBytes() {
+    return allocatedBytes;
+  }
+
+  long getInUseBytes() {
+    return inUseBytes;
+  }
+
+  long getHighWaterMark() {
+    return highWaterMark;
+  }
+
+  @Override
+  public String toString() {
+    return "StagingBufferPool{" +
+        "allocations=" + allocations +
+        ", reuses=" + reuses +
+        ", releases=" + releases +
+        ", allocatedBytes=" + allocatedBytes +
+        ", inUseBytes=" + inUseBytes +
+        ", highWaterMark=" + highWaterMark +
+        '}';
+  }
+}
@@ -42,7 +42,6 @@ import java.awt.Rectangle;
 import java.time.Instant;
 import java.util.ArrayList;
 import java.util.Collection;
-import java.util.Collections;
 import java.util.List;
 import java.util.Map;
 import java.util.Queue;
@@ -64,6 +63,9 @@ import meteor.game.ItemManager;
 import meteor.game.ItemStack;
 import meteor.input.KeyManager;
 import meteor.input.MouseManager;
+import meteor.menus.MenuManager;
+import meteor.menus.MenuTransform;
+import meteor.menus.MenuView;
 import meteor.plugins.Plugin;
 import meteor.plugins.PluginDescriptor;
 import meteor.plugins.grounditems.config.ItemHighlightMode;
@@ -83,7 +85,6 @@ import net.runelite.api.MenuEntry;
 import net.runelite.api.Tile;
 import net.runelite.api.TileItem;
 import net.runelite.api.coords.WorldPoint;
-import net.runelite.api.events.ClientTick;
 import net.runelite.api.events.FocusChanged;
 import net.runelite.api.events.GameStateChanged;
 import net.runelite.api.events.ItemDespawned;
@@ -158,10 +159,15 @@ public class GroundItemsPlugin extends Plugin {
   private GroundItemsOverlay overlay;
   @Inject
   private ScheduledExecutorService executor;
+  @Inject
+  private MenuManager menuManager;
   private List<PriceHighlight> priceChecks = ImmutableList.of();
   private LoadingCache<NamedQuantity, Boolean> highlightedItems;
   private LoadingCache<NamedQuantity, Boolean> hiddenItems;
   private int lastUsedItem;
+  private final MenuTransform collapseTransform = this::collapseMenuEntries;
+  // merged entry counts, by position from the top of the menu
+  private int[] collapseCounts = new int[0];
 
   @Provides
   public GroundItemsConfig getConfig(ConfigManager configManager) {
@@ -175,10 +181,13 @@ public class GroundItemsPlugin extends Plugin {
     keyManager.registerKeyListener(inputListener, this.getClass());
     executor.execute(this::reset);
     lastUsedItem = -1;
+    // Before the menu entry swappers, so they see the collapsed entries
+    menuManager.addTransform(2, collapseTransform);
   }
 
   @Override
   public void shutdown() {
+    menuManager.removeTransform(collapseTransform);
     overlayManager.remove(overlay);
     mouseManager.unregisterMouseListener(inputListener);
     keyManager.unregisterKeyListener(inputListener);
@@ -267,45 +276,43 @@ public class GroundItemsPlugin extends Plugin {
     lootReceived(items, LootType.PVP);
   }
 
-  @Subscribe
-  public void onClientTick(ClientTick event) {
+  private void collapseMenuEntries(MenuView menu) {
     if (!config.collapseEntries()) {
       return;
     }
 
-    final MenuEntry[] menuEntries = client.getMenuEntries();
-    final List<MenuEntryWithCount> newEntries = new ArrayList<>(menuEntries.length);
+    if (collapseCounts.length < menu.size()) {
+      collapseCounts = new int[menu.size()];
+    }
 
+    // Merge each entry into an equal one above it. Removing an entry only moves the entries above
+    // it, so their position from the top stays the same.
     outer:
-    for (int i = menuEntries.length - 1; i >= 0; i--) {
-      MenuEntry menuEntry = menuEntries[i];
+    for (int i = menu.size() - 1; i >= 0; i--) {
+      MenuEntry menuEntry = menu.get(i);
+      collapseCounts[menu.size() - 1 - i] = 1;
 
       int menuType = menuEntry.getType();
       if (menuType == FIRST_OPTION || menuType == SECOND_OPTION || menuType == THIRD_OPTION
           || menuType == FOURTH_OPTION || menuType == FIFTH_OPTION || menuType == EXAMINE_ITEM) {
-        for (MenuEntryWithCount entryWCount : newEntries) {
-          if (entryWCount.getEntry().equals(menuEntry)) {
-            entryWCount.increment();
+        for (int j = menu.size() - 1; j > i; j--) {
+          if (menu.get(j).equals(menuEntry)) {
+            collapseCounts[menu.size() - 1 - j]++;
+            menu.remove(i);
             continue outer;
           }
         }
       }
-
-      newEntries.add(new MenuEntryWithCount(menuEntry));
     }
 
-    Collections.reverse(newEntries);
-
-    client.setMenuEntries(newEntries.stream().map(e ->
-    {
-      final MenuEntry entry = e.getEntry();
-      final int count = e.getCount();
+    for (int i = 0; i < menu.size(); i++) {
+      final int count = collapseCounts[menu.size() - 1 - i];
       if (count > 1) {
+        final MenuEntry entry = menu.get(i);
         entry.setTarget(entry.getTarget() + " x " + count);
+        menu.setModified();
       }
-
-      return entry;
-    }).toArray(MenuEntry[]::new));
+    }
   }
 
   private void lootReceived(Collection<ItemStack> items, LootType lootType) {
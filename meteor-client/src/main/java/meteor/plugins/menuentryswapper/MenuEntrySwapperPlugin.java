@@ -57,18 +57,18 @@ import meteor.eventbus.events.ConfigChanged;
 import meteor.game.ItemManager;
 import meteor.game.ItemVariationMapping;
 import meteor.menus.MenuManager;
+import meteor.menus.MenuTransform;
+import meteor.menus.MenuView;
 import meteor.menus.WidgetMenuOption;
 import meteor.plugins.Plugin;
 import meteor.plugins.PluginDescriptor;
 import meteor.util.Text;
 import net.runelite.api.Client;
-import net.runelite.api.GameState;
 import net.runelite.api.ItemComposition;
 import net.runelite.api.KeyCode;
 import net.runelite.api.MenuAction;
 import net.runelite.api.MenuEntry;
 import net.runelite.api.NPC;
-import net.runelite.api.events.ClientTick;
 import net.runelite.api.events.MenuEntryAdded;
 import net.runelite.api.events.MenuOpened;
 import net.runelite.api.events.MenuOptionClicked;
@@ -150,6 +150,7 @@ public class MenuEntrySwapperPlugin extends Plugin {
   private final Multimap<String, Swap> swaps = Multimaps
       .synchronizedSetMultimap(LinkedHashMultimap.create());
   private final ArrayListMultimap<String, Integer> optionIndexes = ArrayListMultimap.create();
+  private final MenuTransform swapTransform = this::swapMenuEntries;
   @Inject
   private Client client;
   @Inject
@@ -184,10 +185,12 @@ public class MenuEntrySwapperPlugin extends Plugin {
     }
 
     setupSwaps();
+    menuManager.addTransform(1, swapTransform);
   }
 
   @Override
   public void shutdown() {
+    menuManager.removeTransform(swapTransform);
     disableCustomization();
 
     swaps.clear();
@@ -696,7 +699,7 @@ public class MenuEntrySwapperPlugin extends Plugin {
     }
   }
 
-  private void swapMenuEntry(int index, MenuEntry menuEntry) {
+  private void swapMenuEntry(MenuView menu, int index, MenuEntry menuEntry) {
     final int eventId = menuEntry.getIdentifier();
     final MenuAction menuAction = MenuAction.of(menuEntry.getType());
     final String option = Text.removeTags(menuEntry.getOption()).toLowerCase();
@@ -721,7 +724,7 @@ public class MenuEntrySwapperPlugin extends Plugin {
         Integer customOption = getSwapConfig(eventId);
 
         if (customOption != null && customOption == -1) {
-          swap("use", target, index, true);
+          swap(menu, "use", target, index, true);
         }
       }
 
@@ -733,35 +736,24 @@ public class MenuEntrySwapperPlugin extends Plugin {
     Collection<Swap> swaps = this.swaps.get(option);
     for (Swap swap : swaps) {
       if (swap.getTargetPredicate().test(target) && swap.getEnabled().get()) {
-        if (swap(swap.getSwappedOption(), target, index, swap.isStrict())) {
+        if (swap(menu, swap.getSwappedOption(), target, index, swap.isStrict())) {
           break;
         }
       }
     }
   }
 
-  @Subscribe
-  public void onClientTick(ClientTick clientTick) {
-    // The menu is not rebuilt when it is open, so don't swap or else it will
-    // repeatedly swap entries
-    if (client.getGameState() != GameState.LOGGED_IN || client.isMenuOpen()) {
-      return;
-    }
-
-    MenuEntry[] menuEntries = client.getMenuEntries();
-
+  private void swapMenuEntries(MenuView menu) {
     // Build option map for quick lookup in findIndex
-    int idx = 0;
     optionIndexes.clear();
-    for (MenuEntry entry : menuEntries) {
-      String option = Text.removeTags(entry.getOption()).toLowerCase();
-      optionIndexes.put(option, idx++);
+    for (int idx = 0; idx < menu.size(); idx++) {
+      String option = Text.removeTags(menu.get(idx).getOption()).toLowerCase();
+      optionIndexes.put(option, idx);
     }
 
     // Perform swaps
-    idx = 0;
-    for (MenuEntry entry : menuEntries) {
-      swapMenuEntry(idx++, entry);
+    for (int idx = 0; idx < menu.size(); idx++) {
+      swapMenuEntry(menu, idx, menu.get(idx));
     }
   }
 
@@ -781,21 +773,19 @@ public class MenuEntrySwapperPlugin extends Plugin {
     }
   }
 
-  private boolean swap(String option, String target, int index, boolean strict) {
-    MenuEntry[] menuEntries = client.getMenuEntries();
-
+  private boolean swap(MenuView menu, String option, String target, int index, boolean strict) {
     // find option to swap with
-    int optionIdx = findIndex(menuEntries, index, option, target, strict);
+    int optionIdx = findIndex(menu, index, option, target, strict);
 
     if (optionIdx >= 0) {
-      swap(optionIndexes, menuEntries, optionIdx, index);
+      swap(optionIndexes, menu, optionIdx, index);
       return true;
     }
 
     return false;
   }
 
-  private int findIndex(MenuEntry[] entries, int limit, String option, String target,
+  private int findIndex(MenuView entries, int limit, String option, String target,
       boolean strict) {
     if (strict) {
       List<Integer> indexes = optionIndexes.get(option);
@@ -804,7 +794,7 @@ public class MenuEntrySwapperPlugin extends Plugin {
       // on the menu
       for (int i = indexes.size() - 1; i >= 0; --i) {
         int idx = indexes.get(i);
-        MenuEntry entry = entries[idx];
+        MenuEntry entry = entries.get(idx);
         String entryTarget = Text.removeTags(entry.getTarget()).toLowerCase();
 
         // Limit to the last index which is prior to the current entry
@@ -815,7 +805,7 @@ public class MenuEntrySwapperPlugin extends Plugin {
     } else {
       // Without strict matching we have to iterate all entries up to the current limit...
       for (int i = limit - 1; i >= 0; i--) {
-        MenuEntry entry = entries[i];
+        MenuEntry entry = entries.get(i);
         String entryOption = Text.removeTags(entry.getOption()).toLowerCase();
         String entryTarget = Text.removeTags(entry.getTarget()).toLowerCase();
 
@@ -829,15 +819,12 @@ public class MenuEntrySwapperPlugin extends Plugin {
     return -1;
   }
 
-  private void swap(ArrayListMultimap<String, Integer> optionIndexes, MenuEntry[] entries,
+  private void swap(ArrayListMultimap<String, Integer> optionIndexes, MenuView entries,
       int index1, int index2) {
-    MenuEntry entry1 = entries[index1],
-        entry2 = entries[index2];
-
-    entries[index1] = entry2;
-    entries[index2] = entry1;
+    MenuEntry entry1 = entries.get(index1),
+        entry2 = entries.get(index2);
 
-    client.setMenuEntries(entries);
+    entries.swap(index1, index2);
 
     // Update optionIndexes
     String option1 = Text.removeTags(entry1.getOption()).toLowerCase(),
@@ -41,6 +41,9 @@ import meteor.PluginManager;
 import meteor.callback.ClientThread;
 import meteor.eventbus.Subscribe;
 import meteor.eventbus.events.ConfigChanged;
+import meteor.menus.MenuManager;
+import meteor.menus.MenuTransform;
+import meteor.menus.MenuView;
 import meteor.plugins.Plugin;
 import meteor.plugins.PluginDescriptor;
 import meteor.plugins.menuentryswapper.MenuEntrySwapperPlugin;
@@ -50,7 +53,6 @@ import net.runelite.api.MenuAction;
 import net.runelite.api.MenuEntry;
 import net.runelite.api.Player;
 import net.runelite.api.Varbits;
-import net.runelite.api.events.ClientTick;
 import net.runelite.api.events.MenuEntryAdded;
 import net.runelite.api.events.MenuOpened;
 import net.runelite.api.events.VarbitChanged;
@@ -99,6 +101,9 @@ public class MenuEntrySwapperExtendedPlugin extends Plugin
 	@Inject
 	private ConfigManager configManager;
 
+	@Inject
+	private MenuManager menuManager;
+
 	private MenuEntrySwapperPlugin mesPlugin;
 
 	private boolean inTobRaid = false;
@@ -115,6 +120,10 @@ public class MenuEntrySwapperExtendedPlugin extends Plugin
 	private final Map<AbstractComparableEntry, Integer> customSwaps = new HashMap<>();
 	private final List<Pair<AbstractComparableEntry, AbstractComparableEntry>> prioSwaps = new ArrayList<>();
 
+	private final Comparator<MenuEntry> prioSwapOrder = this::comparePrioSwaps;
+	private final Comparator<MenuEntry> customSwapOrder = Comparator.comparingInt(this::getCustomSwapPriority);
+	private final MenuTransform menuTransform = this::updateMenuEntries;
+
 	@Provides
 	public MenuEntrySwapperExtendedConfig getConfig(ConfigManager configManager)
 	{
@@ -138,6 +147,9 @@ public class MenuEntrySwapperExtendedPlugin extends Plugin
 		loadCustomSwaps(config.customSwaps(), customSwaps);
 		loadPrioSwaps(config.prioEntry(), prioSwaps);
 
+		// After the swaps of the menu entry swapper
+		menuManager.addTransform(0, menuTransform);
+
 		if (client.getGameState() != GameState.LOGGED_IN)
 		{
 			return;
@@ -149,6 +161,8 @@ public class MenuEntrySwapperExtendedPlugin extends Plugin
 	@Override
 	public void shutdown()
 	{
+		menuManager.removeTransform(menuTransform);
+
 		loadCustomSwaps("", customSwaps); // Removes all custom swaps
 		loadPrioSwaps("", prioSwaps); // Removes all priority swaps
 
@@ -261,51 +275,88 @@ public class MenuEntrySwapperExtendedPlugin extends Plugin
 		return true;
 	};
 
-	@Subscribe
-	public void onClientTick(ClientTick clientTick)
+	private MenuEntry[] updateMenuEntries(MenuEntry[] menuEntries)
+	{
+		return Arrays.stream(menuEntries)
+				.filter(filterMenuEntries)
+				//Priority swaps
+				.sorted(prioSwapOrder)
+				//Hotkey swaps
+				.sorted(customSwapOrder)
+				.toArray(MenuEntry[]::new);
+	}
+
+	// The same as above, in place on the menu of this client tick
+	private void updateMenuEntries(MenuView menu)
 	{
-		// The menu is not rebuilt when it is open, so don't swap or else it will
-		// repeatedly swap entries
-		if (client.getGameState() != GameState.LOGGED_IN || client.isMenuOpen())
+		for (int i = menu.size() - 1; i >= 0; i--)
 		{
-			return;
+			if (!filterMenuEntries.test(menu.get(i)))
+			{
+				menu.remove(i);
+			}
+		}
+
+		if (!prioSwaps.isEmpty())
+		{
+			sort(menu, prioSwapOrder);
 		}
 
-		client.setMenuEntries(updateMenuEntries(client.getMenuEntries()));
+		if (!customSwaps.isEmpty())
+		{
+			sort(menu, customSwapOrder);
+		}
 	}
 
-	private MenuEntry[] updateMenuEntries(MenuEntry[] menuEntries)
+	/*
+	 * A stable insertion sort, which only moves entries out of order. The menu is short and mostly
+	 * sorted already, and the priority swaps are not a total order, which a merge sort may reject.
+	 */
+	private static void sort(MenuView menu, Comparator<MenuEntry> order)
 	{
-		return Arrays.stream(menuEntries)
-				.filter(filterMenuEntries)
-				.sorted((o1, o2) ->
-				{
-					//Priority swaps
-					var prioSwap = prioSwaps
-							.stream()
-							.filter(o -> o.getKey().matches(o1) && o.getValue().matches(o2))
-							.findFirst();
-					if (prioSwap.isPresent())
-						return 1;
-
-					prioSwap = prioSwaps
-							.stream()
-							.filter(o -> o.getKey().matches(o2) && o.getValue().matches(o1))
-							.findFirst();
-					if (prioSwap.isPresent())
-						return -1;
-
-					return 0;
-				})
-				.sorted(
-					//Hotkey swaps
-					Comparator.comparingInt(o -> customSwaps.entrySet()
-						.stream()
-						.filter(x -> x.getKey().matches(o))
-						.map(x -> x.getValue())
-						.sorted(Comparator.reverseOrder())
-						.findFirst().orElse(Integer.MIN_VALUE)))
-				.toArray(MenuEntry[]::new);
+		for (int i = 1; i < menu.size(); i++)
+		{
+			for (int j = i; j > 0 && order.compare(menu.get(j - 1), menu.get(j)) > 0; j--)
+			{
+				menu.swap(j - 1, j);
+			}
+		}
+	}
+
+	private int comparePrioSwaps(MenuEntry o1, MenuEntry o2)
+	{
+		for (int i = 0; i < prioSwaps.size(); i++)
+		{
+			Pair<AbstractComparableEntry, AbstractComparableEntry> prioSwap = prioSwaps.get(i);
+			if (prioSwap.getKey().matches(o1) && prioSwap.getValue().matches(o2))
+			{
+				return 1;
+			}
+		}
+
+		for (int i = 0; i < prioSwaps.size(); i++)
+		{
+			Pair<AbstractComparableEntry, AbstractComparableEntry> prioSwap = prioSwaps.get(i);
+			if (prioSwap.getKey().matches(o2) && prioSwap.getValue().matches(o1))
+			{
+				return -1;
+			}
+		}
+
+		return 0;
+	}
+
+	private int getCustomSwapPriority(MenuEntry entry)
+	{
+		int priority = Integer.MIN_VALUE;
+		for (Map.Entry<AbstractComparableEntry, Integer> customSwap : customSwaps.entrySet())
+		{
+			if (customSwap.getKey().matches(entry))
+			{
+				priority = Math.max(priority, customSwap.getValue());
+			}
+		}
+		return priority;
 	}
 
 	private void loadSwaps()
@@ -39,17 +39,14 @@ import meteor.plugins.Plugin;
 import meteor.plugins.PluginDescriptor;
 import meteor.ui.overlay.OverlayManager;
 import net.runelite.http.api.hiscore.HiscoreEndpoint;
-import net.runelite.http.api.hiscore.HiscoreResult;
 import net.runelite.http.api.hiscore.Skill;
 
 import javax.inject.Inject;
-import java.io.IOException;
 import java.time.Instant;
 import java.util.Comparator;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.Set;
-import java.util.concurrent.ScheduledExecutorService;
 
 @PluginDescriptor(
 	name = "Player-owned House",
@@ -76,9 +73,6 @@ public class PohPlugin extends Plugin
 	@Inject
 	private Client client;
 
-	@Inject
-	private ScheduledExecutorService executor;
-
 	@Inject
 	private HiscoreManager hiscoreManager;
 
@@ -207,12 +201,9 @@ public class PohPlugin extends Plugin
 
 	private void lookupPlayer(String playerName, IncenseBurner incenseBurner)
 	{
-		executor.execute(() ->
-		{
-			try
+		hiscoreManager.request(playerName, HiscoreEndpoint.NORMAL, HiscoreManager.Priority.LOW)
+			.thenAccept(playerStats ->
 			{
-				final HiscoreResult playerStats = hiscoreManager.lookup(playerName, HiscoreEndpoint.NORMAL);
-
 				if (playerStats == null)
 				{
 					return;
@@ -221,9 +212,7 @@ public class PohPlugin extends Plugin
 				final Skill fm = playerStats.getFiremaking();
 				final int level = fm.getLevel();
 				updateBurner(incenseBurner, Math.max(level, 1));
-			}
-			catch (IOException e) { }
-		});
+			});
 	}
 
 	private static void updateBurner(IncenseBurner incenseBurner, int fmLevel)
@@ -5,9 +5,7 @@ import com.google.common.collect.ImmutableMap;
 import com.google.common.io.MoreFiles;
 import com.google.common.io.RecursiveDeleteOption;
 import com.google.gson.stream.JsonReader;
-import java.awt.AlphaComposite;
 import java.awt.Color;
-import java.awt.Graphics2D;
 import java.awt.image.BufferedImage;
 import java.io.BufferedInputStream;
 import java.io.BufferedOutputStream;
@@ -29,10 +27,10 @@ import java.util.Map;
 import java.util.Properties;
 import java.util.Set;
 import java.util.concurrent.ScheduledExecutorService;
+import java.util.function.Consumer;
 import java.util.function.Function;
 import java.util.zip.ZipEntry;
 import java.util.zip.ZipInputStream;
-import javax.imageio.ImageIO;
 import javax.inject.Inject;
 import javax.inject.Singleton;
 import lombok.Getter;
@@ -58,13 +56,18 @@ import net.runelite.http.api.RuneLiteAPI;
 import okhttp3.HttpUrl;
 import okhttp3.Request;
 import okhttp3.Response;
+import org.sponge.util.Logger;
 
 @Singleton
 public class ResourcePacksManager
 {
+	private static final Logger log = new Logger("ResourcePacks");
+
 	@Getter
 	private final Properties colorProperties = new Properties();
 	private SpritePixels[] defaultCrossSprites;
+	private SpriteAtlas atlas;
+	private int spriteGeneration;
 
 	@Inject
 	private Client client;
@@ -334,17 +337,68 @@ public class ResourcePacksManager
 		{
 			return;
 		}
-		removeGameframe();
-		overrideSprites();
 		reloadColorProperties();
 		applyWidgetOverrides();
 		adjustWidgetDimensions(false);
 		adjustWidgetDimensions(true);
-		resetCrossSprites();
-		changeCrossSprites();
+		loadSprites(loaded ->
+		{
+			restoreGameframe();
+			overrideSprites(loaded);
+			resetCrossSprites();
+			changeCrossSprites();
+		});
+	}
+
+	/**
+	 * Load the sprites of the current pack off the client thread, then apply them on it. Only the
+	 * last requested load is applied.
+	 */
+	private void loadSprites(Consumer<SpriteAtlas> apply)
+	{
+		int generation = ++spriteGeneration;
+		String packPath = getCurrentPackPath();
+		Color dye = getDye();
+		SpriteAtlas previous = atlas;
+
+		executor.submit(() ->
+		{
+			SpriteAtlas loaded;
+			try
+			{
+				loaded = SpriteAtlas.load(packPath, dye, previous);
+			}
+			catch (RuntimeException e)
+			{
+				log.warn("Unable to load the sprites of " + packPath, e);
+				return;
+			}
+
+			clientThread.invokeLater(() ->
+			{
+				if (generation != spriteGeneration)
+				{
+					return;
+				}
+				atlas = loaded;
+				apply.accept(loaded);
+			});
+		});
+	}
+
+	private Color getDye()
+	{
+		return config.allowColorPack() ? config.colorPack() : null;
 	}
 
 	void removeGameframe()
+	{
+		// a pack that is still loading would override the default sprites again
+		++spriteGeneration;
+		restoreGameframe();
+	}
+
+	private void restoreGameframe()
 	{
 		restoreSprites();
 
@@ -468,72 +522,38 @@ public class ResourcePacksManager
 
 	public SpritePixels getSpritePixels(SpriteOverride spriteOverride, String currentPackPath)
 	{
-		String folder = spriteOverride.getFolder().name().toLowerCase();
-		String name = spriteOverride.name().toLowerCase();
-		if (!folder.equals("other"))
+		Color dye = getDye();
+		if (atlas != null && atlas.matches(currentPackPath, dye))
 		{
-			name = name.replaceFirst(folder + "_", "");
+			return atlas.get(spriteOverride, client);
 		}
+		return SpriteAtlas.decode(spriteOverride, currentPackPath, dye, client);
+	}
 
-
-		File spriteFile = new File(currentPackPath + File.separator + folder + File.separator + name + ".png");
-		if (!spriteFile.exists())
-		{
-			return null;
-		}
-		try
+	void overrideSprites(SpriteAtlas atlas)
+	{
+		Map<Integer, SpritePixels> overrides = new HashMap<>();
+		for (SpriteOverride spriteOverride : atlas.getSpriteOverrides())
 		{
-			BufferedImage image = ImageIO.read(spriteFile);
-			if (config.allowColorPack() && config.colorPack() != null)
+			SpriteOverride.Folder folder = spriteOverride.getFolder();
+			if ((!config.allowSpellsPrayers() && (folder.name().contains("SPELL") || folder == SpriteOverride.Folder.PRAYER)) ||
+				folder == SpriteOverride.Folder.CROSS_SPRITES)
 			{
-				image = dye(image, config.colorPack());
+				continue;
 			}
-			return ImageUtil.getImageSpritePixels(image, client);
-		}
-		catch (RuntimeException | IOException ex)
-		{
-		}
-		return null;
-	}
 
-	void overrideSprites()
-	{
-		String currentPackPath = getCurrentPackPath();
-		SpriteOverride.getOverrides().asMap().forEach((key, collection) -> {
-			if (!Files.isDirectory(Paths.get(currentPackPath + File.separator + key.name().toLowerCase())) ||
-				(!config.allowSpellsPrayers() && (key.name().contains("SPELL") || key.equals(SpriteOverride.Folder.PRAYER))) ||
-				key == SpriteOverride.Folder.CROSS_SPRITES)
+			SpritePixels spritePixels = atlas.get(spriteOverride, client);
+			if (spriteOverride.getSpriteID() == SpriteID.COMPASS_TEXTURE)
 			{
-				return;
+				client.setCompass(spritePixels);
 			}
-
-			for (SpriteOverride spriteOverride : collection)
+			else
 			{
-
-				SpritePixels spritePixels = getSpritePixels(spriteOverride, currentPackPath);
-				if (spriteOverride == SpriteOverride.LOGIN_SCREEN_BACKGROUND)
-				{
-					continue;
-				}
-				if (spritePixels == null)
-				{
-					continue;
-				}
-
-				if (spriteOverride.getSpriteID() == SpriteID.COMPASS_TEXTURE)
-				{
-					client.setCompass(spritePixels);
-				}
-				else
-				{
-					if (spriteOverride.getSpriteID() < -200)
-					{
-						client.getSpriteOverrides().remove(spriteOverride.getSpriteID());
-					}
-					client.getSpriteOverrides().put(spriteOverride.getSpriteID(), spritePixels);
-				}
+				overrides.put(spriteOverride.getSpriteID(), spritePixels);
 			}
-		});
+		}
+
+		client.getSpriteOverrides().putAll(overrides);
 	}
 
 	void reloadBankTagSprites()
@@ -663,20 +683,6 @@ public class ResourcePacksManager
 		defaultCrossSprites = null;
 	}
 
-	private BufferedImage dye(BufferedImage image, Color color)
-	{
-		int w = image.getWidth();
-		int h = image.getHeight();
-		BufferedImage dyed = new BufferedImage(w, h, BufferedImage.TYPE_INT_ARGB);
-		Graphics2D g = dyed.createGraphics();
-		g.drawImage(image, 0, 0, null);
-		g.setComposite(AlphaComposite.SrcAtop);
-		g.setColor(color);
-		g.fillRect(0, 0, w, h);
-		g.dispose();
-		return dyed;
-	}
-
 	private void applyWidgetOverrides()
 	{
 		if (colorProperties.isEmpty())
@@ -0,0 +1,408 @@
+package meteor.plugins.resourcepacks;
+
+import com.google.common.hash.Hasher;
+import com.google.common.hash.Hashing;
+import java.awt.AlphaComposite;
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.IntBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.stream.IntStream;
+import javax.imageio.ImageIO;
+import meteor.MeteorLiteClientLauncher;
+import meteor.util.ImageUtil;
+import net.runelite.api.Client;
+import net.runelite.api.SpritePixels;
+import org.sponge.util.Logger;
+
+/**
+ * The sprites of one resource pack, decoded and converted to sprite pixels.
+ * <p>
+ * Decoding every PNG of a pack takes seconds, so the converted pixels are also written to a single
+ * file per pack, keyed by the size and modification time of its sprites and by the dye. Loading the
+ * same pack again maps that file instead, and each sprite is only copied out of it when applied.
+ */
+class SpriteAtlas
+{
+	static final File ATLAS_DIR = new File(MeteorLiteClientLauncher.CACHE_DIR, "resource-packs");
+
+	private static final Logger log = new Logger("ResourcePacks");
+
+	private static final int MAGIC = 0x52505341;
+	private static final int FORMAT = 1;
+
+	private final String packPath;
+	private final Color dye;
+	private final String version;
+	private final Map<SpriteOverride, Sprite> sprites;
+
+	private SpriteAtlas(String packPath, Color dye, String version, Map<SpriteOverride, Sprite> sprites)
+	{
+		this.packPath = packPath;
+		this.dye = dye;
+		this.version = version;
+		this.sprites = sprites;
+	}
+
+	/**
+	 * Load the sprites of a pack, from the atlas file of an earlier load if the sprites did not
+	 * change since. Does file IO, so should not be called on the client thread.
+	 *
+	 * @param previous the last loaded atlas, which is returned as is if it is still current
+	 */
+	static SpriteAtlas load(String packPath, Color dye, SpriteAtlas previous)
+	{
+		long start = System.currentTimeMillis();
+		String version = version(packPath, dye);
+		if (previous != null && previous.matches(packPath, dye) && previous.version.equals(version))
+		{
+			return previous;
+		}
+
+		Path file = ATLAS_DIR.toPath().resolve(packKey(packPath, dye) + "-" + version + ".atlas");
+		if (Files.exists(file))
+		{
+			try
+			{
+				SpriteAtlas atlas = new SpriteAtlas(packPath, dye, version, read(file));
+				log.debug("Mapped {} sprites of {} in {} ms", atlas.sprites.size(), packPath,
+					System.currentTimeMillis() - start);
+				return atlas;
+			}
+			catch (IOException | RuntimeException e)
+			{
+				log.warn("Unable to read sprite atlas " + file, e);
+			}
+		}
+
+		SpriteOverride[] overrides = SpriteOverride.values();
+		Sprite[] decoded = new Sprite[overrides.length];
+		IntStream.range(0, overrides.length)
+			.parallel()
+			.filter(i -> overrides[i] != SpriteOverride.LOGIN_SCREEN_BACKGROUND)
+			.forEach(i -> decoded[i] = decode(overrides[i], packPath, dye));
+
+		Map<SpriteOverride, Sprite> sprites = new EnumMap<>(SpriteOverride.class);
+		for (int i = 0; i < overrides.length; ++i)
+		{
+			if (decoded[i] != null)
+			{
+				sprites.put(overrides[i], decoded[i]);
+			}
+		}
+
+		SpriteAtlas atlas = new SpriteAtlas(packPath, dye, version, sprites);
+		log.debug("Decoded {} sprites of {} in {} ms", sprites.size(), packPath,
+			System.currentTimeMillis() - start);
+
+		try
+		{
+			write(file, sprites);
+		}
+		catch (IOException e)
+		{
+			log.warn("Unable to write sprite atlas " + file, e);
+		}
+
+		return atlas;
+	}
+
+	boolean matches(String packPath, Color dye)
+	{
+		return this.packPath.equals(packPath) && Objects.equals(this.dye, dye);
+	}
+
+	Set<SpriteOverride> getSpriteOverrides()
+	{
+		return Collections.unmodifiableSet(sprites.keySet());
+	}
+
+	/**
+	 * @return the sprite, or null if the pack does not have it
+	 */
+	SpritePixels get(SpriteOverride spriteOverride, Client client)
+	{
+		Sprite sprite = sprites.get(spriteOverride);
+		return sprite == null ? null : sprite.toSpritePixels(client);
+	}
+
+	/**
+	 * Decode a single sprite of a pack, without going through an atlas
+	 */
+	static SpritePixels decode(SpriteOverride spriteOverride, String packPath, Color dye, Client client)
+	{
+		Sprite sprite = decode(spriteOverride, packPath, dye);
+		return sprite == null ? null : sprite.toSpritePixels(client);
+	}
+
+	private static Sprite decode(SpriteOverride spriteOverride, String packPath, Color dye)
+	{
+		File spriteFile = spriteFile(spriteOverride, packPath);
+		if (!spriteFile.exists())
+		{
+			return null;
+		}
+
+		try
+		{
+			BufferedImage image = ImageIO.read(spriteFile);
+			if (image == null)
+			{
+				return null;
+			}
+			if (dye != null)
+			{
+				image = dye(image, dye);
+			}
+			return new Sprite(image.getWidth(), image.getHeight(), ImageUtil.getSpritePixelArray(image));
+		}
+		catch (RuntimeException | IOException ex)
+		{
+			return null;
+		}
+	}
+
+	static File spriteFile(SpriteOverride spriteOverride, String packPath)
+	{
+		String folder = spriteOverride.getFolder().name().toLowerCase();
+		String name = spriteOverride.name().toLowerCase();
+		if (!folder.equals("other"))
+		{
+			name = name.replaceFirst(folder + "_", "");
+		}
+
+		return new File(packPath + File.separator + folder + File.separator + name + ".png");
+	}
+
+	private static BufferedImage dye(BufferedImage image, Color color)
+	{
+		int w = image.getWidth();
+		int h = image.getHeight();
+		BufferedImage dyed = new BufferedImage(w, h, BufferedImage.TYPE_INT_ARGB);
+		Graphics2D g = dyed.createGraphics();
+		g.drawImage(image, 0, 0, null);
+		g.setComposite(AlphaComposite.SrcAtop);
+		g.setColor(color);
+		g.fillRect(0, 0, w, h);
+		g.dispose();
+		return dyed;
+	}
+
+	// the pack's sprite files are only stat'ed, which is cheap next to decoding them
+	private static String version(String packPath, Color dye)
+	{
+		Hasher hasher = Hashing.sha256().newHasher()
+			.putInt(FORMAT)
+			.putInt(dye == null ? 0 : dye.getRGB())
+			.putBoolean(dye != null);
+		for (SpriteOverride spriteOverride : SpriteOverride.values())
+		{
+			File spriteFile = spriteFile(spriteOverride, packPath);
+			if (spriteFile.exists())
+			{
+				hasher.putString(spriteOverride.name(), StandardCharsets.UTF_8)
+					.putLong(spriteFile.length())
+					.putLong(spriteFile.lastModified());
+			}
+		}
+		return hasher.hash().toString().substring(0, 16);
+	}
+
+	private static String packKey(String packPath, Color dye)
+	{
+		return Hashing.sha256().newHasher()
+			.putString(new File(packPath).getAbsolutePath(), StandardCharsets.UTF_8)
+			.putInt(dye == null ? 0 : dye.getRGB())
+			.putBoolean(dye != null)
+			.hash().toString().substring(0, 16);
+	}
+
+	/*
+	 * An atlas is a header, an index of sprite names and sizes, and then the pixels of every sprite
+	 * in index order, all big endian:
+	 *   int magic, int format, int count
+	 *   count * (short name length, name, int width, int height)
+	 *   padding to a multiple of 4 bytes
+	 *   the pixels of each sprite
+	 */
+
+	private static Map<SpriteOverride, Sprite> read(Path file) throws IOException
+	{
+		ByteBuffer buffer;
+		try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ))
+		{
+			buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+		}
+
+		if (buffer.getInt() != MAGIC || buffer.getInt() != FORMAT)
+		{
+			throw new IOException("not a sprite atlas");
+		}
+
+		int count = buffer.getInt();
+		SpriteOverride[] overrides = new SpriteOverride[count];
+		int[] widths = new int[count];
+		int[] heights = new int[count];
+		for (int i = 0; i < count; ++i)
+		{
+			byte[] name = new byte[buffer.getShort()];
+			buffer.get(name);
+			overrides[i] = lookup(new String(name, StandardCharsets.UTF_8));
+			widths[i] = buffer.getInt();
+			heights[i] = buffer.getInt();
+		}
+
+		buffer.position((buffer.position() + 3) & ~3);
+		IntBuffer pixels = buffer.slice().asIntBuffer();
+
+		Map<SpriteOverride, Sprite> sprites = new EnumMap<>(SpriteOverride.class);
+		int offset = 0;
+		for (int i = 0; i < count; ++i)
+		{
+			int size = widths[i] * heights[i];
+			if (offset + size > pixels.limit())
+			{
+				throw new IOException("truncated sprite atlas");
+			}
+			if (overrides[i] != null)
+			{
+				sprites.put(overrides[i], new Sprite(widths[i], heights[i], pixels, offset));
+			}
+			offset += size;
+		}
+		return sprites;
+	}
+
+	// sprites which were renamed or removed since the atlas was written are skipped
+	private static SpriteOverride lookup(String name)
+	{
+		try
+		{
+			return SpriteOverride.valueOf(name);
+		}
+		catch (IllegalArgumentException e)
+		{
+			return null;
+		}
+	}
+
+	private static void write(Path file, Map<SpriteOverride, Sprite> sprites) throws IOException
+	{
+		int indexSize = 12;
+		int pixelCount = 0;
+		for (Map.Entry<SpriteOverride, Sprite> entry : sprites.entrySet())
+		{
+			indexSize += 2 + entry.getKey().name().length() + 8;
+			pixelCount += entry.getValue().width * entry.getValue().height;
+		}
+		indexSize = (indexSize + 3) & ~3;
+
+		ByteBuffer buffer = ByteBuffer.allocate(indexSize + pixelCount * 4);
+		buffer.putInt(MAGIC).putInt(FORMAT).putInt(sprites.size());
+		for (Map.Entry<SpriteOverride, Sprite> entry : sprites.entrySet())
+		{
+			byte[] name = entry.getKey().name().getBytes(StandardCharsets.UTF_8);
+			buffer.putShort((short) name.length).put(name);
+			buffer.putInt(entry.getValue().width).putInt(entry.getValue().height);
+		}
+
+		buffer.position(indexSize);
+		IntBuffer pixels = buffer.asIntBuffer();
+		for (Sprite sprite : sprites.values())
+		{
+			pixels.put(sprite.pixels);
+		}
+
+		Files.createDirectories(file.getParent());
+		Path temp = Files.createTempFile(file.getParent(), "atlas", ".tmp");
+		try
+		{
+			Files.write(temp, buffer.array());
+			Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+		}
+		finally
+		{
+			Files.deleteIfExists(temp);
+		}
+
+		// atlases of older versions of this pack, which may still be mapped on some platforms
+		String prefix = file.getFileName().toString();
+		prefix = prefix.substring(0, prefix.indexOf('-') + 1);
+		try (DirectoryStream<Path> atlases = Files.newDirectoryStream(file.getParent(), prefix + "*.atlas"))
+		{
+			for (Path atlas : atlases)
+			{
+				if (!atlas.equals(file))
+				{
+					try
+					{
+						Files.delete(atlas);
+					}
+					catch (IOException ignored)
+					{
+					}
+				}
+			}
+		}
+	}
+
+	private static class Sprite
+	{
+		private final int width;
+		private final int height;
+		private final int[] pixels;
+		private final IntBuffer buffer;
+		private final int offset;
+
+		private Sprite(int width, int height, int[] pixels)
+		{
+			this.width = width;
+			this.height = height;
+			this.pixels = pixels;
+			this.buffer = null;
+			this.offset = 0;
+		}
+
+		private Sprite(int width, int height, IntBuffer buffer, int offset)
+		{
+			this.width = width;
+			this.height = height;
+			this.pixels = null;
+			this.buffer = buffer;
+			this.offset = offset;
+		}
+
+		// every sprite gets its own pixels, the client may keep or change them
+		private SpritePixels toSpritePixels(Client client)
+		{
+			int[] copy;
+			if (pixels != null)
+			{
+				copy = pixels.clone();
+			}
+			else
+			{
+				copy = new int[width * height];
+				IntBuffer view = buffer.duplicate();
+				view.position(offset);
+				view.get(copy);
+			}
+			return client.createSpritePixels(copy, width, height);
+		}
+	}
+}
@@ -37,6 +37,11 @@ public interface SocketConfig extends Config {
         return UUID.randomUUID().toString().replaceAll("-", "");
     }
 
+    @ConfigItem(position = 4, keyName = "jsonPackets", name = "JSON Packets", description = "Send plugin messages as JSON, which every client reads. Turn off to send compact binary packets while every party member's client supports them.")
+    default boolean jsonPackets() {
+        return true;
+    }
+
     enum Server {
         FOREIGNER("American"),
         AUS("AUS"),
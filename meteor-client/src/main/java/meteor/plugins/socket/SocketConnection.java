@@ -30,6 +30,8 @@ import meteor.callback.ClientThread;
 import meteor.eventbus.EventBus;
 import net.runelite.api.ChatMessageType;
 import net.runelite.api.Client;
+import meteor.plugins.socket.codec.SocketCodec;
+import meteor.plugins.socket.codec.SocketMessage;
 import meteor.plugins.socket.hash.AES256;
 import meteor.plugins.socket.hash.SHA256;
 import meteor.plugins.socket.org.json.JSONArray;
@@ -41,24 +43,31 @@ import meteor.plugins.socket.packet.SocketPlayerLeave;
 import meteor.plugins.socket.packet.SocketReceivePacket;
 import org.sponge.util.Logger;
 
-import java.io.BufferedReader;
 import java.io.IOException;
-import java.io.InputStreamReader;
-import java.io.PrintWriter;
-import java.net.InetSocketAddress;
-import java.net.Socket;
+import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 
 import static meteor.plugins.socket.SocketPlugin.PASSWORD_SALT;
 
 /**
  * Represents an instance of a socket connection to the server.
  */
-public class SocketConnection implements Runnable
+public class SocketConnection implements SocketTransport.Listener
 {
     private static final Logger log = Logger.getLogger(SocketPlugin.class);
 
+    // Binary frames are filled up to about this many bytes.
+    private static final int MAX_BROADCAST_SIZE = 16384;
+
+    // Key of the JSON broadcast with which clients tell the party they read binary frames. Older
+    // clients hand it to plugins, which ignore keys they do not know.
+    private static final String CODEC_KEY = "socket-codec";
+
     private SocketPlugin plugin;
     private SocketConfig config;
 
@@ -67,25 +76,23 @@ public class SocketConnection implements Runnable
 
     private EventBus eventBus;
 
-    private String playerName;
+    private SocketCodec codec;
 
-    // Variable that identifies the state of the socket connection.
-    @Getter(AccessLevel.PUBLIC)
-    private SocketState state;
+    private String playerName;
 
-    // Socket IO Variables
-    @Getter(AccessLevel.PUBLIC)
-    private Socket socket;
+    // Apply the salt to the password.
+    private final String secret;
 
+    // Variable that identifies the state of the socket connection.
     @Getter(AccessLevel.PUBLIC)
-    private BufferedReader inputStream;
+    private volatile SocketState state;
 
-    @Getter(AccessLevel.PUBLIC)
-    private PrintWriter outputStream;
+    // Socket IO, on its own thread.
+    private SocketTransport transport;
 
-    // The last time a heartbeat was sent to the server.
-    // We want to send a heartbeat periodically to validate that the connection is still valid.
-    private long lastHeartbeat;
+    // The other party members, and those of them which announced they read our binary frames.
+    private volatile Set<String> party = Collections.emptySet();
+    private final Set<String> binaryMembers = ConcurrentHashMap.newKeySet();
 
     public SocketConnection(SocketPlugin plugin, String playerName)
     {
@@ -96,15 +103,19 @@ public class SocketConnection implements Runnable
         this.clientThread = this.plugin.getClientThread();
 
         this.eventBus = this.plugin.getEventBus();
+        this.codec = this.plugin.getCodec();
 
         this.playerName = playerName;
-        this.lastHeartbeat = 0L;
+        this.secret = this.config.getPassword() + PASSWORD_SALT;
 
         this.state = SocketState.DISCONNECTED;
     }
 
-    @Override
-    public void run()
+    /**
+     * Start connecting to the server. The connection is established, and packets are received, on the
+     * transport's I/O thread.
+     */
+    public void connect()
     {
 
         // Socket can only be started once. If the state isn't originally disconnected, ignore everything.
@@ -125,169 +136,301 @@ public class SocketConnection implements Runnable
         if (this.config.getServerAddress() == SocketConfig.Server.CUSTOM)
             server = this.config.customServerAddress();
 
-        // Apply the salt to the password.
-        final String secret = new String(this.config.getPassword() + PASSWORD_SALT);
-
         try
         {
+            this.transport = new SocketTransport(server, this.config.getServerPort(), this);
+        }
+        catch (IOException ex)
+        {
+            this.onClose(ex);
+            return;
+        }
 
-            // Attempt to establish a connection.
-            InetSocketAddress address = new InetSocketAddress(server, this.config.getServerPort());
-
-            this.socket = new Socket();
-            this.socket.connect(address, 10000);
-
-            this.inputStream = new BufferedReader(new InputStreamReader(this.socket.getInputStream()));
-            this.outputStream = new PrintWriter(this.socket.getOutputStream(), true);
+        this.transport.start();
+    }
 
-            // Notify the server about your connection credentials. This establishes the necessary handshake.
-            JSONObject joinPacket = new JSONObject();
-            joinPacket.put("header", SocketPacket.JOIN);
-            joinPacket.put("room", SHA256.encrypt(secret));
-            joinPacket.put("name", AES256.encrypt(secret, this.playerName));
-            this.outputStream.println(joinPacket.toString());
+    /**
+     * Queue a packet to be sent to the server. Can be called from any thread.
+     */
+    public void send(String packet)
+    {
+        if (this.transport != null)
+        {
+            this.transport.send(packet);
+        }
+    }
 
-            // Start listening for input.
-            while (true)
+    /**
+     * Serialize, encrypt and send broadcasts from other plugins. Called off the client thread.
+     * <p>
+     * If any of them is a typed message and {@link #isBinaryEnabled() binary frames are enabled},
+     * they are combined into as few frames as possible. Otherwise every broadcast is sent as its own
+     * JSON packet, exactly as before, since that is all older clients can read.
+     */
+    public void broadcast(List<Object> payloads)
+    {
+        try
+        {
+            if (this.isBinaryEnabled() && payloads.stream().anyMatch(SocketMessage.class::isInstance))
             {
-                if (this.state == SocketState.DISCONNECTED || this.state == SocketState.TERMINATED)
+                for (byte[] frame : this.codec.encode(payloads, MAX_BROADCAST_SIZE))
                 {
-                    break; // If object was terminated, stop loop.
+                    this.sendBroadcast(AES256.encrypt(this.secret, frame));
                 }
+                return;
+            }
 
-                if (!this.socket.isConnected() || this.socket.isClosed())
+            for (Object payload : payloads)
+            {
+                String data = (payload instanceof SocketMessage ? ((SocketMessage) payload).toJSON() : payload).toString();
+                log.debug("Deploying packet from client: {}", data);
+                this.sendBroadcast(AES256.encrypt(this.secret, data));
+            }
+        }
+        catch (Exception e)
+        { // Oh no, something went wrong!
+            log.error("An error has occurred while trying to broadcast a packet.", e);
+        }
+    }
+
+    /**
+     * Binary frames are only sent when JSON packets are turned off, and every other party member
+     * announced it reads frames of our version since it last joined.
+     */
+    private boolean isBinaryEnabled()
+    {
+        return !this.config.jsonPackets() && this.binaryMembers.containsAll(this.party);
+    }
+
+    /**
+     * Tell the party that we read binary frames, unless JSON packets are configured, in which case
+     * only packets older clients understand are sent.
+     */
+    private void announceCodec()
+    {
+        if (this.config.jsonPackets())
+        {
+            return;
+        }
+
+        JSONObject codec = new JSONObject();
+        codec.put("name", this.playerName);
+        codec.put("version", SocketCodec.VERSION);
+
+        JSONObject payload = new JSONObject();
+        payload.put(CODEC_KEY, codec);
+        this.sendBroadcast(AES256.encrypt(this.secret, payload.toString()));
+    }
+
+    private void updateParty(List<String> members)
+    {
+        Set<String> others = new HashSet<>(members);
+        others.remove(this.playerName);
+        this.party = others;
+        this.binaryMembers.retainAll(others);
+    }
+
+    private void sendBroadcast(String encrypted)
+    {
+        JSONObject packet = new JSONObject();
+        packet.put("header", SocketPacket.BROADCAST);
+        packet.put("payload", encrypted); // Payload is now an encrypted string.
+        this.send(packet.toString());
+    }
+
+    /**
+     * Decode a broadcast, which is a binary frame or a single JSON payload. JSON payloads of
+     * registered message types are followed by the typed message.
+     */
+    private List<Object> decodeBroadcast(byte[] message)
+    {
+        List<Object> decoded;
+        if (SocketCodec.isBinary(message))
+        {
+            decoded = this.codec.decode(message);
+        }
+        else
+        {
+            decoded = Collections.singletonList(new JSONObject(new String(message, StandardCharsets.UTF_8)));
+        }
+
+        List<Object> payloads = new ArrayList<>(decoded.size());
+        for (Object payload : decoded)
+        {
+            if (payload instanceof JSONObject && ((JSONObject) payload).has(CODEC_KEY))
+            { // A party member reads binary frames, it is not a broadcast for plugins.
+                JSONObject codec = ((JSONObject) payload).getJSONObject(CODEC_KEY);
+                if (codec.getInt("version") == SocketCodec.VERSION)
                 {
-                    break; // Socket was disconnected, stop loop.
+                    this.binaryMembers.add(codec.getString("name"));
                 }
+                continue;
+            }
 
-                if (this.outputStream.checkError())
+            payloads.add(payload);
+            if (payload instanceof JSONObject)
+            {
+                SocketMessage typed = this.codec.decode((JSONObject) payload);
+                if (typed != null)
                 {
-                    throw new IOException("Broken transmission stream");
+                    payloads.add(typed);
                 }
+            }
+        }
+        return payloads;
+    }
 
-                if (!this.inputStream.ready())
-                { // If there is no data ready, ping (heartbeat) the server.
-                    long elapsedTime = System.currentTimeMillis() - this.lastHeartbeat;
-                    if (elapsedTime >= 30000)
-                    { // Maintain a heartbeat with the server every 30 seconds.
-                        this.lastHeartbeat = System.currentTimeMillis();
-                        synchronized (this.outputStream)
-                        {
-                            this.outputStream.println();
-                        }
-                    }
+    @Override
+    public void onConnect()
+    {
+        // Notify the server about your connection credentials. This establishes the necessary handshake.
+        JSONObject joinPacket = new JSONObject();
+        joinPacket.put("header", SocketPacket.JOIN);
+        joinPacket.put("room", SHA256.encrypt(this.secret));
+        joinPacket.put("name", AES256.encrypt(this.secret, this.playerName));
+        this.transport.send(joinPacket.toString());
+    }
 
-                    Thread.sleep(20L);
-                    continue;
-                }
+    @Override
+    public void onFrame(String packet)
+    {
+        if (this.state == SocketState.DISCONNECTED || this.state == SocketState.TERMINATED)
+        {
+            return; // If object was terminated, ignore anything still in flight.
+        }
+
+        log.debug("Received packet from server: {}", packet);
+
+        JSONObject data;
+        try
+        {
+            data = new JSONObject(packet);
+            log.debug("Decoded packet as JSON.");
+        }
+        catch (JSONException e)
+        {
+            log.error("Bad packet. Unable to decode: {}", packet);
+            return;
+        }
+
+        // The header will determine the packet type.
+        if (!data.has("header"))
+        {
+            throw new NullPointerException("Packet missing header");
+        }
+
+        String header = data.getString("header");
 
-                // Read the input line.
-                String packet = this.inputStream.readLine();
-                if (packet == null || packet.isEmpty())
+        try
+        { // Read and decode the packet based on the header.
+            if (header.equals(SocketPacket.BROADCAST))
+            { // Player is broadcasting a packet to all members.
+                byte[] message = AES256.decryptBytes(this.secret, data.getString("payload"));
+                if (message == null)
                 {
-                    continue;
+                    log.warn("Bad broadcast. Unable to decrypt.");
+                    return;
                 }
 
-                log.debug("Received packet from server: {}", packet);
-
-                JSONObject data;
+                List<Object> payloads;
                 try
                 {
-                    data = new JSONObject(packet);
-                    log.debug("Decoded packet as JSON.");
+                    payloads = this.decodeBroadcast(message);
                 }
-                catch (JSONException e)
-                {
-                    log.error("Bad packet. Unable to decode: {}", packet);
-                    continue;
+                catch (RuntimeException e)
+                { // Any member can send a broken frame, it must not close the connection.
+                    log.warn("Bad broadcast. Unable to decode: {}", e.toString());
+                    return;
                 }
 
-                // The header will determine the packet type.
-                if (!data.has("header"))
+                this.clientThread.invoke(() ->
                 {
-                    throw new NullPointerException("Packet missing header");
+                    for (Object payload : payloads)
+                    { // Typed messages are posted as themselves.
+                        eventBus.post(payload instanceof JSONObject ? new SocketReceivePacket((JSONObject) payload) : payload);
+                    }
+                });
+
+            }
+            else if (header.equals(SocketPacket.JOIN))
+            { // Player has joined the party.
+                String targetName = AES256.decrypt(this.secret, data.getString("player"));
+                this.logMessage(SocketLog.INFO, targetName + " has joined the party.");
+
+                if (targetName.equals(this.playerName))
+                { // You have joined the party.
+                    this.state = SocketState.CONNECTED;
+                    this.plugin.connectionEstablished();
+                    log.info("You have successfully joined the socket party.");
                 }
 
-                String header = data.getString("header");
+                JSONArray membersArray = data.getJSONArray("party");
+                this.logMessage(SocketLog.INFO, this.mergeMembers(membersArray, this.secret));
 
-                try
-                { // Read and decode the packet based on the header.
-                    if (header.equals(SocketPacket.BROADCAST))
-                    { // Player is broadcasting a packet to all members.
-                        String message = AES256.decrypt(secret, data.getString("payload"));
-                        JSONObject payload = new JSONObject(message);
-                        this.clientThread.invoke(() -> eventBus.post(new SocketReceivePacket(payload)));
+                // Whoever joined has to announce its codec again, and learn about ours.
+                this.binaryMembers.remove(targetName);
+                this.updateParty(mergeMembersAsList(membersArray, this.secret));
+                this.announceCodec();
 
-                    }
-                    else if (header.equals(SocketPacket.JOIN))
-                    { // Player has joined the party.
-                        String targetName = AES256.decrypt(secret, data.getString("player"));
-                        this.logMessage(SocketLog.INFO, targetName + " has joined the party.");
-
-                        if (targetName.equals(this.playerName))
-                        { // You have joined the party.
-                            this.state = SocketState.CONNECTED;
-                            log.info("You have successfully joined the socket party.");
-                        }
-
-                        JSONArray membersArray = data.getJSONArray("party");
-                        this.logMessage(SocketLog.INFO, this.mergeMembers(membersArray, secret));
-
-                        try
-                        {
-                            this.eventBus.post(new SocketPlayerJoin(targetName));
-                            this.eventBus.post(new SocketMembersUpdate(mergeMembersAsList(membersArray, secret)));
-                        }
-                        catch (Exception ignored)
-                        {
-                        }
+                try
+                {
+                    this.eventBus.post(new SocketPlayerJoin(targetName));
+                    this.eventBus.post(new SocketMembersUpdate(mergeMembersAsList(membersArray, this.secret)));
+                }
+                catch (Exception ignored)
+                {
+                }
 
-                    }
-                    else if (header.equals(SocketPacket.LEAVE))
-                    { // Player has left the party.
-                        String targetName = AES256.decrypt(secret, data.getString("player"));
-                        this.logMessage(SocketLog.ERROR, targetName + " has left the party.");
-
-                        JSONArray membersArray = data.getJSONArray("party");
-                        this.logMessage(SocketLog.ERROR, this.mergeMembers(membersArray, secret));
-
-                        try
-                        {
-                            this.eventBus.post(new SocketPlayerLeave(targetName));
-                            this.eventBus.post(new SocketMembersUpdate(mergeMembersAsList(membersArray, secret)));
-                        }
-                        catch (Exception ignored)
-                        {
-                        }
+            }
+            else if (header.equals(SocketPacket.LEAVE))
+            { // Player has left the party.
+                String targetName = AES256.decrypt(this.secret, data.getString("player"));
+                this.logMessage(SocketLog.ERROR, targetName + " has left the party.");
 
-                    }
-                    else if (header.equals(SocketPacket.MESSAGE))
-                    { // Socket server wishes to send you a message.
-                        String message = data.getString("message");
-                        this.clientThread.invoke(() -> this.client.addChatMessage(ChatMessageType.GAMEMESSAGE, "", message, null));
+                JSONArray membersArray = data.getJSONArray("party");
+                this.logMessage(SocketLog.ERROR, this.mergeMembers(membersArray, this.secret));
+                this.updateParty(mergeMembersAsList(membersArray, this.secret));
 
-                    }
+                try
+                {
+                    this.eventBus.post(new SocketPlayerLeave(targetName));
+                    this.eventBus.post(new SocketMembersUpdate(mergeMembersAsList(membersArray, this.secret)));
                 }
-                catch (JSONException e)
+                catch (Exception ignored)
                 {
-                    log.warn("Bad packet contents. Unable to decode.");
-                    continue;
                 }
+
+            }
+            else if (header.equals(SocketPacket.MESSAGE))
+            { // Socket server wishes to send you a message.
+                String message = data.getString("message");
+                this.clientThread.invoke(() -> this.client.addChatMessage(ChatMessageType.GAMEMESSAGE, "", message, null));
+
             }
         }
-        catch (Exception ex)
+        catch (JSONException e)
         {
-            // Oh no, something went wrong! Terminate the connection and log.
-            log.error("Unable to establish connection with the server.", ex);
-            this.terminate(false);
-
-            this.logMessage(SocketLog.ERROR, "Socket terminated. " + ex.getClass().getSimpleName() + ": " + ex.getMessage());
+            log.warn("Bad packet contents. Unable to decode.");
+        }
+    }
 
-            // Try to reconnect in 30 seconds.
-            this.plugin.setNextConnection(System.currentTimeMillis() + 30000L);
-            this.logMessage(SocketLog.ERROR, "Reconnecting in 30 seconds...");
-            return;
+    @Override
+    public void onClose(Exception cause)
+    {
+        if (cause == null || this.state == SocketState.TERMINATED)
+        {
+            return; // Closed by terminate(), nothing went wrong.
         }
+
+        // Oh no, something went wrong! Terminate the connection and log.
+        log.error("Unable to establish connection with the server.", cause);
+        this.terminate(false);
+
+        this.logMessage(SocketLog.ERROR, "Socket terminated. " + cause.getClass().getSimpleName() + ": " + cause.getMessage());
+
+        // Try to reconnect, waiting longer after each failed attempt.
+        long delay = this.plugin.connectionFailed();
+        this.logMessage(SocketLog.ERROR, "Reconnecting in " + (delay / 1000L) + " seconds...");
     }
 
     /**
@@ -304,39 +447,9 @@ public class SocketConnection implements Runnable
 
         this.state = SocketState.TERMINATED;
 
-        try
-        { // Close the socket output stream.
-            if (this.outputStream != null)
-            {
-                this.outputStream.close();
-            }
-        }
-        catch (Exception ignored)
-        {
-        }
-
-        try
-        { // Close the socket input stream.
-            if (this.inputStream != null)
-            {
-                this.inputStream.close();
-            }
-        }
-        catch (Exception ignored)
-        {
-        }
-
-        try
-        { // Close the actual socket.
-            if (this.socket != null)
-            {
-                this.socket.close();
-                this.socket.shutdownOutput();
-                this.socket.shutdownInput();
-            }
-        }
-        catch (Exception ignored)
-        {
+        if (this.transport != null)
+        { // Closes the socket, and stops its I/O thread.
+            this.transport.close();
         }
 
         log.info("Terminated connections with the socket server.");
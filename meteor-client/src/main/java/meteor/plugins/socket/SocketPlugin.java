@@ -1,5 +1,6 @@
 package meteor.plugins.socket;
 
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
 import com.google.inject.Provides;
 import lombok.AccessLevel;
 import lombok.Getter;
@@ -10,19 +11,25 @@ import meteor.eventbus.EventBus;
 import meteor.eventbus.Subscribe;
 import meteor.eventbus.events.ConfigChanged;
 import meteor.plugins.Plugin;
+import meteor.plugins.socket.codec.SocketCodec;
 import meteor.plugins.PluginDescriptor;
 import meteor.plugins.socket.packet.*;
 import net.runelite.api.ChatMessageType;
 import net.runelite.api.Client;
 import net.runelite.api.GameState;
+import net.runelite.api.events.ClientTick;
 import net.runelite.api.events.GameStateChanged;
 import net.runelite.api.events.GameTick;
-import meteor.plugins.socket.hash.AES256;
-import meteor.plugins.socket.org.json.JSONObject;
 import org.sponge.util.Logger;
 
 import javax.inject.Inject;
-import java.io.PrintWriter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
 
 @PluginDescriptor(
         name = "Socket",
@@ -40,6 +47,10 @@ public class SocketPlugin extends Plugin {
     // To help users who decide to use weak passwords.
     public static final String PASSWORD_SALT = "$P@_/gKR`y:mv)6K";
 
+    // Reconnect delays double after each failed attempt, between these bounds.
+    private static final long MIN_RECONNECT_DELAY = 1000L;
+    private static final long MAX_RECONNECT_DELAY = 30000L;
+
     @Inject
     @Getter(AccessLevel.PUBLIC)
     private Client client;
@@ -56,6 +67,10 @@ public class SocketPlugin extends Plugin {
     @Getter(AccessLevel.PUBLIC)
     private SocketConfig config;
 
+    @Inject
+    @Getter(AccessLevel.PUBLIC)
+    private SocketCodec codec;
+
     @Provides
     public SocketConfig getConfig(ConfigManager configManager) {
         return configManager.getConfig(SocketConfig.class);
@@ -64,15 +79,29 @@ public class SocketPlugin extends Plugin {
     // This variables controls the next UNIX epoch time to establish the next connection.
     @Getter(AccessLevel.PUBLIC)
     @Setter(AccessLevel.PUBLIC)
-    private long nextConnection;
+    private volatile long nextConnection;
+
+    // Number of connection attempts that failed since the last successful one.
+    private final AtomicInteger failedConnections = new AtomicInteger();
 
     // This variables controls the current active connection.
     private SocketConnection connection = null;
 
+    // Broadcasts posted by other plugins since they were last sent.
+    private final Queue<Object> broadcasts = new ConcurrentLinkedQueue<>();
+
+    // Serializes and encrypts broadcasts, off the client thread.
+    private ExecutorService encoder;
+
     @Override
     public void startup()
     {
         this.nextConnection = 0L;
+        this.failedConnections.set(0);
+        this.encoder = Executors.newSingleThreadExecutor(new ThreadFactoryBuilder()
+                .setNameFormat("socket-encoder")
+                .setDaemon(true)
+                .build());
 
         eventBus.register(SocketReceivePacket.class);
         eventBus.register(SocketBroadcastPacket.class);
@@ -102,6 +131,9 @@ public class SocketPlugin extends Plugin {
 
         if (this.connection != null)
             this.connection.terminate(true);
+
+        this.broadcasts.clear();
+        this.encoder.shutdown();
     }
 
     @Subscribe
@@ -117,11 +149,29 @@ public class SocketPlugin extends Plugin {
             if (System.currentTimeMillis() >= this.nextConnection) { // Create a new connection.
                 this.nextConnection = System.currentTimeMillis() + 30000L;
                 this.connection = new SocketConnection(this, this.client.getLocalPlayer().getName());
-                new Thread(this.connection).start(); // Handler blocks, so run it on a separate thread.
+                this.connection.connect();
             }
         }
     }
 
+    /**
+     * Schedule the next connection attempt after a failed one.
+     *
+     * @return The delay until the next attempt, in milliseconds.
+     */
+    public long connectionFailed()
+    {
+        int failures = Math.min(this.failedConnections.getAndIncrement(), 5);
+        long delay = Math.min(MIN_RECONNECT_DELAY << failures, MAX_RECONNECT_DELAY);
+        this.nextConnection = System.currentTimeMillis() + delay;
+        return delay;
+    }
+
+    public void connectionEstablished()
+    {
+        this.failedConnections.set(0);
+    }
+
     @Subscribe
     public void onConfigChanged(ConfigChanged event) {
         // Notify the user to restart the plugin when the config changes.
@@ -145,29 +195,53 @@ public class SocketPlugin extends Plugin {
     @Subscribe
     public void onSocketBroadcastPacket(SocketBroadcastPacket packet)
     {
-        try
-        {
-            // Handles the packets that alternative plugins broadcasts.
-            if (this.connection == null || this.connection.getState() != SocketState.CONNECTED)
-                return;
+        // Handles the packets that alternative plugins broadcasts. They are sent at the end of the tick.
+        if (this.connection == null || this.connection.getState() != SocketState.CONNECTED)
+            return;
 
-            String data = packet.getPayload().toString();
-            log.debug("Deploying packet from client: {}", data);
+        this.broadcasts.add(packet.getPayload());
+    }
 
-            String secret = this.config.getPassword() + PASSWORD_SALT;
+    @Subscribe
+    public void onSocketBroadcastMessage(SocketBroadcastMessage message)
+    {
+        if (this.connection == null || this.connection.getState() != SocketState.CONNECTED)
+            return;
 
-            JSONObject payload = new JSONObject();
-            payload.put("header", SocketPacket.BROADCAST);
-            payload.put("payload", AES256.encrypt(secret, data)); // Payload is now an encrypted string.
+        this.broadcasts.add(message.getMessage());
+    }
 
-            PrintWriter outputStream = this.connection.getOutputStream();
-            synchronized (outputStream)
-            {
-                outputStream.println(payload.toString());
-            }
-        } catch (Exception e) { // Oh no, something went wrong!
-            e.printStackTrace();
-            log.error("An error has occurred while trying to broadcast a packet.", e);
-        }
+    @Subscribe(priority = -100)
+    public void onGameTickBroadcasts(GameTick event)
+    {
+        // Runs after the plugins which broadcast on the game tick, so a tick's packets go out together.
+        this.flushBroadcasts();
+    }
+
+    @Subscribe
+    public void onClientTick(ClientTick event)
+    {
+        this.flushBroadcasts();
+    }
+
+    /**
+     * Hand the broadcasts posted since the last flush to the encoder, which serializes, encrypts and
+     * sends them.
+     */
+    private void flushBroadcasts()
+    {
+        if (this.broadcasts.isEmpty())
+            return;
+
+        List<Object> batch = new ArrayList<>();
+        Object payload;
+        while ((payload = this.broadcasts.poll()) != null)
+            batch.add(payload);
+
+        SocketConnection connection = this.connection;
+        if (connection == null || connection.getState() != SocketState.CONNECTED)
+            return;
+
+        this.encoder.execute(() -> connection.broadcast(batch));
     }
 }
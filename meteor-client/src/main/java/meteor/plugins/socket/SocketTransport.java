@@ -0,0 +1,306 @@
+package meteor.plugins.socket;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.SocketTimeoutException;
+import java.net.StandardSocketOptions;
+import java.nio.ByteBuffer;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.SocketChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Non-blocking transport of a socket connection: newline delimited frames over a single
+ * {@link SocketChannel}, driven by a selector on its own I/O thread.
+ * <p>
+ * Frames are handed to the listener on the I/O thread as soon as they are read. Other threads only
+ * enqueue outbound frames, which the I/O thread writes as the socket accepts them. An empty frame is
+ * sent when nothing else was written for a while, so the server knows the connection is alive.
+ */
+public class SocketTransport implements Runnable
+{
+    /**
+     * Callbacks of a transport, all made on its I/O thread.
+     */
+    public interface Listener
+    {
+        void onConnect();
+
+        void onFrame(String frame);
+
+        /**
+         * @param cause Why the connection was lost, or null if it was closed locally.
+         */
+        void onClose(Exception cause);
+    }
+
+    private static final int CONNECT_TIMEOUT = 10000;
+    private static final long HEARTBEAT_INTERVAL = 30000L;
+    private static final int MAX_FRAME_SIZE = 1 << 20;
+    private static final byte[] HEARTBEAT = {'\n'};
+
+    private final String host;
+    private final int port;
+    private final Listener listener;
+    private final Selector selector;
+
+    private final Queue<ByteBuffer> outbound = new ConcurrentLinkedQueue<>();
+    private final AtomicBoolean wakeupPending = new AtomicBoolean();
+    private volatile boolean closed;
+
+    // only touched by the I/O thread
+    private SocketChannel channel;
+    private ByteBuffer readBuffer = ByteBuffer.allocate(8192);
+    private int scanned;
+    private final ByteBuffer[] writeBatch = new ByteBuffer[64];
+    private int unwritten;
+    private long lastWrite;
+
+    public SocketTransport(String host, int port, Listener listener) throws IOException
+    {
+        this.host = host;
+        this.port = port;
+        this.listener = listener;
+        this.selector = Selector.open();
+    }
+
+    public void start()
+    {
+        Thread thread = new Thread(this, "Socket-IO");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    /**
+     * Queue a frame to be written. Can be called from any thread, and frames queued before the
+     * connection is established are written once it is.
+     */
+    public void send(String frame)
+    {
+        if (this.closed)
+        {
+            return;
+        }
+
+        this.outbound.add(ByteBuffer.wrap((frame + "\n").getBytes(StandardCharsets.UTF_8)));
+
+        // one wakeup is enough for any number of frames queued before the I/O thread gets to them
+        if (this.wakeupPending.compareAndSet(false, true))
+        {
+            this.selector.wakeup();
+        }
+    }
+
+    public void close()
+    {
+        this.closed = true;
+        this.selector.wakeup();
+    }
+
+    @Override
+    public void run()
+    {
+        Exception cause = null;
+        try
+        {
+            // Resolving the host may block, so it is done here rather than by the caller.
+            InetSocketAddress address = new InetSocketAddress(this.host, this.port);
+
+            this.channel = SocketChannel.open();
+            this.channel.configureBlocking(false);
+            this.channel.setOption(StandardSocketOptions.TCP_NODELAY, true);
+
+            SelectionKey key = this.channel.register(this.selector, SelectionKey.OP_CONNECT);
+            if (this.channel.connect(address))
+            {
+                this.connected(key);
+            }
+
+            long connectDeadline = System.currentTimeMillis() + CONNECT_TIMEOUT;
+            while (!this.closed)
+            {
+                long now = System.currentTimeMillis();
+                long timeout;
+                if (this.channel.isConnected())
+                {
+                    if (now - this.lastWrite >= HEARTBEAT_INTERVAL)
+                    {
+                        this.outbound.add(ByteBuffer.wrap(HEARTBEAT));
+                        this.flush(key);
+                    }
+                    timeout = this.lastWrite + HEARTBEAT_INTERVAL - now;
+                }
+                else if (now >= connectDeadline)
+                {
+                    throw new SocketTimeoutException("Connection timed out");
+                }
+                else
+                {
+                    timeout = connectDeadline - now;
+                }
+
+                this.selector.select(Math.max(1L, timeout));
+                this.wakeupPending.set(false);
+                int ready = this.selector.selectedKeys().remove(key) ? key.readyOps() : 0;
+
+                if ((ready & SelectionKey.OP_CONNECT) != 0 && this.channel.finishConnect())
+                {
+                    this.connected(key);
+                }
+
+                if (!this.channel.isConnected())
+                {
+                    continue;
+                }
+
+                if ((ready & SelectionKey.OP_READ) != 0)
+                {
+                    this.read();
+                }
+
+                this.flush(key);
+            }
+        }
+        catch (IOException | RuntimeException e)
+        {
+            cause = e;
+        }
+        finally
+        {
+            this.closed = true;
+            this.outbound.clear();
+
+            try
+            {
+                this.selector.close();
+                if (this.channel != null)
+                {
+                    this.channel.close();
+                }
+            }
+            catch (IOException ignored)
+            {
+            }
+        }
+
+        this.listener.onClose(cause);
+    }
+
+    private void connected(SelectionKey key) throws IOException
+    {
+        key.interestOps(SelectionKey.OP_READ);
+        this.lastWrite = System.currentTimeMillis();
+        this.listener.onConnect();
+        this.flush(key);
+    }
+
+    private void read() throws IOException
+    {
+        while (true)
+        {
+            int read = this.channel.read(this.readBuffer);
+            if (read < 0)
+            {
+                throw new EOFException("Connection closed by the server");
+            }
+
+            if (read == 0)
+            {
+                return;
+            }
+
+            this.frames();
+        }
+    }
+
+    // hand out every complete frame in the read buffer and keep the rest for the next read
+    private void frames() throws IOException
+    {
+        byte[] data = this.readBuffer.array();
+        int end = this.readBuffer.position();
+        int start = 0;
+
+        for (int i = this.scanned; i < end; i++)
+        {
+            if (data[i] != '\n')
+            {
+                continue;
+            }
+
+            int length = i - start;
+            if (length > 0 && data[i - 1] == '\r')
+            {
+                length--;
+            }
+
+            if (length > 0)
+            {
+                this.listener.onFrame(new String(data, start, length, StandardCharsets.UTF_8));
+            }
+            start = i + 1;
+        }
+
+        int remaining = end - start;
+        System.arraycopy(data, start, data, 0, remaining);
+        this.readBuffer.position(remaining);
+        this.scanned = remaining;
+
+        if (!this.readBuffer.hasRemaining())
+        {
+            if (this.readBuffer.capacity() >= MAX_FRAME_SIZE)
+            {
+                throw new IOException("Frame exceeds " + MAX_FRAME_SIZE + " bytes");
+            }
+
+            ByteBuffer larger = ByteBuffer.allocate(this.readBuffer.capacity() * 2);
+            larger.put(data, 0, remaining);
+            this.readBuffer = larger;
+        }
+    }
+
+    // write as many queued frames as the socket takes, in a single gathering write when possible
+    private void flush(SelectionKey key) throws IOException
+    {
+        while (true)
+        {
+            ByteBuffer frame;
+            while (this.unwritten < this.writeBatch.length && (frame = this.outbound.poll()) != null)
+            {
+                this.writeBatch[this.unwritten++] = frame;
+            }
+
+            if (this.unwritten == 0)
+            {
+                break;
+            }
+
+            this.channel.write(this.writeBatch, 0, this.unwritten);
+            this.lastWrite = System.currentTimeMillis();
+
+            int written = 0;
+            while (written < this.unwritten && !this.writeBatch[written].hasRemaining())
+            {
+                written++;
+            }
+
+            System.arraycopy(this.writeBatch, written, this.writeBatch, 0, this.unwritten - written);
+            for (int i = this.unwritten - written; i < this.unwritten; i++)
+            {
+                this.writeBatch[i] = null;
+            }
+            this.unwritten -= written;
+
+            if (this.unwritten > 0)
+            {
+                break; // The socket buffer is full, wait until it is writable again.
+            }
+        }
+
+        key.interestOps(this.unwritten > 0 ? SelectionKey.OP_READ | SelectionKey.OP_WRITE : SelectionKey.OP_READ);
+    }
+}
@@ -0,0 +1,120 @@
+package meteor.plugins.socket.codec;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Reads the fields of binary socket messages, in the order {@link PacketWriter} wrote them.
+ * Reading past the end of a message throws an {@link IllegalArgumentException}.
+ */
+public class PacketReader
+{
+    private final byte[] buffer;
+    private int position;
+    private final int limit;
+
+    public PacketReader(byte[] buffer)
+    {
+        this(buffer, 0, buffer.length);
+    }
+
+    public PacketReader(byte[] buffer, int offset, int length)
+    {
+        this.buffer = buffer;
+        this.position = offset;
+        this.limit = offset + length;
+    }
+
+    public int readVarInt()
+    {
+        int value = 0;
+        for (int shift = 0; shift < 35; shift += 7)
+        {
+            int b = this.readByte();
+            value |= (b & 0x7F) << shift;
+            if ((b & 0x80) == 0)
+            {
+                return value;
+            }
+        }
+        throw new IllegalArgumentException("Malformed varint");
+    }
+
+    public int readSignedVarInt()
+    {
+        int value = this.readVarInt();
+        return (value >>> 1) ^ -(value & 1);
+    }
+
+    public int readInt()
+    {
+        this.require(4);
+        return (this.buffer[this.position++] & 0xFF) << 24
+            | (this.buffer[this.position++] & 0xFF) << 16
+            | (this.buffer[this.position++] & 0xFF) << 8
+            | (this.buffer[this.position++] & 0xFF);
+    }
+
+    public boolean readBoolean()
+    {
+        return this.readByte() != 0;
+    }
+
+    public int readByte()
+    {
+        this.require(1);
+        return this.buffer[this.position++] & 0xFF;
+    }
+
+    public String readString()
+    {
+        int length = this.readVarInt();
+        this.require(length);
+        String value = new String(this.buffer, this.position, length, StandardCharsets.UTF_8);
+        this.position += length;
+        return value;
+    }
+
+    public byte[] readBytes()
+    {
+        int length = this.readVarInt();
+        this.require(length);
+        byte[] value = new byte[length];
+        System.arraycopy(this.buffer, this.position, value, 0, length);
+        this.position += length;
+        return value;
+    }
+
+    /**
+     * Read the rest of the message as UTF-8 text.
+     */
+    String readText()
+    {
+        String value = new String(this.buffer, this.position, this.remaining(), StandardCharsets.UTF_8);
+        this.position = this.limit;
+        return value;
+    }
+
+    /**
+     * A reader over the next bytes, which are then skipped by this reader.
+     */
+    PacketReader slice(int length)
+    {
+        this.require(length);
+        PacketReader slice = new PacketReader(this.buffer, this.position, length);
+        this.position += length;
+        return slice;
+    }
+
+    public int remaining()
+    {
+        return this.limit - this.position;
+    }
+
+    private void require(int bytes)
+    {
+        if (bytes < 0 || this.limit - this.position < bytes)
+        {
+            throw new IllegalArgumentException("Message is truncated");
+        }
+    }
+}
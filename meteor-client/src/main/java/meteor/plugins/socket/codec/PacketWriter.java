@@ -0,0 +1,121 @@
+package meteor.plugins.socket.codec;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * Writes the fields of binary socket messages. Integers are written as varints, so small values
+ * take a single byte.
+ */
+public class PacketWriter
+{
+    private byte[] buffer;
+    private int size;
+
+    public PacketWriter()
+    {
+        this(64);
+    }
+
+    public PacketWriter(int capacity)
+    {
+        this.buffer = new byte[capacity];
+    }
+
+    /**
+     * Write an int which is usually small and never negative, such as an id or a count.
+     */
+    public PacketWriter writeVarInt(int value)
+    {
+        this.ensure(5);
+        while ((value & ~0x7F) != 0)
+        {
+            this.buffer[this.size++] = (byte) ((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        this.buffer[this.size++] = (byte) value;
+        return this;
+    }
+
+    /**
+     * Write an int which may be negative, zigzag encoded so small negative values stay small.
+     */
+    public PacketWriter writeSignedVarInt(int value)
+    {
+        return this.writeVarInt((value << 1) ^ (value >> 31));
+    }
+
+    public PacketWriter writeInt(int value)
+    {
+        this.ensure(4);
+        this.buffer[this.size++] = (byte) (value >>> 24);
+        this.buffer[this.size++] = (byte) (value >>> 16);
+        this.buffer[this.size++] = (byte) (value >>> 8);
+        this.buffer[this.size++] = (byte) value;
+        return this;
+    }
+
+    public PacketWriter writeBoolean(boolean value)
+    {
+        this.ensure(1);
+        this.buffer[this.size++] = (byte) (value ? 1 : 0);
+        return this;
+    }
+
+    public PacketWriter writeByte(int value)
+    {
+        this.ensure(1);
+        this.buffer[this.size++] = (byte) value;
+        return this;
+    }
+
+    public PacketWriter writeString(String value)
+    {
+        return this.writeBytes(value.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Write bytes, preceded by their length.
+     */
+    public PacketWriter writeBytes(byte[] value)
+    {
+        this.writeVarInt(value.length);
+        this.writeRaw(value, 0, value.length);
+        return this;
+    }
+
+    void writeRaw(byte[] value, int offset, int length)
+    {
+        this.ensure(length);
+        System.arraycopy(value, offset, this.buffer, this.size, length);
+        this.size += length;
+    }
+
+    public int size()
+    {
+        return this.size;
+    }
+
+    void reset()
+    {
+        this.size = 0;
+    }
+
+    byte[] buffer()
+    {
+        return this.buffer;
+    }
+
+    public byte[] toByteArray()
+    {
+        return Arrays.copyOf(this.buffer, this.size);
+    }
+
+    private void ensure(int bytes)
+    {
+        if (this.size + bytes > this.buffer.length)
+        {
+            this.buffer = Arrays.copyOf(this.buffer, Math.max(this.buffer.length * 2, this.size + bytes));
+        }
+    }
+}
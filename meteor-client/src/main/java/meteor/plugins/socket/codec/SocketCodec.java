@@ -0,0 +1,171 @@
+package meteor.plugins.socket.codec;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import javax.inject.Singleton;
+import meteor.plugins.socket.org.json.JSONObject;
+import org.sponge.util.Logger;
+
+/**
+ * Binary format of socket broadcasts.
+ * <p>
+ * A frame starts with a zero byte, which JSON text never does, and a format version. Then follow
+ * the messages, each as the int id of its type, the varint length of its fields, and the fields. A
+ * frame can also carry plain JSON payloads, as messages of type 0, so one frame can hold a whole
+ * tick of broadcasts. Messages of types that are not registered, because the plugin which sends them
+ * is not enabled here, are skipped.
+ * <p>
+ * JSON payloads of registered types, as sent by clients without this format, can be turned into
+ * typed messages too with {@link #decode(JSONObject)}. Frames are only sent to a party whose members
+ * all announced they read this {@link #VERSION}, see SocketConnection.
+ */
+@Singleton
+public class SocketCodec
+{
+    private static final Logger log = new Logger("SocketCodec");
+
+    public static final int VERSION = 1;
+
+    static final int JSON = 0;
+
+    private static final int MARKER = 0;
+
+    private final Map<Integer, SocketMessageType<?>> types = new ConcurrentHashMap<>();
+    private final Map<Class<?>, SocketMessageType<?>> classes = new ConcurrentHashMap<>();
+
+    public void register(SocketMessageType<?> type)
+    {
+        SocketMessageType<?> existing = this.types.putIfAbsent(type.getId(), type);
+        if (existing != null && existing.getType() != type.getType())
+        {
+            throw new IllegalArgumentException("Message " + type.getKey() + " has the same id as " + existing.getKey());
+        }
+        this.classes.put(type.getType(), type);
+    }
+
+    public void unregister(SocketMessageType<?> type)
+    {
+        this.types.remove(type.getId(), type);
+        this.classes.remove(type.getType(), type);
+    }
+
+    /**
+     * @return Whether decrypted broadcast data is a binary frame, rather than JSON.
+     */
+    public static boolean isBinary(byte[] data)
+    {
+        return data.length > 0 && data[0] == MARKER;
+    }
+
+    /**
+     * Encode messages and JSON payloads into frames of about maxSize bytes at most.
+     */
+    public List<byte[]> encode(List<?> payloads, int maxSize)
+    {
+        List<byte[]> frames = new ArrayList<>();
+        PacketWriter frame = newFrame();
+        PacketWriter fields = new PacketWriter();
+
+        for (Object payload : payloads)
+        {
+            int id;
+            fields.reset();
+            if (payload instanceof SocketMessage)
+            {
+                SocketMessageType<?> type = this.classes.get(payload.getClass());
+                if (type == null)
+                {
+                    throw new IllegalArgumentException("Message " + payload.getClass().getName() + " is not registered");
+                }
+                id = type.getId();
+                ((SocketMessage) payload).write(fields);
+            }
+            else
+            {
+                id = JSON;
+                byte[] json = payload.toString().getBytes(StandardCharsets.UTF_8);
+                fields.writeRaw(json, 0, json.length);
+            }
+
+            if (frame.size() > 2 && frame.size() + fields.size() + 9 > maxSize)
+            {
+                frames.add(frame.toByteArray());
+                frame = newFrame();
+            }
+
+            frame.writeInt(id);
+            frame.writeVarInt(fields.size());
+            frame.writeRaw(fields.buffer(), 0, fields.size());
+        }
+
+        if (frame.size() > 2)
+        {
+            frames.add(frame.toByteArray());
+        }
+        return frames;
+    }
+
+    private static PacketWriter newFrame()
+    {
+        return new PacketWriter(256).writeByte(MARKER).writeByte(VERSION);
+    }
+
+    /**
+     * Decode a binary frame.
+     *
+     * @return The messages of registered types and the JSON payloads of the frame, in order.
+     * @throws IllegalArgumentException If the frame is truncated or malformed.
+     */
+    public List<Object> decode(byte[] data)
+    {
+        PacketReader reader = new PacketReader(data);
+        reader.readByte(); // marker
+        int version = reader.readByte();
+        if (version != VERSION)
+        {
+            log.warn("Unsupported socket frame version {}", version);
+            return new ArrayList<>();
+        }
+
+        List<Object> payloads = new ArrayList<>();
+        while (reader.remaining() > 0)
+        {
+            int id = reader.readInt();
+            int length = reader.readVarInt();
+            PacketReader fields = reader.slice(length);
+
+            if (id == JSON)
+            {
+                payloads.add(new JSONObject(fields.readText()));
+                continue;
+            }
+
+            SocketMessageType<?> type = this.types.get(id);
+            if (type != null)
+            {
+                payloads.add(type.decode(fields));
+            }
+        }
+        return payloads;
+    }
+
+    /**
+     * Turn the JSON payload of a registered message type into that message.
+     *
+     * @return The message, or null if the payload is not of a registered type.
+     */
+    public SocketMessage decode(JSONObject payload)
+    {
+        for (SocketMessageType<?> type : this.types.values())
+        {
+            if (payload.has(type.getKey()))
+            {
+                return type.decode(payload);
+            }
+        }
+        return null;
+    }
+}
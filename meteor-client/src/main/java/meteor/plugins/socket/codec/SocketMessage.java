@@ -0,0 +1,23 @@
+package meteor.plugins.socket.codec;
+
+import meteor.plugins.socket.org.json.JSONObject;
+
+/**
+ * A typed socket message, broadcast with {@link meteor.plugins.socket.packet.SocketBroadcastMessage}
+ * and posted on the event bus as itself when received.
+ * <p>
+ * Each message class is registered with the {@link SocketCodec} through a {@link SocketMessageType},
+ * which knows how to read it back.
+ */
+public interface SocketMessage
+{
+    /**
+     * Write the fields of this message, in the order its type's decoder reads them.
+     */
+    void write(PacketWriter writer);
+
+    /**
+     * @return This message as the JSON payload clients without the binary format send and expect.
+     */
+    JSONObject toJSON();
+}
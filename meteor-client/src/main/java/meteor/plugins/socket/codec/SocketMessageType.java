@@ -0,0 +1,48 @@
+package meteor.plugins.socket.codec;
+
+import java.util.function.Function;
+import lombok.Getter;
+import meteor.plugins.socket.org.json.JSONObject;
+
+/**
+ * How to decode one kind of {@link SocketMessage}, from the binary format or from the JSON payload
+ * clients without it send.
+ */
+public class SocketMessageType<T extends SocketMessage>
+{
+    /**
+     * The key of the JSON payload of this message, which also identifies it in the binary format.
+     */
+    @Getter
+    private final String key;
+
+    @Getter
+    private final int id;
+
+    @Getter
+    private final Class<T> type;
+
+    private final Function<PacketReader, T> decoder;
+    private final Function<JSONObject, T> jsonDecoder;
+
+    public SocketMessageType(String key, Class<T> type, Function<PacketReader, T> decoder,
+        Function<JSONObject, T> jsonDecoder)
+    {
+        this.key = key;
+        // a stable id, so clients agree on it without exchanging registrations; 0 is taken by JSON
+        this.id = key.hashCode() == SocketCodec.JSON ? 1 : key.hashCode();
+        this.type = type;
+        this.decoder = decoder;
+        this.jsonDecoder = jsonDecoder;
+    }
+
+    T decode(PacketReader reader)
+    {
+        return this.decoder.apply(reader);
+    }
+
+    T decode(JSONObject payload)
+    {
+        return this.jsonDecoder.apply(payload);
+    }
+}
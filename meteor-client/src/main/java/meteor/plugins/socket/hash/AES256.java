@@ -2,9 +2,14 @@ package meteor.plugins.socket.hash;
 
 import javax.crypto.Cipher;
 import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
 import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.util.Arrays;
 import java.util.Base64;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * Handles encryption and decryption using the AES-256 symmetrical key method.
@@ -13,43 +18,83 @@ import java.util.Base64;
  */
 public class AES256 {
 
-    public static String encrypt(String secret, String strToEncrypt) {
-        try {
-            byte[] key = secret.getBytes("UTF-8");
+    // Keys derived from each secret, which is the same for every packet of a party.
+    private static final Map<String, SecretKeySpec> KEYS = new ConcurrentHashMap<>();
 
-            MessageDigest sha = MessageDigest.getInstance("SHA-1");
-            key = sha.digest(key);
-            key = Arrays.copyOf(key, 16);
-
-            SecretKeySpec secretKey = new SecretKeySpec(key, "AES");
+    // A Cipher is not thread safe, so each thread initializes its own for the last key it used.
+    private static final ThreadLocal<Ciphers> CIPHERS = ThreadLocal.withInitial(Ciphers::new);
 
-            Cipher cipher = Cipher.getInstance("AES/ECB/PKCS5Padding");
-            cipher.init(Cipher.ENCRYPT_MODE, secretKey);
+    public static String encrypt(String secret, String strToEncrypt) {
+        return encrypt(secret, strToEncrypt.getBytes(StandardCharsets.UTF_8));
+    }
 
-            return Base64.getEncoder().encodeToString(cipher.doFinal(strToEncrypt.getBytes("UTF-8")));
+    public static String encrypt(String secret, byte[] data) {
+        try {
+            Cipher cipher = ciphers(secret).encrypt;
+            return Base64.getEncoder().encodeToString(cipher.doFinal(data));
         } catch (Exception e) {
+            CIPHERS.remove(); // A failed cipher may not be reusable.
             e.printStackTrace();
             return null;
         }
     }
 
     public static String decrypt(String secret, String strToDecrypt) {
+        byte[] data = decryptBytes(secret, strToDecrypt);
+        return data == null ? null : new String(data);
+    }
+
+    public static byte[] decryptBytes(String secret, String strToDecrypt) {
+        try {
+            Cipher cipher = ciphers(secret).decrypt;
+            return cipher.doFinal(Base64.getDecoder().decode(strToDecrypt));
+        } catch (Exception e) {
+            CIPHERS.remove(); // A failed cipher may not be reusable.
+            e.printStackTrace();
+            return null;
+        }
+    }
+
+    private static Ciphers ciphers(String secret) throws GeneralSecurityException {
+        SecretKeySpec key = KEYS.computeIfAbsent(secret, AES256::deriveKey);
+
+        Ciphers ciphers = CIPHERS.get();
+        if (ciphers.key != key) {
+            ciphers.encrypt.init(Cipher.ENCRYPT_MODE, key);
+            ciphers.decrypt.init(Cipher.DECRYPT_MODE, key);
+            ciphers.key = key;
+        }
+        return ciphers;
+    }
+
+    private static SecretKeySpec deriveKey(String secret) {
         try {
-            byte[] key = secret.getBytes("UTF-8");
+            byte[] key = secret.getBytes(StandardCharsets.UTF_8);
 
             MessageDigest sha = MessageDigest.getInstance("SHA-1");
             key = sha.digest(key);
             key = Arrays.copyOf(key, 16);
 
-            SecretKeySpec secretKey = new SecretKeySpec(key, "AES");
+            return new SecretKeySpec(key, "AES");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
 
-            Cipher cipher = Cipher.getInstance("AES/ECB/PKCS5PADDING");
-            cipher.init(Cipher.DECRYPT_MODE, secretKey);
+    private static class Ciphers {
 
-            return new String(cipher.doFinal(Base64.getDecoder().decode(strToDecrypt)));
-        } catch (Exception e) {
-            e.printStackTrace();
-            return null;
+        private final Cipher encrypt;
+        private final Cipher decrypt;
+        private SecretKeySpec key;
+
+        private Ciphers() {
+            try {
+                // ECB has no IV, so after doFinal a cipher is ready for the next message as is.
+                this.encrypt = Cipher.getInstance("AES/ECB/PKCS5Padding");
+                this.decrypt = Cipher.getInstance("AES/ECB/PKCS5PADDING");
+            } catch (GeneralSecurityException e) {
+                throw new IllegalStateException(e);
+            }
         }
     }
 }
@@ -0,0 +1,18 @@
+package meteor.plugins.socket.packet;
+
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import meteor.plugins.socket.codec.SocketMessage;
+
+/**
+ * Event triggered by alternative plugins, broadcasting a typed message to the server.
+ * Party members receive it as the message itself, posted on the client thread.
+ */
+@AllArgsConstructor
+public class SocketBroadcastMessage {
+
+    @Getter(AccessLevel.PUBLIC)
+    private SocketMessage message;
+
+}
@@ -0,0 +1,45 @@
+package meteor.plugins.socketDPS;
+
+import lombok.Value;
+import meteor.plugins.socket.codec.PacketReader;
+import meteor.plugins.socket.codec.PacketWriter;
+import meteor.plugins.socket.codec.SocketMessage;
+import meteor.plugins.socket.codec.SocketMessageType;
+import meteor.plugins.socket.org.json.JSONObject;
+
+/**
+ * A boss died, so the party's DPS counters start over.
+ */
+@Value
+public class DpsClearMessage implements SocketMessage {
+    public static final SocketMessageType<DpsClearMessage> TYPE = new SocketMessageType<>("dps-clear",
+            DpsClearMessage.class, DpsClearMessage::read, DpsClearMessage::fromJSON);
+
+    int boss;
+    int world;
+
+    @Override
+    public void write(PacketWriter writer) {
+        writer.writeVarInt(this.boss)
+                .writeVarInt(this.world);
+    }
+
+    @Override
+    public JSONObject toJSON() {
+        JSONObject data = new JSONObject();
+        data.put("boss", this.boss);
+        data.put("world", this.world);
+        JSONObject payload = new JSONObject();
+        payload.put("dps-clear", data);
+        return payload;
+    }
+
+    static DpsClearMessage read(PacketReader reader) {
+        return new DpsClearMessage(reader.readVarInt(), reader.readVarInt());
+    }
+
+    static DpsClearMessage fromJSON(JSONObject payload) {
+        JSONObject data = payload.getJSONObject("dps-clear");
+        return new DpsClearMessage(data.getInt("boss"), data.getInt("world"));
+    }
+}
@@ -0,0 +1,51 @@
+package meteor.plugins.socketDPS;
+
+import lombok.Value;
+import meteor.plugins.socket.codec.PacketReader;
+import meteor.plugins.socket.codec.PacketWriter;
+import meteor.plugins.socket.codec.SocketMessage;
+import meteor.plugins.socket.codec.SocketMessageType;
+import meteor.plugins.socket.org.json.JSONObject;
+
+/**
+ * Damage a party member dealt to an npc.
+ */
+@Value
+public class DpsHitMessage implements SocketMessage {
+    public static final SocketMessageType<DpsHitMessage> TYPE = new SocketMessageType<>("dps-counter",
+            DpsHitMessage.class, DpsHitMessage::read, DpsHitMessage::fromJSON);
+
+    String player;
+    int target;
+    int hit;
+    int world;
+
+    @Override
+    public void write(PacketWriter writer) {
+        writer.writeString(this.player)
+                .writeVarInt(this.target)
+                .writeVarInt(this.hit)
+                .writeVarInt(this.world);
+    }
+
+    @Override
+    public JSONObject toJSON() {
+        JSONObject data = new JSONObject();
+        data.put("player", this.player);
+        data.put("target", this.target);
+        data.put("hit", this.hit);
+        data.put("world", this.world);
+        JSONObject payload = new JSONObject();
+        payload.put("dps-counter", data);
+        return payload;
+    }
+
+    static DpsHitMessage read(PacketReader reader) {
+        return new DpsHitMessage(reader.readString(), reader.readVarInt(), reader.readVarInt(), reader.readVarInt());
+    }
+
+    static DpsHitMessage fromJSON(JSONObject payload) {
+        JSONObject data = payload.getJSONObject("dps-counter");
+        return new DpsHitMessage(data.getString("player"), data.getInt("target"), data.getInt("hit"), data.getInt("world"));
+    }
+}
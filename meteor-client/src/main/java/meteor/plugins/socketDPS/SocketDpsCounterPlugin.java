@@ -12,9 +12,8 @@ import meteor.plugins.Plugin;
 import meteor.plugins.PluginDependency;
 import meteor.plugins.PluginDescriptor;
 import meteor.plugins.socket.SocketPlugin;
-import meteor.plugins.socket.org.json.JSONObject;
-import meteor.plugins.socket.packet.SocketBroadcastPacket;
-import meteor.plugins.socket.packet.SocketReceivePacket;
+import meteor.plugins.socket.codec.SocketCodec;
+import meteor.plugins.socket.packet.SocketBroadcastMessage;
 import meteor.ui.overlay.Overlay;
 import meteor.ui.overlay.OverlayManager;
 import net.runelite.api.*;
@@ -64,6 +63,9 @@ public class SocketDpsCounterPlugin extends Plugin {
     @Inject
     private ClientThread clientThread;
 
+    @Inject
+    private SocketCodec socketCodec;
+
     private Map<String, Integer> members = new ConcurrentHashMap<>();
 
     private List<String> highlights = new ArrayList<>();
@@ -81,6 +83,8 @@ public class SocketDpsCounterPlugin extends Plugin {
 
     public void startup() {
         this.members.clear();
+        this.socketCodec.register(DpsHitMessage.TYPE);
+        this.socketCodec.register(DpsClearMessage.TYPE);
         this.overlayManager.add((Overlay)this.socketDpsOverlay);
         this.clientThread.invoke(this::rebuildAllPlayers);
         BOSSES.addAll(Arrays.asList(5886, 5887, 5888, 5889, 5890, 5891, 5908, 6503, 6609, 5862,
@@ -102,6 +106,8 @@ public class SocketDpsCounterPlugin extends Plugin {
 
     public void shutdown() {
         this.overlayManager.remove((Overlay)this.socketDpsOverlay);
+        this.socketCodec.unregister(DpsHitMessage.TYPE);
+        this.socketCodec.unregister(DpsClearMessage.TYPE);
         this.members.clear();
     }
 
@@ -131,14 +137,7 @@ public class SocketDpsCounterPlugin extends Plugin {
                 String pName = this.client.getLocalPlayer().getName();
                 this.members.put(pName, (Integer) this.members.getOrDefault(pName, 0) + hit);
                 this.members.put("total", (Integer) this.members.getOrDefault("total", 0) + hit);
-                JSONObject data = new JSONObject();
-                data.put("player", pName);
-                data.put("target", interactingId);
-                data.put("hit", hit);
-                data.put("world", this.client.getWorld());
-                JSONObject payload = new JSONObject();
-                payload.put("dps-counter", data);
-                this.eventBus.post(new SocketBroadcastPacket(payload));
+                this.eventBus.post(new SocketBroadcastMessage(new DpsHitMessage(pName, interactingId, hit, this.client.getWorld())));
                 this.members = sortByValue(this.members);
             }
         }
@@ -158,47 +157,28 @@ public class SocketDpsCounterPlugin extends Plugin {
             if (this.socketDpsConfig.autoclear())
                 this.members.clear();
             if (this.socketDpsConfig.clearAnyBossKill()) {
-                JSONObject data = new JSONObject();
-                data.put("boss", npc.getId());
-                data.put("world", this.client.getWorld());
-                JSONObject payload = new JSONObject();
-                payload.put("dps-clear", data);
-                this.eventBus.post(new SocketBroadcastPacket(payload));
+                this.eventBus.post(new SocketBroadcastMessage(new DpsClearMessage(npc.getId(), this.client.getWorld())));
             }
         }
     }
 
     @Subscribe
-    public void onSocketReceivePacket(SocketReceivePacket event) {
-        try {
-            if (this.client.getGameState() != GameState.LOGGED_IN)
-                return;
-            JSONObject payload = event.getPayload();
-            if (!payload.has("dps-counter")) {
-                if (payload.has("dps-clear"))
-                    if (this.socketDpsConfig.onlySameWorld()) {
-                        JSONObject jSONObject = payload.getJSONObject("dps-clear");
-                        if (jSONObject.getInt("world") == this.client.getWorld())
-                            this.members.clear();
-                    } else {
-                        this.members.clear();
-                    }
-                return;
-            }
-            String pName = this.client.getLocalPlayer().getName();
-            JSONObject data = payload.getJSONObject("dps-counter");
-            if (this.socketDpsConfig.onlySameWorld() && this.client.getWorld() != data.getInt("world"))
-                return;
-            if (data.getString("player").equals(pName))
-                return;
-            this.clientThread.invoke(() -> {
-                String attacker = data.getString("player");
-                int targetId = data.getInt("target");
-                updateDpsMember(attacker, targetId, data.getInt("hit"));
-            });
-        } catch (Exception var5) {
-            var5.printStackTrace();
-        }
+    public void onDpsClearMessage(DpsClearMessage message) {
+        if (this.client.getGameState() != GameState.LOGGED_IN)
+            return;
+        if (!this.socketDpsConfig.onlySameWorld() || message.getWorld() == this.client.getWorld())
+            this.members.clear();
+    }
+
+    @Subscribe
+    public void onDpsHitMessage(DpsHitMessage message) {
+        if (this.client.getGameState() != GameState.LOGGED_IN)
+            return;
+        if (this.socketDpsConfig.onlySameWorld() && this.client.getWorld() != message.getWorld())
+            return;
+        if (message.getPlayer().equals(this.client.getLocalPlayer().getName()))
+            return;
+        updateDpsMember(message.getPlayer(), message.getTarget(), message.getHit());
     }
 
     private void updateDpsMember(String attacker, int targetId, int hit) {
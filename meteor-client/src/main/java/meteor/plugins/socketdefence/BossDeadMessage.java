@@ -0,0 +1,45 @@
+package meteor.plugins.socketdefence;
+
+import lombok.Value;
+import meteor.plugins.socket.codec.PacketReader;
+import meteor.plugins.socket.codec.PacketWriter;
+import meteor.plugins.socket.codec.SocketMessage;
+import meteor.plugins.socket.codec.SocketMessageType;
+import meteor.plugins.socket.org.json.JSONObject;
+
+/**
+ * A party member saw the boss die, so its defence is reset.
+ */
+@Value
+public class BossDeadMessage implements SocketMessage {
+    public static final SocketMessageType<BossDeadMessage> TYPE = new SocketMessageType<>("socketdefencebossdead",
+            BossDeadMessage.class, BossDeadMessage::read, BossDeadMessage::fromJSON);
+
+    String boss;
+    String player;
+
+    @Override
+    public void write(PacketWriter writer) {
+        writer.writeString(this.boss)
+                .writeString(this.player);
+    }
+
+    @Override
+    public JSONObject toJSON() {
+        JSONObject data = new JSONObject();
+        data.put("boss", this.boss);
+        data.put("player", this.player);
+        JSONObject payload = new JSONObject();
+        payload.put("socketdefencebossdead", data);
+        return payload;
+    }
+
+    static BossDeadMessage read(PacketReader reader) {
+        return new BossDeadMessage(reader.readString(), reader.readString());
+    }
+
+    static BossDeadMessage fromJSON(JSONObject payload) {
+        JSONObject data = payload.getJSONObject("socketdefencebossdead");
+        return new BossDeadMessage(data.getString("boss"), data.getString("player"));
+    }
+}
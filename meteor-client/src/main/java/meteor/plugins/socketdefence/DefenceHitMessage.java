@@ -0,0 +1,48 @@
+package meteor.plugins.socketdefence;
+
+import lombok.Value;
+import meteor.plugins.socket.codec.PacketReader;
+import meteor.plugins.socket.codec.PacketWriter;
+import meteor.plugins.socket.codec.SocketMessage;
+import meteor.plugins.socket.codec.SocketMessageType;
+import meteor.plugins.socket.org.json.JSONObject;
+
+/**
+ * A defence reducing special attack, or vulnerability, a party member landed on a boss.
+ */
+@Value
+public class DefenceHitMessage implements SocketMessage {
+    public static final SocketMessageType<DefenceHitMessage> TYPE = new SocketMessageType<>("socketdefence",
+            DefenceHitMessage.class, DefenceHitMessage::read, DefenceHitMessage::fromJSON);
+
+    String boss;
+    String weapon;
+    int hit;
+
+    @Override
+    public void write(PacketWriter writer) {
+        writer.writeString(this.boss)
+                .writeString(this.weapon)
+                .writeVarInt(this.hit);
+    }
+
+    @Override
+    public JSONObject toJSON() {
+        JSONObject data = new JSONObject();
+        data.put("boss", this.boss);
+        data.put("weapon", this.weapon);
+        data.put("hit", this.hit);
+        JSONObject payload = new JSONObject();
+        payload.put("socketdefence", data);
+        return payload;
+    }
+
+    static DefenceHitMessage read(PacketReader reader) {
+        return new DefenceHitMessage(reader.readString(), reader.readString(), reader.readVarInt());
+    }
+
+    static DefenceHitMessage fromJSON(JSONObject payload) {
+        JSONObject data = payload.getJSONObject("socketdefence");
+        return new DefenceHitMessage(data.getString("boss"), data.getString("weapon"), data.getInt("hit"));
+    }
+}
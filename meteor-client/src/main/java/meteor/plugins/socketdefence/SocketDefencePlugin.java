@@ -8,10 +8,9 @@ import meteor.eventbus.events.ConfigChanged;
 import meteor.game.SkillIconManager;
 import meteor.plugins.Plugin;
 import meteor.plugins.PluginDescriptor;
-import meteor.plugins.socket.org.json.JSONObject;
-import meteor.plugins.socket.packet.SocketBroadcastPacket;
+import meteor.plugins.socket.codec.SocketCodec;
+import meteor.plugins.socket.packet.SocketBroadcastMessage;
 import meteor.plugins.socket.packet.SocketMembersUpdate;
-import meteor.plugins.socket.packet.SocketReceivePacket;
 import meteor.plugins.socket.packet.SocketShutdown;
 import meteor.ui.overlay.OverlayManager;
 import meteor.ui.overlay.infobox.InfoBoxManager;
@@ -53,6 +52,9 @@ public class SocketDefencePlugin extends Plugin {
     @Inject
     private SocketDefenceOverlay overlay;
 
+    @Inject
+    private SocketCodec socketCodec;
+
     public ArrayList<String> socketPlayerNames = new ArrayList<>();
     public String specWep = "";
     public String boss = "";
@@ -70,11 +72,15 @@ public class SocketDefencePlugin extends Plugin {
 
     public void startup() {
         reset();
+        this.socketCodec.register(DefenceHitMessage.TYPE);
+        this.socketCodec.register(BossDeadMessage.TYPE);
         this.overlayManager.add(overlay);
     }
 
     public void shutdown() {
         reset();
+        this.socketCodec.unregister(DefenceHitMessage.TYPE);
+        this.socketCodec.unregister(BossDeadMessage.TYPE);
         this.overlayManager.remove(overlay);
     }
 
@@ -122,13 +128,7 @@ public class SocketDefencePlugin extends Plugin {
             }else{
                 name = event.getActor().getName();
             }
-            JSONObject data = new JSONObject();
-            data.put("boss", name);
-            data.put("weapon", specWep);
-            data.put("hit", event.getHitsplat().getAmount());
-            JSONObject payload = new JSONObject();
-            payload.put("socketdefence", data);
-            this.eventBus.post(new SocketBroadcastPacket(payload));
+            this.eventBus.post(new SocketBroadcastMessage(new DefenceHitMessage(name, specWep, event.getHitsplat().getAmount())));
             specWep = "";
         }
     }
@@ -146,124 +146,116 @@ public class SocketDefencePlugin extends Plugin {
     public void onActorDeath(ActorDeath event) {
         if(event.getActor() instanceof NPC && event.getActor().getName() != null && this.client.getLocalPlayer() != null) {
             if (event.getActor().getName().equals(boss) || (event.getActor().getName().contains("Tekton") && boss.equals("Tekton"))) {
-                JSONObject data = new JSONObject();
-                data.put("boss", boss);
-                data.put("player", this.client.getLocalPlayer().getName());
-                JSONObject payload = new JSONObject();
-                payload.put("socketdefencebossdead", data);
-                this.eventBus.post(new SocketBroadcastPacket(payload));
+                this.eventBus.post(new SocketBroadcastMessage(new BossDeadMessage(boss, this.client.getLocalPlayer().getName())));
                 reset();
             }
         }
     }
 
     @Subscribe
-    public void onSocketReceivePacket(SocketReceivePacket event) {
+    public void onDefenceHitMessage(DefenceHitMessage message) {
         try {
-            JSONObject payload = event.getPayload();
-            if (payload.has("socketdefence")) {
-                JSONObject data = payload.getJSONObject("socketdefence");
-                String bossName = data.getString("boss");
-                String weapon = data.getString("weapon");
-                int hit = data.getInt("hit");
-
-                if(((bossName.equals("Tekton") || bossName.contains("Great Olm")) && this.client.getVar(Varbits.IN_RAID) != 1) ||
-                        ((bossName.contains("The Maiden of Sugadinti") || bossName.contains("Xarpus")) && this.client.getVar(Varbits.THEATRE_OF_BLOOD) != 2)){
-                    return;
-                }
+            String bossName = message.getBoss();
+            String weapon = message.getWeapon();
+            int hit = message.getHit();
 
-                if (boss.equals("") || bossDef == -1 || !boss.equals(bossName)) {
-                    if (bossName.equals("Corporeal Beast")) {
-                        bossDef = 310;
-                    } else if (bossName.equals("General Graardor")) {
-                        bossDef = 250;
-                    } else if (bossName.equals("K'ril Tsutsaroth")) {
-                        bossDef = 270;
-                    } else if (bossName.equals("Kalphite Queen")) {
-                        bossDef = 300;
-                    } else if (bossName.equals("The Maiden of Sugadinti")) {
+            if(((bossName.equals("Tekton") || bossName.contains("Great Olm")) && this.client.getVar(Varbits.IN_RAID) != 1) ||
+                    ((bossName.contains("The Maiden of Sugadinti") || bossName.contains("Xarpus")) && this.client.getVar(Varbits.THEATRE_OF_BLOOD) != 2)){
+                return;
+            }
+
+            if (boss.equals("") || bossDef == -1 || !boss.equals(bossName)) {
+                if (bossName.equals("Corporeal Beast")) {
+                    bossDef = 310;
+                } else if (bossName.equals("General Graardor")) {
+                    bossDef = 250;
+                } else if (bossName.equals("K'ril Tsutsaroth")) {
+                    bossDef = 270;
+                } else if (bossName.equals("Kalphite Queen")) {
+                    bossDef = 300;
+                } else if (bossName.equals("The Maiden of Sugadinti")) {
+                    bossDef = 200;
+                } else if (bossName.equals("Xarpus")) {
+                    if (hmXarpus){
                         bossDef = 200;
-                    } else if (bossName.equals("Xarpus")) {
-                        if (hmXarpus){
-                            bossDef = 200;
-                        } else {
-                            bossDef = 250;
-                        }
-                    } else if (bossName.equals("Great Olm (Left claw)")) {
-                        bossDef = 175 * (1 + (.01 * (this.client.getVarbitValue(5424) - 1)));
-
-                        if (isInCm) {
-                            bossDef = bossDef * 1.5;
-                        }
-                    } else if (bossName.equals("Tekton")) {
-                        bossDef = 205 * (1 + (.01 * (this.client.getVarbitValue(5424) - 1)));
-
-                        if (isInCm) {
-                            bossDef = bossDef * 1.2;
-                        }
+                    } else {
+                        bossDef = 250;
                     }
-                    boss = bossName;
-                }
+                } else if (bossName.equals("Great Olm (Left claw)")) {
+                    bossDef = 175 * (1 + (.01 * (this.client.getVarbitValue(5424) - 1)));
 
-                if (weapon.equals("dwh")) {
-                    if(hit == 0){
-                        if(client.getVar(Varbits.IN_RAID) == 1 && boss.equals("Tekton")) {
-                            bossDef -= bossDef * .05;
-                        }
-                    }else {
-                        bossDef -= bossDef * .30;
+                    if (isInCm) {
+                        bossDef = bossDef * 1.5;
                     }
-                }else if (weapon.equals("bgs")) {
-                    if(hit == 0){
-                        if(client.getVar(Varbits.IN_RAID) == 1 && boss.equals("Tekton")) {
-                            bossDef -= 10;
-                        }
-                    }else {
-                        if (boss.equals("Corporeal Beast")) {
-                            bossDef -= hit * 2;
-                        } else {
-                            bossDef -= hit;
-                        }
+                } else if (bossName.equals("Tekton")) {
+                    bossDef = 205 * (1 + (.01 * (this.client.getVarbitValue(5424) - 1)));
+
+                    if (isInCm) {
+                        bossDef = bossDef * 1.2;
                     }
-                } else if (weapon.equals("arclight") && hit > 0) {
-                    if(boss.equals("K'ril Tsutsaroth")){
-                        bossDef -= bossDef * .10;
-                    }else{
+                }
+                boss = bossName;
+            }
+
+            if (weapon.equals("dwh")) {
+                if(hit == 0){
+                    if(client.getVar(Varbits.IN_RAID) == 1 && boss.equals("Tekton")) {
                         bossDef -= bossDef * .05;
                     }
-                } else if (weapon.equals("vuln")){
-                    if (config.vulnerability()) {
-                        infoBoxManager.removeInfoBox(vulnBox);
-                        IndexDataBase sprite = this.client.getIndexSprites();
-                        vuln = this.client.getSprites(sprite, 56, 0)[0];
-                        vulnBox = new VulnerabilityInfoBox(this.vuln.toBufferedImage(), this);
-                        vulnBox.setTooltip(ColorUtil.wrapWithColorTag(boss, Color.WHITE));
-                        infoBoxManager.addInfoBox(this.vulnBox);
+                }else {
+                    bossDef -= bossDef * .30;
+                }
+            }else if (weapon.equals("bgs")) {
+                if(hit == 0){
+                    if(client.getVar(Varbits.IN_RAID) == 1 && boss.equals("Tekton")) {
+                        bossDef -= 10;
+                    }
+                }else {
+                    if (boss.equals("Corporeal Beast")) {
+                        bossDef -= hit * 2;
+                    } else {
+                        bossDef -= hit;
                     }
-                    bossDef -= bossDef * .1;
                 }
-
-                if(bossDef < -1){
-                    bossDef = 0;
+            } else if (weapon.equals("arclight") && hit > 0) {
+                if(boss.equals("K'ril Tsutsaroth")){
+                    bossDef -= bossDef * .10;
+                }else{
+                    bossDef -= bossDef * .05;
                 }
-                infoBoxManager.removeInfoBox(box);
-                box = new DefenceInfoBox(skillIconManager.getSkillImage(Skill.DEFENCE), this, Math.round(bossDef), config);
-                box.setTooltip(ColorUtil.wrapWithColorTag(boss, Color.WHITE));
-                infoBoxManager.addInfoBox(box);
-            } else if (payload.has("socketdefencebossdead")) {
-                JSONObject data = payload.getJSONObject("socketdefencebossdead");
-                if(this.client.getLocalPlayer() != null && !data.getString("player").equals(this.client.getLocalPlayer().getName())){
-                    String bossName = data.getString("boss");
-                    if (bossName.equals(boss)) {
-                        reset();
-                    }
+            } else if (weapon.equals("vuln")){
+                if (config.vulnerability()) {
+                    infoBoxManager.removeInfoBox(vulnBox);
+                    IndexDataBase sprite = this.client.getIndexSprites();
+                    vuln = this.client.getSprites(sprite, 56, 0)[0];
+                    vulnBox = new VulnerabilityInfoBox(this.vuln.toBufferedImage(), this);
+                    vulnBox.setTooltip(ColorUtil.wrapWithColorTag(boss, Color.WHITE));
+                    infoBoxManager.addInfoBox(this.vulnBox);
                 }
+                bossDef -= bossDef * .1;
+            }
+
+            if(bossDef < -1){
+                bossDef = 0;
             }
+            infoBoxManager.removeInfoBox(box);
+            box = new DefenceInfoBox(skillIconManager.getSkillImage(Skill.DEFENCE), this, Math.round(bossDef), config);
+            box.setTooltip(ColorUtil.wrapWithColorTag(boss, Color.WHITE));
+            infoBoxManager.addInfoBox(box);
         } catch (Exception e) {
             e.printStackTrace();
         }
     }
 
+    @Subscribe
+    public void onBossDeadMessage(BossDeadMessage message) {
+        if(this.client.getLocalPlayer() != null && !message.getPlayer().equals(this.client.getLocalPlayer().getName())){
+            if (message.getBoss().equals(boss)) {
+                reset();
+            }
+        }
+    }
+
     @Subscribe void onSocketMembersUpdate(SocketMembersUpdate event){
         socketPlayerNames.clear();
         socketPlayerNames.addAll(event.getMembers());
@@ -293,13 +285,7 @@ public class SocketDefencePlugin extends Plugin {
                 }else {
                     boss = event.getActor().getName();
                 }                    
-                JSONObject data = new JSONObject();
-                data.put("boss", boss);
-                data.put("weapon", "vuln");
-                data.put("hit", 0);
-                JSONObject payload = new JSONObject();
-                payload.put("socketdefence", data);
-                this.eventBus.post(new SocketBroadcastPacket(payload));
+                this.eventBus.post(new SocketBroadcastMessage(new DefenceHitMessage(boss, "vuln", 0)));
             }
         }
     }
@@ -0,0 +1,44 @@
+package meteor.plugins.sockethealing;
+
+import lombok.Value;
+import meteor.plugins.socket.codec.PacketReader;
+import meteor.plugins.socket.codec.PacketWriter;
+import meteor.plugins.socket.codec.SocketMessage;
+import meteor.plugins.socket.codec.SocketMessageType;
+import meteor.plugins.socket.org.json.JSONObject;
+
+/**
+ * The current hitpoints of a party member.
+ */
+@Value
+public class HealthMessage implements SocketMessage {
+    public static final SocketMessageType<HealthMessage> TYPE = new SocketMessageType<>("player-health",
+            HealthMessage.class, HealthMessage::read, HealthMessage::fromJSON);
+
+    String name;
+    int health;
+
+    @Override
+    public void write(PacketWriter writer) {
+        writer.writeString(this.name)
+                .writeSignedVarInt(this.health);
+    }
+
+    @Override
+    public JSONObject toJSON() {
+        JSONObject health = new JSONObject();
+        health.put("health", this.health);
+        JSONObject payload = new JSONObject();
+        payload.put("name", this.name);
+        payload.put("player-health", health);
+        return payload;
+    }
+
+    static HealthMessage read(PacketReader reader) {
+        return new HealthMessage(reader.readString(), reader.readSignedVarInt());
+    }
+
+    static HealthMessage fromJSON(JSONObject payload) {
+        return new HealthMessage(payload.getString("name"), payload.getJSONObject("player-health").getInt("health"));
+    }
+}
@@ -10,10 +10,9 @@ import meteor.plugins.Plugin;
 import meteor.plugins.PluginDependency;
 import meteor.plugins.PluginDescriptor;
 import meteor.plugins.socket.SocketPlugin;
-import meteor.plugins.socket.org.json.JSONObject;
-import meteor.plugins.socket.packet.SocketBroadcastPacket;
+import meteor.plugins.socket.codec.SocketCodec;
+import meteor.plugins.socket.packet.SocketBroadcastMessage;
 import meteor.plugins.socket.packet.SocketPlayerLeave;
-import meteor.plugins.socket.packet.SocketReceivePacket;
 import meteor.ui.overlay.Overlay;
 import meteor.ui.overlay.OverlayManager;
 import net.runelite.api.Client;
@@ -55,6 +54,9 @@ public class SocketHealingPlugin extends Plugin {
     @Inject
     private EventBus eventBus;
 
+    @Inject
+    private SocketCodec socketCodec;
+
     private Map<String, SocketHealingPlayer> partyMembers = new TreeMap<>();
 
     private int lastRefresh;
@@ -68,6 +70,7 @@ public class SocketHealingPlugin extends Plugin {
 
     public void startup() {
         this.overlayManager.add((Overlay)this.socketHealingOverlay);
+        this.socketCodec.register(HealthMessage.TYPE);
         this.lastRefresh = 0;
         synchronized (this.partyMembers) {
             this.partyMembers.clear();
@@ -76,6 +79,7 @@ public class SocketHealingPlugin extends Plugin {
 
     public void shutdown() {
         this.overlayManager.remove((Overlay)this.socketHealingOverlay);
+        this.socketCodec.unregister(HealthMessage.TYPE);
     }
 
     @Subscribe
@@ -120,37 +124,24 @@ public class SocketHealingPlugin extends Plugin {
             }
             this.lastRefresh++;
             if (this.lastRefresh >= Math.max(1, this.config.refreshRate())) {
-                JSONObject packet = new JSONObject();
-                packet.put("name", name);
-                packet.put("player-health", playerHealth.toJSON());
-                this.eventBus.post(new SocketBroadcastPacket(packet));
+                this.eventBus.post(new SocketBroadcastMessage(new HealthMessage(name, playerHealth.getHealth())));
                 this.lastRefresh = 0;
             }
         }
     }
 
     @Subscribe
-    public void onSocketReceivePacket(SocketReceivePacket event) {
-        try {
-            JSONObject payload = event.getPayload();
-            String localName = this.client.getLocalPlayer().getName();
-            if (payload.has("player-health")) {
-                String targetName = payload.getString("name");
-                if (targetName.equals(localName))
-                    return;
-                JSONObject statusJSON = payload.getJSONObject("player-health");
-                synchronized (this.partyMembers) {
-                    SocketHealingPlayer playerHealth = this.partyMembers.get(targetName);
-                    if (playerHealth == null) {
-                        playerHealth = SocketHealingPlayer.fromJSON(statusJSON);
-                        this.partyMembers.put(targetName, playerHealth);
-                    } else {
-                        playerHealth.parseJSON(statusJSON);
-                    }
-                }
+    public void onHealthMessage(HealthMessage message) {
+        if (this.client.getLocalPlayer() == null || message.getName().equals(this.client.getLocalPlayer().getName()))
+            return;
+        synchronized (this.partyMembers) {
+            SocketHealingPlayer playerHealth = this.partyMembers.get(message.getName());
+            if (playerHealth == null) {
+                playerHealth = new SocketHealingPlayer(message.getName(), message.getHealth());
+                this.partyMembers.put(message.getName(), playerHealth);
+            } else {
+                playerHealth.setHealth(message.getHealth());
             }
-        } catch (Exception ex) {
-            ex.printStackTrace();
         }
     }
 
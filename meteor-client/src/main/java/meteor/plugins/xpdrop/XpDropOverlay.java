@@ -59,7 +59,7 @@ class XpDropOverlay extends Overlay
 			return null;
 		}
 
-		if (plugin.getTickShow() > 0)
+		if (plugin.isDamageShown())
 		{
 			final Actor opponent = plugin.getLastOpponent();
 			if (opponent != null)
@@ -32,6 +32,8 @@ import meteor.eventbus.Subscribe;
 import meteor.game.NPCManager;
 import meteor.plugins.Plugin;
 import meteor.plugins.PluginDescriptor;
+import meteor.task.TimerService;
+import meteor.task.TimingWheel;
 import meteor.ui.overlay.OverlayManager;
 import meteor.util.ColorUtil;
 import net.runelite.api.*;
@@ -58,6 +60,7 @@ public class XpDropPlugin extends Plugin
 {
 	private static final double HITPOINT_RATIO = 1.33; // Base rate of hp xp per point damage
 	private static final double DMM_MULTIPLIER_RATIO = 10;
+	private static final int DAMAGE_SHOW_TICKS = 3;
 
 	@Inject
 	private Client client;
@@ -74,6 +77,9 @@ public class XpDropPlugin extends Plugin
 	@Inject
 	private XpDropOverlay overlay;
 
+	@Inject
+	private TimerService timerService;
+
 	private int tickCounter = 0;
 	private int previousExpGained;
 	private boolean hasDropped = false;
@@ -84,7 +90,8 @@ public class XpDropPlugin extends Plugin
 	@Getter(AccessLevel.PACKAGE)
 	private int damage = 0;
 	@Getter(AccessLevel.PACKAGE)
-	private int tickShow = 0;
+	private boolean damageShown;
+	private TimingWheel.Timeout damageExpiry;
 	@Getter(AccessLevel.PACKAGE)
 	private Actor lastOpponent;
 
@@ -104,6 +111,7 @@ public class XpDropPlugin extends Plugin
 	public void shutdown()
 	{
 		overlayManager.remove(overlay);
+		hideDamage();
 	}
 
 	@Subscribe
@@ -223,7 +231,7 @@ public class XpDropPlugin extends Plugin
 	@Subscribe
 	public void onGameStateChanged(GameStateChanged event)
 	{
-		tickShow = 0;
+		hideDamage();
 		damage = 0;
 	}
 
@@ -232,11 +240,6 @@ public class XpDropPlugin extends Plugin
 	{
 		lastOpponent = client.getLocalPlayer().getInteracting();
 
-		if (tickShow > 0)
-		{
-			tickShow--;
-		}
-
 		correctPrayer = false;
 
 		final int fakeTickDelay = config.fakeXpDropDelay();
@@ -351,7 +354,7 @@ public class XpDropPlugin extends Plugin
 			if (!(lastOpponent instanceof NPC) && !(lastOpponent instanceof Player))
 			{
 				damage = (int) Math.rint(damageDealt);
-				tickShow = 3;
+				showDamage();
 				return;
 			}
 
@@ -361,13 +364,30 @@ public class XpDropPlugin extends Plugin
 		if (a instanceof Player)
 		{
 			damage = (int) Math.rint(damageDealt);
-			tickShow = 3;
+			showDamage();
 
 			return;
 		}
 
 		NPC target = (NPC) a;
 		damage = (int) Math.rint(damageDealt / npcManager.getXpModifier(target.getId()));
-		tickShow = 3;
+		showDamage();
+	}
+
+	private void showDamage()
+	{
+		hideDamage();
+		damageShown = true;
+		damageExpiry = timerService.scheduleTicks(DAMAGE_SHOW_TICKS, () -> damageShown = false);
+	}
+
+	private void hideDamage()
+	{
+		if (damageExpiry != null)
+		{
+			damageExpiry.cancel();
+			damageExpiry = null;
+		}
+		damageShown = false;
 	}
 }
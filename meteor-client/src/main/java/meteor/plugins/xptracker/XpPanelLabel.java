@@ -37,6 +37,9 @@ public enum XpPanelLabel
 
 	XP_GAINED("XP Gained", snap -> format(snap.getXpGainedInSession())),
 	XP_HOUR("XP/hr", snap -> format(snap.getXpPerHour())),
+	XP_HOUR_5M("XP/hr (5m)", snap -> format(snap.getXpPerHourLast5m())),
+	XP_HOUR_15M("XP/hr (15m)", snap -> format(snap.getXpPerHourLast15m())),
+	XP_HOUR_60M("XP/hr (60m)", snap -> format(snap.getXpPerHourLast60m())),
 	XP_LEFT("XP Left", snap -> format(snap.getXpRemainingToGoal())),
 
 	ACTIONS_LEFT("Actions", snap -> format(snap.getActionsRemainingToGoal())),
@@ -0,0 +1,173 @@
+package meteor.plugins.xptracker;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Recent xp drops of a skill, kept in a fixed size ring, and the xp gained in each rolling window.
+ * The window sums are updated as drops are added and as they age out of a window, so the cost per
+ * drop is constant however long the session runs.
+ * <p>
+ * Drops less than a second apart are merged, so the longest window always fits in the ring.
+ */
+class XpRateTracker
+{
+	static final int LAST_5_MINUTES = 0;
+	static final int LAST_15_MINUTES = 1;
+	static final int LAST_60_MINUTES = 2;
+
+	private static final long[] WINDOWS = {
+		TimeUnit.MINUTES.toMillis(5),
+		TimeUnit.MINUTES.toMillis(15),
+		TimeUnit.MINUTES.toMillis(60)
+	};
+	private static final long LONGEST_WINDOW = WINDOWS[WINDOWS.length - 1];
+	private static final long MERGE_MILLIS = 1000L;
+	private static final int CAPACITY = 4096;
+	private static final int MASK = CAPACITY - 1;
+
+	// Rates of the first minute are computed over a minute, like the session rate
+	private static final long MIN_ELAPSED = TimeUnit.MINUTES.toMillis(1);
+
+	private final long[] times = new long[CAPACITY];
+	private final int[] drops = new int[CAPACITY];
+
+	// Drops are numbered from 0 as they are added, their slot is the number modulo the capacity
+	private long added;
+	// Number of the oldest drop still in each window
+	private final long[] tails = new long[WINDOWS.length];
+	private final long[] sums = new long[WINDOWS.length];
+	private long startMillis;
+
+	XpRateTracker(long now)
+	{
+		startMillis = now;
+	}
+
+	void reset(long now)
+	{
+		added = 0;
+		for (int w = 0; w < WINDOWS.length; w++)
+		{
+			tails[w] = 0;
+			sums[w] = 0;
+		}
+		startMillis = now;
+	}
+
+	void add(long now, int xp)
+	{
+		if (added > 0 && now - times[(int) (added - 1) & MASK] < MERGE_MILLIS)
+		{
+			drops[(int) (added - 1) & MASK] += xp;
+		}
+		else
+		{
+			if (added >= CAPACITY)
+			{
+				// The drop about to be overwritten leaves every window still holding it
+				evict(added - CAPACITY + 1);
+			}
+
+			int slot = (int) added & MASK;
+			times[slot] = now;
+			drops[slot] = xp;
+			added++;
+		}
+
+		for (int w = 0; w < WINDOWS.length; w++)
+		{
+			sums[w] += xp;
+		}
+	}
+
+	/**
+	 * @return whether there were drops within the longest window
+	 */
+	boolean isActive(long now)
+	{
+		expire(now);
+		return tails[LAST_60_MINUTES] < added;
+	}
+
+	/**
+	 * @param window one of the window indices
+	 * @return the xp per hour of the drops within the window
+	 */
+	int getXpPerHour(int window, long now)
+	{
+		expire(now);
+		long elapsed = Math.max(MIN_ELAPSED, Math.min(WINDOWS[window], now - startMillis));
+		return (int) (sums[window] * TimeUnit.HOURS.toMillis(1) / elapsed);
+	}
+
+	private void expire(long now)
+	{
+		for (int w = 0; w < WINDOWS.length; w++)
+		{
+			long cutoff = now - WINDOWS[w];
+			while (tails[w] < added && times[(int) tails[w] & MASK] <= cutoff)
+			{
+				sums[w] -= drops[(int) tails[w] & MASK];
+				tails[w]++;
+			}
+		}
+	}
+
+	private void evict(long until)
+	{
+		for (int w = 0; w < WINDOWS.length; w++)
+		{
+			while (tails[w] < until)
+			{
+				sums[w] -= drops[(int) tails[w] & MASK];
+				tails[w]++;
+			}
+		}
+	}
+
+	/*
+	 * The start time, the number of drops within the longest window, and each of those drops as its
+	 * time and xp. The first drop has its absolute time, since a restored session can have started
+	 * any time ago; the others are milliseconds since the previous drop, at most the longest window.
+	 */
+	void write(DataOutput out, long now) throws IOException
+	{
+		expire(now);
+		long first = tails[LAST_60_MINUTES];
+
+		out.writeLong(startMillis);
+		out.writeShort((int) (added - first));
+
+		for (long i = first; i < added; i++)
+		{
+			int slot = (int) i & MASK;
+			if (i == first)
+			{
+				out.writeLong(times[slot]);
+			}
+			else
+			{
+				out.writeInt((int) (times[slot] - times[(int) (i - 1) & MASK]));
+			}
+			out.writeInt(drops[slot]);
+		}
+	}
+
+	void read(DataInput in, long now) throws IOException
+	{
+		reset(in.readLong());
+
+		int count = in.readUnsignedShort();
+		long time = 0;
+		for (int i = 0; i < count; i++)
+		{
+			time = i == 0 ? in.readLong() : time + in.readInt();
+			add(time, in.readInt());
+		}
+
+		expire(now);
+	}
+}
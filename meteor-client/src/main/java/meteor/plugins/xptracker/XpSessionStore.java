@@ -0,0 +1,128 @@
+package meteor.plugins.xptracker;
+
+import com.google.common.hash.Hashing;
+import java.io.BufferedInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.concurrent.ExecutorService;
+import javax.inject.Inject;
+import javax.inject.Singleton;
+import meteor.MeteorLiteClientLauncher;
+import meteor.executor.IO;
+import org.sponge.util.Logger;
+
+/**
+ * Keeps xp tracker sessions on disk, one file per account and world type, so a session survives
+ * restarting the client. Sessions are small binary files; the rolling rates only keep the drops of
+ * the last hour.
+ */
+@Singleton
+class XpSessionStore
+{
+	static final File SESSIONS_DIR = new File(MeteorLiteClientLauncher.METEOR_DIR, "xp-sessions");
+
+	private static final int MAGIC = 0x58505353;
+	// 2: the first drop of each rate tracker has an absolute time
+	private static final int FORMAT = 2;
+
+	private final Logger log = new Logger("XpSessionStore");
+
+	@Inject
+	@IO
+	private ExecutorService executor;
+
+	/**
+	 * Saves a session in the background. The state is serialized on the calling thread, so it can
+	 * be changed or reset as soon as this returns.
+	 */
+	void save(String username, XpWorldType worldType, XpState state)
+	{
+		final long now = System.currentTimeMillis();
+		final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+		try (DataOutputStream out = new DataOutputStream(bytes))
+		{
+			out.writeInt(MAGIC);
+			out.writeInt(FORMAT);
+			state.write(out, now);
+		}
+		catch (IOException ex)
+		{
+			throw new UncheckedIOException(ex);
+		}
+
+		final File file = sessionFile(username, worldType);
+		executor.execute(() -> write(file, bytes.toByteArray()));
+	}
+
+	/**
+	 * Restores the saved session of an account into the state.
+	 *
+	 * @return whether a session was restored
+	 */
+	boolean load(String username, XpWorldType worldType, XpState state)
+	{
+		final File file = sessionFile(username, worldType);
+		if (!file.exists())
+		{
+			return false;
+		}
+
+		try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(file.toPath()))))
+		{
+			if (in.readInt() != MAGIC || in.readInt() != FORMAT)
+			{
+				log.debug("Ignoring xp session {} of another format", file.getName());
+				return false;
+			}
+
+			state.read(in, System.currentTimeMillis());
+			return true;
+		}
+		catch (IOException | RuntimeException ex)
+		{
+			log.warn("Unable to read xp session {}: {}", file.getName(), ex.getMessage());
+			state.reset();
+			return false;
+		}
+	}
+
+	private synchronized void write(File file, byte[] session)
+	{
+		try
+		{
+			Files.createDirectories(SESSIONS_DIR.toPath());
+			final Path temp = Files.createTempFile(SESSIONS_DIR.toPath(), "session", ".tmp");
+			try
+			{
+				Files.write(temp, session);
+				Files.move(temp, file.toPath(), StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+			}
+			finally
+			{
+				Files.deleteIfExists(temp);
+			}
+		}
+		catch (IOException ex)
+		{
+			log.warn("Unable to save xp session {}: {}", file.getName(), ex.getMessage());
+		}
+	}
+
+	private static File sessionFile(String username, XpWorldType worldType)
+	{
+		// The login name can be an email address, which should not end up in a file name
+		final String account = Hashing.sha256()
+			.hashString(username.toLowerCase(), StandardCharsets.UTF_8)
+			.toString()
+			.substring(0, 16);
+		return new File(SESSIONS_DIR, account + "-" + worldType.name().toLowerCase() + ".bin");
+	}
+}
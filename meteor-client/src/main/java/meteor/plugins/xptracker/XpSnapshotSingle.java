@@ -39,6 +39,9 @@ public class XpSnapshotSingle
 	public int xpGainedInSession;
 	public int xpRemainingToGoal;
 	public int xpPerHour;
+	public int xpPerHourLast5m;
+	public int xpPerHourLast15m;
+	public int xpPerHourLast60m;
 	public double skillProgressToGoal;
 	public int actionsInSession;
 	public int actionsRemainingToGoal;
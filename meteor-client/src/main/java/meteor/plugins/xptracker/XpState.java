@@ -24,9 +24,14 @@
  */
 package meteor.plugins.xptracker;
 
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
 import java.util.Arrays;
 import java.util.EnumMap;
+import java.util.EnumSet;
 import java.util.Map;
+import java.util.Set;
 import javax.inject.Inject;
 import lombok.NonNull;
 import net.runelite.api.NPC;
@@ -37,12 +42,17 @@ import net.runelite.api.Skill;
  * <p>
  * Note: This class's operations are not currently synchronized.
  * It is intended to be called by the XpTrackerPlugin on the client thread.
+ * <p>
+ * Snapshots are kept until their skill changes, so overlays reading them every frame only cause
+ * the skills which changed to be recomputed.
  */
 class XpState
 {
 	private static final double DEFAULT_XP_MODIFIER = 4.0;
 	private static final double SHARED_XP_MODIFIER = DEFAULT_XP_MODIFIER / 3.0;
 	private final Map<Skill, XpStateSingle> xpSkills = new EnumMap<>(Skill.class);
+	private final XpSnapshotSingle[] snapshots = new XpSnapshotSingle[Skill.values().length];
+	private final Set<Skill> changed = EnumSet.noneOf(Skill.class);
 	private NPC interactedNPC;
 
 	@Inject
@@ -54,6 +64,7 @@ class XpState
 	void reset()
 	{
 		xpSkills.clear();
+		changed.addAll(EnumSet.allOf(Skill.class));
 	}
 
 	/**
@@ -66,6 +77,7 @@ class XpState
 	{
 		xpSkills.remove(skill);
 		xpSkills.put(skill, new XpStateSingle(skill, currentXp));
+		changed.add(skill);
 	}
 
 	/**
@@ -76,6 +88,7 @@ class XpState
 	void resetSkillPerHour(Skill skill)
 	{
 		xpSkills.get(skill).resetPerHour();
+		changed.add(skill);
 	}
 
 	/**
@@ -117,9 +130,14 @@ class XpState
 				initializeSkill(skill, currentXp);
 				return XpUpdateResult.INITIALIZED;
 			}
+			else if (state.update(currentXp, goalStartXp, goalEndXp))
+			{
+				changed.add(skill);
+				return XpUpdateResult.UPDATED;
+			}
 			else
 			{
-				return state.update(currentXp, goalStartXp, goalEndXp) ? XpUpdateResult.UPDATED : XpUpdateResult.NO_CHANGE;
+				return XpUpdateResult.NO_CHANGE;
 			}
 		}
 	}
@@ -171,6 +189,7 @@ class XpState
 
 		interactedNPC = npc;
 		state.setActionType(XpActionType.ACTOR_HEALTH);
+		changed.add(skill);
 	}
 
 	/**
@@ -193,6 +212,7 @@ class XpState
 
 		final XpAction xpAction = state.getXpAction(XpActionType.ACTOR_HEALTH);
 		xpAction.setActionsSinceReset(xpAction.getActionsSinceReset() + 1);
+		changed.add(skill);
 		return xpAction.isActionsHistoryInitialized() ? XpUpdateResult.UPDATED : XpUpdateResult.NO_CHANGE;
 	}
 
@@ -200,7 +220,10 @@ class XpState
 	{
 		final XpStateSingle state = getSkill(skill);
 
-		state.tick(delta);
+		if (state.tick(delta))
+		{
+			changed.add(skill);
+		}
 
 		int resetAfterMinutes = xpTrackerConfig.resetSkillRateAfter();
 		if (resetAfterMinutes > 0)
@@ -212,6 +235,7 @@ class XpState
 			if (lastChangeMillis != 0 && (now - lastChangeMillis) >= resetAfterMillis)
 			{
 				state.resetPerHour();
+				changed.add(skill);
 			}
 		}
 	}
@@ -226,6 +250,29 @@ class XpState
 	void initializeSkill(Skill skill, long currentXp)
 	{
 		xpSkills.put(skill, new XpStateSingle(skill, currentXp));
+		changed.add(skill);
+	}
+
+	/**
+	 * Moves the start XP of a skill, so XP gained while the tracker was not watching is not counted.
+	 *
+	 * @param skill Skill to offset
+	 * @param xp    XP gained elsewhere
+	 */
+	void offsetStartXp(Skill skill, long xp)
+	{
+		final XpStateSingle state = getSkill(skill);
+		state.setStartXp(state.getStartXp() + xp);
+		changed.add(skill);
+	}
+
+	/**
+	 * Sets the kind of action a skill's action counts and rates are about.
+	 */
+	void setActionType(Skill skill, XpActionType actionType)
+	{
+		getSkill(skill).setActionType(actionType);
+		changed.add(skill);
 	}
 
 	boolean isInitialized(Skill skill)
@@ -250,7 +297,13 @@ class XpState
 	@NonNull
 	XpSnapshotSingle getSkillSnapshot(Skill skill)
 	{
-		return getSkill(skill).snapshot();
+		XpSnapshotSingle snapshot = snapshots[skill.ordinal()];
+		if (changed.remove(skill) || snapshot == null)
+		{
+			snapshot = getSkill(skill).snapshot();
+			snapshots[skill.ordinal()] = snapshot;
+		}
+		return snapshot;
 	}
 
 	/**
@@ -262,6 +315,43 @@ class XpState
 	@NonNull
 	XpSnapshotSingle getTotalSnapshot()
 	{
-		return getSkill(Skill.OVERALL).snapshot();
+		return getSkillSnapshot(Skill.OVERALL);
+	}
+
+	/*
+	 * The number of initialized skills, then each of them as its skill ordinal and state.
+	 */
+	void write(DataOutput out, long now) throws IOException
+	{
+		int count = 0;
+		for (XpStateSingle state : xpSkills.values())
+		{
+			count += state.getStartXp() != -1 ? 1 : 0;
+		}
+
+		out.writeByte(count);
+		for (Map.Entry<Skill, XpStateSingle> entry : xpSkills.entrySet())
+		{
+			if (entry.getValue().getStartXp() != -1)
+			{
+				out.writeByte(entry.getKey().ordinal());
+				entry.getValue().write(out, now);
+			}
+		}
+	}
+
+	/**
+	 * Replaces all state with a session written by {@link #write(DataOutput, long)}.
+	 */
+	void read(DataInput in, long now) throws IOException
+	{
+		reset();
+
+		final int count = in.readUnsignedByte();
+		for (int i = 0; i < count; i++)
+		{
+			final Skill skill = Skill.values()[in.readUnsignedByte()];
+			xpSkills.put(skill, XpStateSingle.read(skill, in, now));
+		}
 	}
 }
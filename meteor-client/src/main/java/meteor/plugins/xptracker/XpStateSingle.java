@@ -26,6 +26,9 @@
  */
 package meteor.plugins.xptracker;
 
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
 import java.util.Arrays;
 import java.util.EnumMap;
 import java.util.Map;
@@ -60,6 +63,8 @@ class XpStateSingle
 	private int startLevelExp = 0;
 	private int endLevelExp = 0;
 
+	private final XpRateTracker rates = new XpRateTracker(System.currentTimeMillis());
+
 	private Logger log = new Logger("XPTracker");
 
 	XpStateSingle(Skill skill, long startXp)
@@ -231,6 +236,7 @@ class XpStateSingle
 		xpGainedBeforeReset += xpGainedSinceReset;
 		setXpGainedSinceReset(0);
 		setSkillTime(0);
+		rates.reset(System.currentTimeMillis());
 	}
 
 	boolean update(long currentXp, int goalStartXp, int goalEndXp)
@@ -268,6 +274,7 @@ class XpStateSingle
 
 		action.setActionExpIndex((action.getActionExpIndex() + 1) % action.getActionExps().length);
 		action.setActionsSinceReset(action.getActionsSinceReset() + 1);
+		rates.add(System.currentTimeMillis(), actionExp);
 
 		// Calculate experience gained
 		setXpGainedSinceReset((int) (currentXp - (startXp + xpGainedBeforeReset)));
@@ -300,24 +307,35 @@ class XpStateSingle
 		return true;
 	}
 
-	public void tick(long delta)
+	/**
+	 * @return whether the rates changed, because time passed while the skill was being trained
+	 */
+	boolean tick(long delta)
 	{
+		// Recent rates decay as drops age out of their window, even when no time is added
+		final boolean recent = rates.isActive(System.currentTimeMillis());
+
 		// Don't tick skills that have not gained XP or have been reset.
 		if (xpGainedSinceReset <= 0)
 		{
-			return;
+			return recent;
 		}
 		skillTime += delta;
+		return true;
 	}
 
 	XpSnapshotSingle snapshot()
 	{
+		final long now = System.currentTimeMillis();
 		return XpSnapshotSingle.builder()
 			.startLevel(Experience.getLevelForXp(startLevelExp))
 			.endLevel(Experience.getLevelForXp(endLevelExp))
 			.xpGainedInSession(getTotalXpGained())
 			.xpRemainingToGoal(getXpRemaining())
 			.xpPerHour(getXpHr())
+			.xpPerHourLast5m(rates.getXpPerHour(XpRateTracker.LAST_5_MINUTES, now))
+			.xpPerHourLast15m(rates.getXpPerHour(XpRateTracker.LAST_15_MINUTES, now))
+			.xpPerHourLast60m(rates.getXpPerHour(XpRateTracker.LAST_60_MINUTES, now))
 			.skillProgressToGoal(getSkillProgress())
 			.actionType(actionType)
 			.actionsInSession(getXpAction(actionType).getActions() + getXpAction(actionType).getActionsSinceReset())
@@ -330,4 +348,62 @@ class XpStateSingle
 			.endGoalXp(endLevelExp)
 			.build();
 	}
+
+	void write(DataOutput out, long now) throws IOException
+	{
+		out.writeLong(startXp);
+		out.writeInt(xpGainedBeforeReset);
+		out.writeInt(xpGainedSinceReset);
+		out.writeLong(skillTime);
+		out.writeLong(lastChangeMillis);
+		out.writeInt(startLevelExp);
+		out.writeInt(endLevelExp);
+		out.writeByte(actionType.ordinal());
+
+		out.writeByte(actions.size());
+		for (Map.Entry<XpActionType, XpAction> entry : actions.entrySet())
+		{
+			final XpAction action = entry.getValue();
+			out.writeByte(entry.getKey().ordinal());
+			out.writeInt(action.getActions());
+			out.writeInt(action.getActionsSinceReset());
+			out.writeBoolean(action.isActionsHistoryInitialized());
+			out.writeByte(action.getActionExpIndex());
+			for (int actionExp : action.getActionExps())
+			{
+				out.writeInt(actionExp);
+			}
+		}
+
+		rates.write(out, now);
+	}
+
+	static XpStateSingle read(Skill skill, DataInput in, long now) throws IOException
+	{
+		final XpStateSingle state = new XpStateSingle(skill, in.readLong());
+		state.xpGainedBeforeReset = in.readInt();
+		state.xpGainedSinceReset = in.readInt();
+		state.skillTime = in.readLong();
+		state.lastChangeMillis = in.readLong();
+		state.startLevelExp = in.readInt();
+		state.endLevelExp = in.readInt();
+		state.actionType = XpActionType.values()[in.readUnsignedByte()];
+
+		final int actionCount = in.readUnsignedByte();
+		for (int i = 0; i < actionCount; i++)
+		{
+			final XpAction action = state.getXpAction(XpActionType.values()[in.readUnsignedByte()]);
+			action.setActions(in.readInt());
+			action.setActionsSinceReset(in.readInt());
+			action.setActionsHistoryInitialized(in.readBoolean());
+			action.setActionExpIndex(in.readUnsignedByte());
+			for (int j = 0; j < action.getActionExps().length; j++)
+			{
+				action.getActionExps()[j] = in.readInt();
+			}
+		}
+
+		state.rates.read(in, now);
+		return state;
+	}
 }
@@ -79,6 +79,11 @@ public class XpTrackerPlugin extends Plugin
 	 */
 	private static final int XP_THRESHOLD = 10_000;
 
+	/**
+	 * How often the session is saved while logged in, besides on logout.
+	 */
+	private static final long SAVE_INTERVAL_MILLIS = 5 * 60 * 1000;
+
 	private static final String MENUOP_ADD_CANVAS_TRACKER = "Add to canvas";
 	private static final String MENUOP_REMOVE_CANVAS_TRACKER = "Remove from canvas";
 
@@ -111,9 +116,13 @@ public class XpTrackerPlugin extends Plugin
 	@Inject
 	private XpState xpState;
 
+	@Inject
+	private XpSessionStore sessionStore;
+
 	private XpWorldType lastWorldType;
 	private String lastUsername;
 	private long lastTickMillis = 0;
+	private long lastSaveMillis = 0;
 	private boolean fetchXp; // fetch lastXp for the online xp tracker
 	private long lastXp = 0;
 	private boolean initializeTracker;
@@ -140,11 +149,18 @@ public class XpTrackerPlugin extends Plugin
 		// Initialize the tracker & last xp if already logged in
 		fetchXp = true;
 		initializeTracker = true;
+
+		// Pick up the session of the account from before the plugin was turned off
+		if (lastUsername != null && lastWorldType != null)
+		{
+			sessionStore.load(lastUsername, lastWorldType, xpState);
+		}
 	}
 
 	@Override
 	public void shutdown()
 	{
+		saveSession();
 		overlayManager.removeIf(e -> e instanceof XpInfoBoxOverlay);
 		xpState.reset();
 	}
@@ -162,12 +178,17 @@ public class XpTrackerPlugin extends Plugin
 			if (!Objects.equals(client.getUsername(), lastUsername) || lastWorldType != type)
 			{
 				// Reset
+				saveSession();
 
 				lastUsername = client.getUsername();
 				// xp is not available until after login is finished, so fetch it on the next gametick
 				fetchXp = true;
 				lastWorldType = type;
 				resetState();
+				if (lastUsername != null)
+				{
+					sessionStore.load(lastUsername, lastWorldType, xpState);
+				}
 				// Must be set from hitting the LOGGING_IN or HOPPING case below
 				assert initializeTracker;
 			}
@@ -178,6 +199,8 @@ public class XpTrackerPlugin extends Plugin
 		}
 		else if (state == GameState.LOGIN_SCREEN)
 		{
+			saveSession();
+
 			Player local = client.getLocalPlayer();
 			if (local == null)
 			{
@@ -357,8 +380,7 @@ public class XpTrackerPlugin extends Plugin
 			return;
 		}
 
-		final XpStateSingle state = xpState.getSkill(skill);
-		state.setActionType(XpActionType.EXPERIENCE);
+		xpState.setActionType(skill, XpActionType.EXPERIENCE);
 
 		final Actor interacting = client.getLocalPlayer().getInteracting();
 		if (interacting instanceof NPC && COMBAT.contains(skill))
@@ -399,7 +421,7 @@ public class XpTrackerPlugin extends Plugin
 
 					// Offset start xp for offline gains
 					long diff = currentXp - skillState.getCurrentXp();
-					skillState.setStartXp(skillState.getStartXp() + diff);
+					xpState.offsetStartXp(skill, diff);
 				}
 			}
 
@@ -670,9 +692,23 @@ public class XpTrackerPlugin extends Plugin
 			}
 		}
 
+		if (loggedIn && nowMillis - lastSaveMillis >= SAVE_INTERVAL_MILLIS)
+		{
+			saveSession();
+		}
+
 		rebuildSkills();
 	}
 
+	private void saveSession()
+	{
+		if (lastUsername != null && lastWorldType != null)
+		{
+			sessionStore.save(lastUsername, lastWorldType, xpState);
+			lastSaveMillis = System.currentTimeMillis();
+		}
+	}
+
 	private void rebuildSkills()
 	{
 
@@ -0,0 +1,174 @@
+package meteor.startup;
+
+import com.google.common.base.Throwables;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import java.io.File;
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import org.sponge.util.Logger;
+
+/**
+ * Runs the phases of client startup as a dependency graph: every phase starts as soon as the
+ * phases it depends on are done, so independent phases run concurrently.
+ * <p>
+ * Phases run on a pool of startup threads, except those which must stay on the thread which
+ * started the client, which {@link #run()} runs itself in between waiting. Every phase is
+ * recorded, and {@link #writeTrace(File)} writes the timeline in the Chrome trace event format,
+ * which chrome://tracing and Perfetto open.
+ */
+public class Startup {
+
+  private static final Logger log = new Logger("Startup");
+
+  private static final int THREADS = 4;
+
+  /**
+   * The work of a phase.
+   */
+  public interface Action {
+
+    void run() throws Exception;
+  }
+
+  public class Phase {
+
+    private final String name;
+    private final CompletableFuture<Void> future;
+    private long start;
+    private long end;
+    private String thread;
+
+    private Phase(String name, boolean caller, Action action, Phase... dependencies) {
+      this.name = name;
+
+      CompletableFuture<?>[] futures = new CompletableFuture<?>[dependencies.length];
+      for (int i = 0; i < dependencies.length; i++) {
+        futures[i] = dependencies[i].future;
+      }
+
+      this.future = CompletableFuture.allOf(futures)
+          .thenRunAsync(() -> run(action), caller ? callerQueue::add : executor);
+    }
+
+    private void run(Action action) {
+      thread = Thread.currentThread().getName();
+      start = System.nanoTime();
+      try {
+        action.run();
+      } catch (Exception e) {
+        throw new CompletionException(e);
+      } finally {
+        end = System.nanoTime();
+        log.debug("{} took {} ms on {}", name, TimeUnit.NANOSECONDS.toMillis(end - start), thread);
+      }
+    }
+  }
+
+  private final long created = System.nanoTime();
+  private final List<Phase> phases = new ArrayList<>();
+  private final BlockingQueue<Runnable> callerQueue = new LinkedBlockingQueue<>();
+  // phases mostly wait on the network, disk or class loading, so this does not follow the core count
+  private final ExecutorService executor = Executors.newFixedThreadPool(THREADS,
+      new ThreadFactoryBuilder().setNameFormat("startup-%d").setDaemon(true).build());
+
+  /**
+   * Add a phase which runs on the startup threads once its dependencies are done.
+   */
+  public Phase phase(String name, Action action, Phase... dependencies) {
+    Phase phase = new Phase(name, false, action, dependencies);
+    phases.add(phase);
+    return phase;
+  }
+
+  /**
+   * Add a phase which runs on the thread calling {@link #run()} once its dependencies are done.
+   */
+  public Phase callerPhase(String name, Action action, Phase... dependencies) {
+    Phase phase = new Phase(name, true, action, dependencies);
+    phases.add(phase);
+    return phase;
+  }
+
+  /**
+   * Wait for every phase, running the caller phases on this thread. Phases which depend on a
+   * failed phase do not run, and the first failure is rethrown.
+   */
+  public void run() throws IOException {
+    CompletableFuture<Void> all = CompletableFuture.allOf(
+        phases.stream().map(phase -> phase.future).toArray(CompletableFuture[]::new));
+    all.whenComplete((result, failure) -> callerQueue.add(() -> {
+    }));
+
+    try {
+      while (!all.isDone() || !callerQueue.isEmpty()) {
+        callerQueue.take().run();
+      }
+      all.join();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new IOException("Interrupted during startup", e);
+    } catch (CompletionException e) {
+      Throwables.propagateIfPossible(e.getCause(), IOException.class);
+      throw new RuntimeException(e.getCause());
+    } finally {
+      executor.shutdown();
+    }
+  }
+
+  /**
+   * Write the timeline of the phases which ran.
+   */
+  public void writeTrace(File file) {
+    List<Map<String, Object>> events = new ArrayList<>();
+    Map<String, Integer> threads = new LinkedHashMap<>();
+    for (Phase phase : phases) {
+      if (phase.thread == null) {
+        continue;
+      }
+
+      Integer tid = threads.get(phase.thread);
+      if (tid == null) {
+        tid = threads.size() + 1;
+        threads.put(phase.thread, tid);
+        events.add(event("thread_name", "M", tid, Map.of("name", phase.thread)));
+      }
+
+      Map<String, Object> event = event(phase.name, "X", tid, Map.of());
+      event.put("ts", TimeUnit.NANOSECONDS.toMicros(phase.start - created));
+      event.put("dur", TimeUnit.NANOSECONDS.toMicros(phase.end - phase.start));
+      events.add(event);
+    }
+
+    Gson gson = new GsonBuilder().setPrettyPrinting().create();
+    try (Writer writer = Files.newBufferedWriter(file.toPath(), StandardCharsets.UTF_8)) {
+      gson.toJson(events, writer);
+    } catch (IOException e) {
+      log.warn("Unable to write the startup trace: {}", e.getMessage());
+    }
+  }
+
+  private static Map<String, Object> event(String name, String type, int tid, Map<String, Object> args) {
+    Map<String, Object> event = new LinkedHashMap<>();
+    event.put("name", name);
+    event.put("ph", type);
+    event.put("pid", 1);
+    event.put("tid", tid);
+    event.put("args", args);
+    return event;
+  }
+}
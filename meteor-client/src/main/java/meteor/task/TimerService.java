@@ -0,0 +1,140 @@
+package meteor.task;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import javax.inject.Singleton;
+import org.sponge.util.Logger;
+
+/**
+ * Runs tasks on the client thread after a number of game ticks, or after a real time delay.
+ * <p>
+ * Tick tasks run right after the game tick event of the tick they are due on. The tick count moves
+ * on before the event is posted, so a task scheduled {@code n} ticks ahead runs after the game tick
+ * event {@code n} ticks later, whether it was scheduled during a tick or between two. Real time
+ * tasks run on the
+ * first frame at or after their deadline. Both are kept in a {@link TimingWheel}, so a tick or frame
+ * only costs the tasks which are due.
+ * <p>
+ * Tasks can be scheduled and cancelled from any thread.
+ */
+@Singleton
+public class TimerService
+{
+	private final Logger log = new Logger("TimerService");
+
+	private final TimingWheel ticks = new TimingWheel(0);
+	private final TimingWheel millis = new TimingWheel(currentMillis());
+	private final List<TimingWheel.Timeout> dueTicks = new ArrayList<>();
+	private final List<TimingWheel.Timeout> dueMillis = new ArrayList<>();
+
+	/**
+	 * @return the number of game ticks since the client started, counting the tick being processed
+	 */
+	public long getTick()
+	{
+		return ticks.getTime();
+	}
+
+	/**
+	 * Runs a task once, a number of game ticks from now.
+	 *
+	 * @param delay the number of ticks, at least 1
+	 */
+	public TimingWheel.Timeout scheduleTicks(int delay, Runnable task)
+	{
+		return ticks.schedule(task, delay, 0);
+	}
+
+	/**
+	 * Runs a task every {@code period} game ticks, the first time {@code delay} ticks from now.
+	 */
+	public TimingWheel.Timeout scheduleTicksAtFixedRate(int delay, int period, Runnable task)
+	{
+		if (period < 1)
+		{
+			throw new IllegalArgumentException("period " + period);
+		}
+
+		return ticks.schedule(task, delay, period);
+	}
+
+	/**
+	 * Runs a task once, after a real time delay. Delays under a millisecond run on the next frame.
+	 */
+	public TimingWheel.Timeout schedule(Duration delay, Runnable task)
+	{
+		return millis.schedule(task, Math.max(1, delay.toMillis()), 0);
+	}
+
+	/**
+	 * Runs a task periodically in real time, the first time after {@code delay}.
+	 */
+	public TimingWheel.Timeout scheduleAtFixedRate(Duration delay, Duration period, Runnable task)
+	{
+		if (period.toMillis() < 1)
+		{
+			throw new IllegalArgumentException("period " + period);
+		}
+
+		return millis.schedule(task, Math.max(1, delay.toMillis()), period.toMillis());
+	}
+
+	/**
+	 * Called on the client thread once per game tick, before the game tick event is posted. Moves on
+	 * to the new tick and collects the tasks due on it, which {@link #runTicks()} runs.
+	 */
+	public void advanceTicks()
+	{
+		ticks.advance(ticks.getTime() + 1, dueTicks);
+	}
+
+	/**
+	 * Called on the client thread once per game tick, after the game tick event has been posted.
+	 */
+	public void runTicks()
+	{
+		run(dueTicks);
+	}
+
+	/**
+	 * Called on the client thread every frame.
+	 */
+	public void advanceTime()
+	{
+		millis.advance(currentMillis(), dueMillis);
+		run(dueMillis);
+	}
+
+	private void run(List<TimingWheel.Timeout> expired)
+	{
+		for (int i = 0; i < expired.size(); i++)
+		{
+			final TimingWheel.Timeout timeout = expired.get(i);
+
+			// An earlier task of the same batch may have cancelled it
+			if (timeout.isCancelled())
+			{
+				continue;
+			}
+
+			try
+			{
+				timeout.getTask().run();
+			}
+			catch (Exception ex)
+			{
+				log.warn("Error running timer task: {}", ex.toString());
+				ex.printStackTrace();
+			}
+		}
+
+		expired.clear();
+	}
+
+	private static long currentMillis()
+	{
+		return TimeUnit.NANOSECONDS.toMillis(System.nanoTime());
+	}
+}
@@ -0,0 +1,317 @@
+package meteor.task;
+
+import java.util.List;
+
+/**
+ * A hierarchical timing wheel: timeouts are kept in slots by deadline, on {@value #LEVELS} levels of
+ * {@value #SLOTS} slots, each level covering {@value #SLOTS} times the span of the one below it.
+ * Timeouts move down a level each time the level below wraps around, and expire from the lowest
+ * level exactly at their deadline.
+ * <p>
+ * Scheduling and cancelling are constant time. Advancing costs the number of timeouts expiring or
+ * moving down a level; empty slots are skipped using an occupancy bitmap per level, so advancing over
+ * a long idle span is cheap.
+ * <p>
+ * Time is in abstract units, such as game ticks or milliseconds, and must never go backwards.
+ */
+public class TimingWheel
+{
+	private static final int BITS = 6;
+	private static final int SLOTS = 1 << BITS;
+	private static final int MASK = SLOTS - 1;
+	private static final int LEVELS = 5;
+
+	/**
+	 * A scheduled task, which can be cancelled until it runs.
+	 */
+	public static final class Timeout
+	{
+		private final TimingWheel wheel;
+		private final Runnable task;
+		private final long period;
+		private long deadline;
+
+		// position in the wheel, level -1 for the overflow list and -2 when not scheduled
+		private int level = -2;
+		private int slot;
+		private Timeout prev;
+		private Timeout next;
+		private boolean cancelled;
+
+		private Timeout(TimingWheel wheel, Runnable task, long deadline, long period)
+		{
+			this.wheel = wheel;
+			this.task = task;
+			this.deadline = deadline;
+			this.period = period;
+		}
+
+		/**
+		 * Stops the task from running, or from running again if it repeats.
+		 *
+		 * @return whether it was still scheduled
+		 */
+		public boolean cancel()
+		{
+			return wheel.cancel(this);
+		}
+
+		public boolean isCancelled()
+		{
+			synchronized (wheel)
+			{
+				return cancelled;
+			}
+		}
+
+		/**
+		 * @return the time it runs next, or last ran if it does not repeat
+		 */
+		public long getDeadline()
+		{
+			synchronized (wheel)
+			{
+				return deadline;
+			}
+		}
+
+		Runnable getTask()
+		{
+			return task;
+		}
+	}
+
+	private final Timeout[][] slots = new Timeout[LEVELS][SLOTS];
+	private final long[] occupied = new long[LEVELS];
+	private Timeout overflow;
+	private long time;
+	private int size;
+
+	public TimingWheel(long time)
+	{
+		this.time = time;
+	}
+
+	public synchronized long getTime()
+	{
+		return time;
+	}
+
+	public synchronized int size()
+	{
+		return size;
+	}
+
+	/**
+	 * @param delay  time until the task runs, at least 1
+	 * @param period time between runs, or 0 to run once
+	 */
+	public synchronized Timeout schedule(Runnable task, long delay, long period)
+	{
+		if (delay < 1 || period < 0)
+		{
+			throw new IllegalArgumentException("delay " + delay + ", period " + period);
+		}
+
+		Timeout timeout = new Timeout(this, task, time + delay, period);
+		insert(timeout);
+		return timeout;
+	}
+
+	private synchronized boolean cancel(Timeout timeout)
+	{
+		if (timeout.cancelled)
+		{
+			return false;
+		}
+
+		timeout.cancelled = true;
+		if (timeout.level == -2)
+		{
+			return false;
+		}
+
+		unlink(timeout);
+		return true;
+	}
+
+	/**
+	 * Moves time forward, collecting the timeouts which are due. Repeating timeouts are scheduled
+	 * again before they are returned; the tasks are left for the caller to run, outside of the lock.
+	 */
+	public synchronized void advance(long now, List<Timeout> expired)
+	{
+		while (time < now)
+		{
+			if (size == 0)
+			{
+				time = now;
+				return;
+			}
+
+			final long next = next();
+			if (next > now)
+			{
+				time = now;
+				return;
+			}
+
+			time = next;
+			if (((int) time & MASK) == 0)
+			{
+				cascade();
+			}
+			expire((int) time & MASK, expired);
+		}
+	}
+
+	/*
+	 * The time of the next occupied slot, found on the lowest level with an occupied slot still to
+	 * come in its current turn, or else the time the top level wraps around and the overflow is due.
+	 */
+	private long next()
+	{
+		for (int level = 0; level < LEVELS; level++)
+		{
+			final int shift = BITS * level;
+			final int digit = (int) (time >>> shift) & MASK;
+			final long later = digit == MASK ? 0 : occupied[level] & (-1L << (digit + 1));
+			if (later != 0)
+			{
+				return (time & -(1L << (shift + BITS))) + ((long) Long.numberOfTrailingZeros(later) << shift);
+			}
+		}
+
+		return (time & -(1L << (BITS * LEVELS))) + (1L << (BITS * LEVELS));
+	}
+
+	// moves the timeouts of every level whose turn has come down to the levels below
+	private void cascade()
+	{
+		if ((time & ((1L << (BITS * LEVELS)) - 1)) == 0)
+		{
+			Timeout timeout = overflow;
+			overflow = null;
+			reinsert(timeout);
+		}
+
+		for (int level = LEVELS - 1; level > 0; level--)
+		{
+			if ((time & ((1L << (BITS * level)) - 1)) != 0)
+			{
+				continue;
+			}
+
+			final int slot = (int) (time >>> (BITS * level)) & MASK;
+			final Timeout timeout = slots[level][slot];
+			slots[level][slot] = null;
+			occupied[level] &= ~(1L << slot);
+			reinsert(timeout);
+		}
+	}
+
+	private void reinsert(Timeout timeout)
+	{
+		while (timeout != null)
+		{
+			final Timeout next = timeout.next;
+			size--;
+			insert(timeout);
+			timeout = next;
+		}
+	}
+
+	private void expire(int slot, List<Timeout> expired)
+	{
+		Timeout timeout = slots[0][slot];
+		slots[0][slot] = null;
+		occupied[0] &= ~(1L << slot);
+
+		while (timeout != null)
+		{
+			final Timeout next = timeout.next;
+			size--;
+			timeout.level = -2;
+			timeout.prev = timeout.next = null;
+
+			if (timeout.period > 0)
+			{
+				timeout.deadline += timeout.period;
+				insert(timeout);
+			}
+
+			expired.add(timeout);
+			timeout = next;
+		}
+	}
+
+	private void insert(Timeout timeout)
+	{
+		size++;
+
+		final long deadline = timeout.deadline;
+		for (int level = 0; level < LEVELS; level++)
+		{
+			// The lowest level on which the deadline is in the current turn of the level above
+			if (((deadline ^ time) >>> (BITS * (level + 1))) == 0)
+			{
+				final int slot = (int) (deadline >>> (BITS * level)) & MASK;
+				link(timeout, level, slot);
+				return;
+			}
+		}
+
+		timeout.level = -1;
+		timeout.prev = null;
+		timeout.next = overflow;
+		if (overflow != null)
+		{
+			overflow.prev = timeout;
+		}
+		overflow = timeout;
+	}
+
+	private void link(Timeout timeout, int level, int slot)
+	{
+		final Timeout head = slots[level][slot];
+		timeout.level = level;
+		timeout.slot = slot;
+		timeout.prev = null;
+		timeout.next = head;
+		if (head != null)
+		{
+			head.prev = timeout;
+		}
+		slots[level][slot] = timeout;
+		occupied[level] |= 1L << slot;
+	}
+
+	private void unlink(Timeout timeout)
+	{
+		if (timeout.prev != null)
+		{
+			timeout.prev.next = timeout.next;
+		}
+		else if (timeout.level == -1)
+		{
+			overflow = timeout.next;
+		}
+		else
+		{
+			slots[timeout.level][timeout.slot] = timeout.next;
+			if (timeout.next == null)
+			{
+				occupied[timeout.level] &= ~(1L << timeout.slot);
+			}
+		}
+
+		if (timeout.next != null)
+		{
+			timeout.next.prev = timeout.prev;
+		}
+
+		timeout.level = -2;
+		timeout.prev = timeout.next = null;
+		size--;
+	}
+}
@@ -29,6 +29,8 @@ import com.google.common.base.Strings;
 import com.google.common.collect.ComparisonChain;
 import java.awt.Graphics;
 import java.awt.image.BufferedImage;
+import java.time.Duration;
+import java.time.Instant;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.Comparator;
@@ -45,6 +47,7 @@ import meteor.eventbus.EventBus;
 import meteor.eventbus.Subscribe;
 import meteor.eventbus.events.ConfigChanged;
 import meteor.eventbus.events.InfoBoxMenuClicked;
+import meteor.task.TimerService;
 import meteor.ui.overlay.OverlayManager;
 import meteor.ui.overlay.OverlayMenuEntry;
 import meteor.ui.overlay.components.ComponentOrientation;
@@ -72,6 +75,19 @@ public class InfoBoxManager {
   private static final OverlayMenuEntry DELETE_ME = new OverlayMenuEntry(
       MenuAction.RUNELITE_INFOBOX, DELETE, "InfoBox Group");
 
+  // Timers are removed by their expiry, only infoboxes with their own cull() need to be polled
+  private static final ClassValue<Boolean> CULLED = new ClassValue<>() {
+    @Override
+    protected Boolean computeValue(Class<?> type) {
+      try {
+        Class<?> declaringClass = type.getMethod("cull").getDeclaringClass();
+        return declaringClass != InfoBox.class && declaringClass != Timer.class;
+      } catch (NoSuchMethodException ex) {
+        throw new IllegalStateException(ex);
+      }
+    }
+  };
+
   private final Map<String, InfoBoxOverlay> layers = new ConcurrentHashMap<>();
 
   private final RuneLiteConfig runeLiteConfig;
@@ -80,6 +96,7 @@ public class InfoBoxManager {
   private final EventBus eventBus;
   private final OverlayManager overlayManager;
   private final ConfigManager configManager;
+  private final TimerService timerService;
 
   @Inject
   private InfoBoxManager(
@@ -88,13 +105,15 @@ public class InfoBoxManager {
       final Client client,
       final EventBus eventBus,
       final OverlayManager overlayManager,
-      final ConfigManager configManager) {
+      final ConfigManager configManager,
+      final TimerService timerService) {
     this.runeLiteConfig = runeLiteConfig;
     this.tooltipManager = tooltipManager;
     this.client = client;
     this.eventBus = eventBus;
     this.overlayManager = overlayManager;
     this.configManager = configManager;
+    this.timerService = timerService;
     eventBus.register(this);
   }
 
@@ -179,6 +198,11 @@ public class InfoBoxManager {
           .compare(b1.getPlugin().getName(), b2.getPlugin().getName())
           .result());
       overlay.getInfoBoxes().add(idx, infoBox);
+
+      if (infoBox instanceof Timer) {
+        ((Timer) infoBox).manager = this;
+        scheduleExpiry((Timer) infoBox);
+      }
     }
 
     BufferedImage image = infoBox.getImage();
@@ -196,6 +220,10 @@ public class InfoBoxManager {
 
     layers.get(getLayer(infoBox)).getInfoBoxes().remove(infoBox);
 
+    if (infoBox instanceof Timer) {
+      cancelExpiry((Timer) infoBox);
+    }
+
     infoBox.getMenuEntries().remove(DETACH_ME);
     infoBox.getMenuEntries().remove(FLIP_ME);
     infoBox.getMenuEntries().remove(DELETE_ME);
@@ -203,7 +231,16 @@ public class InfoBoxManager {
 
   public synchronized void removeIf(Predicate<InfoBox> filter) {
     for (InfoBoxOverlay overlay : layers.values()) {
-      overlay.getInfoBoxes().removeIf(filter);
+      overlay.getInfoBoxes().removeIf(infoBox -> {
+        if (!filter.test(infoBox)) {
+          return false;
+        }
+
+        if (infoBox instanceof Timer) {
+          cancelExpiry((Timer) infoBox);
+        }
+        return true;
+      });
     }
   }
 
@@ -213,7 +250,33 @@ public class InfoBoxManager {
   }
 
   public synchronized void cull() {
-    layers.values().forEach(l -> l.getInfoBoxes().removeIf(InfoBox::cull));
+    layers.values().forEach(l -> l.getInfoBoxes()
+        .removeIf(infoBox -> CULLED.get(infoBox.getClass()) && infoBox.cull()));
+  }
+
+  /**
+   * Removes a timer when it ends, scheduled again whenever its duration changes.
+   */
+  synchronized void scheduleExpiry(Timer timer) {
+    if (timer.manager != this) {
+      // Removed meanwhile
+      return;
+    }
+
+    if (timer.expiry != null) {
+      timer.expiry.cancel();
+    }
+
+    timer.expiry = timerService.schedule(Duration.between(Instant.now(), timer.getEndTime()),
+        () -> removeInfoBox(timer));
+  }
+
+  private void cancelExpiry(Timer timer) {
+    if (timer.expiry != null) {
+      timer.expiry.cancel();
+      timer.expiry = null;
+    }
+    timer.manager = null;
   }
 
   public void updateInfoBoxImage(final InfoBox infoBox) {
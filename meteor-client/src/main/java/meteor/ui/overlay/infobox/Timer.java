@@ -30,9 +30,11 @@ import java.awt.image.BufferedImage;
 import java.time.Duration;
 import java.time.Instant;
 import java.time.temporal.ChronoUnit;
+import lombok.AccessLevel;
 import lombok.Getter;
 import lombok.ToString;
 import meteor.plugins.Plugin;
+import meteor.task.TimingWheel;
 
 @Getter
 @ToString
@@ -42,6 +44,14 @@ public class Timer extends meteor.ui.overlay.infobox.InfoBox {
   private Instant endTime;
   private Duration duration;
 
+  // Set by the infobox manager while the timer is shown, to remove it when it ends
+  @Getter(AccessLevel.NONE)
+  @ToString.Exclude
+  InfoBoxManager manager;
+  @Getter(AccessLevel.NONE)
+  @ToString.Exclude
+  TimingWheel.Timeout expiry;
+
   public Timer(long period, ChronoUnit unit, BufferedImage image, Plugin plugin) {
     super(image, plugin);
 
@@ -91,5 +101,10 @@ public class Timer extends meteor.ui.overlay.infobox.InfoBox {
   public void setDuration(Duration duration) {
     this.duration = duration;
     endTime = startTime.plus(duration);
+
+    InfoBoxManager manager = this.manager;
+    if (manager != null) {
+      manager.scheduleExpiry(this);
+    }
   }
 }
@@ -0,0 +1,161 @@
+package meteor.util;
+
+import java.awt.Color;
+import java.awt.image.BufferedImage;
+import java.util.function.Predicate;
+import java.util.stream.IntStream;
+
+/**
+ * Pixel loops behind {@link ImageUtil}, run over arrays of ARGB ints rather than through a
+ * getRGB and setRGB call for every pixel.
+ * <p>
+ * Pixels are copied out of and into {@code DataBufferInt} rasters in bulk with getDataElements and
+ * setDataElements instead of taking the backing array itself, as that would stop Java2D from
+ * caching the image in video memory and make the results, which are mostly drawn every frame,
+ * slower to draw. Images of at least {@link #PARALLEL_PIXELS} pixels are processed in bands of
+ * rows on the common pool.
+ */
+final class ImageKernels {
+
+  static final int PARALLEL_PIXELS = 256 * 256;
+  private static final int BAND_ROWS = 32;
+
+  private ImageKernels() {
+  }
+
+  interface RowKernel {
+
+    /**
+     * Process the pixels of rows [from, to)
+     */
+    void apply(int from, int to);
+  }
+
+  /**
+   * @return the pixels of the image in the default ARGB color model, row by row
+   */
+  static int[] getArgb(final BufferedImage image) {
+    final int width = image.getWidth();
+    final int height = image.getHeight();
+    if (image.getType() == BufferedImage.TYPE_INT_ARGB) {
+      return (int[]) image.getRaster().getDataElements(0, 0, width, height, null);
+    }
+    return image.getRGB(0, 0, width, height, null, 0, width);
+  }
+
+  static BufferedImage toImage(final int[] argb, final int width, final int height) {
+    final BufferedImage image = new BufferedImage(width, height, BufferedImage.TYPE_INT_ARGB);
+    image.getRaster().setDataElements(0, 0, width, height, argb);
+    return image;
+  }
+
+  static void forRows(final int width, final int height, final RowKernel kernel) {
+    if (width * height < PARALLEL_PIXELS) {
+      kernel.apply(0, height);
+      return;
+    }
+
+    final int bands = (height + BAND_ROWS - 1) / BAND_ROWS;
+    IntStream.range(0, bands).parallel().forEach(band ->
+        kernel.apply(band * BAND_ROWS, Math.min(height, (band + 1) * BAND_ROWS)));
+  }
+
+  /**
+   * Set every pixel which is not fully transparent to argb, and every other pixel to 0
+   */
+  static int[] fill(final int[] src, final int width, final int height, final int argb) {
+    final int[] dst = new int[src.length];
+    forRows(width, height, (from, to) -> {
+      for (int i = from * width, end = to * width; i < end; ++i) {
+        if (src[i] >>> 24 != 0) {
+          dst[i] = argb;
+        }
+      }
+    });
+    return dst;
+  }
+
+  /**
+   * Set every pixel the condition holds for to argb. The condition is tested once per run of
+   * equal pixels and always on the calling thread, as it need not be thread safe.
+   */
+  static int[] recolor(final int[] src, final int argb, final Predicate<Color> condition) {
+    final int[] dst = new int[src.length];
+    int last = 0;
+    boolean lastResult = false, tested = false;
+    for (int i = 0; i < src.length; ++i) {
+      final int pixel = src[i];
+      if (!tested || pixel != last) {
+        last = pixel;
+        lastResult = condition.test(new Color(pixel, true));
+        tested = true;
+      }
+      dst[i] = lastResult ? argb : pixel;
+    }
+    return dst;
+  }
+
+  /**
+   * Replace the red, green and blue of every pixel, keeping the other bits as they are
+   */
+  static void setRgb(final int[] pixels, final int width, final int height, final int rgb) {
+    final int color = rgb & 0xFFFFFF;
+    forRows(width, height, (from, to) -> {
+      for (int i = from * width, end = to * width; i < end; ++i) {
+        pixels[i] = (pixels[i] & 0xFF000000) | color;
+      }
+    });
+  }
+
+  /**
+   * Outline the non-transparent pixels of an image with an opaque color, then draw the image
+   * over the outline. Returns null if the image has translucent pixels, as those would have to be
+   * blended with the outline.
+   */
+  static int[] outline(final int[] src, final int width, final int height, final int argb,
+      final boolean corners) {
+    for (int pixel : src) {
+      final int alpha = pixel >>> 24;
+      if (alpha != 0 && alpha != 0xFF) {
+        return null;
+      }
+    }
+
+    final int[] dst = new int[src.length];
+    forRows(width, height, (from, to) -> {
+      for (int y = from; y < to; ++y) {
+        for (int x = 0, i = y * width; x < width; ++x, ++i) {
+          if (src[i] >>> 24 != 0) {
+            dst[i] = src[i];
+          } else if (touches(src, width, height, x, y, corners)) {
+            dst[i] = argb;
+          }
+        }
+      }
+    });
+    return dst;
+  }
+
+  // whether a non-transparent pixel next to (x, y) would have been drawn over it
+  private static boolean touches(final int[] src, final int width, final int height, final int x,
+      final int y, final boolean corners) {
+    for (int dy = -1; dy <= 1; ++dy) {
+      final int sy = y - dy;
+      if (sy < 0 || sy >= height) {
+        continue;
+      }
+
+      for (int dx = -1; dx <= 1; ++dx) {
+        if ((dx == 0 && dy == 0) || (!corners && Math.abs(dx) + Math.abs(dy) != 1)) {
+          continue;
+        }
+
+        final int sx = x - dx;
+        if (sx >= 0 && sx < width && src[sy * width + sx] >>> 24 != 0) {
+          return true;
+        }
+      }
+    }
+    return false;
+  }
+}
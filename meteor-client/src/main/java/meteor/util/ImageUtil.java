@@ -39,7 +39,9 @@ import java.io.IOException;
 import java.io.InputStream;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.function.Predicate;
 import javax.imageio.ImageIO;
 import javax.swing.GrayFilter;
@@ -320,6 +322,17 @@ public class ImageUtil {
    */
   public static BufferedImage outlineImage(final BufferedImage image, final Color color,
       final Boolean outlineCorners) {
+    if (color.getAlpha() == 0xFF) {
+      final int width = image.getWidth();
+      final int height = image.getHeight();
+      final int[] outlined = ImageKernels.outline(ImageKernels.getArgb(image), width, height,
+          color.getRGB(), outlineCorners);
+      if (outlined != null) {
+        return ImageKernels.toImage(outlined, width, height);
+      }
+    }
+
+    // translucent pixels or outlines have to be blended by Java2D
     final BufferedImage filledImage = fillImage(image, color);
     final BufferedImage outlinedImage = new BufferedImage(image.getWidth(), image.getHeight(),
         BufferedImage.TYPE_INT_ARGB);
@@ -386,20 +399,11 @@ public class ImageUtil {
    * @return The given image with all non-transparent pixels set to the given color.
    */
   public static BufferedImage fillImage(final BufferedImage image, final Color color) {
-    final BufferedImage filledImage = new BufferedImage(image.getWidth(), image.getHeight(),
-        BufferedImage.TYPE_INT_ARGB);
-    for (int x = 0; x < filledImage.getWidth(); x++) {
-      for (int y = 0; y < filledImage.getHeight(); y++) {
-        int pixel = image.getRGB(x, y);
-        int a = pixel >>> 24;
-        if (a == 0) {
-          continue;
-        }
-
-        filledImage.setRGB(x, y, color.getRGB());
-      }
-    }
-    return filledImage;
+    final int width = image.getWidth();
+    final int height = image.getHeight();
+    return ImageKernels.toImage(
+        ImageKernels.fill(ImageKernels.getArgb(image), width, height, color.getRGB()),
+        width, height);
   }
 
   /**
@@ -424,26 +428,44 @@ public class ImageUtil {
    * @return The buffered image as a sprite image
    */
   public static SpritePixels getImageSpritePixels(BufferedImage image, Client client) {
-    int[] pixels = new int[image.getWidth() * image.getHeight()];
-
-    try {
-      PixelGrabber g = new PixelGrabber(image, 0, 0, image.getWidth(), image.getHeight(), pixels, 0,
-          image.getWidth());
-      g.setColorModel(new DirectColorModel(32, 0xff0000, 0xff00, 0xff, 0xff000000));
-      g.grabPixels();
-
-      // Make any fully transparent pixels fully black, because the sprite draw routines
-      // check for == 0, not actual transparency
-      for (int i = 0; i < pixels.length; i++) {
-        if ((pixels[i] & 0xFF000000) == 0) {
-          pixels[i] = 0;
-        }
+    return client.createSpritePixels(getSpritePixelArray(image), image.getWidth(),
+        image.getHeight());
+  }
+
+  /**
+   * Gets the pixels of the buffered image in the layout of a sprite image, without needing a
+   * client to create the sprite with
+   *
+   * @param image The image to be converted
+   * @return The ARGB pixels of the image, with fully transparent pixels set to 0
+   */
+  public static int[] getSpritePixelArray(BufferedImage image) {
+    int[] pixels;
+
+    if (image.getType() == BufferedImage.TYPE_INT_ARGB) {
+      pixels = ImageKernels.getArgb(image);
+    } else {
+      pixels = new int[image.getWidth() * image.getHeight()];
+
+      try {
+        PixelGrabber g = new PixelGrabber(image, 0, 0, image.getWidth(), image.getHeight(), pixels,
+            0, image.getWidth());
+        g.setColorModel(new DirectColorModel(32, 0xff0000, 0xff00, 0xff, 0xff000000));
+        g.grabPixels();
+      } catch (InterruptedException ignore) {
+
       }
-    } catch (InterruptedException ignore) {
+    }
 
+    // Make any fully transparent pixels fully black, because the sprite draw routines
+    // check for == 0, not actual transparency
+    for (int i = 0; i < pixels.length; i++) {
+      if ((pixels[i] & 0xFF000000) == 0) {
+        pixels[i] = 0;
+      }
     }
 
-    return client.createSpritePixels(pixels, image.getWidth(), image.getHeight());
+    return pixels;
   }
 
   /**
@@ -458,15 +480,15 @@ public class ImageUtil {
   public static IndexedSprite getImageIndexedSprite(BufferedImage image, Client client) {
     final byte[] pixels = new byte[image.getWidth() * image.getHeight()];
     final List<Integer> palette = new ArrayList<>();
+    final Map<Integer, Integer> paletteIndices = new HashMap<>();
 		/*
 			When drawing the indexed sprite, palette idx 0 is seen as fully transparent,
 			so pad the palette out so that our colors start at idx 1.
 		 */
     palette.add(0);
+    paletteIndices.put(0, 0);
 
-    final int[] sourcePixels = image.getRGB(0, 0,
-        image.getWidth(), image.getHeight(),
-        null, 0, image.getWidth());
+    final int[] sourcePixels = ImageKernels.getArgb(image);
 
 		/*
 			Build a color palette and assign the pixels to positions in the palette.
@@ -481,12 +503,10 @@ public class ImageUtil {
 
       // If the pixel is fully opaque, draw it.
       if (a == 0xFF) {
-        paletteIdx = palette.indexOf(rgb);
-
-        if (paletteIdx == -1) {
-          paletteIdx = palette.size();
-          palette.add(rgb);
-        }
+        paletteIdx = paletteIndices.computeIfAbsent(rgb, c -> {
+          palette.add(c);
+          return palette.size() - 1;
+        });
       }
 
       pixels[j] = (byte) paletteIdx;
@@ -523,20 +543,9 @@ public class ImageUtil {
    */
   public static BufferedImage recolorImage(final BufferedImage image, final Color color,
       final Predicate<Color> recolorCondition) {
-    final BufferedImage recoloredImage = new BufferedImage(image.getWidth(), image.getHeight(),
-        BufferedImage.TYPE_INT_ARGB);
-    for (int x = 0; x < recoloredImage.getWidth(); x++) {
-      for (int y = 0; y < recoloredImage.getHeight(); y++) {
-        final Color pixelColor = new Color(image.getRGB(x, y), true);
-        if (!recolorCondition.test(pixelColor)) {
-          recoloredImage.setRGB(x, y, image.getRGB(x, y));
-          continue;
-        }
-
-        recoloredImage.setRGB(x, y, color.getRGB());
-      }
-    }
-    return recoloredImage;
+    return ImageKernels.toImage(
+        ImageKernels.recolor(ImageKernels.getArgb(image), color.getRGB(), recolorCondition),
+        image.getWidth(), image.getHeight());
   }
 
   public static BufferedImage recolorImage(BufferedImage image, final Color color) {
@@ -544,6 +553,17 @@ public class ImageUtil {
     int height = image.getHeight();
     WritableRaster raster = image.getRaster();
 
+    switch (image.getType()) {
+      case BufferedImage.TYPE_INT_ARGB:
+      case BufferedImage.TYPE_INT_ARGB_PRE:
+      case BufferedImage.TYPE_INT_RGB:
+        // red, green and blue are the low three bytes of each int
+        int[] data = (int[]) raster.getDataElements(0, 0, width, height, null);
+        ImageKernels.setRgb(data, width, height, color.getRGB());
+        raster.setDataElements(0, 0, width, height, data);
+        return image;
+    }
+
     for (int xx = 0; xx < width; xx++) {
       for (int yy = 0; yy < height; yy++) {
         int[] pixels = raster.getPixel(xx, yy, (int[]) null);
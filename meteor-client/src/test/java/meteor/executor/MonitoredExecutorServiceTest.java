@@ -0,0 +1,112 @@
+package meteor.executor;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+public class MonitoredExecutorServiceTest {
+
+  private ExecutorMetrics metrics;
+  private ExecutorService executor;
+  private CountDownLatch release;
+
+  @BeforeEach
+  public void before() {
+    metrics = new ExecutorMetrics();
+    executor = new MonitoredExecutorService(Executors.newSingleThreadExecutor(), ExecutorTier.IO,
+        metrics);
+    release = new CountDownLatch(1);
+  }
+
+  @AfterEach
+  public void after() {
+    release.countDown();
+    executor.shutdownNow();
+  }
+
+  @Test
+  public void startedTasksLeaveTheQueue() throws Exception {
+    CountDownLatch started = block();
+    Future<?> queued = executor.submit(() -> {
+    });
+    assertEquals(1, queued());
+
+    release.countDown();
+    queued.get(5, TimeUnit.SECONDS);
+    assertEquals(0, queued());
+    assertTrue(started.await(0, TimeUnit.SECONDS));
+  }
+
+  @Test
+  public void cancelledTasksLeaveTheQueue() throws Exception {
+    block();
+    Future<?> runnable = executor.submit(() -> {
+    });
+    Future<String> callable = executor.submit(() -> "never");
+    Future<String> result = executor.submit(() -> {
+    }, "never");
+    assertEquals(3, queued());
+
+    assertTrue(runnable.cancel(false));
+    assertTrue(callable.cancel(true));
+    assertTrue(result.cancel(false));
+    assertEquals(0, queued());
+
+    // cancelling again, or once the task ran, changes nothing
+    runnable.cancel(false);
+    release.countDown();
+    executor.submit(() -> {
+    }).get(5, TimeUnit.SECONDS);
+    assertEquals(0, queued());
+  }
+
+  @Test
+  public void leftoverTasksOfInvokeAnyLeaveTheQueue() throws Exception {
+    List<Callable<Integer>> tasks = new ArrayList<>();
+    for (int i = 0; i < 5; i++) {
+      int value = i;
+      tasks.add(() -> value);
+    }
+
+    // one thread, so the first task wins and the others are cancelled before they start
+    assertEquals(0, (int) executor.invokeAny(tasks));
+    assertEquals(0, queued());
+
+    assertEquals(5, executor.invokeAll(tasks, 5, TimeUnit.SECONDS).size());
+    assertEquals(0, queued());
+  }
+
+  // occupies the only thread until release
+  private CountDownLatch block() throws InterruptedException {
+    CountDownLatch started = new CountDownLatch(1);
+    executor.execute(() -> {
+      started.countDown();
+      try {
+        release.await();
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+      }
+    });
+    assertTrue(started.await(5, TimeUnit.SECONDS));
+    return started;
+  }
+
+  private int queued() {
+    int queued = 0;
+    for (TaskStats stats : metrics.getStats()) {
+      queued += stats.getQueued();
+    }
+    return queued;
+  }
+}
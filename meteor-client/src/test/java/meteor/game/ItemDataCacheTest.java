@@ -0,0 +1,146 @@
+package meteor.game;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import com.google.common.io.MoreFiles;
+import com.google.common.io.RecursiveDeleteOption;
+import com.sun.net.httpserver.HttpServer;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Map;
+import net.runelite.http.api.item.ItemClient;
+import net.runelite.http.api.item.ItemPrice;
+import net.runelite.http.api.item.ItemStats;
+import okhttp3.OkHttpClient;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Runs {@link ItemDataCache} against an {@link ItemDataStandIn} on a free local port.
+ */
+public class ItemDataCacheTest {
+
+  private ItemDataStandIn standIn;
+  private HttpServer server;
+  private Path directory;
+  private ItemClient itemClient;
+  private ItemDataCache cache;
+
+  @BeforeEach
+  public void before() throws IOException {
+    standIn = new ItemDataStandIn();
+    server = standIn.serve(0);
+
+    String url = "http://127.0.0.1:" + server.getAddress().getPort();
+    System.setProperty("runelite.http-service.url", url);
+    System.setProperty("runelite.static.url", url);
+
+    directory = Files.createTempDirectory("item-data");
+    itemClient = new ItemClient(new OkHttpClient());
+    cache = new ItemDataCache(itemClient, directory.toFile());
+  }
+
+  @AfterEach
+  public void after() throws IOException {
+    server.stop(0);
+    System.clearProperty("runelite.http-service.url");
+    System.clearProperty("runelite.static.url");
+    MoreFiles.deleteRecursively(directory, RecursiveDeleteOption.ALLOW_INSECURE);
+  }
+
+  @Test
+  public void downloadsOnceThenRevalidates() throws IOException {
+    ItemPriceTable prices = cache.refreshPrices(ItemPriceTable.EMPTY);
+    ItemStatsTable stats = cache.refreshStats(ItemStatsTable.EMPTY);
+    assertPrices(ItemDataStandIn.prices(3), prices);
+    assertStats(ItemDataStandIn.stats(), stats);
+    assertNotNull(prices.getEtag());
+    assertEquals(2, standIn.getDownloads());
+
+    // unchanged data is neither downloaded nor parsed again
+    assertSame(prices, cache.refreshPrices(prices));
+    assertSame(stats, cache.refreshStats(stats));
+    assertEquals(2, standIn.getDownloads());
+    assertEquals(2, standIn.getNotModified());
+  }
+
+  @Test
+  public void snapshotsMatchTheDownload() throws IOException {
+    assertNull(cache.loadPrices());
+    assertNull(cache.loadStats());
+
+    ItemPriceTable prices = cache.refreshPrices(ItemPriceTable.EMPTY);
+    ItemStatsTable stats = cache.refreshStats(ItemStatsTable.EMPTY);
+
+    ItemPriceTable cachedPrices = cache.loadPrices();
+    ItemStatsTable cachedStats = cache.loadStats();
+    assertPrices(ItemDataStandIn.prices(3), cachedPrices);
+    assertStats(ItemDataStandIn.stats(), cachedStats);
+    assertEquals(prices.getEtag(), cachedPrices.getEtag());
+    assertEquals(stats.getEtag(), cachedStats.getEtag());
+
+    // a client starting from the snapshots only revalidates them
+    assertSame(cachedPrices, cache.refreshPrices(cachedPrices));
+    assertSame(cachedStats, cache.refreshStats(cachedStats));
+    assertEquals(2, standIn.getDownloads());
+  }
+
+  @Test
+  public void changedDataIsDownloadedAgain() throws IOException {
+    ItemPriceTable prices = cache.refreshPrices(ItemPriceTable.EMPTY);
+
+    ItemPrice[] changed = ItemDataStandIn.prices(5);
+    standIn.setPrices(changed);
+
+    ItemPriceTable refreshed = cache.refreshPrices(prices);
+    assertNotSame(prices, refreshed);
+    assertPrices(changed, refreshed);
+    assertPrices(changed, cache.loadPrices());
+    assertEquals(refreshed.getEtag(), cache.loadPrices().getEtag());
+  }
+
+  @Test
+  public void failedLookups() throws IOException {
+    ItemPriceTable prices = cache.refreshPrices(ItemPriceTable.EMPTY);
+    standIn.setStatus(500);
+
+    assertThrows(IOException.class, () -> cache.refreshPrices(prices));
+    assertThrows(IOException.class, () -> cache.refreshStats(ItemStatsTable.EMPTY));
+
+    // the snapshot of the last good download is kept
+    assertPrices(ItemDataStandIn.prices(3), cache.loadPrices());
+
+    // the plain lookups keep returning null on failure
+    assertNull(itemClient.getPrices());
+    assertNull(itemClient.getStats());
+  }
+
+  private static void assertPrices(ItemPrice[] expected, ItemPriceTable actual) {
+    assertNotNull(actual);
+    assertEquals(expected.length, actual.size());
+    for (ItemPrice price : expected) {
+      assertEquals(price.getPrice(), actual.getPrice(price.getId()));
+      assertEquals(price.getWikiPrice(), actual.getWikiPrice(price.getId()));
+      assertEquals(price.getName(), actual.getName(price.getId()));
+    }
+    // ids without a price
+    assertEquals(0, actual.getPrice(1));
+    assertNull(actual.getName(1));
+  }
+
+  private static void assertStats(Map<Integer, ItemStats> expected, ItemStatsTable actual) {
+    assertNotNull(actual);
+    assertEquals(expected.size(), actual.size());
+    for (Map.Entry<Integer, ItemStats> entry : expected.entrySet()) {
+      assertEquals(entry.getValue(), actual.get(entry.getKey()));
+    }
+    assertNull(actual.get(1));
+  }
+}
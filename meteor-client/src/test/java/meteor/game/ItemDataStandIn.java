@@ -0,0 +1,161 @@
+package meteor.game;
+
+import com.google.common.hash.Hashing;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import net.runelite.http.api.RuneLiteAPI;
+import net.runelite.http.api.item.ItemEquipmentStats;
+import net.runelite.http.api.item.ItemPrice;
+import net.runelite.http.api.item.ItemStats;
+import org.sponge.util.Logger;
+
+/**
+ * A local stand-in for the item price and stats endpoints, which answers conditional requests the
+ * way the real ones do. Serves prices.js and stats.ids.min.json from a directory, or generated
+ * data without one. Run it and point the client at it with
+ * -Drunelite.http-service.url=http://127.0.0.1:port -Drunelite.static.url=http://127.0.0.1:port
+ */
+public class ItemDataStandIn {
+
+  static final String PRICES = "/item/prices.js";
+  static final String STATS = "/item/stats.ids.min.json";
+
+  private static final Logger log = new Logger("ItemDataStandIn");
+
+  private final Map<String, byte[]> files = new ConcurrentHashMap<>();
+  private final AtomicInteger downloads = new AtomicInteger();
+  private final AtomicInteger notModified = new AtomicInteger();
+  private volatile int status = 200;
+
+  public static void main(String[] args) throws IOException {
+    int port = args.length > 0 ? Integer.parseInt(args[0]) : 8089;
+    ItemDataStandIn standIn = new ItemDataStandIn();
+    if (args.length > 1) {
+      File directory = new File(args[1]);
+      standIn.files.put(PRICES, Files.readAllBytes(new File(directory, "prices.js").toPath()));
+      standIn.files.put(STATS,
+          Files.readAllBytes(new File(directory, "stats.ids.min.json").toPath()));
+    }
+
+    String url = "http://127.0.0.1:" + standIn.serve(port).getAddress().getPort();
+    log.info("Serving item data on {}, start the client with -Drunelite.http-service.url={}"
+        + " -Drunelite.static.url={}", url, url, url);
+  }
+
+  /**
+   * Serve generated prices and stats
+   */
+  ItemDataStandIn() {
+    setPrices(prices(3));
+    setStats(stats());
+  }
+
+  /**
+   * Generate prices for every sixth item id, of {@code factor} times the id
+   */
+  static ItemPrice[] prices(int factor) {
+    ItemPrice[] prices = new ItemPrice[26000 / 6 + 1];
+    for (int i = 0; i < prices.length; i++) {
+      int id = i * 6;
+      ItemPrice price = new ItemPrice();
+      price.setId(id);
+      price.setName("Item " + id);
+      price.setPrice(id * factor);
+      price.setWikiPrice(id % 4 == 0 ? id * factor + 7 : 0);
+      prices[i] = price;
+    }
+    return prices;
+  }
+
+  /**
+   * Generate stats for every even item id, with equipment stats for every sixth
+   */
+  static Map<Integer, ItemStats> stats() {
+    Map<Integer, ItemStats> stats = new HashMap<>();
+    for (int id = 0; id < 26000; id += 2) {
+      ItemEquipmentStats equipment = id % 3 != 0 ? null : ItemEquipmentStats.builder()
+          .slot(id % 14).isTwoHanded(id % 9 == 0).astab(id % 100).dcrush(-(id % 50))
+          .str(id % 30).aspeed(4 + id % 3).build();
+      stats.put(id, new ItemStats(id % 5 == 0, equipment != null, id / 1000.0, id % 13 * 100,
+          equipment));
+    }
+    return stats;
+  }
+
+  void setPrices(ItemPrice[] prices) {
+    files.put(PRICES, RuneLiteAPI.GSON.toJson(prices).getBytes(StandardCharsets.UTF_8));
+  }
+
+  void setStats(Map<Integer, ItemStats> stats) {
+    files.put(STATS, RuneLiteAPI.GSON.toJson(stats).getBytes(StandardCharsets.UTF_8));
+  }
+
+  /**
+   * Answer every request with this status instead, unless it is 200
+   */
+  void setStatus(int status) {
+    this.status = status;
+  }
+
+  /**
+   * @return the number of responses with a body
+   */
+  int getDownloads() {
+    return downloads.get();
+  }
+
+  /**
+   * @return the number of 304 responses
+   */
+  int getNotModified() {
+    return notModified.get();
+  }
+
+  /**
+   * Serve on the loopback address, on any free port if {@code port} is 0
+   */
+  HttpServer serve(int port) throws IOException {
+    HttpServer server = HttpServer.create(
+        new InetSocketAddress(InetAddress.getLoopbackAddress(), port), 0);
+    server.createContext("/", this::handle);
+    server.start();
+    return server;
+  }
+
+  private void handle(HttpExchange exchange) throws IOException {
+    try (HttpExchange e = exchange) {
+      byte[] body = files.get(e.getRequestURI().getPath());
+      if (status != 200 || body == null) {
+        e.sendResponseHeaders(status != 200 ? status : 404, -1);
+        return;
+      }
+
+      String etag = "\"" + Hashing.sha256().hashBytes(body).toString().substring(0, 16) + "\"";
+      e.getResponseHeaders().set("ETag", etag);
+      if (etag.equals(e.getRequestHeaders().getFirst("If-None-Match"))) {
+        log.debug("{} not modified", e.getRequestURI().getPath());
+        notModified.incrementAndGet();
+        e.sendResponseHeaders(304, -1);
+        return;
+      }
+
+      log.debug("{} sent, {} bytes", e.getRequestURI().getPath(), body.length);
+      downloads.incrementAndGet();
+      e.sendResponseHeaders(200, body.length);
+      try (OutputStream out = e.getResponseBody()) {
+        out.write(body);
+      }
+    }
+  }
+}
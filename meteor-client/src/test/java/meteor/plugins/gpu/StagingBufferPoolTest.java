@@ -0,0 +1,119 @@
+package meteor.plugins.gpu;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.IntBuffer;
+import org.junit.jupiter.api.Test;
+
+public class StagingBufferPoolTest {
+
+  @Test
+  public void sizeClasses() {
+    assertEquals(0, StagingBufferPool.sizeClass(0));
+    assertEquals(0, StagingBufferPool.sizeClass(1 << 16));
+    assertEquals(1, StagingBufferPool.sizeClass((1 << 16) + 1));
+    assertEquals(1, StagingBufferPool.sizeClass(1 << 17));
+    assertEquals(StagingBufferPool.MAX_SLAB_SHIFT - StagingBufferPool.MIN_SLAB_SHIFT,
+        StagingBufferPool.sizeClass(1 << 30));
+    assertEquals(1 << 17, StagingBufferPool.slabSize(1));
+
+    assertThrows(IllegalArgumentException.class, () -> StagingBufferPool.sizeClass(-1));
+    assertThrows(IllegalArgumentException.class,
+        () -> StagingBufferPool.sizeClass((1 << 30) + 1));
+  }
+
+  @Test
+  public void releasedSlabsAreReused() {
+    StagingBufferPool pool = new StagingBufferPool();
+
+    ByteBuffer slab = pool.acquire(100_000);
+    assertTrue(slab.isDirect());
+    assertEquals(1 << 17, slab.capacity());
+    assertEquals(ByteOrder.nativeOrder(), slab.order());
+    assertEquals(1 << 17, pool.getInUseBytes());
+
+    slab.putInt(42);
+    pool.release(slab);
+    assertEquals(0, pool.getInUseBytes());
+
+    // any size of the same class gets the released slab back, cleared
+    ByteBuffer again = pool.acquire(1 << 17);
+    assertSame(slab, again);
+    assertEquals(0, again.position());
+    assertEquals(again.capacity(), again.limit());
+
+    // a different class does not
+    ByteBuffer small = pool.acquire(10);
+    assertNotSame(slab, small);
+
+    assertEquals(2, pool.getAllocations());
+    assertEquals(1, pool.getReuses());
+    assertEquals(1, pool.getReleases());
+    assertEquals((1 << 17) + (1 << 16), pool.getAllocatedBytes());
+    assertEquals((1 << 17) + (1 << 16), pool.getHighWaterMark());
+  }
+
+  @Test
+  public void restartReusesGrownSlabs() {
+    StagingBufferPool pool = new StagingBufferPool();
+
+    GpuIntBuffer buffer = new GpuIntBuffer(pool);
+    buffer.ensureCapacity(1 << 20);
+    ByteBuffer uniform = pool.acquire(1 << 15);
+    pool.release(uniform);
+    buffer.release();
+    int allocations = pool.getAllocations();
+    long allocated = pool.getAllocatedBytes();
+    assertEquals(0, pool.getInUseBytes());
+
+    // a second run grows to the same size without allocating anything new
+    GpuIntBuffer restarted = new GpuIntBuffer(pool);
+    restarted.ensureCapacity(1 << 20);
+    assertSame(uniform, pool.acquire(1 << 15));
+    assertEquals(allocations, pool.getAllocations());
+    assertEquals(allocated, pool.getAllocatedBytes());
+    assertEquals(3, pool.getReuses());
+  }
+
+  @Test
+  public void rejectsForeignBuffers() {
+    StagingBufferPool pool = new StagingBufferPool();
+
+    assertThrows(IllegalArgumentException.class, () -> pool.release(ByteBuffer.allocate(1 << 16)));
+    assertThrows(IllegalArgumentException.class,
+        () -> pool.release(ByteBuffer.allocateDirect(100_000)));
+    assertThrows(IllegalArgumentException.class,
+        () -> pool.release(ByteBuffer.allocateDirect(1024)));
+  }
+
+  @Test
+  public void growingKeepsContentsAndReturnsOldSlab() {
+    StagingBufferPool pool = new StagingBufferPool();
+    GpuIntBuffer buffer = new GpuIntBuffer(pool);
+    int initial = buffer.getBuffer().capacity();
+
+    for (int i = 0; i < initial; ++i) {
+      buffer.put(i, i, i);
+      buffer.ensureCapacity(3);
+    }
+
+    assertTrue(buffer.getBuffer().capacity() >= initial * 3);
+    assertTrue(pool.getReleases() > 0);
+
+    buffer.flip();
+    IntBuffer ints = buffer.getBuffer();
+    assertEquals(initial * 3, ints.limit());
+    for (int i = 0; i < initial * 3; ++i) {
+      assertEquals(i / 3, ints.get(i));
+    }
+
+    buffer.release();
+    assertEquals(0, pool.getInUseBytes());
+  }
+}
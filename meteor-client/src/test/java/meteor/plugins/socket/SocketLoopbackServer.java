@@ -0,0 +1,230 @@
+package meteor.plugins.socket;
+
+import meteor.plugins.socket.org.json.JSONArray;
+import meteor.plugins.socket.org.json.JSONException;
+import meteor.plugins.socket.org.json.JSONObject;
+import org.sponge.util.Logger;
+
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * A local stand-in for the socket server, for the tests and to try the socket plugins without the
+ * public servers. Run it and point the plugin at it with the custom server address 127.0.0.1.
+ * <p>
+ * It speaks the same protocol: clients join a room with a JOIN packet, every member of the room is
+ * told about joins and leaves, and BROADCAST packets are relayed to the whole room, sender included.
+ * Names and payloads are relayed as they are, still encrypted.
+ */
+public class SocketLoopbackServer implements Closeable
+{
+    private static final Logger log = new Logger("SocketLoopbackServer");
+
+    private final ServerSocket server;
+    private final Map<String, List<Member>> rooms = new HashMap<>();
+    private final List<Socket> sockets = new CopyOnWriteArrayList<>();
+
+    /**
+     * @param port The port to listen on, or 0 for any free one.
+     */
+    public SocketLoopbackServer(int port) throws IOException
+    {
+        this.server = new ServerSocket(port, 50, InetAddress.getLoopbackAddress());
+    }
+
+    public static void main(String[] args) throws IOException
+    {
+        int port = args.length > 0 ? Integer.parseInt(args[0]) : 26388;
+        new SocketLoopbackServer(port).serve();
+    }
+
+    public int getPort()
+    {
+        return this.server.getLocalPort();
+    }
+
+    /**
+     * Accept connections on a daemon thread until the server is closed.
+     */
+    public void start()
+    {
+        Thread thread = new Thread(() ->
+        {
+            try
+            {
+                this.serve();
+            }
+            catch (IOException e)
+            {
+                log.debug("Stopped accepting: {}", e.getMessage());
+            }
+        }, "Loopback-" + this.getPort());
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    public void serve() throws IOException
+    {
+        log.info("Listening on {}", this.server.getLocalSocketAddress());
+        while (!this.server.isClosed())
+        {
+            Socket socket = this.server.accept();
+            socket.setTcpNoDelay(true);
+            this.sockets.add(socket);
+
+            Thread thread = new Thread(() -> this.handle(socket), "Loopback-" + socket.getPort());
+            thread.setDaemon(true);
+            thread.start();
+        }
+    }
+
+    /**
+     * Stop accepting and drop every connection, the way a server shutting down would.
+     */
+    @Override
+    public void close() throws IOException
+    {
+        this.server.close();
+        for (Socket socket : this.sockets)
+        {
+            socket.close();
+        }
+    }
+
+    private void handle(Socket socket)
+    {
+        Member member = null;
+        try (Socket s = socket)
+        {
+            BufferedReader reader = new BufferedReader(new InputStreamReader(s.getInputStream(), StandardCharsets.UTF_8));
+            OutputStream output = s.getOutputStream();
+
+            String line;
+            while ((line = reader.readLine()) != null)
+            {
+                if (line.isEmpty())
+                {
+                    continue; // Heartbeat.
+                }
+
+                JSONObject data;
+                try
+                {
+                    data = new JSONObject(line);
+                }
+                catch (JSONException e)
+                {
+                    log.warn("Bad packet: {}", line);
+                    continue;
+                }
+
+                String header = data.optString("header");
+                if (header.equals(SocketPacket.JOIN) && member == null)
+                {
+                    member = new Member(data.getString("room"), data.getString("name"), output);
+                    this.membership(SocketPacket.JOIN, member);
+                }
+                else if (header.equals(SocketPacket.BROADCAST) && member != null)
+                {
+                    JSONObject packet = new JSONObject();
+                    packet.put("header", SocketPacket.BROADCAST);
+                    packet.put("payload", data.getString("payload"));
+                    this.relay(member.room, packet);
+                }
+            }
+        }
+        catch (IOException | JSONException e)
+        {
+            log.debug("Connection closed: {}", e.getMessage());
+        }
+
+        if (member != null)
+        {
+            this.membership(SocketPacket.LEAVE, member);
+        }
+        this.sockets.remove(socket);
+    }
+
+    private void membership(String header, Member member)
+    {
+        JSONObject packet = new JSONObject();
+        packet.put("header", header);
+        packet.put("player", member.name);
+
+        synchronized (this.rooms)
+        {
+            List<Member> room = this.rooms.computeIfAbsent(member.room, r -> new ArrayList<>());
+            if (header.equals(SocketPacket.JOIN))
+            {
+                room.add(member);
+            }
+            else
+            {
+                room.remove(member);
+            }
+
+            JSONArray party = new JSONArray();
+            for (Member m : room)
+            {
+                party.put(m.name);
+            }
+            packet.put("party", party);
+
+            log.info("{} room {}, {} member(s)", header, member.room.substring(0, 8), room.size());
+        }
+
+        this.relay(member.room, packet);
+    }
+
+    private void relay(String roomId, JSONObject packet)
+    {
+        byte[] bytes = (packet.toString() + "\n").getBytes(StandardCharsets.UTF_8);
+
+        List<Member> room;
+        synchronized (this.rooms)
+        {
+            room = new ArrayList<>(this.rooms.getOrDefault(roomId, new ArrayList<>()));
+        }
+
+        for (Member member : room)
+        {
+            try
+            {
+                synchronized (member.output)
+                {
+                    member.output.write(bytes);
+                    member.output.flush();
+                }
+            }
+            catch (IOException ignored)
+            { // The member's own thread notices and leaves the room.
+            }
+        }
+    }
+
+    private static class Member
+    {
+        private final String room;
+        private final String name;
+        private final OutputStream output;
+
+        private Member(String room, String name, OutputStream output)
+        {
+            this.room = room;
+            this.name = name;
+            this.output = output;
+        }
+    }
+}
@@ -0,0 +1,182 @@
+package meteor.plugins.socket;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import meteor.plugins.socket.org.json.JSONObject;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Runs {@link SocketTransport} against a {@link SocketLoopbackServer} on a free local port.
+ */
+public class SocketTransportTest
+{
+    private static final String ROOM = "0123456789abcdef0123456789abcdef";
+    private static final long TIMEOUT = 10;
+
+    private SocketLoopbackServer server;
+    private final List<Client> clients = new ArrayList<>();
+
+    @BeforeEach
+    public void before() throws IOException
+    {
+        this.server = new SocketLoopbackServer(0);
+        this.server.start();
+    }
+
+    @AfterEach
+    public void after() throws IOException
+    {
+        for (Client client : this.clients)
+        {
+            client.transport.close();
+        }
+        this.server.close();
+    }
+
+    @Test
+    public void broadcastsReachTheWholeRoom() throws Exception
+    {
+        Client alice = this.join("alice");
+        Client bob = this.join("bob");
+
+        // alice also hears bob join, with both of them in the party
+        JSONObject join = alice.next();
+        assertEquals(SocketPacket.JOIN, join.getString("header"));
+        assertEquals("bob", join.getString("player"));
+        assertEquals(2, join.getJSONArray("party").length());
+
+        alice.transport.send(broadcast("hello"));
+        assertEquals("hello", alice.next().getString("payload"));
+        assertEquals("hello", bob.next().getString("payload"));
+    }
+
+    @Test
+    public void framesArriveWholeAndInOrder() throws Exception
+    {
+        Client alice = this.join("alice");
+
+        // larger than the initial read buffer, so it arrives over several reads
+        StringBuilder large = new StringBuilder();
+        while (large.length() < 100_000)
+        {
+            large.append("0123456789");
+        }
+
+        alice.transport.send(broadcast(large.toString()));
+        for (int i = 0; i < 500; i++)
+        {
+            alice.transport.send(broadcast(Integer.toString(i)));
+        }
+
+        assertEquals(large.toString(), alice.next().getString("payload"));
+        for (int i = 0; i < 500; i++)
+        {
+            assertEquals(Integer.toString(i), alice.next().getString("payload"));
+        }
+    }
+
+    @Test
+    public void leavingUpdatesTheRoom() throws Exception
+    {
+        Client alice = this.join("alice");
+        Client bob = this.join("bob");
+        alice.next(); // bob's join
+
+        bob.transport.close();
+        assertTrue(bob.closed.await(TIMEOUT, TimeUnit.SECONDS));
+        assertNull(bob.cause, "closed locally");
+
+        JSONObject leave = alice.next();
+        assertEquals(SocketPacket.LEAVE, leave.getString("header"));
+        assertEquals("bob", leave.getString("player"));
+        assertEquals(1, leave.getJSONArray("party").length());
+    }
+
+    @Test
+    public void serverShutdownClosesTheConnection() throws Exception
+    {
+        Client alice = this.join("alice");
+
+        this.server.close();
+        assertTrue(alice.closed.await(TIMEOUT, TimeUnit.SECONDS));
+        assertTrue(alice.cause instanceof IOException, String.valueOf(alice.cause));
+    }
+
+    // connect, join the room and wait for the server to confirm
+    private Client join(String name) throws Exception
+    {
+        Client client = new Client();
+        client.transport = new SocketTransport("127.0.0.1", this.server.getPort(), client);
+        this.clients.add(client);
+
+        JSONObject packet = new JSONObject();
+        packet.put("header", SocketPacket.JOIN);
+        packet.put("room", ROOM);
+        packet.put("name", name);
+
+        // queued before connecting, written once connected
+        client.transport.send(packet.toString());
+        client.transport.start();
+
+        assertTrue(client.connected.await(TIMEOUT, TimeUnit.SECONDS));
+        JSONObject join = client.next();
+        assertEquals(SocketPacket.JOIN, join.getString("header"));
+        assertEquals(name, join.getString("player"));
+        return client;
+    }
+
+    private static String broadcast(String payload)
+    {
+        JSONObject packet = new JSONObject();
+        packet.put("header", SocketPacket.BROADCAST);
+        packet.put("payload", payload);
+        return packet.toString();
+    }
+
+    private static class Client implements SocketTransport.Listener
+    {
+        private final CountDownLatch connected = new CountDownLatch(1);
+        private final CountDownLatch closed = new CountDownLatch(1);
+        private final BlockingQueue<String> frames = new LinkedBlockingQueue<>();
+        private SocketTransport transport;
+        private volatile Exception cause;
+
+        @Override
+        public void onConnect()
+        {
+            this.connected.countDown();
+        }
+
+        @Override
+        public void onFrame(String frame)
+        {
+            this.frames.add(frame);
+        }
+
+        @Override
+        public void onClose(Exception cause)
+        {
+            this.cause = cause;
+            this.closed.countDown();
+        }
+
+        private JSONObject next() throws InterruptedException
+        {
+            String frame = this.frames.poll(TIMEOUT, TimeUnit.SECONDS);
+            assertNotNull(frame, "timed out waiting for a frame");
+            return new JSONObject(frame);
+        }
+    }
+}
@@ -0,0 +1,212 @@
+package meteor.plugins.socket.codec;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import meteor.plugins.socket.org.json.JSONObject;
+import meteor.plugins.socketDPS.DpsHitMessage;
+import meteor.plugins.socketdefence.DefenceHitMessage;
+import meteor.plugins.sockethealing.HealthMessage;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+public class SocketCodecTest
+{
+    private SocketCodec codec;
+
+    @BeforeEach
+    public void before()
+    {
+        this.codec = new SocketCodec();
+        this.codec.register(DpsHitMessage.TYPE);
+        this.codec.register(HealthMessage.TYPE);
+        this.codec.register(DefenceHitMessage.TYPE);
+    }
+
+    @Test
+    public void messagesRoundTrip()
+    {
+        List<Object> messages = Arrays.asList(
+            new DpsHitMessage("Party member", 8360, 47, 416),
+            new HealthMessage("P\u00e4rty m\u00e9mber", -5),
+            new DefenceHitMessage("Xarpus", "dwh", 53),
+            new DpsHitMessage("", Integer.MAX_VALUE, 0, 1));
+
+        List<byte[]> frames = this.codec.encode(messages, Integer.MAX_VALUE);
+        assertEquals(1, frames.size());
+        assertTrue(SocketCodec.isBinary(frames.get(0)));
+        assertEquals(SocketCodec.VERSION, frames.get(0)[1]);
+
+        assertEquals(messages, this.codec.decode(frames.get(0)));
+    }
+
+    @Test
+    public void jsonPayloadsPassThrough()
+    {
+        JSONObject other = new JSONObject();
+        other.put("some-plugin", new JSONObject().put("value", 3));
+
+        HealthMessage health = new HealthMessage("Party member", 87);
+        List<Object> decoded = this.codec.decode(
+            this.codec.encode(Arrays.asList(other, health), Integer.MAX_VALUE).get(0));
+
+        assertEquals(2, decoded.size());
+        assertTrue(other.similar(decoded.get(0)), String.valueOf(decoded.get(0)));
+        assertEquals(health, decoded.get(1));
+    }
+
+    @Test
+    public void largeBatchesAreSplit()
+    {
+        List<Object> messages = new ArrayList<>();
+        for (int i = 0; i < 100; i++)
+        {
+            messages.add(new DpsHitMessage("Party member " + i, 8360, i, 416));
+        }
+
+        List<byte[]> frames = this.codec.encode(messages, 256);
+        assertTrue(frames.size() > 1);
+
+        List<Object> decoded = new ArrayList<>();
+        for (byte[] frame : frames)
+        {
+            assertTrue(frame.length <= 256, "frame of " + frame.length + " bytes");
+            assertTrue(SocketCodec.isBinary(frame));
+            decoded.addAll(this.codec.decode(frame));
+        }
+        assertEquals(messages, decoded);
+    }
+
+    @Test
+    public void jsonMessagesDecodeToTheSameMessage()
+    {
+        List<SocketMessage> messages = Arrays.asList(
+            new DpsHitMessage("Party member", 8360, 47, 416),
+            new HealthMessage("Party member", 87),
+            new DefenceHitMessage("Xarpus", "dwh", 53));
+
+        for (SocketMessage message : messages)
+        {
+            assertEquals(message, this.codec.decode(new JSONObject(message.toJSON().toString())));
+        }
+
+        assertNull(this.codec.decode(new JSONObject().put("some-plugin", 1)));
+    }
+
+    @Test
+    public void unknownMessagesAreSkipped()
+    {
+        SocketCodec sender = new SocketCodec();
+        sender.register(DpsHitMessage.TYPE);
+        sender.register(HealthMessage.TYPE);
+
+        this.codec.unregister(DpsHitMessage.TYPE);
+
+        HealthMessage health = new HealthMessage("Party member", 87);
+        byte[] frame = sender.encode(
+            Arrays.asList(new DpsHitMessage("Party member", 8360, 47, 416), health), Integer.MAX_VALUE).get(0);
+
+        assertEquals(Arrays.asList(health), this.codec.decode(frame));
+    }
+
+    @Test
+    public void otherVersionsAreIgnored()
+    {
+        byte[] frame = this.codec.encode(Arrays.asList(new HealthMessage("Party member", 87)), Integer.MAX_VALUE).get(0);
+        frame[1] = (byte) (SocketCodec.VERSION + 1);
+
+        assertTrue(this.codec.decode(frame).isEmpty());
+    }
+
+    @Test
+    public void truncatedFramesAreRejected()
+    {
+        List<Object> messages = Arrays.asList(
+            new DpsHitMessage("Party member", 8360, 47, 416),
+            new HealthMessage("Party member", 87),
+            new DefenceHitMessage("Xarpus", "dwh", 53));
+        byte[] frame = this.codec.encode(messages, Integer.MAX_VALUE).get(0);
+
+        int whole = 0;
+        for (int length = 1; length < frame.length; length++)
+        {
+            byte[] truncated = Arrays.copyOf(frame, length);
+            List<Object> decoded;
+            try
+            {
+                decoded = this.codec.decode(truncated);
+            }
+            catch (IllegalArgumentException e)
+            {
+                continue;
+            }
+
+            // Cut between two messages, the frame is still whole.
+            assertEquals(messages.subList(0, decoded.size()), decoded, "cut at " + length);
+            whole++;
+        }
+        // Right after the version, and after the first and the second message.
+        assertEquals(3, whole);
+    }
+
+    @Test
+    public void malformedLengthsAreRejected()
+    {
+        byte[] frame = this.codec.encode(Arrays.asList(new HealthMessage("Party member", 87)), Integer.MAX_VALUE).get(0);
+
+        // The length of the first message, after the marker, the version and the type id.
+        byte[] tooLong = frame.clone();
+        tooLong[6] = 0x7F;
+        assertThrows(IllegalArgumentException.class, () -> this.codec.decode(tooLong));
+
+        // A varint of more than five bytes.
+        byte[] endless = Arrays.copyOf(frame, 16);
+        Arrays.fill(endless, 6, 16, (byte) 0xFF);
+        assertThrows(IllegalArgumentException.class, () -> this.codec.decode(endless));
+
+        // Fields shorter than the message type reads.
+        byte[] tooShort = frame.clone();
+        tooShort[6] = 1;
+        assertThrows(IllegalArgumentException.class, () -> this.codec.decode(Arrays.copyOf(tooShort, 8)));
+    }
+
+    @Test
+    public void jsonIsNotBinary()
+    {
+        assertFalse(SocketCodec.isBinary("{\"a\":1}".getBytes(StandardCharsets.UTF_8)));
+        assertFalse(SocketCodec.isBinary(new byte[0]));
+    }
+
+    @Test
+    public void fieldsRoundTrip()
+    {
+        int[] values = {0, 1, 127, 128, 16383, 16384, Integer.MAX_VALUE, -1, Integer.MIN_VALUE};
+
+        PacketWriter writer = new PacketWriter(1);
+        for (int value : values)
+        {
+            writer.writeVarInt(value).writeSignedVarInt(value).writeInt(value);
+        }
+        writer.writeString("h\u00e9llo w\u00f6rld").writeBoolean(true).writeBytes(new byte[]{1, 2, 3});
+
+        PacketReader reader = new PacketReader(writer.toByteArray());
+        for (int value : values)
+        {
+            assertEquals(value, reader.readVarInt());
+            assertEquals(value, reader.readSignedVarInt());
+            assertEquals(value, reader.readInt());
+        }
+        assertEquals("h\u00e9llo w\u00f6rld", reader.readString());
+        assertTrue(reader.readBoolean());
+        assertArrayEquals(new byte[]{1, 2, 3}, reader.readBytes());
+        assertEquals(0, reader.remaining());
+    }
+}
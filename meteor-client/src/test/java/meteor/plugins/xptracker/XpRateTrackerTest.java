@@ -0,0 +1,116 @@
+package meteor.plugins.xptracker;
+
+import static meteor.plugins.xptracker.XpRateTracker.LAST_15_MINUTES;
+import static meteor.plugins.xptracker.XpRateTracker.LAST_5_MINUTES;
+import static meteor.plugins.xptracker.XpRateTracker.LAST_60_MINUTES;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.Test;
+
+public class XpRateTrackerTest
+{
+	private static final long MINUTE = TimeUnit.MINUTES.toMillis(1);
+	private static final long NOW = 1_700_000_000_000L;
+
+	@Test
+	public void windowsExpireExactlyAtTheirLength()
+	{
+		XpRateTracker tracker = new XpRateTracker(NOW);
+		tracker.add(NOW + MINUTE, 1000);
+
+		// under a minute of session, rates are over a minute
+		assertEquals(60_000, tracker.getXpPerHour(LAST_5_MINUTES, NOW + MINUTE));
+
+		assertEquals(12_000, tracker.getXpPerHour(LAST_5_MINUTES, NOW + 6 * MINUTE - 1));
+		assertEquals(0, tracker.getXpPerHour(LAST_5_MINUTES, NOW + 6 * MINUTE));
+		assertEquals(10_000, tracker.getXpPerHour(LAST_15_MINUTES, NOW + 6 * MINUTE));
+
+		assertEquals(4_000, tracker.getXpPerHour(LAST_15_MINUTES, NOW + 16 * MINUTE - 1));
+		assertEquals(0, tracker.getXpPerHour(LAST_15_MINUTES, NOW + 16 * MINUTE));
+
+		assertTrue(tracker.isActive(NOW + 61 * MINUTE - 1));
+		assertEquals(1000, tracker.getXpPerHour(LAST_60_MINUTES, NOW + 61 * MINUTE - 1));
+		assertFalse(tracker.isActive(NOW + 61 * MINUTE));
+	}
+
+	@Test
+	public void closeDropsAreMerged()
+	{
+		XpRateTracker tracker = new XpRateTracker(NOW);
+		tracker.add(NOW + MINUTE, 100);
+		tracker.add(NOW + MINUTE + 999, 50);
+		tracker.add(NOW + MINUTE + 1000, 25);
+
+		// the merged drop expires with the first of them
+		long expiry = NOW + 6 * MINUTE;
+		assertEquals(175 * 12, tracker.getXpPerHour(LAST_5_MINUTES, expiry - 1));
+		assertEquals(25 * 12, tracker.getXpPerHour(LAST_5_MINUTES, expiry));
+	}
+
+	@Test
+	public void roundTrip() throws IOException
+	{
+		// a session restored across logins for longer than an int of milliseconds
+		long start = NOW - TimeUnit.DAYS.toMillis(40);
+		XpRateTracker tracker = new XpRateTracker(start);
+		tracker.add(NOW - 70 * MINUTE, 5000);
+		tracker.add(NOW - 50 * MINUTE, 300);
+		tracker.add(NOW - 10 * MINUTE, 200);
+		tracker.add(NOW - 2 * MINUTE - 500, 40);
+		tracker.add(NOW - 2 * MINUTE, 60);
+
+		XpRateTracker restored = new XpRateTracker(0);
+		restored.read(read(write(tracker, NOW)), NOW);
+
+		// the drop of 70 minutes ago was not kept, the two close ones were merged
+		assertEquals(300 + 200 + 100, restored.getXpPerHour(LAST_60_MINUTES, NOW));
+
+		for (long now : new long[]{NOW, NOW + 3 * MINUTE, NOW + 8 * MINUTE, NOW + 9 * MINUTE, NOW + 58 * MINUTE})
+		{
+			for (int window : new int[]{LAST_5_MINUTES, LAST_15_MINUTES, LAST_60_MINUTES})
+			{
+				assertEquals(tracker.getXpPerHour(window, now), restored.getXpPerHour(window, now),
+					"window " + window + " at " + (now - NOW));
+			}
+			assertEquals(tracker.isActive(now), restored.isActive(now));
+		}
+		assertFalse(restored.isActive(NOW + 58 * MINUTE));
+	}
+
+	@Test
+	public void roundTripWithoutDrops() throws IOException
+	{
+		XpRateTracker tracker = new XpRateTracker(NOW);
+		tracker.add(NOW + MINUTE, 100);
+
+		XpRateTracker restored = new XpRateTracker(0);
+		restored.read(read(write(tracker, NOW + 2 * 60 * MINUTE)), NOW + 2 * 60 * MINUTE);
+
+		assertFalse(restored.isActive(NOW + 2 * 60 * MINUTE));
+		restored.add(NOW + 2 * 60 * MINUTE, 500);
+		assertEquals(6_000, restored.getXpPerHour(LAST_5_MINUTES, NOW + 2 * 60 * MINUTE));
+	}
+
+	private static byte[] write(XpRateTracker tracker, long now) throws IOException
+	{
+		ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+		try (DataOutputStream out = new DataOutputStream(bytes))
+		{
+			tracker.write(out, now);
+		}
+		return bytes.toByteArray();
+	}
+
+	private static DataInputStream read(byte[] bytes)
+	{
+		return new DataInputStream(new ByteArrayInputStream(bytes));
+	}
+}
@@ -0,0 +1,107 @@
+package meteor.task;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+public class TimerServiceTest
+{
+	private final TimerService timerService = new TimerService();
+	// the tick each task ran on
+	private final List<Long> runs = new ArrayList<>();
+
+	@Test
+	public void scheduledBetweenTicks()
+	{
+		tick();
+		timerService.scheduleTicks(1, this::record);
+		timerService.scheduleTicks(3, this::record);
+
+		tick();
+		assertEquals(List.of(2L), runs);
+		tick();
+		tick();
+		assertEquals(List.of(2L, 4L), runs);
+	}
+
+	@Test
+	public void scheduledDuringTick()
+	{
+		tick(() ->
+		{
+			timerService.scheduleTicks(1, this::record);
+			timerService.scheduleTicks(3, this::record);
+		});
+		assertTrue(runs.isEmpty(), runs.toString());
+
+		for (int i = 0; i < 4; i++)
+		{
+			tick();
+		}
+		assertEquals(List.of(2L, 4L), runs);
+	}
+
+	@Test
+	public void scheduledByTask()
+	{
+		tick();
+		timerService.scheduleTicks(1, () ->
+		{
+			record();
+			timerService.scheduleTicks(2, this::record);
+		});
+
+		for (int i = 0; i < 4; i++)
+		{
+			tick();
+		}
+		assertEquals(List.of(2L, 4L), runs);
+	}
+
+	@Test
+	public void fixedRateDuringTick()
+	{
+		tick(() -> timerService.scheduleTicksAtFixedRate(2, 3, this::record));
+
+		for (int i = 0; i < 9; i++)
+		{
+			tick();
+		}
+		assertEquals(List.of(3L, 6L, 9L), runs);
+	}
+
+	@Test
+	public void cancelledDuringDueTick()
+	{
+		TimingWheel.Timeout timeout = timerService.scheduleTicks(2, this::record);
+
+		tick();
+		// a game tick subscriber can still cancel a task due on the same tick
+		tick(timeout::cancel);
+		tick();
+		assertTrue(runs.isEmpty(), runs.toString());
+	}
+
+	private void tick()
+	{
+		tick(() ->
+		{
+		});
+	}
+
+	// the order of Hooks.clientMainLoop, with the game tick subscribers in between
+	private void tick(Runnable onGameTick)
+	{
+		timerService.advanceTicks();
+		onGameTick.run();
+		timerService.runTicks();
+	}
+
+	private void record()
+	{
+		runs.add(timerService.getTick());
+	}
+}
@@ -0,0 +1,214 @@
+package meteor.task;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import org.junit.jupiter.api.Test;
+
+public class TimingWheelTest
+{
+	private static final Runnable TASK = () ->
+	{
+	};
+
+	// 64 slots per level, 5 levels
+	private static final long[] DELAYS = {
+		1, 2, 63, 64, 65, 127, 128,
+		(1L << 12) - 1, 1L << 12, (1L << 12) + 1,
+		(1L << 18) - 1, 1L << 18, (1L << 18) + 1,
+		(1L << 24) - 1, 1L << 24, (1L << 24) + 1,
+		(1L << 30) - 1, 1L << 30, (1L << 30) + 1,
+		(3L << 30) + 5,
+	};
+
+	@Test
+	public void expiresExactlyAtDeadline()
+	{
+		// from the start of every level, and from times in the middle of them
+		for (long start : new long[]{0, 1, 63, 64 * 64 - 1, 1_000_003, (1L << 30) - 2, 5L << 30})
+		{
+			for (long delay : DELAYS)
+			{
+				TimingWheel wheel = new TimingWheel(start);
+				TimingWheel.Timeout timeout = wheel.schedule(TASK, delay, 0);
+				assertEquals(start + delay, timeout.getDeadline());
+
+				List<TimingWheel.Timeout> expired = new ArrayList<>();
+				if (delay > 1)
+				{
+					wheel.advance(start + delay - 1, expired);
+					assertTrue(expired.isEmpty(), "start " + start + ", delay " + delay + " expired early");
+				}
+
+				wheel.advance(start + delay, expired);
+				assertEquals(List.of(timeout), expired, "start " + start + ", delay " + delay);
+				assertEquals(0, wheel.size());
+				assertEquals(start + delay, wheel.getTime());
+			}
+		}
+	}
+
+	@Test
+	public void expiresInDeadlineOrder()
+	{
+		Random random = new Random(49);
+		TimingWheel wheel = new TimingWheel(12345);
+		List<TimingWheel.Timeout> pending = new ArrayList<>();
+
+		for (int round = 0; round < 200; round++)
+		{
+			for (int i = 0; i < 20; i++)
+			{
+				// delays spread over every level and the overflow
+				long delay = 1 + (random.nextLong() >>> (random.nextInt(31) + 33));
+				pending.add(wheel.schedule(TASK, delay, 0));
+			}
+			assertEquals(pending.size(), wheel.size());
+
+			long now = wheel.getTime() + (random.nextLong() >>> (random.nextInt(40) + 24));
+			List<TimingWheel.Timeout> expected = new ArrayList<>();
+			for (TimingWheel.Timeout timeout : pending)
+			{
+				if (timeout.getDeadline() <= now)
+				{
+					expected.add(timeout);
+				}
+			}
+			pending.removeAll(expected);
+
+			List<TimingWheel.Timeout> expired = new ArrayList<>();
+			wheel.advance(now, expired);
+			assertEquals(expected.size(), expired.size(), "round " + round);
+			assertTrue(expired.containsAll(expected), "round " + round);
+			for (int i = 1; i < expired.size(); i++)
+			{
+				assertTrue(expired.get(i - 1).getDeadline() <= expired.get(i).getDeadline());
+			}
+		}
+	}
+
+	@Test
+	public void cancelBeforeCascade()
+	{
+		TimingWheel wheel = new TimingWheel(0);
+		// on the second level until time 192
+		TimingWheel.Timeout timeout = wheel.schedule(TASK, 200, 0);
+		TimingWheel.Timeout other = wheel.schedule(TASK, 201, 0);
+
+		List<TimingWheel.Timeout> expired = new ArrayList<>();
+		wheel.advance(100, expired);
+		assertTrue(timeout.cancel());
+		assertFalse(timeout.cancel());
+		assertTrue(timeout.isCancelled());
+		assertEquals(1, wheel.size());
+
+		wheel.advance(300, expired);
+		assertEquals(List.of(other), expired);
+		assertEquals(0, wheel.size());
+	}
+
+	@Test
+	public void cancelAfterCascade()
+	{
+		TimingWheel wheel = new TimingWheel(0);
+		TimingWheel.Timeout timeout = wheel.schedule(TASK, 200, 0);
+		TimingWheel.Timeout other = wheel.schedule(TASK, 200, 0);
+		// in the overflow until the top level wraps around
+		TimingWheel.Timeout far = wheel.schedule(TASK, (1L << 30) + 200, 0);
+
+		List<TimingWheel.Timeout> expired = new ArrayList<>();
+		wheel.advance(195, expired);
+		assertTrue(expired.isEmpty());
+		assertTrue(timeout.cancel());
+
+		wheel.advance(1L << 30, expired);
+		assertEquals(List.of(other), expired);
+		assertTrue(far.cancel());
+		assertEquals(0, wheel.size());
+
+		expired.clear();
+		wheel.advance(2L << 30, expired);
+		assertTrue(expired.isEmpty());
+	}
+
+	@Test
+	public void cancelAfterExpiry()
+	{
+		TimingWheel wheel = new TimingWheel(0);
+		TimingWheel.Timeout timeout = wheel.schedule(TASK, 3, 0);
+
+		wheel.advance(3, new ArrayList<>());
+		assertFalse(timeout.cancel());
+		assertEquals(0, wheel.size());
+	}
+
+	@Test
+	public void fixedRate()
+	{
+		TimingWheel wheel = new TimingWheel(0);
+		TimingWheel.Timeout timeout = wheel.schedule(TASK, 5, 30);
+
+		// one step at a time, across the first level boundaries
+		List<Long> times = new ArrayList<>();
+		List<TimingWheel.Timeout> expired = new ArrayList<>();
+		for (long now = 1; now <= 200; now++)
+		{
+			wheel.advance(now, expired);
+			if (!expired.isEmpty())
+			{
+				assertEquals(List.of(timeout), expired);
+				times.add(now);
+				expired.clear();
+			}
+		}
+		assertEquals(List.of(5L, 35L, 65L, 95L, 125L, 155L, 185L), times);
+		assertEquals(215, timeout.getDeadline());
+		assertEquals(1, wheel.size());
+
+		// in one step it is collected once per run
+		wheel.advance(305, expired);
+		assertEquals(4, expired.size());
+		for (TimingWheel.Timeout t : expired)
+		{
+			assertSame(timeout, t);
+		}
+		assertEquals(335, timeout.getDeadline());
+
+		assertTrue(timeout.cancel());
+		expired.clear();
+		wheel.advance(1000, expired);
+		assertTrue(expired.isEmpty());
+		assertEquals(0, wheel.size());
+	}
+
+	@Test
+	public void longIdleAdvance()
+	{
+		TimingWheel wheel = new TimingWheel(7);
+		TimingWheel.Timeout near = wheel.schedule(TASK, 10, 0);
+		TimingWheel.Timeout far = wheel.schedule(TASK, (7L << 30) + 3, 0);
+
+		List<TimingWheel.Timeout> expired = new ArrayList<>();
+		wheel.advance(1L << 40, expired);
+		assertEquals(List.of(near, far), expired);
+		assertEquals(1L << 40, wheel.getTime());
+		assertEquals(0, wheel.size());
+
+		// an empty wheel jumps straight to the new time
+		wheel.advance(Long.MAX_VALUE / 2, expired);
+		assertEquals(Long.MAX_VALUE / 2, wheel.getTime());
+
+		// and still schedules from there
+		TimingWheel.Timeout later = wheel.schedule(TASK, 70, 0);
+		expired.clear();
+		wheel.advance(Long.MAX_VALUE / 2 + 69, expired);
+		assertTrue(expired.isEmpty());
+		wheel.advance(Long.MAX_VALUE / 2 + 70, expired);
+		assertEquals(List.of(later), expired);
+	}
+}
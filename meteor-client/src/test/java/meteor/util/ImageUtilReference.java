@@ -0,0 +1,140 @@
+package meteor.util;
+
+import java.awt.AlphaComposite;
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.awt.image.DirectColorModel;
+import java.awt.image.PixelGrabber;
+import java.awt.image.WritableRaster;
+import java.util.Random;
+import java.util.function.Predicate;
+
+/**
+ * The per-pixel getRGB and setRGB implementations the {@link ImageUtil} kernels replaced, and
+ * sample images to compare them on.
+ */
+final class ImageUtilReference {
+
+  private ImageUtilReference() {
+  }
+
+  // an opaque blob of noise on a transparent background, optionally with translucent edges
+  static BufferedImage sprite(Random random, int width, int height, boolean translucent) {
+    BufferedImage image = new BufferedImage(width, height, BufferedImage.TYPE_INT_ARGB);
+    double cx = width / 2.0, cy = height / 2.0;
+    for (int y = 0; y < height; ++y) {
+      for (int x = 0; x < width; ++x) {
+        double dx = (x - cx) / (width * 0.4), dy = (y - cy) / (height * 0.4);
+        double d = dx * dx + dy * dy;
+        if (d < 0.8) {
+          image.setRGB(x, y, 0xFF000000 | random.nextInt(0x1000000));
+        } else if (translucent && d < 1) {
+          image.setRGB(x, y, random.nextInt(0xFF) << 24 | random.nextInt(0x1000000));
+        }
+      }
+    }
+    return image;
+  }
+
+  static BufferedImage copy(BufferedImage image) {
+    BufferedImage copy = new BufferedImage(image.getWidth(), image.getHeight(), image.getType());
+    Graphics2D g = copy.createGraphics();
+    g.setComposite(AlphaComposite.Src);
+    g.drawImage(image, 0, 0, null);
+    g.dispose();
+    return copy;
+  }
+
+  static BufferedImage fillImage(final BufferedImage image, final Color color) {
+    final BufferedImage filledImage = new BufferedImage(image.getWidth(), image.getHeight(),
+        BufferedImage.TYPE_INT_ARGB);
+    for (int x = 0; x < filledImage.getWidth(); x++) {
+      for (int y = 0; y < filledImage.getHeight(); y++) {
+        int pixel = image.getRGB(x, y);
+        int a = pixel >>> 24;
+        if (a == 0) {
+          continue;
+        }
+
+        filledImage.setRGB(x, y, color.getRGB());
+      }
+    }
+    return filledImage;
+  }
+
+  static BufferedImage outlineImage(final BufferedImage image, final Color color,
+      final boolean outlineCorners) {
+    final BufferedImage filledImage = fillImage(image, color);
+    final BufferedImage outlinedImage = new BufferedImage(image.getWidth(), image.getHeight(),
+        BufferedImage.TYPE_INT_ARGB);
+
+    final Graphics2D g2d = outlinedImage.createGraphics();
+    for (int x = -1; x <= 1; x++) {
+      for (int y = -1; y <= 1; y++) {
+        if ((x == 0 && y == 0)
+            || (!outlineCorners && Math.abs(x) + Math.abs(y) != 1)) {
+          continue;
+        }
+
+        g2d.drawImage(filledImage, x, y, null);
+      }
+    }
+    g2d.drawImage(image, 0, 0, null);
+    g2d.dispose();
+
+    return outlinedImage;
+  }
+
+  static BufferedImage recolorImage(final BufferedImage image, final Color color,
+      final Predicate<Color> recolorCondition) {
+    final BufferedImage recoloredImage = new BufferedImage(image.getWidth(), image.getHeight(),
+        BufferedImage.TYPE_INT_ARGB);
+    for (int x = 0; x < recoloredImage.getWidth(); x++) {
+      for (int y = 0; y < recoloredImage.getHeight(); y++) {
+        final Color pixelColor = new Color(image.getRGB(x, y), true);
+        if (!recolorCondition.test(pixelColor)) {
+          recoloredImage.setRGB(x, y, image.getRGB(x, y));
+          continue;
+        }
+
+        recoloredImage.setRGB(x, y, color.getRGB());
+      }
+    }
+    return recoloredImage;
+  }
+
+  static BufferedImage recolorImage(BufferedImage image, final Color color) {
+    int width = image.getWidth();
+    int height = image.getHeight();
+    WritableRaster raster = image.getRaster();
+
+    for (int xx = 0; xx < width; xx++) {
+      for (int yy = 0; yy < height; yy++) {
+        int[] pixels = raster.getPixel(xx, yy, (int[]) null);
+        pixels[0] = color.getRed();
+        pixels[1] = color.getGreen();
+        pixels[2] = color.getBlue();
+        raster.setPixel(xx, yy, pixels);
+      }
+    }
+    return image;
+  }
+
+  // the conversion getImageSpritePixels used to do
+  static int[] getSpritePixelArray(BufferedImage image) throws InterruptedException {
+    int[] pixels = new int[image.getWidth() * image.getHeight()];
+
+    PixelGrabber g = new PixelGrabber(image, 0, 0, image.getWidth(), image.getHeight(), pixels, 0,
+        image.getWidth());
+    g.setColorModel(new DirectColorModel(32, 0xff0000, 0xff00, 0xff, 0xff000000));
+    g.grabPixels();
+
+    for (int i = 0; i < pixels.length; i++) {
+      if ((pixels[i] & 0xFF000000) == 0) {
+        pixels[i] = 0;
+      }
+    }
+    return pixels;
+  }
+}
@@ -0,0 +1,75 @@
+package meteor.util;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+
+import java.awt.Color;
+import java.awt.image.BufferedImage;
+import java.util.Random;
+import java.util.function.Predicate;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Checks the {@link ImageUtil} kernels against the per-pixel code they replaced, pixel for pixel.
+ * The sizes cover both the serial path and the parallel one, which starts at
+ * {@link ImageKernels#PARALLEL_PIXELS}.
+ */
+public class ImageUtilTest {
+
+  private static final Color[] COLORS = {new Color(0xFF00FFFF, true), new Color(0x80FF0000, true)};
+  private static final Predicate<Color> DARK = c -> c.getRed() + c.getGreen() + c.getBlue() < 200;
+
+  private final Random random = new Random(42);
+  private final BufferedImage[] images = {
+      ImageUtilReference.sprite(random, 36, 32, false),
+      ImageUtilReference.sprite(random, 765, 503, false),
+      ImageUtilReference.sprite(random, 36, 32, true),
+      ImageUtilReference.sprite(random, 512, 512, true),
+  };
+
+  @Test
+  public void fillImage() {
+    for (BufferedImage image : images) {
+      for (Color color : COLORS) {
+        assertSame(ImageUtilReference.fillImage(image, color), ImageUtil.fillImage(image, color));
+      }
+    }
+  }
+
+  @Test
+  public void outlineImage() {
+    for (BufferedImage image : images) {
+      for (Color color : COLORS) {
+        assertSame(ImageUtilReference.outlineImage(image, color, false),
+            ImageUtil.outlineImage(image, color, false));
+        assertSame(ImageUtilReference.outlineImage(image, color, true),
+            ImageUtil.outlineImage(image, color, true));
+      }
+    }
+  }
+
+  @Test
+  public void recolorImage() {
+    for (BufferedImage image : images) {
+      for (Color color : COLORS) {
+        assertSame(ImageUtilReference.recolorImage(image, color, DARK),
+            ImageUtil.recolorImage(image, color, DARK));
+        assertSame(ImageUtilReference.recolorImage(ImageUtilReference.copy(image), color),
+            ImageUtil.recolorImage(ImageUtilReference.copy(image), color));
+      }
+    }
+  }
+
+  @Test
+  public void spritePixelArray() throws InterruptedException {
+    for (BufferedImage image : images) {
+      assertArrayEquals(ImageUtilReference.getSpritePixelArray(image),
+          ImageUtil.getSpritePixelArray(image));
+    }
+  }
+
+  private static void assertSame(BufferedImage expected, BufferedImage actual) {
+    int w = expected.getWidth(), h = expected.getHeight();
+    assertArrayEquals(expected.getRGB(0, 0, w, h, null, 0, w),
+        actual.getRGB(0, 0, w, h, null, 0, w), w + "x" + h + " differs from the reference");
+  }
+}
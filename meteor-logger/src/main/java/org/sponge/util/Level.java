@@ -0,0 +1,12 @@
+package org.sponge.util;
+
+public enum Level {
+  DEBUG,
+  INFO,
+  WARN,
+  ERROR;
+
+  boolean isEnabled(Level threshold) {
+    return compareTo(threshold) >= 0;
+  }
+}
@@ -0,0 +1,24 @@
+package org.sponge.util;
+
+/**
+ * A message waiting to be written. The message is already substituted, only the header and
+ * stack trace are formatted by the writer.
+ */
+class LogRecord {
+
+  final long time;
+  final Level level;
+  final String color;
+  final String name;
+  final String message;
+  final Throwable throwable;
+
+  LogRecord(Level level, String color, String name, String message, Throwable throwable) {
+    this.time = System.currentTimeMillis();
+    this.level = level;
+    this.color = color;
+    this.name = name;
+    this.message = message;
+    this.throwable = throwable;
+  }
+}
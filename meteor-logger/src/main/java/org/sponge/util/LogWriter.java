@@ -0,0 +1,238 @@
+package org.sponge.util;
+
+import static org.sponge.util.Logger.ANSI_RESET;
+
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.PrintStream;
+import java.io.PrintWriter;
+import java.io.StringWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.text.SimpleDateFormat;
+import java.util.Date;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Background thread which drains the log buffer to the console and to rolling files.
+ * <p>
+ * Logging threads only put a record in the buffer. If the writer falls so far behind that the
+ * buffer is full, records are dropped rather than blocking the logging thread, and the number
+ * dropped is written once the writer catches up.
+ * <p>
+ * The writer sleeps while the buffer is empty, and is woken by the next record. Output is flushed
+ * once the buffer has been drained, so a burst of records is flushed once.
+ */
+class LogWriter extends Thread {
+
+  private static final int CAPACITY = 8192;
+  // only a safety net, the writer is woken up when records are published
+  private static final long MAX_IDLE_NANOS = TimeUnit.SECONDS.toNanos(1);
+  private static final long MAX_FILE_SIZE = 10 * 1024 * 1024;
+  private static final int MAX_FILES = 5;
+  private static final String FILE_NAME = "client";
+
+  private final RingBuffer<LogRecord> buffer = new RingBuffer<>(CAPACITY);
+  private final PrintStream console;
+  private final long maxIdleNanos;
+  private final SimpleDateFormat timeFormat = new SimpleDateFormat("yyyy-MM-dd HH:mm:ss.SSS");
+  private final StringBuilder line = new StringBuilder();
+
+  final AtomicLong dropped = new AtomicLong();
+  final AtomicLong written = new AtomicLong();
+  private long reportedDropped;
+
+  volatile File directory;
+  private File openDirectory;
+  private Writer file;
+  private long fileSize;
+
+  private volatile boolean closing;
+  private volatile boolean waiting;
+
+  LogWriter() {
+    this(System.out, MAX_IDLE_NANOS);
+  }
+
+  LogWriter(PrintStream console, long maxIdleNanos) {
+    super("Logger-Writer");
+    this.console = console;
+    this.maxIdleNanos = maxIdleNanos;
+    setDaemon(true);
+    Runtime.getRuntime().addShutdownHook(new Thread(this::close, "Logger-Shutdown"));
+  }
+
+  void publish(LogRecord record) {
+    if (!buffer.offer(record)) {
+      dropped.incrementAndGet();
+    }
+    if (waiting) {
+      LockSupport.unpark(this);
+    }
+  }
+
+  @Override
+  public void run() {
+    boolean unflushed = false;
+    for (; ; ) {
+      LogRecord record = buffer.poll();
+      if (record != null) {
+        write(record);
+        unflushed = true;
+        continue;
+      }
+
+      if (reportDropped() || unflushed) {
+        flush();
+        unflushed = false;
+      }
+
+      if (closing) {
+        closeFile();
+        return;
+      }
+
+      // publishers check the flag after their record is in the buffer, so one of the two sees
+      // the other
+      waiting = true;
+      if (buffer.isEmpty() && !closing) {
+        LockSupport.parkNanos(this, maxIdleNanos);
+      }
+      waiting = false;
+    }
+  }
+
+  void close() {
+    closing = true;
+    LockSupport.unpark(this);
+    try {
+      join(TimeUnit.SECONDS.toMillis(1));
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+  }
+
+  private void write(LogRecord record) {
+    String stackTrace = null;
+    if (record.throwable != null) {
+      StringWriter sw = new StringWriter();
+      record.throwable.printStackTrace(new PrintWriter(sw));
+      stackTrace = sw.toString();
+    }
+
+    // console, in the same layout as before
+    line.setLength(0);
+    line.append(Logger.DEFAULT_CONTROLLER_COLOR).append('[').append(record.name).append("] ")
+        .append(ANSI_RESET);
+    while (line.length() < 35) {
+      line.append(' ');
+    }
+    line.append(record.color).append(record.message).append(ANSI_RESET)
+        .append(System.lineSeparator());
+    console.print(line);
+    if (stackTrace != null) {
+      console.print(stackTrace);
+    }
+
+    // file, without colors
+    line.setLength(0);
+    line.append(timeFormat.format(new Date(record.time))).append(' ')
+        .append(record.level).append(" [").append(record.name).append("] ")
+        .append(record.message).append(System.lineSeparator());
+    if (stackTrace != null) {
+      line.append(stackTrace);
+    }
+    writeFile(line);
+
+    written.incrementAndGet();
+  }
+
+  /**
+   * @return whether a report was written
+   */
+  private boolean reportDropped() {
+    long total = dropped.get();
+    if (total == reportedDropped) {
+      return false;
+    }
+
+    long count = total - reportedDropped;
+    reportedDropped = total;
+    write(new LogRecord(Level.WARN, Logger.ANSI_YELLOW, "Logger",
+        count + " messages dropped, the log buffer was full", null));
+    return true;
+  }
+
+  private void writeFile(CharSequence text) {
+    File dir = directory;
+    if (dir == null) {
+      return;
+    }
+
+    try {
+      if (file == null || !dir.equals(openDirectory)) {
+        openFile(dir);
+      } else if (fileSize >= MAX_FILE_SIZE) {
+        closeFile();
+        roll(dir);
+        openFile(dir);
+      }
+
+      file.append(text);
+      fileSize += text.length();
+    } catch (IOException e) {
+      // keep logging to the console only
+      directory = null;
+      closeFile();
+      console.println("Unable to write log file: " + e);
+    }
+  }
+
+  private void openFile(File dir) throws IOException {
+    closeFile();
+    dir.mkdirs();
+
+    File current = new File(dir, FILE_NAME + ".log");
+    file = new BufferedWriter(new OutputStreamWriter(new FileOutputStream(current, true),
+        StandardCharsets.UTF_8));
+    fileSize = current.length();
+    openDirectory = dir;
+  }
+
+  // client.log -> client.1.log -> ... -> client.<MAX_FILES - 1>.log
+  private static void roll(File dir) {
+    new File(dir, FILE_NAME + "." + (MAX_FILES - 1) + ".log").delete();
+    for (int i = MAX_FILES - 2; i >= 0; --i) {
+      File from = new File(dir, i == 0 ? FILE_NAME + ".log" : FILE_NAME + "." + i + ".log");
+      from.renameTo(new File(dir, FILE_NAME + "." + (i + 1) + ".log"));
+    }
+  }
+
+  private void flush() {
+    console.flush();
+    if (file != null) {
+      try {
+        file.flush();
+      } catch (IOException e) {
+        directory = null;
+        closeFile();
+      }
+    }
+  }
+
+  private void closeFile() {
+    if (file != null) {
+      try {
+        file.close();
+      } catch (IOException ignored) {
+      }
+      file = null;
+      openDirectory = null;
+    }
+  }
+}
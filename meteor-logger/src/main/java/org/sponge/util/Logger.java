@@ -1,7 +1,14 @@
 package org.sponge.util;
 
-import java.util.Arrays;
-
+import java.io.File;
+import java.util.Locale;
+
+/**
+ * Logs through a background writer, see {@link LogWriter}.
+ * <p>
+ * Messages below the level set with {@link #setLevel} are discarded before any formatting. The
+ * level defaults to the {@code meteor.log.level} system property, or DEBUG.
+ */
 public class Logger {
 
   public static final String ANSI_RESET = "\u001B[0m";
@@ -15,9 +22,11 @@ public class Logger {
   public static final String ANSI_WHITE = "\u001B[37m";
 
   public static String DEFAULT_CONTROLLER_COLOR = ANSI_CYAN;
+
+  private static volatile Level level = defaultLevel();
+
   public String name;
   public String plugin;
-  String format = "%-35s%s%n";
 
   public Logger(String name) {
     this.name = name;
@@ -27,73 +36,118 @@ public class Logger {
     return new Logger(loggedClass.getSimpleName());
   }
 
+  // an unknown level falls back to DEBUG instead of failing the initialization of this class
+  private static Level defaultLevel() {
+    String name = System.getProperty("meteor.log.level", Level.DEBUG.name());
+    try {
+      return Level.valueOf(name.trim().toUpperCase(Locale.ROOT));
+    } catch (IllegalArgumentException e) {
+      System.err.println("Unknown log level " + name + ", logging at DEBUG");
+      return Level.DEBUG;
+    }
+  }
+
+  public static void setLevel(Level level) {
+    Logger.level = level;
+  }
+
+  public static Level getLevel() {
+    return level;
+  }
+
+  /**
+   * Also write the log to rolling files in the given directory
+   */
+  public static void setLogDirectory(File directory) {
+    Writer.INSTANCE.directory = directory;
+  }
+
+  /**
+   * @return the number of messages lost because the writer could not keep up
+   */
+  public static long getDroppedCount() {
+    return Writer.INSTANCE.dropped.get();
+  }
+
+  public static long getWrittenCount() {
+    return Writer.INSTANCE.written.get();
+  }
+
+  public boolean isDebugEnabled() {
+    return Level.DEBUG.isEnabled(level);
+  }
+
   public void info(Object message, Object... replacers) {
-    printColorMessageReplacers(ANSI_WHITE, message, replacers);
+    log(Level.INFO, ANSI_WHITE, message, replacers);
   }
 
   public void warn(Object message, Object... replacers) {
-    printColorMessageReplacers(ANSI_YELLOW, message, replacers);
+    log(Level.WARN, ANSI_YELLOW, message, replacers);
   }
 
   public void warn(String message, Exception e) {
-    printColorMessage(ANSI_RED, message);
-    e.printStackTrace();
+    if (Level.WARN.isEnabled(level)) {
+      publish(Level.WARN, ANSI_RED, message, e);
+    }
   }
 
   public void debug(Object message, Object... replacers) {
-    printColorMessageReplacers(ANSI_GREEN, message, replacers);
+    log(Level.DEBUG, ANSI_GREEN, message, replacers);
   }
 
   public void error(Object message, Object... replacers) {
-    printColorMessageReplacers(ANSI_RED, message, replacers);
+    log(Level.ERROR, ANSI_RED, message, replacers);
   }
 
-  private void printColorMessage(String ansiColor, Object message)
-  {
-    String tempName;
-    if (plugin != null) {
-      tempName = plugin;
-    } else {
-      tempName = name;
+  private void log(Level messageLevel, String ansiColor, Object message, Object... replacers) {
+    if (!messageLevel.isEnabled(level)) {
+      return;
     }
-    String header = Message.newMessage()
-            .add(DEFAULT_CONTROLLER_COLOR, "[" + tempName + "] ")
-            .build();
-    System.out.format(format, header, ansiColor + message);
-    System.out.print(ANSI_RESET);
-  }
 
-  private void printColorMessageReplacers(String ansiColor, Object message, Object... replacers)
-  {
-    String sRef;
-    try {
-      sRef = (String)message;
-    }
-    catch (Exception e)
-    {
-      printColorMessage(ansiColor, message);
+    if (!(message instanceof String)) {
+      publish(messageLevel, ansiColor, String.valueOf(message), trailingThrowable(replacers, 0));
       return;
     }
 
-    if (!sRef.contains("{}"))
-    {
-      printColorMessage(ansiColor, sRef);
+    String pattern = (String) message;
+    int next = pattern.indexOf("{}");
+    if (next == -1) {
+      publish(messageLevel, ansiColor, pattern, trailingThrowable(replacers, 0));
       return;
     }
 
-    StringBuilder finalMessage = new StringBuilder();
-    Object[] replacersArray = Arrays.stream(replacers).toArray();
-    int i = 0;
-
-    for (String s : sRef.split("\\{}"))
-    {
-      if (i != replacersArray.length)
-        finalMessage.append(s).append(replacersArray[i]);
-      else
-        finalMessage.append(s);
-      i++;
+    StringBuilder finalMessage = new StringBuilder(pattern.length() + 32);
+    int start = 0, i = 0;
+    while (next != -1 && i < replacers.length) {
+      finalMessage.append(pattern, start, next).append(replacers[i++]);
+      start = next + 2;
+      next = pattern.indexOf("{}", start);
     }
+    finalMessage.append(pattern, start, pattern.length());
+
+    publish(messageLevel, ansiColor, finalMessage.toString(), trailingThrowable(replacers, i));
+  }
 
-    printColorMessage(ansiColor, finalMessage);
+  // a throwable left over after substitution is logged with its stack trace
+  private static Throwable trailingThrowable(Object[] replacers, int used) {
+    if (replacers.length > used && replacers[replacers.length - 1] instanceof Throwable) {
+      return (Throwable) replacers[replacers.length - 1];
+    }
+    return null;
+  }
+
+  private void publish(Level messageLevel, String ansiColor, String message, Throwable t) {
+    String tempName = plugin != null ? plugin : name;
+    Writer.INSTANCE.publish(new LogRecord(messageLevel, ansiColor, tempName, message, t));
+  }
+
+  // started on first use
+  private static class Writer {
+
+    private static final LogWriter INSTANCE = new LogWriter();
+
+    static {
+      INSTANCE.start();
+    }
   }
 }
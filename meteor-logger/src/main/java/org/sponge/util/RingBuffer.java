@@ -0,0 +1,86 @@
+package org.sponge.util;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Bounded lock-free queue for many producers and a single consumer.
+ * <p>
+ * Every slot has a sequence number telling whether it is free for the producer at a position or
+ * filled for the consumer, so producers only race on claiming a position and never wait on the
+ * consumer. When the buffer is full {@link #offer} fails instead of blocking.
+ * <p>
+ * Items are published with a volatile write, so a consumer which announces it is going to sleep
+ * with a volatile write of its own and then finds the buffer empty can rely on the producers seeing
+ * that announcement after their offer.
+ */
+class RingBuffer<T> {
+
+  private final Object[] items;
+  private final AtomicLongArray sequences;
+  private final int mask;
+  private final AtomicLong tail = new AtomicLong();
+  private long head; // only touched by the consumer
+
+  RingBuffer(int capacity) {
+    if (Integer.bitCount(capacity) != 1) {
+      throw new IllegalArgumentException("capacity must be a power of two");
+    }
+
+    items = new Object[capacity];
+    sequences = new AtomicLongArray(capacity);
+    mask = capacity - 1;
+    for (int i = 0; i < capacity; ++i) {
+      sequences.set(i, i);
+    }
+  }
+
+  /**
+   * @return false if the buffer is full
+   */
+  boolean offer(T item) {
+    long pos = tail.get();
+    for (; ; ) {
+      int index = (int) pos & mask;
+      long diff = sequences.get(index) - pos;
+
+      if (diff == 0) {
+        if (tail.compareAndSet(pos, pos + 1)) {
+          items[index] = item;
+          // publishes the item to the consumer
+          sequences.set(index, pos + 1);
+          return true;
+        }
+      } else if (diff < 0) {
+        return false;
+      }
+
+      pos = tail.get();
+    }
+  }
+
+  /**
+   * @return whether there is no item to poll. Must only be called by the consumer.
+   */
+  boolean isEmpty() {
+    return sequences.get((int) head & mask) != head + 1;
+  }
+
+  /**
+   * @return the oldest item, or null if the buffer is empty. Must only be called by one thread.
+   */
+  @SuppressWarnings("unchecked")
+  T poll() {
+    int index = (int) head & mask;
+    if (sequences.get(index) != head + 1) {
+      return null;
+    }
+
+    T item = (T) items[index];
+    items[index] = null;
+    // frees the slot for the producer one lap ahead
+    sequences.lazySet(index, head + items.length);
+    ++head;
+    return item;
+  }
+}
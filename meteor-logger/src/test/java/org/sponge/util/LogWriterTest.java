@@ -0,0 +1,97 @@
+package org.sponge.util;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import org.junit.jupiter.api.Test;
+
+public class LogWriterTest {
+
+  private static final int PRODUCERS = 4;
+  private static final int ROUNDS = 2000;
+  private static final int MAX_JITTER_NANOS = 50_000;
+  private static final long ROUND_TIMEOUT_NANOS = TimeUnit.SECONDS.toNanos(10);
+  private static final Pattern RECORD = Pattern.compile("record (\\d+) (\\d+)");
+
+  @Test
+  public void everyRecordIsWrittenOnceInOrderWithoutLostWakeups() throws Exception {
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    // the writer never wakes up on its own, so a lost wakeup leaves a round unwritten
+    LogWriter writer = new LogWriter(new PrintStream(out, true, StandardCharsets.UTF_8),
+        Long.MAX_VALUE);
+    writer.start();
+
+    // every round the producers publish, then wait for the writer to drain and sleep again
+    CyclicBarrier start = new CyclicBarrier(PRODUCERS + 1);
+    CyclicBarrier done = new CyclicBarrier(PRODUCERS + 1);
+    List<Thread> producers = new ArrayList<>();
+    for (int p = 0; p < PRODUCERS; ++p) {
+      int producer = p;
+      Random random = new Random(p);
+      Thread thread = new Thread(() ->
+      {
+        try {
+          for (int round = 0; round < ROUNDS; ++round) {
+            start.await();
+            // land at different points of the writer draining, going to sleep and waking up
+            LockSupport.parkNanos(random.nextInt(MAX_JITTER_NANOS));
+            writer.publish(new LogRecord(Level.INFO, "", "Test",
+                "record " + producer + " " + round, null));
+            done.await();
+          }
+        } catch (Exception e) {
+          throw new IllegalStateException(e);
+        }
+      }, "producer-" + p);
+      thread.setDaemon(true);
+      producers.add(thread);
+      thread.start();
+    }
+
+    try {
+      for (int round = 0; round < ROUNDS; ++round) {
+        start.await();
+        done.await();
+
+        long expected = (long) PRODUCERS * (round + 1);
+        long deadline = System.nanoTime() + ROUND_TIMEOUT_NANOS;
+        while (writer.written.get() < expected && System.nanoTime() - deadline < 0) {
+          Thread.yield();
+        }
+        assertEquals(expected, writer.written.get(), "records written by round " + round);
+      }
+    } finally {
+      writer.close();
+    }
+
+    for (Thread thread : producers) {
+      thread.join();
+    }
+    assertEquals(0, writer.dropped.get());
+
+    int[] next = new int[PRODUCERS];
+    Matcher matcher = RECORD.matcher(out.toString(StandardCharsets.UTF_8));
+    while (matcher.find()) {
+      int producer = Integer.parseInt(matcher.group(1));
+      int round = Integer.parseInt(matcher.group(2));
+      assertEquals(next[producer], round, "producer " + producer);
+      ++next[producer];
+    }
+
+    for (int p = 0; p < PRODUCERS; ++p) {
+      assertEquals(ROUNDS, next[p]);
+    }
+    assertFalse(writer.isAlive());
+  }
+}
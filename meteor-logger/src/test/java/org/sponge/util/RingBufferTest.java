@@ -0,0 +1,92 @@
+package org.sponge.util;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+public class RingBufferTest {
+
+  private static final int PRODUCERS = 4;
+  private static final int ITEMS = 200_000;
+
+  @Test
+  public void rejectsCapacitiesWhichAreNotPowersOfTwo() {
+    assertThrows(IllegalArgumentException.class, () -> new RingBuffer<>(0));
+    assertThrows(IllegalArgumentException.class, () -> new RingBuffer<>(12));
+  }
+
+  @Test
+  public void fullBufferRejectsOffers() {
+    RingBuffer<Integer> buffer = new RingBuffer<>(4);
+    assertTrue(buffer.isEmpty());
+    assertNull(buffer.poll());
+
+    for (int i = 0; i < 4; ++i) {
+      assertTrue(buffer.offer(i));
+    }
+    assertFalse(buffer.offer(4));
+    assertFalse(buffer.isEmpty());
+
+    // polling frees a slot for the next lap
+    assertEquals(0, (int) buffer.poll());
+    assertTrue(buffer.offer(4));
+    for (int i = 1; i <= 4; ++i) {
+      assertEquals(i, (int) buffer.poll());
+    }
+    assertTrue(buffer.isEmpty());
+  }
+
+  @Test
+  public void multipleProducersDeliverEveryItemOnceInOrder() throws InterruptedException {
+    // small, so producers keep finding it full and wrap around many times
+    RingBuffer<Long> buffer = new RingBuffer<>(64);
+
+    List<Thread> producers = new ArrayList<>();
+    for (int p = 0; p < PRODUCERS; ++p) {
+      long producer = p;
+      Thread thread = new Thread(() ->
+      {
+        for (int i = 0; i < ITEMS; ++i) {
+          Long item = producer << 32 | i;
+          while (!buffer.offer(item)) {
+            Thread.yield();
+          }
+        }
+      }, "producer-" + p);
+      producers.add(thread);
+      thread.start();
+    }
+
+    int[] next = new int[PRODUCERS];
+    long received = 0;
+    while (received < (long) PRODUCERS * ITEMS) {
+      Long item = buffer.poll();
+      if (item == null) {
+        Thread.yield();
+        continue;
+      }
+
+      int producer = (int) (item >>> 32);
+      int sequence = (int) (long) item;
+      assertEquals(next[producer], sequence, "producer " + producer);
+      ++next[producer];
+      ++received;
+    }
+
+    for (Thread thread : producers) {
+      thread.join();
+    }
+
+    for (int p = 0; p < PRODUCERS; ++p) {
+      assertEquals(ITEMS, next[p]);
+    }
+    assertTrue(buffer.isEmpty());
+    assertNull(buffer.poll());
+  }
+}
@@ -9,10 +9,13 @@ package com.openosrs.injector;
 
 import static net.runelite.deob.util.JarUtil.addReflection;
 import static net.runelite.deob.util.JarUtil.load;
+import static net.runelite.deob.util.JarUtil.loadCached;
 import static org.sponge.util.Logger.ANSI_GREEN;
 import static org.sponge.util.Logger.ANSI_RESET;
 import static org.sponge.util.Logger.ANSI_YELLOW;
 
+import com.google.common.base.Stopwatch;
+import com.openosrs.injector.injection.ClassSet;
 import com.openosrs.injector.injection.InjectData;
 import com.openosrs.injector.injection.InjectTaskHandler;
 import com.openosrs.injector.injectors.CreateAnnotations;
@@ -32,8 +35,17 @@ import java.io.File;
 import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.util.ArrayList;
 import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
 import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 import joptsimple.ArgumentAcceptingOptionSpec;
 import joptsimple.OptionParser;
 import joptsimple.OptionSet;
@@ -50,6 +62,9 @@ public class Injector extends InjectData implements InjectTaskHandler {
   static Injector injector = new Injector();
   static String oprsVer;
 
+  private final StageReport report = new StageReport();
+  private final List<Stage> batch = new ArrayList<>();
+
   public static void main(String[] args) {
     OptionParser parser = new OptionParser();
 
@@ -66,15 +81,7 @@ public class Injector extends InjectData implements InjectTaskHandler {
     OptionSet options = parser.parse(args);
     oprsVer = "1.0-SNAPSHOT";
 
-    injector.vanilla = load(
-        new File("../runescape-client/build/libs/runescape-client-" + oprsVer + ".jar"));
-    injector.deobfuscated = load(
-        new File("../runescape-client/build/libs/runescape-client-" + oprsVer + ".jar"));
-    injector.rsApi = new RSApi(Objects.requireNonNull(
-        new File("../runescape-api/build/classes/java/main/net/runelite/rs/api/")
-            .listFiles()));
-    injector.mixins = load(
-        new File("../runelite-mixins/build/libs/runelite-mixins-" + oprsVer + ".jar"));
+    File client = new File("../runescape-client/build/libs/runescape-client-" + oprsVer + ".jar");
 
     File oldInjected = new File(
         "../runelite-client/src/main/resources/net/runelite/client/injected-client.oprs");
@@ -82,6 +89,17 @@ public class Injector extends InjectData implements InjectTaskHandler {
       oldInjected.delete();
     }
 
+    // both start out as the same jar, so the second load is a copy of the first
+    injector.vanilla = loadCached(client);
+    injector.deobfuscated = loadCached(client);
+    // nothing else loads the client, so the pristine copy would only hold on to memory
+    JarUtil.clearCache();
+    injector.rsApi = new RSApi(Objects.requireNonNull(
+        new File("../runescape-api/build/classes/java/main/net/runelite/rs/api/")
+            .listFiles()));
+    injector.mixins = load(
+        new File("../runelite-mixins/build/libs/runelite-mixins-" + oprsVer + ".jar"));
+
     injector.initToVanilla();
     injector.injectVanilla();
     save(injector.getVanilla(), new File("./build/injected/injected-client.jar"),
@@ -120,50 +138,117 @@ public class Injector extends InjectData implements InjectTaskHandler {
   public void injectVanilla() {
     log.debug(ANSI_YELLOW + "[Starting injection]" + ANSI_RESET);
 
-    transform(new Java8Ifier(this));
+    stage(new Java8Ifier(this));
 
-    inject(new CreateAnnotations(this));
+    stage(new CreateAnnotations(this));
 
     //Injects initial RSAPI
-    inject(new InterfaceInjector(this));
+    stage(new InterfaceInjector(this));
 
-    inject(new RasterizerAlpha(this));
+    stage(new RasterizerAlpha(this));
 
-    inject(new MixinInjector(this));
+    stage(new MixinInjector(this));
 
     // This is where field hooks runs
 
     // This is where method hooks runs
 
-    inject(new InjectConstruct(this));
+    stage(new InjectConstruct(this));
 
     //Requires InterfaceInjector
-    inject(new RSApiInjector(this));
+    stage(new RSApiInjector(this));
 
     //Some annotations are still nice to have such as ObfName and ObfSig for Reflection checks
     //inject(new RemoveAnnotations(this));
     //The Reflection class is skipped during load because the asm doesnt support invokedynamic, ez fix to just put
     //it back in after doing everything
+    flush();
     addReflection(vanilla,
         new File("../runescape-client/build/libs/runescape-client-" + oprsVer + ".jar"));
     //inject(new DrawAfterWidgets(this));
 
-    inject(new ScriptVM(this));
+    stage(new ScriptVM(this));
 
     // All GPU raw injectors should probably be combined, especially RenderDraw and Occluder
-    inject(new ClearColorBuffer(this));
+    stage(new ClearColorBuffer(this));
 
-    inject(new RenderDraw(this));
+    stage(new RenderDraw(this));
 
     //inject(new Occluder(this));
 
-    inject(new DrawMenu(this));
+    stage(new DrawMenu(this));
 
     //inject(new AddPlayerToMenu(this));
 
     //validate(new InjectorValidator(this));
 
     //transform(new SourceChanger(this));
+
+    flush();
+    report.log();
+  }
+
+  private void stage(com.openosrs.injector.injectors.Injector injector) {
+    schedule(new Stage(injector.getName(), injector.getReads(), injector.getWrites(),
+        () -> inject(injector)));
+  }
+
+  private void stage(InjectTransformer transformer) {
+    schedule(new Stage(transformer.getName(), transformer.getReads(), transformer.getWrites(),
+        () -> transform(transformer)));
+  }
+
+  /**
+   * Queue a stage to run together with the stages queued before it, or run those first if it
+   * conflicts with any of them
+   */
+  private void schedule(Stage stage) {
+    if (batch.stream().anyMatch(s -> s.conflicts(stage))) {
+      flush();
+    }
+    batch.add(stage);
+  }
+
+  /**
+   * Run the queued stages, concurrently if there is more than one
+   */
+  private void flush() {
+    if (batch.isEmpty()) {
+      return;
+    }
+
+    List<ClassSet> written = Stream.of(ClassSet.VANILLA, ClassSet.DEOBFUSCATED)
+        .filter(set -> batch.stream().anyMatch(s -> s.writes.contains(set)))
+        .collect(Collectors.toList());
+    Map<ClassSet, StageReport.Snapshot> before = new EnumMap<>(ClassSet.class);
+    written.forEach(set -> before.put(set, StageReport.snapshot(group(set))));
+
+    boolean concurrent = batch.size() > 1;
+    if (concurrent) {
+      CompletableFuture.allOf(batch.stream()
+          .map(s -> CompletableFuture.runAsync(s::run))
+          .toArray(CompletableFuture[]::new))
+          .join();
+    } else {
+      batch.get(0).run();
+    }
+
+    Map<ClassSet, StageReport.Snapshot> after = new EnumMap<>(ClassSet.class);
+    written.forEach(set -> after.put(set, StageReport.snapshot(group(set))));
+
+    for (Stage s : batch) {
+      List<ClassSet> sets = written.stream().filter(s.writes::contains)
+          .collect(Collectors.toList());
+      report.add(s.name, s.time, concurrent,
+          sets.stream().map(before::get).collect(Collectors.toList()),
+          sets.stream().map(after::get).collect(Collectors.toList()));
+    }
+
+    batch.clear();
+  }
+
+  private ClassGroup group(ClassSet set) {
+    return set == ClassSet.VANILLA ? vanilla : deobfuscated;
   }
 
   private void inject(com.openosrs.injector.injectors.Injector injector) {
@@ -209,4 +294,32 @@ public class Injector extends InjectData implements InjectTaskHandler {
   public void runChildInjector(com.openosrs.injector.injectors.Injector injector) {
     inject(injector);
   }
+
+  private static class Stage {
+
+    private final String name;
+    private final Set<ClassSet> reads;
+    private final Set<ClassSet> writes;
+    private final Runnable task;
+    private long time;
+
+    private Stage(String name, Set<ClassSet> reads, Set<ClassSet> writes, Runnable task) {
+      this.name = name;
+      this.reads = reads;
+      this.writes = writes;
+      this.task = task;
+    }
+
+    private boolean conflicts(Stage other) {
+      return writes.stream().anyMatch(set -> other.reads.contains(set)
+          || other.writes.contains(set))
+          || other.writes.stream().anyMatch(reads::contains);
+    }
+
+    private void run() {
+      Stopwatch stopwatch = Stopwatch.createStarted();
+      task.run();
+      time = stopwatch.elapsed(TimeUnit.MILLISECONDS);
+    }
+  }
 }
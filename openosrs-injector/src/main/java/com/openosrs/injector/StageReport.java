@@ -0,0 +1,130 @@
+/*
+ * This code is licensed under GPL3, see the complete license in
+ * the LICENSE file in the root directory of this submodule.
+ */
+package com.openosrs.injector;
+
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import net.runelite.asm.ClassFile;
+import net.runelite.asm.ClassGroup;
+import net.runelite.asm.Field;
+import net.runelite.asm.Method;
+import net.runelite.asm.attributes.Code;
+import org.sponge.util.Logger;
+
+/**
+ * Timing and throughput of each injection stage.
+ * <p>
+ * What a stage changed is found by comparing a summary of every class it may write before and
+ * after it ran, so no injector has to count anything itself.
+ */
+class StageReport {
+
+  private static final Logger log = new Logger("Injector");
+
+  private final List<Row> rows = new ArrayList<>();
+
+  /**
+   * Summarize the classes of a group, to later compare against
+   */
+  static Snapshot snapshot(ClassGroup group) {
+    Snapshot snapshot = new Snapshot();
+    for (ClassFile cf : group.getClasses()) {
+      snapshot.classes.put(cf, summarize(cf));
+    }
+    return snapshot;
+  }
+
+  // fields, methods, instructions, annotations and interfaces of a class
+  private static long[] summarize(ClassFile cf) {
+    long instructions = 0, annotations = cf.getAnnotations().size();
+    for (Method m : cf.getMethods()) {
+      Code code = m.getCode();
+      if (code != null) {
+        instructions += code.getInstructions().size();
+      }
+      annotations += m.getAnnotations().size();
+    }
+    for (Field f : cf.getFields()) {
+      annotations += f.getAnnotations().size();
+    }
+
+    return new long[]{
+        cf.getFields().size(),
+        cf.getMethods().size(),
+        instructions,
+        annotations,
+        cf.getInterfaces().getInterfaces().size()
+    };
+  }
+
+  void add(String name, long time, boolean concurrent, List<Snapshot> before,
+      List<Snapshot> after) {
+    Row row = new Row(name, time, concurrent);
+
+    for (int i = 0; i < before.size(); i++) {
+      Map<ClassFile, long[]> old = before.get(i).classes;
+
+      for (Map.Entry<ClassFile, long[]> entry : after.get(i).classes.entrySet()) {
+        long[] was = old.get(entry.getKey());
+        long[] now = entry.getValue();
+
+        if (was == null) {
+          ++row.touched;
+          row.fields += now[0];
+          row.methods += now[1];
+          continue;
+        }
+
+        boolean changed = false;
+        for (int j = 0; j < now.length; j++) {
+          changed |= was[j] != now[j];
+        }
+
+        if (changed) {
+          ++row.touched;
+          row.fields += now[0] - was[0];
+          row.methods += now[1] - was[1];
+        }
+      }
+    }
+
+    rows.add(row);
+  }
+
+  void log() {
+    long total = 0;
+    log.info(String.format("%-20s %8s %8s %8s %8s", "Stage", "ms", "classes", "methods",
+        "fields"));
+    for (Row row : rows) {
+      log.info(String.format("%-20s %8d %8d %+8d %+8d%s", row.name, row.time, row.touched,
+          row.methods, row.fields, row.concurrent ? " (concurrent)" : ""));
+      total += row.time;
+    }
+    log.info("Stages took " + total + " ms in total");
+  }
+
+  static class Snapshot {
+
+    private final Map<ClassFile, long[]> classes = new IdentityHashMap<>();
+  }
+
+  private static class Row {
+
+    private final String name;
+    private final long time;
+    private final boolean concurrent;
+    private int touched;
+    private long methods;
+    private long fields;
+
+    private Row(String name, long time, boolean concurrent) {
+      this.name = name;
+      this.time = time;
+      this.concurrent = concurrent;
+    }
+  }
+}
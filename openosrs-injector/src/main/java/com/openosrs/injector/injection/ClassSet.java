@@ -0,0 +1,16 @@
+/*
+ * This code is licensed under GPL3, see the complete license in
+ * the LICENSE file in the root directory of this submodule.
+ */
+package com.openosrs.injector.injection;
+
+/**
+ * The groups of classes an injection stage can read or modify. Stages which do not write anything
+ * the other reads or writes may run at the same time.
+ */
+public enum ClassSet {
+  VANILLA,
+  DEOBFUSCATED,
+  MIXINS,
+  RS_API
+}
@@ -30,7 +30,10 @@
  */
 package com.openosrs.injector.injectors;
 
+import com.openosrs.injector.injection.ClassSet;
 import com.openosrs.injector.injection.InjectData;
+import java.util.EnumSet;
+import java.util.Set;
 import net.runelite.asm.ClassFile;
 import net.runelite.asm.Field;
 import net.runelite.asm.Method;
@@ -45,17 +48,29 @@ public class CreateAnnotations extends AbstractInjector {
     super(inject);
   }
 
+  @Override
+  public Set<ClassSet> getReads() {
+    return EnumSet.of(ClassSet.DEOBFUSCATED);
+  }
+
+  @Override
+  public Set<ClassSet> getWrites() {
+    return EnumSet.of(ClassSet.DEOBFUSCATED);
+  }
+
   public void inject() {
-    for (final ClassFile deobClass : inject.getDeobfuscated()) {
+    // every class only gets annotations on itself and its members
+    inject.getDeobfuscated().getClasses().parallelStream().forEach(deobClass ->
+    {
       injectFields(deobClass);
       injectMethods(deobClass);
 
       if (deobClass.getName().startsWith("class")) {
-        continue;
+        return;
       }
 
       deobClass.addAnnotation(DeobAnnotations.IMPLEMENTS, deobClass.getName());
-    }
+    });
   }
 
   private void injectFields(ClassFile deobClass) {
@@ -7,6 +7,9 @@
  */
 package com.openosrs.injector.injectors;
 
+import com.openosrs.injector.injection.ClassSet;
+import java.util.EnumSet;
+import java.util.Set;
 import net.runelite.asm.Named;
 
 public interface Injector extends Named {
@@ -32,4 +35,18 @@ public interface Injector extends Named {
    * Gets a message logged at quiet level when the injector ends
    */
   String getCompletionMsg();
+
+  /**
+   * The classes this injector looks at
+   */
+  default Set<ClassSet> getReads() {
+    return EnumSet.allOf(ClassSet.class);
+  }
+
+  /**
+   * The classes this injector modifies
+   */
+  default Set<ClassSet> getWrites() {
+    return EnumSet.allOf(ClassSet.class);
+  }
 }
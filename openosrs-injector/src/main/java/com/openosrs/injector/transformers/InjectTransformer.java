@@ -8,7 +8,10 @@
 package com.openosrs.injector.transformers;
 
 import com.google.common.base.Stopwatch;
+import com.openosrs.injector.injection.ClassSet;
 import com.openosrs.injector.injection.InjectData;
+import java.util.EnumSet;
+import java.util.Set;
 import lombok.RequiredArgsConstructor;
 import net.runelite.asm.Named;
 import org.gradle.api.logging.Logger;
@@ -32,6 +35,20 @@ public abstract class InjectTransformer implements Named {
     return "finished in " + stopwatch.toString();
   }
 
+  /**
+   * The classes this transformer looks at
+   */
+  public Set<ClassSet> getReads() {
+    return EnumSet.allOf(ClassSet.class);
+  }
+
+  /**
+   * The classes this transformer modifies
+   */
+  public Set<ClassSet> getWrites() {
+    return EnumSet.allOf(ClassSet.class);
+  }
+
   @Override
   public final String getName() {
     return this.getClass().getSimpleName();
@@ -7,8 +7,11 @@
  */
 package com.openosrs.injector.transformers;
 
+import com.openosrs.injector.injection.ClassSet;
 import com.openosrs.injector.injection.InjectData;
+import java.util.EnumSet;
 import java.util.List;
+import java.util.Set;
 import java.util.stream.Collectors;
 import net.runelite.asm.ClassFile;
 import net.runelite.asm.Method;
@@ -22,6 +25,17 @@ public class Java8Ifier extends InjectTransformer {
     super(inject);
   }
 
+  @Override
+  public Set<ClassSet> getReads() {
+    // the deob -> vanilla pairs are built before injection starts
+    return EnumSet.of(ClassSet.VANILLA);
+  }
+
+  @Override
+  public Set<ClassSet> getWrites() {
+    return EnumSet.of(ClassSet.VANILLA);
+  }
+
   @Override
   void transformImpl() {
     inject.forEachPair(this::makeJava8);
@@ -0,0 +1,206 @@
+package com.questhelper.processor;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.stream.Collectors;
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.RoundEnvironment;
+import javax.annotation.processing.SupportedAnnotationTypes;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.AnnotationMirror;
+import javax.lang.model.element.AnnotationValue;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.Modifier;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.type.TypeMirror;
+import javax.lang.model.util.ElementFilter;
+import javax.tools.Diagnostic;
+import javax.tools.JavaFileObject;
+
+/**
+ * Generates {@code com.questhelper.QuestRegistryIndex} from the classes annotated with
+ * {@code @QuestDescriptor}, so the quest helper plugin does not have to scan the classpath for
+ * them at runtime.
+ * <p>
+ * The index refers to every quest helper only through a {@code new} in a switch, so a quest
+ * helper class is not even loaded until it is created.
+ */
+@SupportedAnnotationTypes(QuestRegistryProcessor.QUEST_DESCRIPTOR)
+public class QuestRegistryProcessor extends AbstractProcessor
+{
+	static final String QUEST_DESCRIPTOR = "com.questhelper.QuestDescriptor";
+	private static final String QUEST_HELPER = "com.questhelper.questhelpers.QuestHelper";
+	private static final String PACKAGE = "com.questhelper";
+	private static final String INDEX = "QuestRegistryIndex";
+
+	// quest enum constant -> quest helper class, sorted so the output is stable
+	private final Map<String, String> quests = new TreeMap<>();
+	private final List<Element> originatingElements = new ArrayList<>();
+	private boolean generated;
+
+	@Override
+	public SourceVersion getSupportedSourceVersion()
+	{
+		return SourceVersion.latestSupported();
+	}
+
+	@Override
+	public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnv)
+	{
+		TypeElement descriptor = processingEnv.getElementUtils().getTypeElement(QUEST_DESCRIPTOR);
+		TypeElement questHelper = processingEnv.getElementUtils().getTypeElement(QUEST_HELPER);
+		if (descriptor == null || questHelper == null)
+		{
+			return false;
+		}
+
+		for (Element element : roundEnv.getElementsAnnotatedWith(descriptor))
+		{
+			add((TypeElement) element, descriptor, questHelper.asType());
+		}
+
+		for (TypeElement type : ElementFilter.typesIn(roundEnv.getRootElements()))
+		{
+			TypeMirror superclass = type.getSuperclass();
+			if (!hasDescriptor(type, descriptor)
+				&& processingEnv.getTypeUtils().isSameType(superclass, questHelper.asType()))
+			{
+				warn(type, "Class " + type + " is a quest helper, but has no quest descriptor");
+			}
+		}
+
+		if (!generated && !quests.isEmpty() && !roundEnv.processingOver())
+		{
+			generated = true;
+			write();
+		}
+		return true;
+	}
+
+	private void add(TypeElement type, TypeElement descriptor, TypeMirror questHelper)
+	{
+		if (!processingEnv.getTypeUtils().isAssignable(type.asType(), questHelper))
+		{
+			warn(type, "Class " + type + " has quest descriptor, but is not a quest helper");
+			return;
+		}
+
+		if (type.getModifiers().contains(Modifier.ABSTRACT) || !hasPublicNoArgConstructor(type))
+		{
+			warn(type, "Class " + type + " has quest descriptor, but can not be instantiated");
+			return;
+		}
+
+		String quest = questOf(type, descriptor);
+		String previous = quests.putIfAbsent(quest, type.getQualifiedName().toString());
+		if (previous != null)
+		{
+			warn(type, "Quest " + quest + " is already described by " + previous);
+			return;
+		}
+
+		originatingElements.add(type);
+	}
+
+	private static boolean hasPublicNoArgConstructor(TypeElement type)
+	{
+		List<ExecutableElement> constructors = ElementFilter.constructorsIn(type.getEnclosedElements());
+		return constructors.stream()
+			.anyMatch(c -> c.getParameters().isEmpty() && c.getModifiers().contains(Modifier.PUBLIC));
+	}
+
+	private static String questOf(TypeElement type, TypeElement descriptor)
+	{
+		for (AnnotationMirror mirror : type.getAnnotationMirrors())
+		{
+			if (!mirror.getAnnotationType().asElement().equals(descriptor))
+			{
+				continue;
+			}
+
+			for (Map.Entry<? extends ExecutableElement, ? extends AnnotationValue> entry
+				: mirror.getElementValues().entrySet())
+			{
+				if (entry.getKey().getSimpleName().contentEquals("quest"))
+				{
+					// an enum constant is a VariableElement, whose name is the constant
+					Element constant = (Element) entry.getValue().getValue();
+					if (constant.getKind() == ElementKind.ENUM_CONSTANT)
+					{
+						return constant.getSimpleName().toString();
+					}
+				}
+			}
+		}
+		throw new IllegalStateException("No quest in descriptor of " + type);
+	}
+
+	private static boolean hasDescriptor(TypeElement type, TypeElement descriptor)
+	{
+		return type.getAnnotationMirrors().stream()
+			.anyMatch(mirror -> mirror.getAnnotationType().asElement().equals(descriptor));
+	}
+
+	private void write()
+	{
+		try
+		{
+			JavaFileObject file = processingEnv.getFiler().createSourceFile(PACKAGE + "." + INDEX,
+				originatingElements.toArray(new Element[0]));
+			try (PrintWriter out = new PrintWriter(file.openWriter()))
+			{
+				out.println("package " + PACKAGE + ";");
+				out.println();
+				out.println("import com.questhelper.questhelpers.QuestHelper;");
+				out.println("import java.util.Collections;");
+				out.println("import java.util.EnumSet;");
+				out.println("import java.util.Set;");
+				out.println("import javax.annotation.processing.Generated;");
+				out.println();
+				out.println("@Generated(\"" + getClass().getName() + "\")");
+				out.println("final class " + INDEX);
+				out.println("{");
+				out.println("\tstatic final Set<QuestHelperQuest> QUESTS = Collections.unmodifiableSet(EnumSet.of(");
+				out.println(quests.keySet().stream()
+					.map(quest -> "\t\tQuestHelperQuest." + quest)
+					.collect(Collectors.joining(",\n", "", "));")));
+				out.println();
+				out.println("\tprivate " + INDEX + "()");
+				out.println("\t{");
+				out.println("\t}");
+				out.println();
+				out.println("\tstatic QuestHelper create(QuestHelperQuest quest)");
+				out.println("\t{");
+				out.println("\t\tswitch (quest)");
+				out.println("\t\t{");
+				for (Map.Entry<String, String> entry : quests.entrySet())
+				{
+					out.println("\t\t\tcase " + entry.getKey() + ":");
+					out.println("\t\t\t\treturn new " + entry.getValue() + "();");
+				}
+				out.println("\t\t\tdefault:");
+				out.println("\t\t\t\treturn null;");
+				out.println("\t\t}");
+				out.println("\t}");
+				out.println("}");
+			}
+		}
+		catch (IOException e)
+		{
+			processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR,
+				"Unable to write " + INDEX + ": " + e);
+		}
+	}
+
+	private void warn(Element element, String message)
+	{
+		processingEnv.getMessager().printMessage(Diagnostic.Kind.WARNING, message, element);
+	}
+}
@@ -0,0 +1,216 @@
+package com.questhelper.processor;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import javax.tools.Diagnostic;
+import javax.tools.DiagnosticCollector;
+import javax.tools.FileObject;
+import javax.tools.ForwardingJavaFileManager;
+import javax.tools.JavaCompiler;
+import javax.tools.JavaFileManager;
+import javax.tools.JavaFileObject;
+import javax.tools.SimpleJavaFileObject;
+import javax.tools.StandardLocation;
+import javax.tools.ToolProvider;
+import org.junit.jupiter.api.Test;
+
+public class QuestRegistryProcessorTest
+{
+	private static final String QUEST_DESCRIPTOR = "package com.questhelper;\n"
+		+ "import java.lang.annotation.*;\n"
+		+ "@Retention(RetentionPolicy.RUNTIME)\n"
+		+ "@Target(ElementType.TYPE)\n"
+		+ "public @interface QuestDescriptor { QuestHelperQuest quest(); }\n";
+
+	private static final String QUEST_HELPER_QUEST = "package com.questhelper;\n"
+		+ "public enum QuestHelperQuest { COOKS_ASSISTANT, DRAGON_SLAYER, ERNEST_THE_CHICKEN }\n";
+
+	private static final String QUEST_HELPER = "package com.questhelper.questhelpers;\n"
+		+ "public abstract class QuestHelper { }\n";
+
+	@Test
+	public void generatesIndexOfDescribedQuests()
+	{
+		Result result = compile(
+			source("com.questhelper.quests.DragonSlayer",
+				"package com.questhelper.quests;\n"
+					+ "@com.questhelper.QuestDescriptor(quest = com.questhelper.QuestHelperQuest.DRAGON_SLAYER)\n"
+					+ "public class DragonSlayer extends com.questhelper.questhelpers.QuestHelper { }\n"),
+			source("com.questhelper.quests.CooksAssistant",
+				"package com.questhelper.quests;\n"
+					+ "@com.questhelper.QuestDescriptor(quest = com.questhelper.QuestHelperQuest.COOKS_ASSISTANT)\n"
+					+ "public class CooksAssistant extends com.questhelper.questhelpers.QuestHelper { }\n"));
+
+		assertTrue(result.success, result.messages.toString());
+		assertTrue(result.messages.isEmpty(), result.messages.toString());
+
+		String index = result.generated.get("com.questhelper.QuestRegistryIndex");
+		assertNotNull(index);
+
+		// quests are sorted, so the index is the same whatever order the sources are compiled in
+		assertTrue(index.contains("EnumSet.of(\n"
+			+ "\t\tQuestHelperQuest.COOKS_ASSISTANT,\n"
+			+ "\t\tQuestHelperQuest.DRAGON_SLAYER));"), index);
+		assertTrue(index.contains("case COOKS_ASSISTANT:\n"
+			+ "\t\t\t\treturn new com.questhelper.quests.CooksAssistant();"), index);
+		assertTrue(index.contains("case DRAGON_SLAYER:\n"
+			+ "\t\t\t\treturn new com.questhelper.quests.DragonSlayer();"), index);
+		assertFalse(index.contains("ERNEST_THE_CHICKEN"), index);
+	}
+
+	@Test
+	public void warnsAboutHelpersWhichCanNotBeListed()
+	{
+		Result result = compile(
+			source("com.questhelper.quests.CooksAssistant",
+				"package com.questhelper.quests;\n"
+					+ "@com.questhelper.QuestDescriptor(quest = com.questhelper.QuestHelperQuest.COOKS_ASSISTANT)\n"
+					+ "public class CooksAssistant extends com.questhelper.questhelpers.QuestHelper { }\n"),
+			source("com.questhelper.quests.CooksAssistantCopy",
+				"package com.questhelper.quests;\n"
+					+ "@com.questhelper.QuestDescriptor(quest = com.questhelper.QuestHelperQuest.COOKS_ASSISTANT)\n"
+					+ "public class CooksAssistantCopy extends com.questhelper.questhelpers.QuestHelper { }\n"),
+			source("com.questhelper.quests.NotAHelper",
+				"package com.questhelper.quests;\n"
+					+ "@com.questhelper.QuestDescriptor(quest = com.questhelper.QuestHelperQuest.DRAGON_SLAYER)\n"
+					+ "public class NotAHelper { }\n"),
+			source("com.questhelper.quests.NoPublicConstructor",
+				"package com.questhelper.quests;\n"
+					+ "@com.questhelper.QuestDescriptor(quest = com.questhelper.QuestHelperQuest.DRAGON_SLAYER)\n"
+					+ "public class NoPublicConstructor extends com.questhelper.questhelpers.QuestHelper\n"
+					+ "{ NoPublicConstructor(int stage) { } }\n"),
+			source("com.questhelper.quests.Undescribed",
+				"package com.questhelper.quests;\n"
+					+ "public class Undescribed extends com.questhelper.questhelpers.QuestHelper { }\n"));
+
+		assertTrue(result.success, result.messages.toString());
+		assertEquals(4, result.messages.size(), result.messages.toString());
+		assertTrue(result.messages.contains("Quest COOKS_ASSISTANT is already described by "
+			+ "com.questhelper.quests.CooksAssistant"), result.messages.toString());
+		assertTrue(result.messages.contains("Class com.questhelper.quests.NotAHelper has quest descriptor, "
+			+ "but is not a quest helper"), result.messages.toString());
+		assertTrue(result.messages.contains("Class com.questhelper.quests.NoPublicConstructor has quest "
+			+ "descriptor, but can not be instantiated"), result.messages.toString());
+		assertTrue(result.messages.contains("Class com.questhelper.quests.Undescribed is a quest helper, "
+			+ "but has no quest descriptor"), result.messages.toString());
+
+		String index = result.generated.get("com.questhelper.QuestRegistryIndex");
+		assertNotNull(index);
+		assertTrue(index.contains("return new com.questhelper.quests.CooksAssistant();"), index);
+		assertFalse(index.contains("DRAGON_SLAYER"), index);
+	}
+
+	@Test
+	public void generatesNothingWithoutQuests()
+	{
+		Result result = compile(
+			source("com.questhelper.quests.Undescribed",
+				"package com.questhelper.quests;\n"
+					+ "public class Undescribed { }\n"));
+
+		assertTrue(result.success, result.messages.toString());
+		assertNull(result.generated.get("com.questhelper.QuestRegistryIndex"));
+	}
+
+	private static JavaFileObject source(String className, String code)
+	{
+		return new SimpleJavaFileObject(URI.create("string:///" + className.replace('.', '/') + ".java"),
+			JavaFileObject.Kind.SOURCE)
+		{
+			@Override
+			public CharSequence getCharContent(boolean ignoreEncodingErrors)
+			{
+				return code;
+			}
+		};
+	}
+
+	private static Result compile(JavaFileObject... quests)
+	{
+		List<JavaFileObject> sources = new ArrayList<>();
+		sources.add(source("com.questhelper.QuestDescriptor", QUEST_DESCRIPTOR));
+		sources.add(source("com.questhelper.QuestHelperQuest", QUEST_HELPER_QUEST));
+		sources.add(source("com.questhelper.questhelpers.QuestHelper", QUEST_HELPER));
+		Collections.addAll(sources, quests);
+
+		JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+		DiagnosticCollector<JavaFileObject> diagnostics = new DiagnosticCollector<>();
+		MemoryFileManager fileManager = new MemoryFileManager(
+			compiler.getStandardFileManager(diagnostics, null, null));
+
+		JavaCompiler.CompilationTask task = compiler.getTask(null, fileManager, diagnostics,
+			List.of("-proc:only"), null, sources);
+		task.setProcessors(List.of(new QuestRegistryProcessor()));
+
+		Result result = new Result();
+		result.success = task.call();
+		result.messages = diagnostics.getDiagnostics().stream()
+			.filter(d -> d.getKind() != Diagnostic.Kind.NOTE)
+			.map(d -> d.getMessage(null))
+			.collect(Collectors.toList());
+		fileManager.sources.forEach((name, out) -> result.generated.put(name, out.toString().replace("\r\n", "\n")));
+		return result;
+	}
+
+	private static class Result
+	{
+		private boolean success;
+		private List<String> messages;
+		private final Map<String, String> generated = new HashMap<>();
+	}
+
+	/**
+	 * Keeps the generated sources in memory, by class name.
+	 */
+	private static class MemoryFileManager extends ForwardingJavaFileManager<JavaFileManager>
+	{
+		private final Map<String, ByteArrayOutputStream> sources = new HashMap<>();
+
+		private MemoryFileManager(JavaFileManager fileManager)
+		{
+			super(fileManager);
+		}
+
+		@Override
+		public JavaFileObject getJavaFileForOutput(Location location, String className, JavaFileObject.Kind kind,
+			FileObject sibling) throws IOException
+		{
+			if (location != StandardLocation.SOURCE_OUTPUT)
+			{
+				return super.getJavaFileForOutput(location, className, kind, sibling);
+			}
+
+			return new SimpleJavaFileObject(URI.create("mem:///" + className.replace('.', '/') + kind.extension), kind)
+			{
+				@Override
+				public OutputStream openOutputStream()
+				{
+					ByteArrayOutputStream out = new ByteArrayOutputStream();
+					sources.put(className, out);
+					return out;
+				}
+
+				// read back in the next round
+				@Override
+				public CharSequence getCharContent(boolean ignoreEncodingErrors)
+				{
+					return sources.get(className).toString();
+				}
+			};
+		}
+	}
+}
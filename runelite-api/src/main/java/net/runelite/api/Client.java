@@ -640,6 +640,21 @@ public interface Client extends GameEngine {
    */
   void setMenuEntries(MenuEntry[] entries);
 
+  /**
+   * Copies the open menu entries into existing entries, without allocating.
+   *
+   * @param entries the entries to copy into, at least {@link #getMenuOptionCount()} of them
+   * @return the number of entries copied
+   */
+  int getMenuEntries(MenuEntry[] entries);
+
+  /**
+   * Sets the first {@code count} of the given entries as the open menu entries.
+   *
+   * @see #setMenuEntries(MenuEntry[])
+   */
+  void setMenuEntries(MenuEntry[] entries, int count);
+
   /**
    * @return amount of menu entries the client has (same as client.getMenuEntries().size())
    */
@@ -0,0 +1,59 @@
+package net.runelite.deob;
+
+import com.google.common.base.Stopwatch;
+import java.io.File;
+import java.util.concurrent.TimeUnit;
+import net.runelite.asm.ClassGroup;
+import net.runelite.asm.execution.Execution;
+import net.runelite.deob.util.JarUtil;
+import org.sponge.util.Logger;
+
+/**
+ * Times the arithmetic deobfuscation loop of {@link Deob}, which runs the executor over the whole
+ * client many times and dominates deobfuscation time.
+ * <p>
+ * Each round gets a fresh copy of the jar, so every round does the same work. The first rounds
+ * are only there to warm up the JIT and are not counted.
+ */
+public class ModArithBenchmark {
+
+  private static final Logger logger = new Logger("ModArithBenchmark");
+
+  public static void main(String[] args) {
+    if (args == null || args.length < 1) {
+      System.err.println("Syntax: input_jar [rounds] [warmup_rounds]");
+      System.exit(-1);
+    }
+
+    File jar = new File(args[0]);
+    int rounds = args.length > 1 ? Integer.parseInt(args[1]) : 5;
+    int warmup = args.length > 2 ? Integer.parseInt(args[2]) : 2;
+
+    long total = 0, best = Long.MAX_VALUE;
+    for (int i = 0; i < warmup + rounds; ++i) {
+      ClassGroup group = JarUtil.loadCached(jar);
+
+      Stopwatch stopwatch = Stopwatch.createStarted();
+      Deob.runMath(group);
+      long time = stopwatch.elapsed(TimeUnit.MILLISECONDS);
+
+      if (i < warmup) {
+        logger.info("Warmup round {} took {} ms", i + 1, time);
+        continue;
+      }
+
+      logger.info("Round {} took {} ms", i + 1 - warmup, time);
+      total += time;
+      best = Math.min(best, time);
+    }
+
+    // a last plain execution, to show how much of the client the executor reaches
+    ClassGroup group = JarUtil.load(jar);
+    Execution execution = new Execution(group);
+    execution.populateInitialMethods();
+    execution.run();
+
+    logger.info("{} rounds, average {} ms, best {} ms, {} instructions executed",
+        rounds, total / Math.max(rounds, 1), best, execution.executed.size());
+  }
+}
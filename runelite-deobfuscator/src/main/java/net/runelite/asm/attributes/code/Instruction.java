@@ -24,6 +24,7 @@
  */
 package net.runelite.asm.attributes.code;
 
+import java.util.concurrent.atomic.AtomicInteger;
 import net.runelite.asm.Method;
 import net.runelite.asm.execution.Frame;
 import net.runelite.asm.execution.InstructionContext;
@@ -31,8 +32,11 @@ import org.objectweb.asm.MethodVisitor;
 
 public abstract class Instruction implements Cloneable {
 
+  private static final AtomicInteger nextId = new AtomicInteger();
+
   private Instructions instructions;
   private InstructionType type;
+  private int id = nextId.getAndIncrement(); // unique, used by the executor to track visited instructions
 
   public Instruction(Instructions instructions, InstructionType type) {
     this.instructions = instructions;
@@ -58,6 +62,7 @@ public abstract class Instruction implements Cloneable {
       throw new RuntimeException(ex);
     }
 
+    i.id = nextId.getAndIncrement();
     return i;
   }
 
@@ -94,6 +99,10 @@ public abstract class Instruction implements Cloneable {
     this.instructions = instructions;
   }
 
+  public int getId() {
+    return id;
+  }
+
   public InstructionType getType() {
     return type;
   }
@@ -25,7 +25,9 @@
 package net.runelite.asm.attributes.code;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.IdentityHashMap;
 import java.util.Iterator;
 import java.util.List;
 import java.util.ListIterator;
@@ -38,6 +40,7 @@ public class Instructions implements Iterable<Instruction> {
   private final Code code;
   private final List<Instruction> instructions = new ArrayList<>();
   private final Map<org.objectweb.asm.Label, Label> labelMap = new HashMap<>();
+  private volatile Map<Instruction, Integer> positions = Collections.emptyMap();
 
   public Instructions(Code code) {
     this.code = code;
@@ -108,6 +111,29 @@ public class Instructions implements Iterable<Instruction> {
     return instructions;
   }
 
+  /**
+   * Find the position of an instruction. Positions are cached and the cache is rebuilt whenever
+   * it no longer matches the list, as callers are free to modify the list directly. The cache is
+   * replaced rather than modified, so methods can be stepped through from several threads.
+   *
+   * @return the index of the instruction, or -1 if it is not in this method
+   */
+  public int indexOf(Instruction i) {
+    Integer idx = positions.get(i);
+    if (idx != null && idx < instructions.size() && instructions.get(idx) == i) {
+      return idx;
+    }
+
+    Map<Instruction, Integer> rebuilt = new IdentityHashMap<>(instructions.size());
+    for (int j = 0; j < instructions.size(); ++j) {
+      rebuilt.put(instructions.get(j), j);
+    }
+    positions = rebuilt;
+
+    idx = rebuilt.get(i);
+    return idx != null ? idx : -1;
+  }
+
   public void addInstruction(Instruction i) {
     assert i.getInstructions() == this;
     instructions.add(i);
@@ -0,0 +1,29 @@
+package net.runelite.asm.execution;
+
+import java.util.BitSet;
+import net.runelite.asm.attributes.code.Instruction;
+
+/**
+ * The set of instructions the executor has reached, as a bitset over {@link Instruction#getId()}.
+ * Ids never change, so this stays correct while visitors modify code during execution.
+ */
+public class ExecutedInstructions {
+
+  private final BitSet ids = new BitSet();
+
+  public void add(Instruction i) {
+    ids.set(i.getId());
+  }
+
+  public boolean contains(Instruction i) {
+    return ids.get(i.getId());
+  }
+
+  public int size() {
+    return ids.cardinality();
+  }
+
+  public void clear() {
+    ids.clear();
+  }
+}
@@ -40,7 +40,6 @@ import net.runelite.asm.ClassFile;
 import net.runelite.asm.ClassGroup;
 import net.runelite.asm.Field;
 import net.runelite.asm.Method;
-import net.runelite.asm.attributes.code.Instruction;
 import net.runelite.deob.Deob;
 
 public class Execution {
@@ -50,7 +49,7 @@ public class Execution {
   private final Map<Object, Integer> order = new HashMap<>(); // field,method -> order encountered
   private final Map<Object, Integer> accesses = new HashMap<>();
   public List<Frame> frames = new ArrayList<>(), framesOther = new ArrayList<>();
-  public Set<Instruction> executed = new HashSet<>(); // executed instructions
+  public ExecutedInstructions executed = new ExecutedInstructions(); // executed instructions
   public boolean paused;
   public boolean step = false;
   public boolean noInvoke = false;
@@ -279,19 +278,8 @@ public class Execution {
       return; // no sense keeping track of this
     }
 
-    Integer i;
-    i = order.get(m);
-    int next = frame.getNextOrder();
-    if (i == null || next < i) {
-      order.put(m, next);
-    }
-
-    i = accesses.get(m);
-    if (i == null) {
-      accesses.put(m, 1);
-    } else {
-      accesses.put(m, i + 1);
-    }
+    order.merge(m, frame.getNextOrder(), Math::min);
+    accesses.merge(m, 1, Integer::sum);
   }
 
   public Integer getOrder(Object m) {
@@ -292,11 +292,10 @@ public class Frame {
 
   public void nextInstruction() {
     Instructions ins = method.getCode().getInstructions();
-    List<Instruction> instructions = ins.getInstructions();
 
-    int idx = instructions.indexOf(cur);
+    int idx = ins.indexOf(cur);
     assert idx != -1;
-    cur = instructions.get(idx + 1);
+    cur = ins.getInstructions().get(idx + 1);
   }
 
   private InstructionContext lastInstruction() {
@@ -50,7 +50,7 @@ public class InstructionContext {
   public InstructionContext(Instruction i, Frame f) {
     ins = i;
     frame = f;
-    stack = new Stack(frame.getStack());
+    stack = frame.getStack().snapshot();
     variables = new Variables(frame.getVariables());
   }
 
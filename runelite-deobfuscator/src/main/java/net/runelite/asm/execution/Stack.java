@@ -44,6 +44,19 @@ public class Stack {
     this.stack = other.stack.clone();
   }
 
+  private Stack(StackContext[] stack, int size) {
+    this.stack = stack;
+    this.size = size;
+  }
+
+  /**
+   * Copy only the used part of this stack, for recording the stack at the time an instruction was
+   * executed. The copy is full, so it can be popped but not pushed to.
+   */
+  public Stack snapshot() {
+    return new Stack(Arrays.copyOf(stack, size), size);
+  }
+
   private void printStack(StackContext ctx, int level) {
     for (int i = 0; i < level; ++i) {
       System.err.print(" ");
@@ -27,17 +27,24 @@ package net.runelite.asm.execution;
 
 public class Variables {
 
-  private final VariableContext[] variables;
+  private VariableContext[] variables;
+  private boolean shared; // variables is also referenced by another copy, and must be copied on write
 
   public Variables(int sz) {
     variables = new VariableContext[sz];
   }
 
   public Variables(Variables other) {
-    this.variables = other.variables.clone();
+    // most instructions don't store to the lvt, so copies share the array until one is written to
+    this.variables = other.variables;
+    this.shared = other.shared = true;
   }
 
   public void set(int index, VariableContext value) {
+    if (shared) {
+      variables = variables.clone();
+      shared = false;
+    }
     variables[index] = value;
   }
 
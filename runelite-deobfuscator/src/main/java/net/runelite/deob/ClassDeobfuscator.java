@@ -0,0 +1,31 @@
+package net.runelite.deob;
+
+import net.runelite.asm.ClassFile;
+import net.runelite.asm.ClassGroup;
+
+/**
+ * A deobfuscator whose work splits into independent per class steps. {@link #run(ClassFile)} may
+ * be called concurrently for different classes, so it must only modify the class it is given.
+ */
+public interface ClassDeobfuscator extends Deobfuscator {
+
+  /**
+   * Whole program work which has to happen before the classes are processed
+   */
+  default void prepare(ClassGroup group) {
+  }
+
+  /**
+   * @return the number of members or instructions changed
+   */
+  int run(ClassFile cf);
+
+  @Override
+  default void run(ClassGroup group) {
+    prepare(group);
+
+    for (ClassFile cf : group.getClasses()) {
+      run(cf);
+    }
+  }
+}
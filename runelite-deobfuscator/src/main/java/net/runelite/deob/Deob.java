@@ -24,11 +24,9 @@
  */
 package net.runelite.deob;
 
-import com.google.common.base.Stopwatch;
 import java.io.File;
 import java.io.IOException;
 import net.runelite.asm.ClassGroup;
-import net.runelite.asm.execution.Execution;
 import net.runelite.deob.deobfuscators.CastNull;
 import net.runelite.deob.deobfuscators.EnumDeobfuscator;
 import net.runelite.deob.deobfuscators.FieldInliner;
@@ -55,6 +53,7 @@ import net.runelite.deob.deobfuscators.transformers.GetPathTransformer;
 import net.runelite.deob.deobfuscators.transformers.OpcodesTransformer;
 import net.runelite.deob.deobfuscators.transformers.ReflectionTransformer;
 import net.runelite.deob.util.JarUtil;
+
 public class Deob {
 
   public static final int OBFUSCATED_NAME_MAX_LEN = 3;
@@ -66,62 +65,62 @@ public class Deob {
       System.exit(-1);
     }
 
-
-    Stopwatch stopwatch = Stopwatch.createStarted();
-
     ClassGroup group = JarUtil.load(new File(args[0]));
 
+    PassRunner passes = new PassRunner(group, Runtime.getRuntime().availableProcessors());
+    passes.setCheckExecution(CHECK_EXEC);
+
     // remove except RuntimeException
-    run(group, new RuntimeExceptions());
+    passes.run(new RuntimeExceptions());
 
-    run(group, new ControlFlowDeobfuscator());
+    passes.run(new ControlFlowDeobfuscator());
 
-    run(group, new RenameUnique());
+    passes.run(new RenameUnique());
 
     // remove unused methods - this leaves Code with no instructions,
     // which is not valid, so unused methods is run after
-    run(group, new UnreachedCode());
-    run(group, new UnusedMethods());
+    passes.run(new UnreachedCode());
+    passes.run(new UnusedMethods());
 
     // remove illegal state exceptions, frees up some parameters
-    run(group, new IllegalStateExceptions());
+    passes.run(new IllegalStateExceptions());
 
     // remove constant logically dead parameters
-    run(group, new ConstantParameter());
+    passes.run(new ConstantParameter());
 
     // remove unhit blocks
-    run(group, new UnreachedCode());
-    run(group, new UnusedMethods());
+    passes.run(new UnreachedCode());
+    passes.run(new UnusedMethods());
 
     // remove unused parameters
-    run(group, new UnusedParameters());
+    passes.run(new UnusedParameters());
 
     // remove unused fields
-    run(group, new UnusedFields());
+    passes.run(new UnusedFields());
 
-    run(group, new FieldInliner());
+    passes.run(new FieldInliner());
 
     // order uses class name order for sorting fields/methods,
     // so run it before removing classes below
-    run(group, new Order());
+    passes.run(new Order());
 
-    run(group, new UnusedClass());
+    passes.run(new UnusedClass());
 
     runMath(group);
 
-    run(group, new ExprArgOrder());
+    passes.run(new ExprArgOrder());
 
-    run(group, new Lvt());
+    passes.run(new Lvt());
 
-    run(group, new CastNull());
+    passes.run(new CastNull());
 
-    run(group, new EnumDeobfuscator());
+    passes.run(new EnumDeobfuscator());
 
     new OpcodesTransformer().transform(group);
-    //run(group, new PacketHandlerOrder());
-    //run(group, new PacketWriteDeobfuscator());
+    //passes.run(new PacketHandlerOrder());
+    //passes.run(new PacketWriteDeobfuscator());
 
-    run(group, new MenuActionDeobfuscator());
+    passes.run(new MenuActionDeobfuscator());
 
     new GetPathTransformer().transform(group);
     new ClientErrorTransformer().transform(group);
@@ -129,9 +128,10 @@ public class Deob {
     //new MaxMemoryTransformer().transform(group);
     //new RuneliteBufferTransformer().transform(group);
 
-    JarUtil.save(group, new File(args[1]));
+    passes.report();
+    passes.shutdown();
 
-    stopwatch.stop();
+    JarUtil.save(group, new File(args[1]));
   }
 
   public static boolean isObfuscated(String name) {
@@ -145,7 +145,7 @@ public class Deob {
         || name.startsWith("__");
   }
 
-  private static void runMath(ClassGroup group) {
+  static void runMath(ClassGroup group) {
     ModArith mod = new ModArith();
     mod.run(group);
 
@@ -171,16 +171,4 @@ public class Deob {
 
     mod.annotateEncryption();
   }
-
-  private static void run(ClassGroup group, Deobfuscator deob) {
-    Stopwatch stopwatch = Stopwatch.createStarted();
-    deob.run(group);
-    stopwatch.stop();
-    // check code is still correct
-    if (CHECK_EXEC) {
-      Execution execution = new Execution(group);
-      execution.populateInitialMethods();
-      execution.run();
-    }
-  }
 }
@@ -0,0 +1,34 @@
+package net.runelite.deob;
+
+import net.runelite.asm.ClassFile;
+import net.runelite.asm.ClassGroup;
+import net.runelite.asm.Method;
+
+/**
+ * A deobfuscator whose work splits into independent per method steps. {@link #run(Method)} may be
+ * called concurrently for different methods, so it must only modify the method it is given.
+ */
+public interface MethodDeobfuscator extends Deobfuscator {
+
+  /**
+   * Whole program work which has to happen before the methods are processed
+   */
+  default void prepare(ClassGroup group) {
+  }
+
+  /**
+   * @return the number of instructions changed
+   */
+  int run(Method method);
+
+  @Override
+  default void run(ClassGroup group) {
+    prepare(group);
+
+    for (ClassFile cf : group.getClasses()) {
+      for (Method m : cf.getMethods()) {
+        run(m);
+      }
+    }
+  }
+}
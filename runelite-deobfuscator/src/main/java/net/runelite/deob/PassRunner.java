@@ -0,0 +1,151 @@
+package net.runelite.deob;
+
+import com.google.common.base.Stopwatch;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+import net.runelite.asm.ClassFile;
+import net.runelite.asm.ClassGroup;
+import net.runelite.asm.Method;
+import net.runelite.asm.attributes.Code;
+import net.runelite.asm.execution.Execution;
+import org.sponge.util.Logger;
+
+/**
+ * Runs deobfuscators over a class group and records how long each took and how much it changed.
+ * <p>
+ * {@link MethodDeobfuscator}s and {@link ClassDeobfuscator}s have their per method and per class
+ * work spread over a fork-join pool. Each unit of work only touches its own method or class, so the
+ * result does not depend on the order they finish in. Every other deobfuscator is run as is.
+ */
+public class PassRunner {
+
+  private static final Logger logger = new Logger("Deob");
+
+  private final ClassGroup group;
+  private final ForkJoinPool pool;
+  private final List<Pass> passes = new ArrayList<>();
+  private boolean checkExecution;
+
+  public PassRunner(ClassGroup group, int parallelism) {
+    this.group = group;
+    this.pool = new ForkJoinPool(parallelism);
+  }
+
+  /**
+   * Run the executor over the group after every pass to check the code is still valid
+   */
+  public void setCheckExecution(boolean checkExecution) {
+    this.checkExecution = checkExecution;
+  }
+
+  public void run(Deobfuscator deob) {
+    Stopwatch stopwatch = Stopwatch.createStarted();
+    int before = countInstructions(group);
+
+    Scope scope;
+    int changed;
+    if (deob instanceof MethodDeobfuscator) {
+      MethodDeobfuscator md = (MethodDeobfuscator) deob;
+      scope = Scope.METHOD;
+
+      md.prepare(group);
+
+      List<Method> methods = new ArrayList<>();
+      for (ClassFile cf : group.getClasses()) {
+        methods.addAll(cf.getMethods());
+      }
+
+      changed = pool.submit(() -> methods.parallelStream()
+          .mapToInt(md::run)
+          .sum()).join();
+    } else if (deob instanceof ClassDeobfuscator) {
+      ClassDeobfuscator cd = (ClassDeobfuscator) deob;
+      scope = Scope.CLASS;
+
+      cd.prepare(group);
+
+      List<ClassFile> classes = new ArrayList<>(group.getClasses());
+      changed = pool.submit(() -> classes.parallelStream()
+          .mapToInt(cd::run)
+          .sum()).join();
+    } else {
+      scope = Scope.PROGRAM;
+
+      deob.run(group);
+      changed = -1;
+    }
+
+    stopwatch.stop();
+
+    Pass pass = new Pass(deob.getClass().getSimpleName(), scope,
+        stopwatch.elapsed(TimeUnit.MILLISECONDS), changed, countInstructions(group) - before);
+    passes.add(pass);
+    logger.debug(pass.toString());
+
+    if (checkExecution) {
+      Execution execution = new Execution(group);
+      execution.populateInitialMethods();
+      execution.run();
+    }
+  }
+
+  /**
+   * Log the timing and change counts of all passes run so far
+   */
+  public void report() {
+    long total = 0;
+    for (Pass pass : passes) {
+      logger.info(pass.toString());
+      total += pass.time;
+    }
+    logger.info("{} passes took {} ms on {} threads", passes.size(), total, pool.getParallelism());
+  }
+
+  public void shutdown() {
+    pool.shutdown();
+  }
+
+  private static int countInstructions(ClassGroup group) {
+    int count = 0;
+    for (ClassFile cf : group.getClasses()) {
+      for (Method m : cf.getMethods()) {
+        Code code = m.getCode();
+        if (code != null) {
+          count += code.getInstructions().getInstructions().size();
+        }
+      }
+    }
+    return count;
+  }
+
+  public enum Scope {
+    METHOD,
+    CLASS,
+    PROGRAM
+  }
+
+  private static class Pass {
+
+    private final String name;
+    private final Scope scope;
+    private final long time;
+    private final int changed; // as reported by the pass, -1 if it doesn't
+    private final int delta; // difference in instruction count
+
+    private Pass(String name, Scope scope, long time, int changed, int delta) {
+      this.name = name;
+      this.scope = scope;
+      this.time = time;
+      this.changed = changed;
+      this.delta = delta;
+    }
+
+    @Override
+    public String toString() {
+      return String.format("%-28s %-7s %6d ms %8s changed %+8d instructions",
+          name, scope, time, changed >= 0 ? changed : "-", delta);
+    }
+  }
+}
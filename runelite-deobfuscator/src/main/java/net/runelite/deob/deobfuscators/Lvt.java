@@ -24,13 +24,11 @@
  */
 package net.runelite.deob.deobfuscators;
 
-import net.runelite.asm.ClassFile;
-import net.runelite.asm.ClassGroup;
 import net.runelite.asm.Method;
 import net.runelite.asm.attributes.Code;
 import net.runelite.asm.attributes.code.Instruction;
 import net.runelite.asm.attributes.code.instruction.types.LVTInstruction;
-import net.runelite.deob.Deobfuscator;
+import net.runelite.deob.MethodDeobfuscator;
 import net.runelite.deob.deobfuscators.lvt.Mappings;
 
 /**
@@ -39,17 +37,16 @@ import net.runelite.deob.deobfuscators.lvt.Mappings;
  *
  * @author Adam
  */
-public class Lvt implements Deobfuscator {
+public class Lvt implements MethodDeobfuscator {
 
-
-  private int count = 0;
-
-  private void process(Method method) {
+  @Override
+  public int run(Method method) {
     Code code = method.getCode();
     if (code == null) {
-      return;
+      return 0;
     }
 
+    int count = 0;
     Mappings mappings = new Mappings(code.getMaxLocals());
 
     for (Instruction ins : code.getInstructions().getInstructions()) {
@@ -71,15 +68,7 @@ public class Lvt implements Deobfuscator {
 
       ++count;
     }
-  }
-
-  @Override
-  public void run(ClassGroup group) {
-    for (ClassFile cf : group.getClasses()) {
-      for (Method m : cf.getMethods()) {
-        process(m);
-      }
-    }
+    return count;
   }
 
 }
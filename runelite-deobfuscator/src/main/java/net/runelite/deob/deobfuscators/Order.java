@@ -34,7 +34,7 @@ import net.runelite.asm.Method;
 import net.runelite.asm.attributes.Annotated;
 import net.runelite.asm.execution.Execution;
 import net.runelite.deob.DeobAnnotations;
-import net.runelite.deob.Deobfuscator;
+import net.runelite.deob.ClassDeobfuscator;
 
 /**
  * Sort fields and methods based first on the name order of the classes, and then based on the order
@@ -42,13 +42,13 @@ import net.runelite.deob.Deobfuscator;
  *
  * @author Adam
  */
-public class Order implements Deobfuscator {
+public class Order implements ClassDeobfuscator {
 
   private final Map<String, Integer> nameIndices = new HashMap<>();
   private Execution execution;
 
   @Override
-  public void run(ClassGroup group) {
+  public void prepare(ClassGroup group) {
     execution = new Execution(group);
     execution.staticStep = true;
     execution.populateInitialMethods();
@@ -59,23 +59,24 @@ public class Order implements Deobfuscator {
       String className = DeobAnnotations.getObfuscatedName(cf);
       nameIndices.put(className, i);
     }
+  }
 
-    int sortedMethods = 0, sortedFields = 0;
-
-    for (ClassFile cf : group.getClasses()) {
-      List<Method> m = cf.getMethods();
-      m.sort(this::compare);
+  @Override
+  public int run(ClassFile cf) {
+    List<Method> m = cf.getMethods();
+    m.sort(this::compare);
 
-      sortedMethods += m.size();
+    int sorted = m.size();
 
-      // field order of enums is mostly handled in EnumDeobfuscator
-      if (!cf.isEnum()) {
-        List<Field> f = cf.getFields();
-        f.sort(this::compare);
+    // field order of enums is mostly handled in EnumDeobfuscator
+    if (!cf.isEnum()) {
+      List<Field> f = cf.getFields();
+      f.sort(this::compare);
 
-        sortedFields += f.size();
-      }
+      sorted += f.size();
     }
+
+    return sorted;
   }
 
   // static fields, member fields, clinit, init, methods, static methods
@@ -27,16 +27,15 @@ package net.runelite.deob.deobfuscators;
 
 import java.util.ArrayList;
 import java.util.List;
-import net.runelite.asm.ClassFile;
 import net.runelite.asm.ClassGroup;
 import net.runelite.asm.Method;
 import net.runelite.asm.attributes.code.Instruction;
 import net.runelite.asm.attributes.code.Instructions;
 import net.runelite.asm.attributes.code.Label;
 import net.runelite.asm.execution.Execution;
-import net.runelite.deob.Deobfuscator;
+import net.runelite.deob.MethodDeobfuscator;
 
-public class UnreachedCode implements Deobfuscator {
+public class UnreachedCode implements MethodDeobfuscator {
 
   private Execution execution;
 
@@ -78,23 +77,20 @@ public class UnreachedCode implements Deobfuscator {
   }
 
   @Override
-  public void run(ClassGroup group) {
+  public void prepare(ClassGroup group) {
     group.buildClassGraph();
 
     execution = new Execution(group);
     execution.populateInitialMethods();
     execution.run();
+  }
 
-    int count = 0;
-
-    for (ClassFile cf : group.getClasses()) {
-      for (Method m : cf.getMethods()) {
-        if (m.getCode() == null) {
-          continue;
-        }
-
-        count += removeUnused(m);
-      }
+  @Override
+  public int run(Method m) {
+    if (m.getCode() == null) {
+      return 0;
     }
+
+    return removeUnused(m);
   }
 }
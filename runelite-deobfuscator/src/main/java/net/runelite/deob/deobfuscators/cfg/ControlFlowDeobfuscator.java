@@ -25,41 +25,32 @@
 package net.runelite.deob.deobfuscators.cfg;
 
 import java.util.List;
-import net.runelite.asm.ClassFile;
-import net.runelite.asm.ClassGroup;
 import net.runelite.asm.Method;
 import net.runelite.asm.attributes.Code;
 import net.runelite.asm.attributes.code.Instruction;
 import net.runelite.asm.attributes.code.Instructions;
 import net.runelite.asm.attributes.code.Label;
 import net.runelite.asm.attributes.code.instructions.Goto;
-import net.runelite.deob.Deobfuscator;
+import net.runelite.deob.MethodDeobfuscator;
 
-public class ControlFlowDeobfuscator implements Deobfuscator {
-
-  private int insertedJump;
-  private int placedBlocks;
-  private int removedJumps;
+public class ControlFlowDeobfuscator implements MethodDeobfuscator {
 
   @Override
-  public void run(ClassGroup group) {
-    for (ClassFile cf : group.getClasses()) {
-      for (Method m : cf.getMethods()) {
-        Code code = m.getCode();
-
-        if (code == null || !code.getExceptions().getExceptions().isEmpty()) {
-          continue;
-        }
+  public int run(Method m) {
+    Code code = m.getCode();
 
-        run(code);
-        runJumpLabel(code);
-      }
+    if (code == null || !code.getExceptions().getExceptions().isEmpty()) {
+      return 0;
     }
 
-
+    return run(code) + runJumpLabel(code);
   }
 
-  private void run(Code code) {
+  /**
+   * @return the number of jumps inserted
+   */
+  private int run(Code code) {
+    int insertedJump = 0;
     Instructions ins = code.getInstructions();
 
     ControlFlowGraph graph = new ControlFlowGraph(code);
@@ -68,7 +59,6 @@ public class ControlFlowDeobfuscator implements Deobfuscator {
     ins.clear();
     final List<Block> sorted = graph.topologicalSort();
     for (Block b : sorted) {
-      ++placedBlocks;
       for (Instruction i : b.getInstructions()) {
         ins.addInstruction(i);
         i.setInstructions(ins);
@@ -87,12 +77,16 @@ public class ControlFlowDeobfuscator implements Deobfuscator {
         }
       }
     }
+    return insertedJump;
   }
 
   /**
    * remove jumps followed immediately by the label they are jumping to
+   *
+   * @return the number of jumps removed
    */
-  private void runJumpLabel(Code code) {
+  private int runJumpLabel(Code code) {
+    int removedJumps = 0;
     Instructions ins = code.getInstructions();
     List<Instruction> instructions = ins.getInstructions();
 
@@ -115,5 +109,6 @@ public class ControlFlowDeobfuscator implements Deobfuscator {
 
       // i now points to i2, so next loop we go to next instruction
     }
+    return removedJumps;
   }
 }
@@ -26,6 +26,8 @@
 package net.runelite.deob.deobfuscators.mapping;
 
 import java.util.Collection;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 import net.runelite.asm.Method;
 
 public class ExecutionMapper {
@@ -39,6 +41,22 @@ public class ExecutionMapper {
     this.methods2 = methods2;
   }
 
+  /**
+   * Drop candidates whose fingerprint is less than {@code threshold} similar to method1. If no
+   * candidate reaches the threshold they are all kept.
+   */
+  public void prune(Function<Method, MethodFingerprint> fingerprints, double threshold) {
+    MethodFingerprint fingerprint = fingerprints.apply(method1);
+
+    Collection<Method> similar = methods2.stream()
+        .filter(m -> fingerprint.similarity(fingerprints.apply(m)) >= threshold)
+        .collect(Collectors.toList());
+
+    if (!similar.isEmpty()) {
+      methods2 = similar;
+    }
+  }
+
   public ParallelExecutorMapping run() {
     ParallelExecutorMapping highest = null;
     boolean multiple = false;
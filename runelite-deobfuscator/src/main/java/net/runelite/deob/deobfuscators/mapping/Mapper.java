@@ -24,19 +24,33 @@
  */
 package net.runelite.deob.deobfuscators.mapping;
 
+import com.google.common.base.Stopwatch;
+import com.google.common.collect.Multimap;
 import java.util.ArrayList;
-import java.util.Collection;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 import net.runelite.asm.ClassFile;
 import net.runelite.asm.ClassGroup;
 import net.runelite.asm.Method;
+import org.sponge.util.Logger;
 
 public class Mapper {
 
+  private static final Logger logger = new Logger("Mapper");
 
   private final ClassGroup source, target;
+  private final Map<Method, MethodFingerprint> fingerprints = new ConcurrentHashMap<>();
+  private final Map<String, Long> stageTimes = new LinkedHashMap<>();
   private ParallelExecutorMapping mapping;
+  private int parallelism = Runtime.getRuntime().availableProcessors();
+  private double pruneThreshold; // 0 disables pruning
+  private ForkJoinPool pool;
 
   public Mapper(ClassGroup source, ClassGroup target) {
     this.source = source;
@@ -47,55 +61,118 @@ public class Mapper {
     return mapping;
   }
 
+  /**
+   * Set the number of threads used to run candidate method pairs
+   */
+  public void setParallelism(int parallelism) {
+    this.parallelism = parallelism;
+  }
+
+  /**
+   * Skip executing candidate pairs whose {@link MethodFingerprint}s are less similar than the
+   * given threshold. This is off by default, as it can change which candidate wins.
+   */
+  public void setPruneThreshold(double pruneThreshold) {
+    this.pruneThreshold = pruneThreshold;
+  }
+
   public void run() {
-    ParallelExecutorMapping finalm = new ParallelExecutorMapping(source, target);
+    pool = new ForkJoinPool(parallelism);
+    try {
+      ParallelExecutorMapping finalm = new ParallelExecutorMapping(source, target);
+
+      finalm.merge(stage("static methods", this::mapStaticMethods));
+      finalm.merge(stage("methods", this::mapMethods));
 
-    finalm.merge(mapStaticMethods());
-    finalm.merge(mapMethods());
+      stage("reduce", finalm::reduce);
 
-    finalm.reduce();
+      // map unexecuted methods (their mappings have not yet been merged)
+      stage("unexecuted methods", () ->
+      {
+        while (mapUnexecutedMethods(finalm)) {
+          ;
+        }
+      });
+
+      stage("classes", finalm::buildClasses);
+
+      stage("member methods", () -> mapMemberMethods(finalm));
+
+      stage("constructors", () -> new ConstructorMapper(source, target, finalm).mapConstructors());
+
+      stage("reduce", finalm::reduce);
 
-    // map unexecuted methods (their mappings have not yet been merged)
-    while (mapUnexecutedMethods(finalm)) {
-      ;
+      mapping = finalm;
+    } finally {
+      pool.shutdown();
+      pool = null;
     }
 
-    finalm.buildClasses();
+    report();
+  }
+
+  private <T> T stage(String name, Supplier<T> stage) {
+    Stopwatch stopwatch = Stopwatch.createStarted();
+    T result = stage.get();
+    stageTimes.merge(name, stopwatch.elapsed(TimeUnit.MILLISECONDS), Long::sum);
+    return result;
+  }
+
+  private void stage(String name, Runnable stage) {
+    stage(name, () ->
+    {
+      stage.run();
+      return null;
+    });
+  }
 
-    mapMemberMethods(finalm);
+  private void report() {
+    long total = 0;
+    for (Map.Entry<String, Long> entry : stageTimes.entrySet()) {
+      logger.info(String.format("%-20s %6d ms", entry.getKey(), entry.getValue()));
+      total += entry.getValue();
+    }
+    logger.info("Mapping took {} ms on {} threads", total, parallelism);
+  }
 
-    new ConstructorMapper(source, target, finalm).mapConstructors();
+  /**
+   * Run each method against its candidates on the pool. Every pair gets its own executions, and
+   * the results are returned in the iteration order of the candidate map, so merging them gives
+   * the same mapping as running them one at a time.
+   */
+  private List<ParallelExecutorMapping> runCandidates(Multimap<Method, Method> candidates) {
+    List<Method> methods = new ArrayList<>(candidates.keySet());
 
-    finalm.reduce();
+    return pool.submit(() -> methods.parallelStream()
+        .map(m ->
+        {
+          ExecutionMapper em = new ExecutionMapper(m, candidates.get(m));
+          if (pruneThreshold > 0) {
+            em.prune(this::getFingerprint, pruneThreshold);
+          }
+          return em.run();
+        })
+        .collect(Collectors.toList())).join();
+  }
 
-    mapping = finalm;
+  private MethodFingerprint getFingerprint(Method method) {
+    return fingerprints.computeIfAbsent(method, MethodFingerprint::new);
   }
 
   private ParallelExecutorMapping mapMethods() {
     MethodSignatureMapper msm = new MethodSignatureMapper();
     msm.map(source, target);
 
-    List<ParallelExecutorMapping> pmes = new ArrayList<>();
-
-    for (Method m : msm.getMap().keySet()) {
-      Collection<Method> methods = msm.getMap().get(m);
-
-      ExecutionMapper em = new ExecutionMapper(m, methods);
+    ParallelExecutorMapping finalm = new ParallelExecutorMapping(source, target);
 
-      ParallelExecutorMapping mapping = em.run();
+    for (ParallelExecutorMapping mapping : runCandidates(msm.getMap())) {
       if (mapping == null) {
         continue;
       }
 
       mapping.map(null, mapping.m1, mapping.m2).wasExecuted = true;
 
-
-      pmes.add(mapping);
-    }
-
-    ParallelExecutorMapping finalm = new ParallelExecutorMapping(source, target);
-    for (ParallelExecutorMapping pme : pmes) {
-      finalm.merge(pme);
+      finalm.merge(mapping);
     }
 
     return finalm;
@@ -105,14 +182,9 @@ public class Mapper {
     StaticMethodSignatureMapper smsm = new StaticMethodSignatureMapper();
     smsm.map(source, target);
 
-    List<ParallelExecutorMapping> pmes = new ArrayList<>();
-
-    for (Method m : smsm.getMap().keySet()) {
-      Collection<Method> methods = smsm.getMap().get(m);
-
-      ExecutionMapper em = new ExecutionMapper(m, methods);
+    ParallelExecutorMapping finalm = new ParallelExecutorMapping(source, target);
 
-      ParallelExecutorMapping mapping = em.run();
+    for (ParallelExecutorMapping mapping : runCandidates(smsm.getMap())) {
       if (mapping == null) {
         continue;
       }
@@ -121,13 +193,7 @@ public class Mapper {
       map.wasExecuted = true;
       map.setWeight(mapping.same);
 
-
-      pmes.add(mapping);
-    }
-
-    ParallelExecutorMapping finalm = new ParallelExecutorMapping(source, target);
-    for (ParallelExecutorMapping pme : pmes) {
-      finalm.merge(pme);
+      finalm.merge(mapping);
     }
 
     return finalm;
@@ -0,0 +1,78 @@
+package net.runelite.deob.deobfuscators.mapping;
+
+import java.util.HashSet;
+import java.util.Set;
+import net.runelite.asm.Method;
+import net.runelite.asm.attributes.Code;
+import net.runelite.asm.attributes.code.Instruction;
+import net.runelite.asm.attributes.code.Label;
+import net.runelite.asm.attributes.code.instruction.types.InvokeInstruction;
+import net.runelite.asm.attributes.code.instruction.types.PushConstantInstruction;
+
+/**
+ * A cheap summary of a method's code, used to skip candidate pairs which are obviously different
+ * before running them through the parallel executor.
+ */
+public class MethodFingerprint {
+
+  private final int[] opcodes = new int[256]; // opcode histogram
+  private final Set<Object> constants = new HashSet<>();
+  private int size;
+  private int invokes; // out degree in the call graph
+
+  public MethodFingerprint(Method method) {
+    Code code = method.getCode();
+    if (code == null) {
+      return;
+    }
+
+    for (Instruction i : code.getInstructions()) {
+      if (i instanceof Label) {
+        continue;
+      }
+
+      ++opcodes[i.getType().getCode() & 0xFF];
+      ++size;
+
+      if (i instanceof InvokeInstruction) {
+        ++invokes;
+      }
+
+      if (i instanceof PushConstantInstruction) {
+        Object constant = ((PushConstantInstruction) i).getConstant();
+        if (constant != null) {
+          constants.add(constant);
+        }
+      }
+    }
+  }
+
+  /**
+   * @return how alike the two methods are, from 0 (nothing in common) to 1
+   */
+  public double similarity(MethodFingerprint other) {
+    int common = 0;
+    for (int i = 0; i < opcodes.length; ++i) {
+      common += Math.min(opcodes[i], other.opcodes[i]);
+    }
+    double opcodeSimilarity = ratio(common, Math.max(size, other.size));
+
+    int sharedConstants = 0;
+    for (Object constant : constants) {
+      if (other.constants.contains(constant)) {
+        ++sharedConstants;
+      }
+    }
+    double constantSimilarity = ratio(sharedConstants,
+        constants.size() + other.constants.size() - sharedConstants);
+
+    double invokeSimilarity = ratio(Math.min(invokes, other.invokes),
+        Math.max(invokes, other.invokes));
+
+    return (opcodeSimilarity + constantSimilarity + invokeSimilarity) / 3;
+  }
+
+  private static double ratio(int n, int d) {
+    return d == 0 ? 1 : (double) n / d;
+  }
+}
@@ -24,16 +24,25 @@
  */
 package net.runelite.deob.util;
 
+import com.google.common.hash.HashCode;
+import com.google.common.hash.Hashing;
+import com.google.common.io.Files;
 import java.io.File;
 import java.io.FileInputStream;
 import java.io.FileOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.UncheckedIOException;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.Enumeration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.jar.JarEntry;
 import java.util.jar.JarFile;
 import java.util.jar.JarOutputStream;
+import java.util.stream.Collectors;
 import net.runelite.asm.ClassFile;
 import net.runelite.asm.ClassGroup;
 import net.runelite.asm.objectwebasm.NonloadingClassWriter;
@@ -42,38 +51,108 @@ import org.objectweb.asm.ClassReader;
 import org.objectweb.asm.ClassVisitor;
 import org.objectweb.asm.ClassWriter;
 import org.objectweb.asm.util.CheckClassAdapter;
+import org.sponge.util.Logger;
 
 public class JarUtil {
 
+  private static final Logger logger = new Logger("JarUtil");
+
+  // canonical jar path -> pristine copy of the last load of that jar
+  private static final Map<String, CachedJar> cache = new ConcurrentHashMap<>();
+
   public static ClassGroup load(File jarfile) {
     ClassGroup group = new ClassGroup();
 
     try (JarFile jar = new JarFile(jarfile)) {
-      for (Enumeration<JarEntry> it = jar.entries(); it.hasMoreElements(); ) {
-        JarEntry entry = it.nextElement();
-
-        if (!entry.getName().endsWith(".class") || entry.getName()
-            .contains("net/runelite/rs/Reflection")|| entry.getName()
-                .contains("net/runelite/rs/UpdateRefmap")) {
-          continue;
-        }
-
-        InputStream is = jar.getInputStream(entry);
+      List<JarEntry> entries = Collections.list(jar.entries());
+
+      // ordered, so classes end up in the group in jar order
+      List<ClassFile> classes = entries.parallelStream()
+          .filter(entry -> entry.getName().endsWith(".class")
+              && !entry.getName().contains("net/runelite/rs/Reflection")
+              && !entry.getName().contains("net/runelite/rs/UpdateRefmap"))
+          .map(entry -> readClass(jar, entry))
+          .collect(Collectors.toList());
+
+      classes.forEach(group::addClass);
+    } catch (IOException | UncheckedIOException e) {
+      e.printStackTrace();
+    }
 
-        ClassReader reader = new ClassReader(is);
-        ClassFileVisitor cv = new ClassFileVisitor();
+    group.initialize();
 
-        reader.accept(cv, ClassReader.SKIP_FRAMES);
+    return group;
+  }
 
-        group.addClass(cv.getClassFile());
-      }
+  /**
+   * Load a jar, reusing the classes parsed by an earlier call for the same jar if its contents have
+   * not changed since. Every call returns its own copy of the classes, which may be modified
+   * freely.
+   */
+  public static ClassGroup loadCached(File jarfile) {
+    HashCode hash;
+    String key;
+    try {
+      hash = Files.asByteSource(jarfile).hash(Hashing.sha256());
+      key = jarfile.getCanonicalPath();
     } catch (IOException e) {
       e.printStackTrace();
+      return load(jarfile);
     }
 
-    group.initialize();
+    CachedJar cached = cache.get(key);
+    if (cached == null || !cached.hash.equals(hash)) {
+      cached = new CachedJar(hash, load(jarfile));
+      cache.put(key, cached);
+    } else {
+      logger.debug("Reusing classes of {}", jarfile.getName());
+    }
 
-    return group;
+    // copying walks the labels of the pristine copy, so only one copy can be made at a time
+    synchronized (cached) {
+      return copy(cached.group);
+    }
+  }
+
+  /**
+   * Drop the pristine copies kept by {@link #loadCached}, once no more copies of them are needed.
+   */
+  public static void clearCache() {
+    cache.clear();
+  }
+
+  /**
+   * Deep copy a class group without going through bytecode
+   */
+  public static ClassGroup copy(ClassGroup group) {
+    ClassGroup copy = new ClassGroup();
+
+    List<ClassFile> classes = group.getClasses().parallelStream()
+        .map(cf ->
+        {
+          ClassFileVisitor cv = new ClassFileVisitor();
+          cf.accept(cv);
+          return cv.getClassFile();
+        })
+        .collect(Collectors.toList());
+
+    classes.forEach(copy::addClass);
+    copy.initialize();
+
+    return copy;
+  }
+
+  private static ClassFile readClass(JarFile jar, JarEntry entry) {
+    try (InputStream is = jar.getInputStream(entry)) {
+      ClassReader reader = new ClassReader(is);
+      ClassFileVisitor cv = new ClassFileVisitor();
+
+      reader.accept(cv, ClassReader.SKIP_FRAMES);
+
+      return cv.getClassFile();
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
   }
 
   public static ClassGroup addReflection(ClassGroup group, File jarfile) {
@@ -134,15 +213,20 @@ public class JarUtil {
   }
 
   public static void save(ClassGroup group, File jarfile) {
+    // computing frames is the slow part, and only reads other classes, so do it up front in
+    // parallel and then write the entries in order
+    List<byte[]> classes = group.getClasses().parallelStream()
+        .map(cf -> writeClass(group, cf))
+        .collect(Collectors.toList());
+
     try (JarOutputStream jout = new JarOutputStream(new FileOutputStream(jarfile))) {
-      for (ClassFile cf : group.getClasses()) {
+      for (int i = 0; i < classes.size(); i++) {
+        ClassFile cf = group.getClasses().get(i);
         JarEntry entry = new JarEntry(cf.getName() + ".class");
         entry.setTime(-1);
         jout.putNextEntry(entry);
 
-        byte[] data = writeClass(group, cf);
-
-        jout.write(data);
+        jout.write(classes.get(i));
         jout.closeEntry();
       }
     } catch (IOException e) {
@@ -173,4 +257,15 @@ public class JarUtil {
     } catch (Exception ex) {
     }
   }
+
+  private static class CachedJar {
+
+    private final HashCode hash;
+    private final ClassGroup group;
+
+    private CachedJar(HashCode hash, ClassGroup group) {
+      this.hash = hash;
+      this.group = group;
+    }
+  }
 }
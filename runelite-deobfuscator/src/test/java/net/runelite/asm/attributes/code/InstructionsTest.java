@@ -0,0 +1,54 @@
+package net.runelite.asm.attributes.code;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+import net.runelite.asm.attributes.code.instructions.NOP;
+import net.runelite.asm.execution.ExecutedInstructions;
+import org.junit.jupiter.api.Test;
+
+public class InstructionsTest {
+
+  @Test
+  public void indexOfFollowsDirectEdits() {
+    Instructions ins = new Instructions(null);
+    NOP a = new NOP(ins), b = new NOP(ins), c = new NOP(ins);
+    ins.addInstruction(a);
+    ins.addInstruction(b);
+    ins.addInstruction(c);
+
+    assertEquals(0, ins.indexOf(a));
+    assertEquals(2, ins.indexOf(c));
+
+    // callers edit the list behind the cache's back
+    List<Instruction> list = ins.getInstructions();
+    list.remove(a);
+
+    assertEquals(0, ins.indexOf(b));
+    assertEquals(1, ins.indexOf(c));
+    assertEquals(-1, ins.indexOf(a));
+
+    list.add(a);
+
+    assertEquals(2, ins.indexOf(a));
+  }
+
+  @Test
+  public void clonesGetTheirOwnId() {
+    Instructions ins = new Instructions(null);
+    NOP a = new NOP(ins);
+    Instruction copy = a.clone();
+
+    assertNotEquals(a.getId(), copy.getId());
+
+    ExecutedInstructions executed = new ExecutedInstructions();
+    executed.add(a);
+
+    assertTrue(executed.contains(a));
+    assertFalse(executed.contains(copy));
+    assertEquals(1, executed.size());
+  }
+}
@@ -0,0 +1,31 @@
+package net.runelite.asm.execution;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import net.runelite.asm.Type;
+import org.junit.jupiter.api.Test;
+
+public class StackTest {
+
+  @Test
+  public void snapshotKeepsUsedSlots() {
+    StackContext a = new StackContext(null, Type.INT, null);
+    StackContext b = new StackContext(null, Type.INT, null);
+
+    Stack stack = new Stack(4);
+    stack.push(a);
+    stack.push(b);
+
+    Stack snapshot = stack.snapshot();
+    stack.pop();
+
+    assertEquals(2, snapshot.getSize());
+    assertEquals(2, snapshot.getStack().size());
+    assertSame(b, snapshot.pop());
+    assertSame(a, snapshot.pop());
+    assertThrows(RuntimeException.class, snapshot::pop);
+    assertEquals(1, stack.getSize());
+  }
+}
@@ -0,0 +1,33 @@
+package net.runelite.asm.execution;
+
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+import net.runelite.asm.Type;
+import org.junit.jupiter.api.Test;
+
+public class VariablesTest {
+
+  @Test
+  public void copiesAreIndependent() {
+    VariableContext a = new VariableContext(Type.INT);
+    VariableContext b = new VariableContext(Type.INT);
+
+    Variables original = new Variables(2);
+    original.set(0, a);
+
+    Variables copy = new Variables(original);
+    Variables copyOfCopy = new Variables(copy);
+
+    // writing to either side of a shared array must not show through the other
+    copy.set(1, b);
+    original.set(0, b);
+
+    assertSame(b, original.get(0));
+    assertNull(original.get(1));
+    assertSame(a, copy.get(0));
+    assertSame(b, copy.get(1));
+    assertSame(a, copyOfCopy.get(0));
+    assertNull(copyOfCopy.get(1));
+  }
+}
@@ -862,6 +862,17 @@ public abstract class ClientMixin implements RSClient {
   @Inject
   @Override
   public MenuEntry[] getMenuEntries() {
+    MenuEntry[] entries = new MenuEntry[getMenuOptionCount()];
+    for (int i = 0; i < entries.length; ++i) {
+      entries[i] = new MenuEntry();
+    }
+    getMenuEntries(entries);
+    return entries;
+  }
+
+  @Inject
+  @Override
+  public int getMenuEntries(MenuEntry[] entries) {
     int count = getMenuOptionCount();
     String[] menuOptions = getMenuOptions();
     String[] menuTargets = getMenuTargets();
@@ -871,9 +882,8 @@ public abstract class ClientMixin implements RSClient {
     int[] params1 = getMenuArguments2();
     boolean[] leftClick = getMenuForceLeftClick();
 
-    MenuEntry[] entries = new MenuEntry[count];
     for (int i = 0; i < count; ++i) {
-      MenuEntry entry = entries[i] = new MenuEntry();
+      MenuEntry entry = entries[i];
       entry.setOption(menuOptions[i]);
       entry.setTarget(menuTargets[i]);
       entry.setIdentifier(menuIdentifiers[i]);
@@ -882,12 +892,18 @@ public abstract class ClientMixin implements RSClient {
       entry.setActionParam1(params1[i]);
       entry.setForceLeftClick(leftClick[i]);
     }
-    return entries;
+    return count;
   }
 
   @Inject
   @Override
   public void setMenuEntries(MenuEntry[] entries) {
+    setMenuEntries(entries, entries.length);
+  }
+
+  @Inject
+  @Override
+  public void setMenuEntries(MenuEntry[] entries, int length) {
     int count = 0;
     String[] menuOptions = getMenuOptions();
     String[] menuTargets = getMenuTargets();
@@ -897,7 +913,8 @@ public abstract class ClientMixin implements RSClient {
     int[] params1 = getMenuArguments2();
     boolean[] leftClick = getMenuForceLeftClick();
 
-    for (MenuEntry entry : entries) {
+    for (int i = 0; i < length; ++i) {
+      MenuEntry entry = entries[i];
       if (entry == null) {
         continue;
       }
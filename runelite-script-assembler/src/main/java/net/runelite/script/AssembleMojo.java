@@ -26,14 +26,30 @@ package net.runelite.script;
 
 import static java.lang.Integer.parseInt;
 
+import com.google.common.hash.Hasher;
+import com.google.common.hash.Hashing;
 import com.google.common.io.Files;
 import com.google.common.io.MoreFiles;
 import com.google.common.io.RecursiveDeleteOption;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
 import java.io.DataOutputStream;
 import java.io.File;
-import java.io.FileInputStream;
-import java.io.FileOutputStream;
 import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.URISyntaxException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 import net.runelite.cache.IndexType;
 import net.runelite.cache.definitions.ScriptDefinition;
 import net.runelite.cache.definitions.savers.ScriptSaver;
@@ -46,6 +62,15 @@ import org.apache.maven.plugins.annotations.Mojo;
 import org.apache.maven.plugins.annotations.Parameter;
 import org.sponge.util.Logger;
 
+/**
+ * Assembles the rs2asm scripts into packed scripts.
+ * <p>
+ * The content hash of every script, together with its .hash file, is kept in a state file outside
+ * the output directory, so it is not packaged with the scripts, as a tab separated line of script
+ * name, hash and script id. Only scripts whose
+ * hash changed are assembled, in parallel, and outputs of scripts which were removed are deleted.
+ * If nothing changed no assembler is even created.
+ */
 @Mojo(
     name = "assemble",
     defaultPhase = LifecyclePhase.GENERATE_RESOURCES
@@ -57,37 +82,65 @@ public class AssembleMojo extends AbstractMojo {
   private File scriptDirectory;
   @Parameter(required = true)
   private File outputDirectory;
+  @Parameter(defaultValue = "${project.build.directory}/tmp/assembleScripts/assembled")
+  private File stateFile;
+
+  private boolean changed;
 
-  private AssembleMojo(File scriptDirectory, File outputDirectory) {
+  private AssembleMojo(File scriptDirectory, File outputDirectory, File stateFile) {
     this.scriptDirectory = scriptDirectory;
     this.outputDirectory = outputDirectory;
+    this.stateFile = stateFile;
   }
 
   public static void main(String[] args) throws Exception {
     File scriptDirectory = new File("../meteor-client/src/main/scripts");
     File outputDirectory = new File("../meteor-client/build/scripts/runelite");
     File indexFile = new File("../meteor-client/build/scripts/runelite/index");
+    File stateFile = new File("../meteor-client/build/tmp/assembleScripts/assembled");
+
+    AssembleMojo mojo = new AssembleMojo(scriptDirectory, outputDirectory, stateFile);
+    mojo.execute();
+
+    if (mojo.changed || !indexFile.exists()) {
+      mojo.writeIndex(indexFile);
+    }
+  }
 
-    new AssembleMojo(scriptDirectory, outputDirectory).execute();
-
-    try (DataOutputStream fout = new DataOutputStream(new FileOutputStream(indexFile))) {
-      for (File indexFolder : outputDirectory.listFiles()) {
-        if (indexFolder.isDirectory()) {
-          int indexId = parseInt(indexFolder.getName());
-          for (File archiveFile : indexFolder.listFiles()) {
-            int archiveId;
-            try {
-              archiveId = parseInt(archiveFile.getName());
-            } catch (NumberFormatException ex) {
-              continue;
-            }
-
-            fout.writeInt(indexId << 16 | archiveId);
+  private void writeIndex(File indexFile) throws MojoExecutionException {
+    // sorted, so the index only changes when the set of archives does
+    TreeSet<Integer> archives = new TreeSet<>();
+    for (File indexFolder : outputDirectory.listFiles()) {
+      if (indexFolder.isDirectory()) {
+        int indexId = parseInt(indexFolder.getName());
+        for (File archiveFile : indexFolder.listFiles()) {
+          int archiveId;
+          try {
+            archiveId = parseInt(archiveFile.getName());
+          } catch (NumberFormatException ex) {
+            continue;
           }
+
+          archives.add(indexId << 16 | archiveId);
         }
       }
+    }
 
-      fout.writeInt(-1);
+    try {
+      ByteArrayOutputStream bout = new ByteArrayOutputStream();
+      try (DataOutputStream fout = new DataOutputStream(bout)) {
+        for (int archive : archives) {
+          fout.writeInt(archive);
+        }
+        fout.writeInt(-1);
+      }
+
+      byte[] index = bout.toByteArray();
+      if (indexFile.exists() && Arrays.equals(Files.toByteArray(indexFile), index)) {
+        return;
+      }
+
+      Files.write(index, indexFile);
     } catch (IOException ex) {
       throw new MojoExecutionException("error build index file", ex);
     }
@@ -95,52 +148,218 @@ public class AssembleMojo extends AbstractMojo {
 
   @Override
   public void execute() throws MojoExecutionException, MojoFailureException {
-    RuneLiteInstructions instructions = new RuneLiteInstructions();
-    instructions.init();
-
-    Assembler assembler = new Assembler(instructions);
-    ScriptSaver saver = new ScriptSaver();
-
-    int count = 0;
     File scriptOut = new File(outputDirectory,
         Integer.toString(IndexType.CLIENTSCRIPT.getNumber()));
     scriptOut.mkdirs();
 
-    // Clear the target directory to remove stale entries
-    try {
-      MoreFiles.deleteDirectoryContents(scriptOut.toPath(), RecursiveDeleteOption.ALLOW_INSECURE);
-    } catch (IOException e) {
-      throw new MojoExecutionException("Could not clear scriptOut: " + scriptOut, e);
+    String tool = hashTool();
+    Map<String, Assembled> previous = readState(stateFile, tool);
+    if (previous == null) {
+      // Nothing is known about the existing outputs, clear them to remove stale entries
+      try {
+        MoreFiles.deleteDirectoryContents(scriptOut.toPath(), RecursiveDeleteOption.ALLOW_INSECURE);
+      } catch (IOException ex) {
+        throw new MojoExecutionException("unable to clear " + scriptOut, ex);
+      }
+      previous = new HashMap<>();
     }
 
-    for (File scriptFile : scriptDirectory.listFiles((dir, name) -> name.endsWith(".rs2asm"))) {
-      log.debug("Assembling " + scriptFile);
+    File[] scriptFiles = scriptDirectory.listFiles((dir, name) -> name.endsWith(".rs2asm"));
+    Arrays.sort(scriptFiles, Comparator.comparing(File::getName));
 
-      try (FileInputStream fin = new FileInputStream(scriptFile)) {
-        ScriptDefinition script = assembler.assemble(fin);
-        byte[] packedScript = saver.save(script);
+    Map<String, Assembled> current = new ConcurrentHashMap<>();
+    Map<File, String> dirty = new LinkedHashMap<>();
+    for (File scriptFile : scriptFiles) {
+      String hash;
+      try {
+        hash = hashScript(scriptFile);
+      } catch (IOException ex) {
+        throw new MojoFailureException("unable to open file", ex);
+      }
+
+      Assembled old = previous.remove(scriptFile.getName());
+
+      if (old != null && old.hash.equals(hash)
+          && new File(scriptOut, Integer.toString(old.id)).exists()) {
+        current.put(scriptFile.getName(), old);
+      } else {
+        if (old != null) {
+          deleteOutput(scriptOut, old.id);
+        }
+        dirty.put(scriptFile, hash);
+      }
+    }
+
+    // whatever is left was assembled from a script which no longer exists
+    for (Assembled removed : previous.values()) {
+      deleteOutput(scriptOut, removed.id);
+    }
 
-        File targetFile = new File(scriptOut, Integer.toString(script.getId()));
-        Files.write(packedScript, targetFile);
+    changed = !dirty.isEmpty() || !previous.isEmpty();
+    if (!changed) {
+      log.info("All " + scriptFiles.length + " scripts are up to date");
+      return;
+    }
+
+    RuneLiteInstructions instructions = new RuneLiteInstructions();
+    instructions.init();
+
+    // the assembler and saver are not known to be thread safe, so each thread gets its own
+    ThreadLocal<Assembler> assembler = ThreadLocal.withInitial(() -> new Assembler(instructions));
+    ThreadLocal<ScriptSaver> saver = ThreadLocal.withInitial(ScriptSaver::new);
 
-        // Copy hash file
+    try {
+      dirty.keySet().parallelStream().forEach(scriptFile ->
+      {
+        log.debug("Assembling " + scriptFile);
+
+        try {
+          byte[] source = Files.toByteArray(scriptFile);
+          ScriptDefinition script = assembler.get().assemble(new ByteArrayInputStream(source));
+          byte[] packedScript = saver.get().save(script);
+
+          File targetFile = new File(scriptOut, Integer.toString(script.getId()));
+          Files.write(packedScript, targetFile);
 
-        File hashFile = new File(scriptDirectory,
-            Files.getNameWithoutExtension(scriptFile.getName()) + ".hash");
-        if (hashFile.exists()) {
-          Files.copy(hashFile, new File(scriptOut, Integer.toString(script.getId()) + ".hash"));
-        } else if (script.getId()
-            < 10000) // Scripts >=10000 are RuneLite scripts, so they shouldn't have a .hash
-        {
-          throw new MojoExecutionException("Unable to find hash file for " + scriptFile);
+          // Copy hash file
+
+          File hashFile = new File(scriptDirectory,
+              Files.getNameWithoutExtension(scriptFile.getName()) + ".hash");
+          if (hashFile.exists()) {
+            Files.copy(hashFile, new File(scriptOut, Integer.toString(script.getId()) + ".hash"));
+          } else if (script.getId()
+              < 10000) // Scripts >=10000 are RuneLite scripts, so they shouldn't have a .hash
+          {
+            throw new IllegalStateException("Unable to find hash file for " + scriptFile);
+          }
+
+          current.put(scriptFile.getName(), new Assembled(dirty.get(scriptFile), script.getId()));
+        } catch (IOException ex) {
+          throw new UncheckedIOException(ex);
         }
+      });
+    } catch (UncheckedIOException ex) {
+      throw new MojoFailureException("unable to open file", ex.getCause());
+    } catch (IllegalStateException ex) {
+      throw new MojoExecutionException(ex.getMessage());
+    } finally {
+      // record what was assembled even on failure, so the next run only redoes the rest
+      writeState(stateFile, tool, current);
+    }
 
-        ++count;
-      } catch (IOException ex) {
-        throw new MojoFailureException("unable to open file", ex);
+    log.info("Assembled " + dirty.size() + " of " + scriptFiles.length + " scripts");
+  }
+
+  private static void deleteOutput(File scriptOut, int id) {
+    new File(scriptOut, Integer.toString(id)).delete();
+    new File(scriptOut, id + ".hash").delete();
+  }
+
+  private String hashScript(File scriptFile) throws IOException {
+    Hasher hasher = Hashing.sha256().newHasher();
+    hasher.putBytes(Files.toByteArray(scriptFile));
+
+    File hashFile = new File(scriptDirectory,
+        Files.getNameWithoutExtension(scriptFile.getName()) + ".hash");
+    if (hashFile.exists()) {
+      hasher.putBytes(Files.toByteArray(hashFile));
+    }
+
+    return hasher.hash().toString();
+  }
+
+  /**
+   * Hash the code of the assembler and instruction set, so upgrading them reassembles everything
+   */
+  private static String hashTool() {
+    Hasher hasher = Hashing.sha256().newHasher();
+    for (Class<?> clazz : new Class<?>[]{RuneLiteInstructions.class, Assembler.class}) {
+      try {
+        Path source = new File(clazz.getProtectionDomain().getCodeSource().getLocation().toURI())
+            .toPath();
+        hashPath(hasher, source);
+      } catch (IOException | URISyntaxException | RuntimeException ex) {
+        // unknown tool version, never reuse anything
+        return "";
+      }
+    }
+    return hasher.hash().toString();
+  }
+
+  /**
+   * Hash a jar, or every file of a class directory in a fixed order, since the classes the
+   * assembler uses from there are not known
+   */
+  private static void hashPath(Hasher hasher, Path path) throws IOException {
+    if (!java.nio.file.Files.isDirectory(path)) {
+      hasher.putBytes(java.nio.file.Files.readAllBytes(path));
+      return;
+    }
+
+    List<Path> files;
+    try (Stream<Path> walk = java.nio.file.Files.walk(path)) {
+      files = walk.filter(java.nio.file.Files::isRegularFile).sorted()
+          .collect(Collectors.toList());
+    }
+
+    for (Path file : files) {
+      hasher.putString(path.relativize(file).toString(), StandardCharsets.UTF_8);
+      hasher.putBytes(java.nio.file.Files.readAllBytes(file));
+    }
+  }
+
+  /**
+   * @return the scripts assembled by the last run, or null if that run is unknown or used a
+   * different assembler
+   */
+  private Map<String, Assembled> readState(File stateFile, String tool) {
+    if (tool.isEmpty() || !stateFile.exists()) {
+      return null;
+    }
+
+    Map<String, Assembled> state = new HashMap<>();
+    try {
+      List<String> lines = Files.readLines(stateFile, StandardCharsets.UTF_8);
+      if (lines.isEmpty() || !lines.get(0).equals(tool)) {
+        return null;
+      }
+
+      for (String line : lines.subList(1, lines.size())) {
+        String[] parts = line.split("\t", -1);
+        if (parts.length != 3) {
+          throw new IllegalArgumentException("malformed line " + line);
+        }
+        state.put(parts[0], new Assembled(parts[1], parseInt(parts[2])));
       }
+    } catch (IOException | RuntimeException ex) {
+      log.warn("Unable to read " + stateFile + ", reassembling all scripts");
+      return null;
     }
+    return state;
+  }
+
+  private void writeState(File stateFile, String tool, Map<String, Assembled> state) {
+    String lines = state.entrySet().stream()
+        .sorted(Map.Entry.comparingByKey())
+        .map(e -> e.getKey() + '\t' + e.getValue().hash + '\t' + e.getValue().id)
+        .collect(Collectors.joining("\n", tool + "\n", "\n"));
+
+    try {
+      Files.createParentDirs(stateFile);
+      Files.write(lines.getBytes(StandardCharsets.UTF_8), stateFile);
+    } catch (IOException ex) {
+      log.warn("Unable to write " + stateFile);
+    }
+  }
+
+  private static class Assembled {
 
-    log.info("Assembled " + count + " scripts");
+    private final String hash;
+    private final int id;
+
+    private Assembled(String hash, int id) {
+      this.hash = hash;
+      this.id = id;
+    }
   }
 }